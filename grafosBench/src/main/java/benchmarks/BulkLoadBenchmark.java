@@ -0,0 +1,95 @@
+package benchmarks;
+
+import interfaces.EdgeBuffer;
+import interfaces.IGraph;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BulkLoadBenchmark.java
+ *
+ * Mide la carga completa de un grafo R-MAT con 8 aristas por vertice: con
+ * addVertices/addEdges en bloque contra una llamada a addVertex/addEdge por
+ * elemento (verificando antes con hasEdge, como haria un importador). En
+ * R-MAT unos pocos vertices concentran miles de aristas, asi que la carga una
+ * por una es cuadratica en su grado y con escala 19 tarda varios minutos.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar BulkLoad
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class BulkLoadBenchmark {
+
+    @Param({"LIST_DI", "LIST_NO_DI"})
+    public Implementacion implementacion;
+
+    /**
+     * Logaritmo base 2 del numero de vertices; 19 son unos 4 millones de
+     * aristas
+     */
+    @Param({"16", "19"})
+    public int escala;
+
+    private int nVertices;
+    private List<Integer> etiquetas;
+    private EdgeBuffer aristas;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphGenerator generador = GraphGenerator.rmat(escala, 8, 253313);
+        nVertices = generador.getNumberVertices();
+        aristas = generador.toEdgeBuffer();
+        etiquetas = new AbstractList<Integer>() {
+            @Override
+            public Integer get(int indice) {
+                return indice;
+            }
+
+            @Override
+            public int size() {
+                return nVertices;
+            }
+        };
+    }
+
+    @Benchmark
+    public IGraph<Integer> enBloque() {
+        IGraph<Integer> grafo = implementacion.crea(nVertices);
+        grafo.addVertices(etiquetas);
+        grafo.addEdges(aristas);
+        return grafo;
+    }
+
+    @Benchmark
+    public IGraph<Integer> unaPorUna() {
+        IGraph<Integer> grafo = implementacion.crea(nVertices);
+        for (int v = 0; v < nVertices; v++) {
+            grafo.addVertex(v);
+        }
+        for (int i = 0; i < aristas.size(); i++) {
+            int x = aristas.getOrigen(i);
+            int y = aristas.getDestino(i);
+            if (!grafo.hasEdge(x, y)) {
+                grafo.addEdge(x, y, aristas.getPeso(i));
+            }
+        }
+        return grafo;
+    }
+}
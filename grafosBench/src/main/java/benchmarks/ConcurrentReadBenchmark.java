@@ -0,0 +1,162 @@
+package benchmarks;
+
+import excepciones.GraphException;
+import implementaciones.ConcurrentGraph;
+import interfaces.IGraph;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ConcurrentReadBenchmark.java
+ *
+ * Mide hasEdge y getEdgeWeight desde varios hilos lectores mientras un hilo
+ * escritor agrega y quita aristas, comparando ConcurrentGraph (lecturas
+ * optimistas con StampedLock) contra un bloque synchronized sobre el grafo.
+ * El parametro pausaEscritor regula cuanto trabajo hace el escritor entre
+ * escrituras; con 0 el escritor tiene el candado casi todo el tiempo.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar ConcurrentRead
+ * Para cambiar el numero de lectores: ... ConcurrentRead -tg 7,1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentReadBenchmark {
+
+    private static final int CONSULTAS = 1024;
+
+    /**
+     * Grafo compartido por los hilos de un grupo
+     */
+    @State(Scope.Group)
+    public static class Compartido {
+
+        @Param({"LIST_DI", "MATRIX_DI"})
+        public Implementacion implementacion;
+
+        @Param({"1000"})
+        public int nVertices;
+
+        @Param({"0.01"})
+        public double densidad;
+
+        @Param({"0", "1000"})
+        public int pausaEscritor;
+
+        IGraph<Integer> grafo;
+        ConcurrentGraph<Integer> concurrente;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            grafo = implementacion.crea(nVertices);
+            implementacion.llena(grafo, nVertices, densidad,
+                    new SplittableRandom(253313));
+            concurrente = new ConcurrentGraph<>(grafo);
+        }
+    }
+
+    /**
+     * Pares de vertices al azar de cada hilo
+     */
+    @State(Scope.Thread)
+    public static class Pares {
+
+        int[] origenes;
+        int[] destinos;
+        int siguiente;
+
+        @Setup(Level.Trial)
+        public void setUp(Compartido compartido) {
+            SplittableRandom azar = new SplittableRandom(
+                    Thread.currentThread().threadId());
+            origenes = new int[CONSULTAS];
+            destinos = new int[CONSULTAS];
+            for (int i = 0; i < CONSULTAS; i++) {
+                origenes[i] = azar.nextInt(compartido.nVertices);
+                do {
+                    destinos[i] = azar.nextInt(compartido.nVertices);
+                } while (destinos[i] == origenes[i]);
+            }
+        }
+
+        int siguiente() {
+            siguiente = (siguiente + 1) & (CONSULTAS - 1);
+            return siguiente;
+        }
+    }
+
+    private static double consulta(IGraph<Integer> grafo, int x, int y) {
+        if (!grafo.hasEdge(x, y)) {
+            return -1.0;
+        }
+        try {
+            return grafo.getEdgeWeight(x, y);
+        } catch (GraphException e) {
+            // Sin un candado comun, el escritor pudo quitar la arista
+            return -1.0;
+        }
+    }
+
+    private static void alterna(IGraph<Integer> grafo, int x, int y) {
+        if (grafo.hasEdge(x, y)) {
+            grafo.removeEdge(x, y);
+        } else {
+            grafo.addEdge(x, y, 1.0);
+        }
+    }
+
+    @Benchmark
+    @Group("stampedLock")
+    @GroupThreads(3)
+    public double lectorStampedLock(Compartido c, Pares p) {
+        int i = p.siguiente();
+        return consulta(c.concurrente, p.origenes[i], p.destinos[i]);
+    }
+
+    @Benchmark
+    @Group("stampedLock")
+    @GroupThreads(1)
+    public void escritorStampedLock(Compartido c, Pares p) {
+        int i = p.siguiente();
+        Blackhole.consumeCPU(c.pausaEscritor);
+        alterna(c.concurrente, p.origenes[i], p.destinos[i]);
+    }
+
+    @Benchmark
+    @Group("sincronizado")
+    @GroupThreads(3)
+    public double lectorSincronizado(Compartido c, Pares p) {
+        int i = p.siguiente();
+        synchronized (c.grafo) {
+            return consulta(c.grafo, p.origenes[i], p.destinos[i]);
+        }
+    }
+
+    @Benchmark
+    @Group("sincronizado")
+    @GroupThreads(1)
+    public void escritorSincronizado(Compartido c, Pares p) {
+        int i = p.siguiente();
+        Blackhole.consumeCPU(c.pausaEscritor);
+        synchronized (c.grafo) {
+            alterna(c.grafo, p.origenes[i], p.destinos[i]);
+        }
+    }
+}
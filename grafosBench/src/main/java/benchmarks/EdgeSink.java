@@ -0,0 +1,20 @@
+package benchmarks;
+
+/**
+ * EdgeSink.java
+ *
+ * Esta interfaz declara el destino de las aristas que produce un generador de
+ * grafos. El generador entrega las aristas una por una, sin guardarlas.
+ */
+@FunctionalInterface
+public interface EdgeSink {
+
+    /**
+     * Recibe una arista del generador
+     *
+     * @param x Indice del vertice origen
+     * @param y Indice del vertice destino
+     * @param peso Peso de la arista
+     */
+    public void edge(int x, int y, double peso);
+}
@@ -0,0 +1,112 @@
+package benchmarks;
+
+import implementaciones.FloydWarshall;
+import implementaciones.MatrixDiGraph;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FloydWarshallBenchmark.java
+ *
+ * Compara los caminos de menor peso entre todos los pares de un grafo sobre
+ * una matriz de adyacencias con FloydWarshall, por bloques y con 1 a 8
+ * hilos, contra el triple ciclo sin bloques sobre la misma matriz. Ambos
+ * copian la matriz de adyacencias y calculan las distancias y los siguientes
+ * saltos. El grafo es dirigido, con densidad 0.1 y pesos enteros al azar.
+ *
+ * Cada operacion toma segundos (minutos para el triple ciclo con 4000
+ * vertices), asi que se mide una sola ejecucion por iteracion.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar FloydWarshall
+ * Solo un tamano: ... FloydWarshall -p nVertices=1000
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FloydWarshallBenchmark {
+
+    private static final double DENSIDAD = 0.1;
+
+    /**
+     * Grafo sobre una matriz, con acceso a la matriz para el triple ciclo
+     */
+    @State(Scope.Benchmark)
+    public static class Grafo extends MatrixDiGraph<Integer> {
+
+        @Param({"1000", "2000", "4000"})
+        public int nVertices;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Implementacion.MATRIX_DI.llena(this, nVertices, DENSIDAD,
+                    new SplittableRandom(253313));
+        }
+
+        double peso(int i, int j) {
+            return adyacencias[i * capacidad + j];
+        }
+    }
+
+    /**
+     * Numero de hilos del calculo por bloques
+     */
+    @State(Scope.Benchmark)
+    public static class Hilos {
+
+        @Param({"1", "2", "4", "8"})
+        public int hilos;
+    }
+
+    @Benchmark
+    public FloydWarshall<Integer> bloques(Grafo grafo, Hilos hilos) {
+        return grafo.allPairsShortestPaths(hilos.hilos);
+    }
+
+    /**
+     * Triple ciclo de Floyd-Warshall sin bloques ni hilos, que recorre la
+     * matriz completa por cada vertice intermedio
+     */
+    @Benchmark
+    public double[] ingenuo(Grafo grafo) {
+        int n = grafo.getNumberVertices();
+        double[] d = new double[n * n];
+        int[] siguientes = new int[n * n];
+        Arrays.fill(siguientes, -1);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double peso = i == j ? 0.0 : grafo.peso(i, j);
+                d[i * n + j] = peso;
+                if (peso != Double.POSITIVE_INFINITY) {
+                    siguientes[i * n + j] = j;
+                }
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    double suma = d[i * n + k] + d[k * n + j];
+                    if (suma < d[i * n + j]) {
+                        d[i * n + j] = suma;
+                        siguientes[i * n + j] = siguientes[i * n + k];
+                    }
+                }
+            }
+        }
+        return d;
+    }
+}
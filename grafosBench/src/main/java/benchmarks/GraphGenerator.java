@@ -0,0 +1,433 @@
+package benchmarks;
+
+import excepciones.GraphException;
+import implementaciones.CsrGraph;
+import interfaces.EdgeBuffer;
+import interfaces.IGraph;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * GraphGenerator.java
+ *
+ * Esta clase abstracta representa un generador de grafos sinteticos con
+ * vertices 0 .. getNumberVertices() - 1. Cada generador tiene una semilla y
+ * produce siempre la misma secuencia de aristas, que entrega una por una a un
+ * EdgeSink sin guardarlas en una lista intermedia. Los pesos son enteros al
+ * azar entre 1 y 100.
+ *
+ * Las secuencias de Barabasi-Albert y R-MAT pueden repetir aristas y las de
+ * R-MAT pueden tener lazos; llena() y toCsr() los descartan. Para un grafo no
+ * dirigido las aristas x - y e y - x son la misma.
+ *
+ * Uso: GraphGenerator.rmat(20, 8, 253313).llena(new ListDiGraph&lt;&gt;())
+ */
+public abstract class GraphGenerator {
+
+    protected final int nVertices;
+    protected final long semilla;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param nVertices Numero de vertices del grafo generado
+     * @param semilla Semilla del generador de numeros aleatorios
+     */
+    protected GraphGenerator(int nVertices, long semilla) {
+        if (nVertices < 0) {
+            throw new IllegalArgumentException("Numero de vertices invalido: "
+                    + nVertices);
+        }
+        this.nVertices = nVertices;
+        this.semilla = semilla;
+    }
+
+    /**
+     * Obtiene el numero de vertices del grafo generado
+     *
+     * @return El numero de vertices
+     */
+    public int getNumberVertices() {
+        return nVertices;
+    }
+
+    /**
+     * Entrega al destino la secuencia de aristas del generador. Dos llamadas
+     * entregan la misma secuencia.
+     *
+     * @param destino Destino de las aristas
+     */
+    public void genera(EdgeSink destino) {
+        genera(destino, new SplittableRandom(semilla));
+    }
+
+    /**
+     * Entrega al destino la secuencia de aristas usando el generador de
+     * numeros aleatorios dado
+     *
+     * @param destino Destino de las aristas
+     * @param azar Generador de numeros aleatorios, creado con la semilla
+     */
+    protected abstract void genera(EdgeSink destino, SplittableRandom azar);
+
+    /**
+     * Obtiene un peso al azar para una arista
+     */
+    protected static double peso(SplittableRandom azar) {
+        return 1 + azar.nextInt(100);
+    }
+
+    /**
+     * Agrega los vertices 0 .. n - 1 y las aristas generadas a un grafo
+     * vacio. Descarta los lazos y las aristas que el grafo ya tiene.
+     *
+     * @param <G> Tipo del grafo
+     * @param grafo Grafo vacio
+     * @return El grafo
+     * @throws GraphException Si el grafo no esta vacio o no admite n vertices
+     */
+    public <G extends IGraph<Integer>> G llena(G grafo) throws GraphException {
+        if (!grafo.empty()) {
+            throw new GraphException("El grafo destino no esta vacio");
+        }
+        for (int v = 0; v < nVertices; v++) {
+            grafo.addVertex(v);
+        }
+        genera((x, y, peso) -> {
+            if (x != y && !grafo.hasEdge(x, y)) {
+                grafo.addEdge(x, y, peso);
+            }
+        });
+        return grafo;
+    }
+
+    /**
+     * Guarda las aristas generadas en un buffer para cargarlas con
+     * IGraph.addEdges(). Las posiciones del buffer son los vertices 0 .. n - 1,
+     * asi que el grafo destino debe tener esos vertices en ese orden. Los
+     * lazos se descartan; las aristas repetidas las descarta addEdges().
+     *
+     * @return El buffer con las aristas generadas
+     */
+    public EdgeBuffer toEdgeBuffer() {
+        EdgeBuffer aristas = new EdgeBuffer();
+        genera((x, y, peso) -> {
+            if (x != y) {
+                aristas.add(x, y, peso);
+            }
+        });
+        return aristas;
+    }
+
+    /**
+     * Construye directamente un grafo CSR con las aristas generadas, sin
+     * pasar por un grafo modificable. Recorre la secuencia dos veces: la
+     * primera cuenta las aristas de cada vertice y la segunda las coloca, asi
+     * que solo se reservan los arreglos finales. Descarta los lazos y las
+     * aristas repetidas.
+     *
+     * @param dirigido true para un grafo dirigido, false para uno no dirigido
+     * @return El grafo CSR
+     */
+    public CsrGraph<Integer> toCsr(boolean dirigido) {
+        int n = nVertices;
+        int[] offsets = new int[n + 1];
+        genera((x, y, peso) -> {
+            if (x != y) {
+                offsets[x + 1]++;
+                if (!dirigido) {
+                    offsets[y + 1]++;
+                }
+            }
+        });
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int[] siguientes = Arrays.copyOf(offsets, n);
+        genera((x, y, peso) -> {
+            if (x != y) {
+                targets[siguientes[x]] = y;
+                weights[siguientes[x]++] = peso;
+                if (!dirigido) {
+                    targets[siguientes[y]] = x;
+                    weights[siguientes[y]++] = peso;
+                }
+            }
+        });
+        // Compacta cada renglon descartando los destinos repetidos
+        int[] marcas = new int[n];
+        int e = 0;
+        for (int v = 0; v < n; v++) {
+            int inicio = offsets[v];
+            offsets[v] = e;
+            for (int k = inicio; k < offsets[v + 1]; k++) {
+                if (marcas[targets[k]] != v + 1) {
+                    marcas[targets[k]] = v + 1;
+                    targets[e] = targets[k];
+                    weights[e++] = weights[k];
+                }
+            }
+        }
+        offsets[n] = e;
+        return new CsrGraph<>(etiquetas(n), offsets,
+                Arrays.copyOf(targets, e), Arrays.copyOf(weights, e),
+                dirigido);
+    }
+
+    /**
+     * Obtiene la lista de etiquetas 0 .. n - 1 sin crearla
+     */
+    private static List<Integer> etiquetas(int n) {
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int indice) {
+                return indice;
+            }
+
+            @Override
+            public int size() {
+                return n;
+            }
+        };
+    }
+
+    /**
+     * Crea un generador de grafos aleatorios de Erdos-Renyi G(n, p): cada
+     * arista posible aparece de manera independiente con probabilidad p. Usa
+     * saltos geometricos entre aristas, asi que toma O(n + m) en lugar de
+     * O(n^2).
+     *
+     * @param n Numero de vertices
+     * @param p Probabilidad de cada arista
+     * @param dirigido true para considerar las n(n - 1) aristas dirigidas
+     * posibles, false para las n(n - 1) / 2 no dirigidas
+     * @param semilla Semilla del generador
+     * @return El generador
+     */
+    public static GraphGenerator erdosRenyi(int n, double p, boolean dirigido,
+            long semilla) {
+        if (p < 0 || p > 1) {
+            throw new IllegalArgumentException("Probabilidad invalida: " + p);
+        }
+        return new GraphGenerator(n, semilla) {
+            @Override
+            protected void genera(EdgeSink destino, SplittableRandom azar) {
+                if (p == 0) {
+                    return;
+                }
+                double logQ = Math.log1p(-p);
+                long posibles = dirigido ? (long) n * (n - 1)
+                        : (long) n * (n - 1) / 2;
+                // Vertice actual v y posicion w dentro de su renglon
+                long v = dirigido ? 0 : 1;
+                long w = -1;
+                while (v < n) {
+                    double salto = p == 1 ? 0
+                            : Math.log1p(-azar.nextDouble()) / logQ;
+                    w += 1 + (long) Math.min(salto, posibles);
+                    long largo = dirigido ? n - 1 : v;
+                    while (v < n && w >= largo) {
+                        w -= largo;
+                        v++;
+                        largo = dirigido ? n - 1 : v;
+                    }
+                    if (v < n) {
+                        int y = (int) (dirigido && w >= v ? w + 1 : w);
+                        destino.edge((int) v, y, peso(azar));
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Crea un generador de grafos de Barabasi-Albert con conexion
+     * preferencial. Los primeros m + 1 vertices forman un grafo completo y
+     * cada vertice siguiente se conecta con m vertices anteriores elegidos con
+     * probabilidad proporcional a su grado. Las aristas van del vertice nuevo
+     * al anterior. Guarda el destino de cada arista (un entero por arista)
+     * para elegir los destinos siguientes; el origen se deduce de la posicion.
+     *
+     * @param n Numero de vertices
+     * @param m Numero de aristas de cada vertice nuevo
+     * @param semilla Semilla del generador
+     * @return El generador
+     */
+    public static GraphGenerator barabasiAlbert(int n, int m, long semilla) {
+        if (m < 1 || m >= n) {
+            throw new IllegalArgumentException("Numero de aristas por vertice"
+                    + " invalido: " + m);
+        }
+        return new GraphGenerator(n, semilla) {
+            @Override
+            protected void genera(EdgeSink destino, SplittableRandom azar) {
+                int inicial = m + 1;
+                int completas = inicial * m / 2;
+                long total = completas + (long) (n - inicial) * m;
+                if (total > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("Demasiadas aristas");
+                }
+                // Los extremos de la arista k son origen(k) y destinos[k];
+                // elegir un extremo al azar es elegir un vertice con
+                // probabilidad proporcional a su grado
+                int[] destinos = new int[(int) total];
+                int[] origenesIniciales = new int[completas];
+                int k = 0;
+                for (int x = 1; x < inicial; x++) {
+                    for (int y = 0; y < x; y++) {
+                        origenesIniciales[k] = x;
+                        destinos[k++] = y;
+                        destino.edge(x, y, peso(azar));
+                    }
+                }
+                for (int x = inicial; x < n; x++) {
+                    int anteriores = k;
+                    for (int j = 0; j < m; j++) {
+                        long r = azar.nextLong(2L * anteriores);
+                        int arista = (int) (r >> 1);
+                        int y;
+                        if ((r & 1) == 1) {
+                            y = destinos[arista];
+                        } else if (arista < completas) {
+                            y = origenesIniciales[arista];
+                        } else {
+                            y = inicial + (arista - completas) / m;
+                        }
+                        destinos[k++] = y;
+                        destino.edge(x, y, peso(azar));
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Crea un generador R-MAT (Kronecker estocastico) con 2^escala vertices.
+     * Cada arista se coloca bajando recursivamente por los cuadrantes de la
+     * matriz de adyacencias con probabilidades a, b, c y 1 - a - b - c, lo
+     * que produce grados con distribucion sesgada como en redes reales. Los
+     * parametros de Graph500 son a = 0.57, b = c = 0.19.
+     *
+     * @param escala Logaritmo base 2 del numero de vertices
+     * @param aristasPorVertice Numero de aristas generadas por vertice
+     * @param a Probabilidad del cuadrante superior izquierdo
+     * @param b Probabilidad del cuadrante superior derecho
+     * @param c Probabilidad del cuadrante inferior izquierdo
+     * @param semilla Semilla del generador
+     * @return El generador
+     */
+    public static GraphGenerator rmat(int escala, int aristasPorVertice,
+            double a, double b, double c, long semilla) {
+        if (escala < 0 || escala > 30 || a + b + c > 1) {
+            throw new IllegalArgumentException("Parametros R-MAT invalidos");
+        }
+        long m = (long) aristasPorVertice << escala;
+        return new GraphGenerator(1 << escala, semilla) {
+            @Override
+            protected void genera(EdgeSink destino, SplittableRandom azar) {
+                for (long k = 0; k < m; k++) {
+                    int x = 0;
+                    int y = 0;
+                    for (int bit = escala - 1; bit >= 0; bit--) {
+                        double r = azar.nextDouble();
+                        if (r >= a + b + c) {
+                            x |= 1 << bit;
+                            y |= 1 << bit;
+                        } else if (r >= a + b) {
+                            x |= 1 << bit;
+                        } else if (r >= a) {
+                            y |= 1 << bit;
+                        }
+                    }
+                    destino.edge(x, y, peso(azar));
+                }
+            }
+        };
+    }
+
+    /**
+     * Crea un generador R-MAT con los parametros de Graph500
+     *
+     * @param escala Logaritmo base 2 del numero de vertices
+     * @param aristasPorVertice Numero de aristas generadas por vertice
+     * @param semilla Semilla del generador
+     * @return El generador
+     */
+    public static GraphGenerator rmat(int escala, int aristasPorVertice,
+            long semilla) {
+        return rmat(escala, aristasPorVertice, 0.57, 0.19, 0.19, semilla);
+    }
+
+    /**
+     * Crea un generador de cuadriculas de filas x columnas vertices, parecidas
+     * a una red de carreteras: cada vertice se conecta con sus vecinos de
+     * arriba, abajo, izquierda y derecha. El vertice (r, c) es r * columnas +
+     * c.
+     *
+     * @param filas Numero de filas
+     * @param columnas Numero de columnas
+     * @param dirigido true para generar cada arista en ambas direcciones con
+     * pesos independientes, false para generarla una sola vez
+     * @param semilla Semilla del generador
+     * @return El generador
+     */
+    public static GraphGenerator grid(int filas, int columnas,
+            boolean dirigido, long semilla) {
+        if ((long) filas * columnas > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cuadricula demasiado grande");
+        }
+        return new GraphGenerator(filas * columnas, semilla) {
+            @Override
+            protected void genera(EdgeSink destino, SplittableRandom azar) {
+                for (int r = 0; r < filas; r++) {
+                    for (int c = 0; c < columnas; c++) {
+                        int v = r * columnas + c;
+                        if (c + 1 < columnas) {
+                            conecta(destino, azar, v, v + 1);
+                        }
+                        if (r + 1 < filas) {
+                            conecta(destino, azar, v, v + columnas);
+                        }
+                    }
+                }
+            }
+
+            private void conecta(EdgeSink destino, SplittableRandom azar,
+                    int x, int y) {
+                destino.edge(x, y, peso(azar));
+                if (dirigido) {
+                    destino.edge(y, x, peso(azar));
+                }
+            }
+        };
+    }
+
+    /**
+     * Crea un generador de grafos completos
+     *
+     * @param n Numero de vertices
+     * @param dirigido true para generar las n(n - 1) aristas dirigidas, false
+     * para las n(n - 1) / 2 no dirigidas
+     * @param semilla Semilla del generador
+     * @return El generador
+     */
+    public static GraphGenerator complete(int n, boolean dirigido,
+            long semilla) {
+        return new GraphGenerator(n, semilla) {
+            @Override
+            protected void genera(EdgeSink destino, SplittableRandom azar) {
+                for (int x = 0; x < n; x++) {
+                    for (int y = dirigido ? 0 : x + 1; y < n; y++) {
+                        if (x != y) {
+                            destino.edge(x, y, peso(azar));
+                        }
+                    }
+                }
+            }
+        };
+    }
+}
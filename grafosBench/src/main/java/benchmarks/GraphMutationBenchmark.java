@@ -0,0 +1,103 @@
+package benchmarks;
+
+import interfaces.IGraph;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GraphMutationBenchmark.java
+ *
+ * Mide las operaciones que modifican el grafo (addVertex, addEdge y
+ * removeVertex) sobre las cuatro implementaciones de grafos, con varios
+ * tamanos y densidades. Como cada operacion cambia el grafo, el grafo se
+ * reconstruye antes de cada iteracion y cada iteracion ejecuta un lote de
+ * OPERACIONES operaciones; el tiempo reportado es el del lote completo.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar GraphMutation
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = GraphMutationBenchmark.OPERACIONES)
+@Measurement(iterations = 10, batchSize = GraphMutationBenchmark.OPERACIONES)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class GraphMutationBenchmark {
+
+    public static final int OPERACIONES = 100;
+
+    @Param({"LIST_DI", "LIST_NO_DI", "MATRIX_DI", "MATRIX_NO_DI"})
+    public Implementacion implementacion;
+
+    @Param({"100", "1000", "3000"})
+    public int nVertices;
+
+    @Param({"0.01", "0.1"})
+    public double densidad;
+
+    private IGraph<Integer> grafo;
+    private int[][] nuevasAristas;
+    private int[] porEliminar;
+    private int siguiente;
+
+    /**
+     * Construye un grafo con nVertices vertices que todavia admite
+     * OPERACIONES vertices mas, y elige las aristas a agregar y los vertices
+     * a eliminar
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        SplittableRandom azar = new SplittableRandom(253313);
+        grafo = implementacion.crea(nVertices + OPERACIONES);
+        implementacion.llena(grafo, nVertices, densidad, azar);
+        nuevasAristas = new int[OPERACIONES][];
+        for (int k = 0; k < OPERACIONES;) {
+            int x = azar.nextInt(nVertices);
+            int y = azar.nextInt(nVertices);
+            if (x != y && !grafo.hasEdge(x, y) && !grafo.hasEdge(y, x)
+                    && !repetida(nuevasAristas, k, x, y)) {
+                nuevasAristas[k++] = new int[]{x, y};
+            }
+        }
+        porEliminar = azar.ints(0, nVertices).distinct().limit(OPERACIONES)
+                .toArray();
+        siguiente = 0;
+    }
+
+    private static boolean repetida(int[][] aristas, int k, int x, int y) {
+        for (int i = 0; i < k; i++) {
+            if ((aristas[i][0] == x && aristas[i][1] == y)
+                    || (aristas[i][0] == y && aristas[i][1] == x)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public void addVertex() {
+        grafo.addVertex(nVertices + siguiente++);
+    }
+
+    @Benchmark
+    public void addEdge() {
+        int[] par = nuevasAristas[siguiente++];
+        grafo.addEdge(par[0], par[1], 1.0);
+    }
+
+    @Benchmark
+    public void removeVertex() {
+        grafo.removeVertex(porEliminar[siguiente++]);
+    }
+}
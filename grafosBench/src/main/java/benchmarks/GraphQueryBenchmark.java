@@ -0,0 +1,102 @@
+package benchmarks;
+
+import interfaces.IGraph;
+import java.util.LinkedList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GraphQueryBenchmark.java
+ *
+ * Mide las operaciones de consulta de IGraph (hasEdge, getEdgeWeight,
+ * getNumberEdges, getVertices y toString) sobre las cuatro implementaciones
+ * de grafos, con varios tamanos y densidades. Las consultas de aristas se
+ * reparten entre aristas existentes y pares de vertices al azar.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar GraphQuery
+ * Para una sola implementacion: ... GraphQuery -p implementacion=LIST_DI
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class GraphQueryBenchmark {
+
+    private static final int CONSULTAS = 1024;
+
+    @Param({"LIST_DI", "LIST_NO_DI", "MATRIX_DI", "MATRIX_NO_DI"})
+    public Implementacion implementacion;
+
+    @Param({"100", "1000", "3000"})
+    public int nVertices;
+
+    @Param({"0.01", "0.1"})
+    public double densidad;
+
+    private IGraph<Integer> grafo;
+    private int[][] existentes;
+    private int[][] alAzar;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom azar = new SplittableRandom(253313);
+        grafo = implementacion.crea(nVertices);
+        int[][] aristas = implementacion.llena(grafo, nVertices, densidad,
+                azar);
+        existentes = new int[CONSULTAS][];
+        alAzar = new int[CONSULTAS][];
+        for (int i = 0; i < CONSULTAS; i++) {
+            existentes[i] = aristas[azar.nextInt(aristas.length)];
+            alAzar[i] = new int[]{azar.nextInt(nVertices),
+                azar.nextInt(nVertices)};
+        }
+    }
+
+    private int siguienteConsulta() {
+        siguiente = (siguiente + 1) & (CONSULTAS - 1);
+        return siguiente;
+    }
+
+    @Benchmark
+    public boolean hasEdge() {
+        int[] par = alAzar[siguienteConsulta()];
+        return grafo.hasEdge(par[0], par[1]);
+    }
+
+    @Benchmark
+    public double getEdgeWeight() {
+        int[] par = existentes[siguienteConsulta()];
+        return grafo.getEdgeWeight(par[0], par[1]);
+    }
+
+    @Benchmark
+    public int getNumberEdges() {
+        return grafo.getNumberEdges();
+    }
+
+    @Benchmark
+    public LinkedList<Integer> getVertices() {
+        return grafo.getVertices();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String toStringGrafo() {
+        return grafo.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package benchmarks;
+
+import interfaces.IGraph;
+import implementaciones.ListDiGraph;
+import implementaciones.ListNoDiGraph;
+import implementaciones.MatrixDiGraph;
+import implementaciones.MatrixNoDiGraph;
+import java.util.SplittableRandom;
+
+/**
+ * Implementacion.java
+ *
+ * Las implementaciones de grafos que se comparan en los benchmarks, para
+ * usarlas como @Param de JMH.
+ */
+public enum Implementacion {
+
+    LIST_DI(true) {
+        @Override
+        public IGraph<Integer> crea(int maxVertices) {
+            return new ListDiGraph<>();
+        }
+    },
+    LIST_NO_DI(false) {
+        @Override
+        public IGraph<Integer> crea(int maxVertices) {
+            return new ListNoDiGraph<>();
+        }
+    },
+    MATRIX_DI(true) {
+        @Override
+        public IGraph<Integer> crea(int maxVertices) {
+            return new MatrixDiGraph<>(maxVertices);
+        }
+    },
+    MATRIX_NO_DI(false) {
+        @Override
+        public IGraph<Integer> crea(int maxVertices) {
+            return new MatrixNoDiGraph<>(maxVertices);
+        }
+    };
+
+    private final boolean dirigido;
+
+    private Implementacion(boolean dirigido) {
+        this.dirigido = dirigido;
+    }
+
+    /**
+     * Crea un grafo vacio de esta implementacion
+     *
+     * @param maxVertices Numero de vertices que debe admitir el grafo
+     * @return El grafo vacio
+     */
+    public abstract IGraph<Integer> crea(int maxVertices);
+
+    /**
+     * Determina si los grafos de esta implementacion son dirigidos
+     *
+     * @return true si los grafos son dirigidos, false en caso contrario
+     */
+    public boolean isDirigido() {
+        return dirigido;
+    }
+
+    /**
+     * Agrega al grafo vacio los vertices 0 .. nVertices - 1 y aristas al azar
+     * entre vertices distintos, sin lazos ni aristas repetidas. La densidad
+     * es la fraccion de las aristas posibles que se agregan.
+     *
+     * @param grafo Grafo vacio de esta implementacion
+     * @param nVertices Numero de vertices
+     * @param densidad Fraccion de las aristas posibles, entre 0 y 0.5
+     * @param azar Generador de numeros aleatorios
+     * @return Las aristas agregadas, como pares {origen, destino}
+     */
+    public int[][] llena(IGraph<Integer> grafo, int nVertices,
+            double densidad, SplittableRandom azar) {
+        for (int v = 0; v < nVertices; v++) {
+            grafo.addVertex(v);
+        }
+        long posibles = (long) nVertices * (nVertices - 1) / (dirigido ? 1 : 2);
+        int[][] aristas = new int[(int) (posibles * densidad)][];
+        for (int k = 0; k < aristas.length;) {
+            int x = azar.nextInt(nVertices);
+            int y = azar.nextInt(nVertices);
+            if (x != y && !grafo.hasEdge(x, y)) {
+                grafo.addEdge(x, y, 1 + azar.nextInt(100));
+                aristas[k++] = new int[]{x, y};
+            }
+        }
+        return aristas;
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import implementaciones.MatrixDiGraph;
+import implementaciones.MatrixGraph.ModoRemocion;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MatrixChurnBenchmark.java
+ *
+ * Mide la rotacion de vertices en un MatrixDiGraph lleno de nVertices
+ * vertices: cada operacion elimina un vertice al azar y agrega uno nuevo, con
+ * algunas aristas. Compara los dos modos de remocion.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar MatrixChurn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class MatrixChurnBenchmark {
+
+    private static final int ARISTAS_POR_VERTICE = 8;
+
+    @Param({"10000"})
+    public int nVertices;
+
+    @Param({"RECORRIDO", "INTERCAMBIO"})
+    public ModoRemocion modo;
+
+    private MatrixDiGraph<Integer> grafo;
+    private int[] etiquetas;
+    private int siguienteEtiqueta;
+    private SplittableRandom azar;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grafo = new MatrixDiGraph<>(nVertices);
+        grafo.setModoRemocion(modo);
+        etiquetas = new int[nVertices];
+        azar = new SplittableRandom(253313);
+        for (int i = 0; i < nVertices; i++) {
+            grafo.addVertex(i);
+            etiquetas[i] = i;
+        }
+        for (int i = 0; i < nVertices; i++) {
+            conecta(i);
+        }
+        siguienteEtiqueta = nVertices;
+    }
+
+    private void conecta(int etiqueta) {
+        for (int k = 0; k < ARISTAS_POR_VERTICE; k++) {
+            int destino = etiquetas[azar.nextInt(nVertices)];
+            if (destino != etiqueta && !grafo.hasEdge(etiqueta, destino)) {
+                grafo.addEdge(etiqueta, destino, k);
+            }
+        }
+    }
+
+    @Benchmark
+    public int eliminaYAgrega() {
+        int posicion = azar.nextInt(nVertices);
+        grafo.removeVertex(etiquetas[posicion]);
+        int nueva = siguienteEtiqueta++;
+        etiquetas[posicion] = nueva;
+        grafo.addVertex(nueva);
+        conecta(nueva);
+        return grafo.getNumberVertices();
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import implementaciones.MatrixDiGraph;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MatrixGrowthBenchmark.java
+ *
+ * Compara construir un MatrixDiGraph de nVertices vertices con capacidad fija
+ * (exacta o sobreestimada al cuadruple, como se hacia cuando no se conocia el
+ * tamano final) contra el modo que crece geometricamente.
+ *
+ * El tiempo por operacion es el costo de todos los addVertex, de modo que el
+ * costo amortizado es score / nVertices. El contador bytesMatriz reporta el
+ * tamano de la matriz retenida al final; la memoria asignada durante la
+ * construccion se obtiene con -prof gc.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar MatrixGrowth -prof gc
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class MatrixGrowthBenchmark {
+
+    @Param({"1000", "4000", "10000"})
+    public int nVertices;
+
+    /**
+     * Tamano de la matriz de adyacencias retenida por el grafo construido
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memoria {
+
+        public long bytesMatriz;
+
+        @Setup(Level.Iteration)
+        public void reinicia() {
+            bytesMatriz = 0;
+        }
+    }
+
+    private MatrixDiGraph<Integer> llena(MatrixDiGraph<Integer> grafo,
+            Memoria memoria) {
+        for (int i = 0; i < nVertices; i++) {
+            grafo.addVertex(i);
+        }
+        memoria.bytesMatriz = 8L * grafo.getCapacidad() * grafo.getCapacidad();
+        return grafo;
+    }
+
+    @Benchmark
+    public MatrixDiGraph<Integer> capacidadFijaExacta(Memoria memoria) {
+        return llena(new MatrixDiGraph<>(nVertices), memoria);
+    }
+
+    @Benchmark
+    public MatrixDiGraph<Integer> capacidadFijaSobreestimada(Memoria memoria) {
+        int maximo = Math.min(4 * nVertices, MatrixDiGraph.MAX_CAPACIDAD);
+        return llena(new MatrixDiGraph<>(maximo), memoria);
+    }
+
+    @Benchmark
+    public MatrixDiGraph<Integer> creciente(Memoria memoria) {
+        return llena(new MatrixDiGraph<>(), memoria);
+    }
+}
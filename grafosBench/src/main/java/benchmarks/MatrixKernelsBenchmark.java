@@ -0,0 +1,101 @@
+package benchmarks;
+
+import implementaciones.BitMatrixDiGraph;
+import implementaciones.CsrGraph;
+import implementaciones.FloydWarshall;
+import implementaciones.MatrixDiGraph;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MatrixKernelsBenchmark.java
+ *
+ * Compara los ciclos internos vectoriales de MatrixKernels contra los
+ * escalares en un solo hilo, sobre un MatrixDiGraph con densidad 0.1:
+ *
+ * - floydWarshall: relajacion min-plus de renglones, con
+ * allPairsShortestPaths(1).
+ *
+ * - freeze: cuenta de celdas con arista por renglon, para los offsets CSR.
+ *
+ * - transitiveClosure: OR de renglones de bits.
+ *
+ * Cada par de metodos corre en su propia maquina virtual: los escalares con
+ * -Dgrafos.vector=false y los vectoriales con el modulo de vectores cargado.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar MatrixKernels
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g",
+    "--add-modules=jdk.incubator.vector"})
+public class MatrixKernelsBenchmark {
+
+    private static final double DENSIDAD = 0.1;
+
+    @State(Scope.Benchmark)
+    public static class Grafo {
+
+        @Param({"1000"})
+        public int nVertices;
+
+        MatrixDiGraph<Integer> grafo;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            grafo = new MatrixDiGraph<>();
+            Implementacion.MATRIX_DI.llena(grafo, nVertices, DENSIDAD,
+                    new SplittableRandom(253313));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx4g",
+        "--add-modules=jdk.incubator.vector", "-Dgrafos.vector=false"})
+    public FloydWarshall<Integer> floydWarshallEscalar(Grafo g) {
+        return g.grafo.allPairsShortestPaths(1);
+    }
+
+    @Benchmark
+    public FloydWarshall<Integer> floydWarshallVectorial(Grafo g) {
+        return g.grafo.allPairsShortestPaths(1);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx4g",
+        "--add-modules=jdk.incubator.vector", "-Dgrafos.vector=false"})
+    public CsrGraph<Integer> freezeEscalar(Grafo g) {
+        return g.grafo.freeze();
+    }
+
+    @Benchmark
+    public CsrGraph<Integer> freezeVectorial(Grafo g) {
+        return g.grafo.freeze();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx4g",
+        "--add-modules=jdk.incubator.vector", "-Dgrafos.vector=false"})
+    public BitMatrixDiGraph<Integer> transitiveClosureEscalar(Grafo g) {
+        return g.grafo.transitiveClosure();
+    }
+
+    @Benchmark
+    public BitMatrixDiGraph<Integer> transitiveClosureVectorial(Grafo g) {
+        return g.grafo.transitiveClosure();
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import implementaciones.ListNoDiGraph;
+import implementaciones.MatrixNoDiGraph;
+import implementaciones.MinimumSpanningTree;
+import interfaces.IGraph;
+import interfaces.IIndexedGraph;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MinimumSpanningTreeBenchmark.java
+ *
+ * Compara Prim contra Kruskal en grafos no dirigidos sobre listas y sobre
+ * una matriz de adyacencias, con varias densidades, para elegir el umbral
+ * MinimumSpanningTree.DENSIDAD_PRIM que usa compute(). El tiempo incluye
+ * copiar el bosque a un grafo vacio de la misma implementacion.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar MinimumSpanningTree
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MinimumSpanningTreeBenchmark {
+
+    @Param({"LIST_NO_DI", "MATRIX_NO_DI"})
+    public Implementacion implementacion;
+
+    @Param({"2000"})
+    public int nVertices;
+
+    @Param({"0.002", "0.01", "0.05", "0.2"})
+    public double densidad;
+
+    private IIndexedGraph<Integer> grafo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        IGraph<Integer> g = implementacion.crea(nVertices);
+        implementacion.llena(g, nVertices, densidad,
+                new SplittableRandom(253313));
+        grafo = (IIndexedGraph<Integer>) g;
+    }
+
+    private IGraph<Integer> destino() {
+        return implementacion == Implementacion.LIST_NO_DI
+                ? new ListNoDiGraph<>() : new MatrixNoDiGraph<>();
+    }
+
+    @Benchmark
+    public MinimumSpanningTree<Integer> prim() {
+        return MinimumSpanningTree.prim(grafo, destino());
+    }
+
+    @Benchmark
+    public MinimumSpanningTree<Integer> kruskal() {
+        return MinimumSpanningTree.kruskal(grafo, destino());
+    }
+}
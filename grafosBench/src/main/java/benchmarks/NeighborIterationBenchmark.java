@@ -0,0 +1,136 @@
+package benchmarks;
+
+import implementaciones.ListDiGraph;
+import implementaciones.ListVertex;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * NeighborIterationBenchmark.java
+ *
+ * Mide recorrer todas las aristas de un grafo sumando sus pesos, con el cursor
+ * primitivo de newNeighborCursor(), con forEachNeighbor() y, como referencia,
+ * con los iteradores de ListVertex, que regresan cada peso como un Double.
+ * El objetivo es que el cursor no cree objetos: con -prof gc la columna
+ * gc.alloc.rate.norm debe ser practicamente 0 bytes por operacion para el
+ * cursor, mientras que los iteradores crean objetos por vertice y por arista.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar NeighborIteration -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NeighborIterationBenchmark {
+
+    private static final int N_VERTICES = 2000;
+    private static final double DENSIDAD = 0.01;
+
+    /**
+     * Grafo de cada implementacion, con un cursor que se reutiliza entre
+     * operaciones
+     */
+    @State(Scope.Thread)
+    public static class Grafos {
+
+        @Param({"LIST_DI", "MATRIX_DI", "CSR"})
+        public String implementacion;
+
+        IIndexedGraph<Integer> grafo;
+        INeighborCursor cursor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ListDiGraph<Integer> lista = new ListDiGraph<>();
+            Implementacion.LIST_DI.llena(lista, N_VERTICES, DENSIDAD,
+                    new SplittableRandom(253313));
+            switch (implementacion) {
+                case "LIST_DI":
+                    grafo = lista;
+                    break;
+                case "MATRIX_DI":
+                    grafo = (IIndexedGraph<Integer>) Implementacion.MATRIX_DI
+                            .crea(N_VERTICES);
+                    Implementacion.MATRIX_DI.llena(grafo, N_VERTICES,
+                            DENSIDAD, new SplittableRandom(253313));
+                    break;
+                default:
+                    grafo = lista.freeze();
+            }
+            cursor = grafo.newNeighborCursor();
+        }
+    }
+
+    /**
+     * Lista de adyacencias con acceso a sus vertices, para recorrerlos con
+     * los iteradores de ListVertex
+     */
+    @State(Scope.Thread)
+    public static class ListaConIteradores extends ListDiGraph<Integer> {
+
+        ListVertex<Integer>[] arreglo;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setUp() {
+            Implementacion.LIST_DI.llena(this, N_VERTICES, DENSIDAD,
+                    new SplittableRandom(253313));
+            arreglo = new ListVertex[getNumberVertices()];
+            for (int v = 0; v < arreglo.length; v++) {
+                arreglo[v] = getVertex(getEtiqueta(v));
+            }
+        }
+    }
+
+    @Benchmark
+    public double cursor(Grafos g) {
+        INeighborCursor cursor = g.cursor;
+        double suma = 0.0;
+        for (int v = 0; v < g.grafo.getNumberVertices(); v++) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                suma += cursor.weight() + cursor.target();
+            }
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public double forEachNeighbor(Grafos g) {
+        double[] suma = new double[1];
+        for (int v = 0; v < g.grafo.getNumberVertices(); v++) {
+            g.grafo.forEachNeighbor(v, (w, peso) -> suma[0] += peso + w);
+        }
+        return suma[0];
+    }
+
+    @Benchmark
+    public double iteradoresListVertex(ListaConIteradores lista) {
+        double suma = 0.0;
+        for (ListVertex<Integer> vertice : lista.arreglo) {
+            Iterator<ListVertex<Integer>> vecinos
+                    = vertice.getNeighborIterator();
+            Iterator<Double> pesos = vertice.getWeightIterator();
+            while (vecinos.hasNext()) {
+                suma += pesos.next() + vecinos.next().getPosicion();
+            }
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,129 @@
+package benchmarks;
+
+import implementaciones.CsrGraph;
+import implementaciones.ParallelBfs;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ParallelBfsBenchmark.java
+ *
+ * Compara el calculo de distancias en saltos desde un vertice con
+ * ParallelBfs, con 1 a 16 hilos, contra un recorrido en amplitud secuencial
+ * con una cola sobre el mismo grafo CSR. El grafo es R-MAT con 16 aristas
+ * por vertice; con escala 20 tiene alrededor de un millon de vertices y 16
+ * millones de aristas.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar ParallelBfs
+ * Para un grafo mayor: ... ParallelBfs -p escala=22
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ParallelBfsBenchmark {
+
+    /**
+     * Grafo y origenes de los recorridos
+     */
+    @State(Scope.Benchmark)
+    public static class Grafo {
+
+        @Param({"20"})
+        public int escala;
+
+        CsrGraph<Integer> csr;
+        int[] origenes;
+        int siguiente;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            csr = GraphGenerator.rmat(escala, 16, 253313).toCsr(true);
+            // Origenes con aristas salientes, para no medir recorridos vacios
+            SplittableRandom azar = new SplittableRandom(42);
+            origenes = new int[64];
+            for (int i = 0; i < origenes.length; i++) {
+                int v;
+                do {
+                    v = azar.nextInt(csr.getNumberVertices());
+                } while (csr.firstEdge(v) == csr.endEdge(v));
+                origenes[i] = v;
+            }
+        }
+
+        int siguienteOrigen() {
+            return origenes[siguiente++ & 63];
+        }
+    }
+
+    /**
+     * Recorrido paralelo con el numero de hilos dado
+     */
+    @State(Scope.Benchmark)
+    public static class Paralelo {
+
+        @Param({"1", "2", "4", "8", "16"})
+        public int hilos;
+
+        ParallelBfs<Integer> bfs;
+
+        @Setup(Level.Trial)
+        public void setUp(Grafo grafo) {
+            bfs = new ParallelBfs<>(grafo.csr, hilos);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            bfs.close();
+        }
+    }
+
+    @Benchmark
+    public int[] paralelo(Grafo grafo, Paralelo paralelo) {
+        return paralelo.bfs.distancias(grafo.siguienteOrigen());
+    }
+
+    /**
+     * Recorrido en amplitud secuencial de referencia, con una cola en un
+     * arreglo
+     */
+    @Benchmark
+    public int[] secuencial(Grafo grafo) {
+        CsrGraph<Integer> csr = grafo.csr;
+        int origen = grafo.siguienteOrigen();
+        int n = csr.getNumberVertices();
+        int[] distancias = new int[n];
+        Arrays.fill(distancias, ParallelBfs.NO_ALCANZADO);
+        int[] cola = new int[n];
+        int inicio = 0;
+        int fin = 0;
+        distancias[origen] = 0;
+        cola[fin++] = origen;
+        while (inicio < fin) {
+            int v = cola[inicio++];
+            for (int e = csr.firstEdge(v); e < csr.endEdge(v); e++) {
+                int w = csr.getTarget(e);
+                if (distancias[w] == ParallelBfs.NO_ALCANZADO) {
+                    distancias[w] = distancias[v] + 1;
+                    cola[fin++] = w;
+                }
+            }
+        }
+        return distancias;
+    }
+}
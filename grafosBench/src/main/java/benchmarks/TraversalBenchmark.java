@@ -0,0 +1,113 @@
+package benchmarks;
+
+import implementaciones.Dijkstra;
+import implementaciones.GraphTraversal;
+import implementaciones.ListDiGraph;
+import implementaciones.MatrixDiGraph;
+import interfaces.IIndexedGraph;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TraversalBenchmark.java
+ *
+ * Compara un recorrido en amplitud completo y consultas de Dijkstra punto a
+ * punto sobre ListDiGraph, MatrixDiGraph y CsrGraph, con grafos sinteticos de
+ * los distintos generadores y aproximadamente 8 aristas por vertice.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar TraversalBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class TraversalBenchmark {
+
+    /**
+     * Los generadores de grafos sinteticos, para usarlos como @Param
+     */
+    public enum Generador {
+        ERDOS_RENYI, BARABASI_ALBERT, RMAT, GRID;
+
+        /**
+         * Crea un generador de este tipo con aproximadamente n vertices y 8
+         * aristas por vertice
+         */
+        GraphGenerator crea(int n, long semilla) {
+            switch (this) {
+                case ERDOS_RENYI:
+                    return GraphGenerator.erdosRenyi(n, 8.0 / n, true, semilla);
+                case BARABASI_ALBERT:
+                    return GraphGenerator.barabasiAlbert(n, 8, semilla);
+                case RMAT:
+                    return GraphGenerator.rmat(
+                            31 - Integer.numberOfLeadingZeros(n), 8, semilla);
+                default:
+                    int lado = (int) Math.sqrt(n);
+                    return GraphGenerator.grid(lado, lado, true, semilla);
+            }
+        }
+    }
+
+    @Param({"ERDOS_RENYI", "BARABASI_ALBERT", "RMAT", "GRID"})
+    public Generador generador;
+
+    @Param({"LIST_DI", "MATRIX_DI", "CSR"})
+    public String implementacion;
+
+    @Param({"4096"})
+    public int nVertices;
+
+    private IIndexedGraph<Integer> grafo;
+    private Dijkstra<Integer> dijkstra;
+    private int[] origenes;
+    private int[] destinos;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphGenerator g = generador.crea(nVertices, 253313);
+        switch (implementacion) {
+            case "LIST_DI":
+                grafo = g.llena(new ListDiGraph<>());
+                break;
+            case "MATRIX_DI":
+                grafo = g.llena(new MatrixDiGraph<>(g.getNumberVertices()));
+                break;
+            default:
+                grafo = g.toCsr(true);
+        }
+        dijkstra = new Dijkstra<>(grafo);
+        SplittableRandom azar = new SplittableRandom(42);
+        origenes = azar.ints(256, 0, grafo.getNumberVertices()).toArray();
+        destinos = azar.ints(256, 0, grafo.getNumberVertices()).toArray();
+    }
+
+    @Benchmark
+    public int bfsCompleto() {
+        int[] visitados = new int[1];
+        GraphTraversal.bfs(grafo, origenes[siguiente++ & 255],
+                (vertice, predecesor) -> visitados[0]++);
+        return visitados[0];
+    }
+
+    @Benchmark
+    public double dijkstraPuntoAPunto() {
+        int k = siguiente++ & 255;
+        return dijkstra.shortestPath(origenes[k], destinos[k]).getPeso();
+    }
+}
@@ -0,0 +1,98 @@
+package benchmarks;
+
+import implementaciones.ListDiGraph;
+import implementaciones.Vertex;
+import implementaciones.VertexDictionary;
+import java.util.LinkedList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * VertexLookupBenchmark.java
+ *
+ * Compara la busqueda de un vertice por su etiqueta con el recorrido de una
+ * LinkedList (la implementacion anterior de indexOf) contra el diccionario de
+ * vertices con tabla de dispersion.
+ *
+ * Ejecutar con: java -jar grafosBench/target/benchmarks.jar VertexLookup
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VertexLookupBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int nVertices;
+
+    private LinkedList<Vertex<Integer>> lista;
+    private VertexDictionary<Integer, Vertex<Integer>> diccionario;
+    private ListDiGraph<Integer> grafo;
+    private int[] consultas;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lista = new LinkedList<>();
+        diccionario = new VertexDictionary<>();
+        grafo = new ListDiGraph<>();
+        for (int i = 0; i < nVertices; i++) {
+            lista.add(new Vertex<>(i));
+            diccionario.add(new Vertex<>(i));
+            grafo.addVertex(i);
+        }
+        for (int i = 1; i < nVertices; i++) {
+            grafo.addEdge(i - 1, i);
+        }
+        SplittableRandom azar = new SplittableRandom(253313);
+        consultas = new int[1024];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = azar.nextInt(nVertices);
+        }
+    }
+
+    private int siguienteEtiqueta() {
+        siguiente = (siguiente + 1) & (consultas.length - 1);
+        return consultas[siguiente];
+    }
+
+    /**
+     * Recorrido de la implementacion anterior: vertices.get(i) en un ciclo
+     * sobre una LinkedList
+     */
+    @Benchmark
+    public int indexOfRecorridoLinkedList() {
+        Integer buscada = siguienteEtiqueta();
+        for (int i = 0; i < nVertices; i++) {
+            if (buscada.equals(lista.get(i).getEtiqueta())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int indexOfDiccionario() {
+        return diccionario.indexOf(siguienteEtiqueta());
+    }
+
+    @Benchmark
+    public boolean hasEdgeListDiGraph() {
+        int etiqueta = siguienteEtiqueta();
+        return grafo.hasEdge(etiqueta, (etiqueta + 1) % nVertices);
+    }
+}
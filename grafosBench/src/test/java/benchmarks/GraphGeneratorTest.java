@@ -0,0 +1,114 @@
+package benchmarks;
+
+import implementaciones.CsrGraph;
+import implementaciones.ListDiGraph;
+import implementaciones.ListNoDiGraph;
+import implementaciones.MatrixDiGraph;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para los generadores de grafos sinteticos.
+ */
+public class GraphGeneratorTest {
+
+    private static List<String> secuencia(GraphGenerator generador) {
+        List<String> aristas = new ArrayList<>();
+        generador.genera((x, y, peso) -> aristas.add(x + "-" + y + ":" + peso));
+        return aristas;
+    }
+
+    /**
+     * Prueba que la misma semilla produzca la misma secuencia de aristas y
+     * que otra semilla produzca una distinta.
+     */
+    @Test
+    public void testReproducible() {
+        assertEquals(secuencia(GraphGenerator.rmat(8, 4, 1)),
+                secuencia(GraphGenerator.rmat(8, 4, 1)));
+        assertNotEquals(secuencia(GraphGenerator.rmat(8, 4, 1)),
+                secuencia(GraphGenerator.rmat(8, 4, 2)));
+        assertEquals(secuencia(GraphGenerator.barabasiAlbert(300, 3, 5)),
+                secuencia(GraphGenerator.barabasiAlbert(300, 3, 5)));
+    }
+
+    /**
+     * Prueba el numero de aristas de los generadores deterministas y que
+     * Erdos-Renyi con p = 1 produzca el grafo completo.
+     */
+    @Test
+    public void testNumeroAristas() {
+        assertEquals(2 * (4 * 4 + 5 * 3), GraphGenerator.grid(4, 5, true, 1)
+                .llena(new ListDiGraph<>()).getNumberEdges());
+        assertEquals(4 * 4 + 5 * 3, GraphGenerator.grid(4, 5, false, 1)
+                .llena(new ListNoDiGraph<>()).getNumberEdges());
+        assertEquals(20 * 19, GraphGenerator.complete(20, true, 1)
+                .llena(new MatrixDiGraph<>(20)).getNumberEdges());
+        assertEquals(20 * 19, GraphGenerator.erdosRenyi(20, 1.0, true, 1)
+                .llena(new ListDiGraph<>()).getNumberEdges());
+        assertEquals(20 * 19 / 2, GraphGenerator.erdosRenyi(20, 1.0, false, 1)
+                .toCsr(false).getNumberEdges());
+        assertEquals(0, GraphGenerator.erdosRenyi(20, 0.0, true, 1)
+                .toCsr(true).getNumberEdges());
+    }
+
+    /**
+     * Prueba que el numero de aristas de G(n, p) este cerca de su valor
+     * esperado p * n * (n - 1).
+     */
+    @Test
+    public void testErdosRenyi_densidad() {
+        int n = 2000;
+        double p = 0.01;
+        int[] cuenta = new int[1];
+        GraphGenerator.erdosRenyi(n, p, true, 7).genera((x, y, peso) -> {
+            assertTrue(x != y && x >= 0 && y >= 0 && x < n && y < n);
+            cuenta[0]++;
+        });
+        double esperado = p * n * (n - 1);
+        assertEquals(esperado, cuenta[0], 5 * Math.sqrt(esperado));
+    }
+
+    /**
+     * Prueba que el grafo CSR construido directamente tenga las mismas
+     * aristas que el grafo de listas llenado con el mismo generador.
+     */
+    @Test
+    public void testToCsr_igualQueLlena() {
+        for (boolean dirigido : new boolean[]{true, false}) {
+            GraphGenerator generador = GraphGenerator.rmat(7, 6, 3);
+            CsrGraph<Integer> csr = generador.toCsr(dirigido);
+            CsrGraph<Integer> esperado = dirigido
+                    ? generador.llena(new ListDiGraph<>()).freeze()
+                    : generador.llena(new ListNoDiGraph<>()).freeze();
+            assertEquals(esperado.getNumberEdges(), csr.getNumberEdges());
+            for (int v = 0; v < csr.getNumberVertices(); v++) {
+                assertEquals(esperado.endEdge(v) - esperado.firstEdge(v),
+                        csr.endEdge(v) - csr.firstEdge(v));
+                for (int e = csr.firstEdge(v); e < csr.endEdge(v); e++) {
+                    assertTrue(esperado.findEdge(v, csr.getTarget(e)) >= 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prueba que en Barabasi-Albert los primeros vertices acumulen mas
+     * aristas que los ultimos.
+     */
+    @Test
+    public void testBarabasiAlbert_conexionPreferencial() {
+        CsrGraph<Integer> grafo = GraphGenerator.barabasiAlbert(5000, 2, 11)
+                .toCsr(false);
+        int primeros = 0;
+        int ultimos = 0;
+        for (int v = 0; v < 100; v++) {
+            primeros += grafo.endEdge(v) - grafo.firstEdge(v);
+            int w = grafo.getNumberVertices() - 1 - v;
+            ultimos += grafo.endEdge(w) - grafo.firstEdge(w);
+        }
+        assertTrue(primeros > 3 * ultimos);
+    }
+}
@@ -0,0 +1,146 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IHeuristic;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborVisitor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * AStar.java
+ *
+ * Esta clase implementa la busqueda A* del camino de menor peso entre dos
+ * vertices en un grafo con pesos no negativos. Es el algoritmo de Dijkstra con
+ * la prioridad de cada vertice aumentada por una estimacion de lo que falta
+ * para llegar al destino, de modo que la busqueda avanza hacia el destino en
+ * lugar de explorar en todas direcciones.
+ *
+ * La heuristica la proporciona quien usa la clase y se evalua a lo mas una vez
+ * por vertice alcanzado en cada consulta. Si la heuristica es admisible pero
+ * no consistente, un vertice puede fijarse mas de una vez. Como en Dijkstra,
+ * una instancia puede resolver muchas consultas y solo limpia los vertices
+ * que toco la consulta anterior.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class AStar<T> {
+
+    private final IIndexedGraph<T> grafo;
+    private final IHeuristic<T> heuristica;
+    private final Relajacion relajacion = new Relajacion();
+    private EstadoBusqueda estado;
+    private double[] estimaciones;
+    private T destino;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param grafo Grafo sobre el que se calculan los caminos
+     * @param heuristica Estimacion admisible del peso restante al destino
+     */
+    public AStar(IIndexedGraph<T> grafo, IHeuristic<T> heuristica) {
+        this.grafo = grafo;
+        this.heuristica = heuristica;
+        reserva(grafo.getNumberVertices());
+    }
+
+    private void reserva(int n) {
+        estado = new EstadoBusqueda(n);
+        estimaciones = new double[n];
+        Arrays.fill(estimaciones, Double.NaN);
+    }
+
+    private int indiceExistente(T etiqueta) throws GraphException {
+        int indice = grafo.indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return indice;
+    }
+
+    /**
+     * Obtiene la estimacion del vertice dado, evaluando la heuristica solo la
+     * primera vez en la consulta
+     */
+    private double estimacion(int v) {
+        double h = estimaciones[v];
+        if (Double.isNaN(h)) {
+            h = heuristica.estimate(grafo.getEtiqueta(v), destino);
+            estimaciones[v] = h;
+        }
+        return h;
+    }
+
+    /**
+     * Calcula el camino de menor peso entre los vertices origen y destino
+     *
+     * @param origen Etiqueta del vertice origen
+     * @param destino Etiqueta del vertice destino
+     * @return El camino de menor peso, inexistente si destino no es
+     * alcanzable desde origen
+     * @throws GraphException Si alguno de los vertices no existe o hay una
+     * arista explorada con peso negativo
+     */
+    public Camino<T> shortestPath(T origen, T destino) throws GraphException {
+        int s = indiceExistente(origen);
+        int t = indiceExistente(destino);
+        if (estado.capacidad() != grafo.getNumberVertices()) {
+            reserva(grafo.getNumberVertices());
+        } else {
+            for (int i = 0; i < estado.nTocados; i++) {
+                estimaciones[estado.tocados[i]] = Double.NaN;
+            }
+        }
+        this.destino = destino;
+        estado.inicia(s, estimacion(s));
+        while (!estado.monticulo.isEmpty()) {
+            int v = estado.fija();
+            if (v == t) {
+                List<T> vertices = new ArrayList<>();
+                estado.agregaCamino(grafo, t, vertices);
+                Collections.reverse(vertices);
+                return new Camino<>(vertices, estado.distancias[t]);
+            }
+            relajacion.origen = v;
+            relajacion.distanciaOrigen = estado.distancias[v];
+            grafo.forEachNeighbor(v, relajacion);
+        }
+        return Camino.inexistente();
+    }
+
+    /**
+     * Obtiene el numero de vertices que fijo la ultima consulta, una medida
+     * del trabajo que hizo
+     *
+     * @return El numero de vertices fijados
+     */
+    public int getVerticesFijados() {
+        return estado.nFijados;
+    }
+
+    /**
+     * Relaja las aristas salientes del vertice que se acaba de fijar
+     */
+    private final class Relajacion implements INeighborVisitor {
+
+        private int origen;
+        private double distanciaOrigen;
+
+        @Override
+        public void visit(int vecino, double peso) {
+            if (peso < 0.0) {
+                throw new GraphException("Arista con peso negativo: "
+                        + grafo.getEtiqueta(origen) + " -> "
+                        + grafo.getEtiqueta(vecino));
+            }
+            double distancia = distanciaOrigen + peso;
+            if (distancia < estado.distancias[vecino]) {
+                estado.mejora(vecino, distancia, origen,
+                        distancia + estimacion(vecino));
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborVisitor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BidirectionalDijkstra.java
+ *
+ * Esta clase implementa la busqueda bidireccional de Dijkstra para encontrar
+ * el camino de menor peso entre dos vertices en un grafo con pesos no
+ * negativos. Una busqueda avanza desde el origen sobre las aristas del grafo y
+ * otra desde el destino sobre las aristas del grafo inverso; en cada paso
+ * avanza la que tiene la menor distancia pendiente, y la busqueda termina
+ * cuando la suma de las distancias pendientes de ambas alcanza al mejor
+ * camino encontrado. En grafos tipo red de carreteras cada busqueda explora
+ * aproximadamente un circulo de la mitad del radio, en lugar del circulo
+ * completo de Dijkstra.
+ *
+ * El grafo inverso debe tener los mismos vertices en las mismas posiciones
+ * que el grafo y una arista y -> x por cada arista x -> y del grafo. Para un
+ * grafo no dirigido el grafo inverso es el mismo grafo. Los resultados son
+ * validos mientras el grafo no se modifique.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class BidirectionalDijkstra<T> {
+
+    private final IIndexedGraph<T> grafo;
+    private final IIndexedGraph<T> inverso;
+    private final EstadoBusqueda adelante;
+    private final EstadoBusqueda atras;
+    private final Relajacion relajacionAdelante;
+    private final Relajacion relajacionAtras;
+    private double mejorPeso;
+    private int encuentro;
+
+    /**
+     * Constructor de la clase. Construye el grafo inverso como el transpuesto
+     * CSR del grafo, en O(V + E).
+     *
+     * @param grafo Grafo dirigido sobre el que se calculan los caminos
+     */
+    public BidirectionalDijkstra(IIndexedGraph<T> grafo) {
+        this(grafo, CsrGraph.transpose(grafo));
+    }
+
+    /**
+     * Constructor de la clase
+     *
+     * @param grafo Grafo sobre el que se calculan los caminos
+     * @param inverso Grafo con las aristas del grafo invertidas
+     * @throws GraphException Si los grafos no tienen el mismo numero de
+     * vertices
+     */
+    public BidirectionalDijkstra(IIndexedGraph<T> grafo,
+            IIndexedGraph<T> inverso) throws GraphException {
+        int n = grafo.getNumberVertices();
+        if (inverso.getNumberVertices() != n) {
+            throw new GraphException("El grafo inverso no tiene los mismos"
+                    + " vertices que el grafo");
+        }
+        this.grafo = grafo;
+        this.inverso = inverso;
+        adelante = new EstadoBusqueda(n);
+        atras = new EstadoBusqueda(n);
+        relajacionAdelante = new Relajacion(grafo, adelante, atras);
+        relajacionAtras = new Relajacion(inverso, atras, adelante);
+    }
+
+    private int indiceExistente(T etiqueta) throws GraphException {
+        int indice = grafo.indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return indice;
+    }
+
+    /**
+     * Calcula el camino de menor peso entre los vertices origen y destino
+     *
+     * @param origen Etiqueta del vertice origen
+     * @param destino Etiqueta del vertice destino
+     * @return El camino de menor peso, inexistente si destino no es
+     * alcanzable desde origen
+     * @throws GraphException Si alguno de los vertices no existe, el grafo
+     * cambio de tamano o hay una arista explorada con peso negativo
+     */
+    public Camino<T> shortestPath(T origen, T destino) throws GraphException {
+        if (grafo.getNumberVertices() != adelante.capacidad()) {
+            throw new GraphException("El grafo se modifico");
+        }
+        int s = indiceExistente(origen);
+        int t = indiceExistente(destino);
+        adelante.inicia(s, 0.0);
+        atras.inicia(t, 0.0);
+        mejorPeso = s == t ? 0.0 : Double.POSITIVE_INFINITY;
+        encuentro = s == t ? s : EstadoBusqueda.SIN_PREDECESOR;
+        while (!adelante.monticulo.isEmpty() && !atras.monticulo.isEmpty()) {
+            double pendienteAdelante = adelante.monticulo.peekPrioridad();
+            double pendienteAtras = atras.monticulo.peekPrioridad();
+            if (pendienteAdelante + pendienteAtras >= mejorPeso) {
+                break;
+            }
+            if (pendienteAdelante <= pendienteAtras) {
+                relajacionAdelante.relaja(adelante.fija());
+            } else {
+                relajacionAtras.relaja(atras.fija());
+            }
+        }
+        return camino();
+    }
+
+    /**
+     * Obtiene el numero de vertices que fijaron ambas busquedas en la ultima
+     * consulta, una medida del trabajo que hizo
+     *
+     * @return El numero de vertices fijados
+     */
+    public int getVerticesFijados() {
+        return adelante.nFijados + atras.nFijados;
+    }
+
+    private Camino<T> camino() {
+        if (encuentro == EstadoBusqueda.SIN_PREDECESOR) {
+            return Camino.inexistente();
+        }
+        List<T> vertices = new ArrayList<>();
+        adelante.agregaCamino(grafo, encuentro, vertices);
+        Collections.reverse(vertices);
+        atras.agregaCamino(grafo, atras.predecesores[encuentro], vertices);
+        return new Camino<>(vertices, mejorPeso);
+    }
+
+    /**
+     * Relaja las aristas salientes de un vertice fijado en una direccion y
+     * actualiza el mejor camino cuando la arista llega a un vertice que ya
+     * alcanzo la busqueda en la otra direccion
+     */
+    private final class Relajacion implements INeighborVisitor {
+
+        private final IIndexedGraph<T> lado;
+        private final EstadoBusqueda propio;
+        private final EstadoBusqueda otro;
+        private int origen;
+        private double distanciaOrigen;
+
+        private Relajacion(IIndexedGraph<T> lado, EstadoBusqueda propio,
+                EstadoBusqueda otro) {
+            this.lado = lado;
+            this.propio = propio;
+            this.otro = otro;
+        }
+
+        private void relaja(int v) {
+            origen = v;
+            distanciaOrigen = propio.distancias[v];
+            lado.forEachNeighbor(v, this);
+        }
+
+        @Override
+        public void visit(int vecino, double peso) {
+            if (peso < 0.0) {
+                throw new GraphException("Arista con peso negativo: "
+                        + lado.getEtiqueta(origen) + " -> "
+                        + lado.getEtiqueta(vecino));
+            }
+            double distancia = distanciaOrigen + peso;
+            if (!propio.fijados[vecino]) {
+                propio.mejora(vecino, distancia, origen, distancia);
+            }
+            double total = distancia + otro.distancias[vecino];
+            if (total < mejorPeso && propio.distancias[vecino] == distancia) {
+                mejorPeso = total;
+                encuentro = vecino;
+            }
+        }
+    }
+}
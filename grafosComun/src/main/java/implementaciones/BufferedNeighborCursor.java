@@ -0,0 +1,73 @@
+package implementaciones;
+
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import interfaces.INeighborVisitor;
+import java.util.Arrays;
+
+/**
+ * BufferedNeighborCursor.java
+ *
+ * Cursor de vecinos para cualquier grafo indexado. Al reposicionarse copia
+ * las aristas del vertice con forEachNeighbor() a un par de arreglos
+ * primitivos que se reutilizan de un vertice a otro y solo crecen cuando
+ * un vertice tiene mas aristas que todos los anteriores, asi que despues de
+ * los primeros vertices no crea objetos. Lo regresan en newNeighborCursor()
+ * los grafos que no pueden recorrer sus aristas en su lugar; los demas
+ * tienen cursores propios.
+ */
+public final class BufferedNeighborCursor implements INeighborCursor,
+        INeighborVisitor {
+
+    private final IIndexedGraph<?> grafo;
+    private int[] destinos;
+    private double[] pesos;
+    private int tamano;
+    private int actual;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param grafo Grafo a recorrer
+     */
+    public BufferedNeighborCursor(IIndexedGraph<?> grafo) {
+        this.grafo = grafo;
+        destinos = new int[16];
+        pesos = new double[16];
+    }
+
+    @Override
+    public void reset(int indice) {
+        tamano = 0;
+        actual = -1;
+        grafo.forEachNeighbor(indice, this);
+    }
+
+    /**
+     * Guarda una arista del vertice; lo invoca forEachNeighbor()
+     */
+    @Override
+    public void visit(int vecino, double peso) {
+        if (tamano == destinos.length) {
+            destinos = Arrays.copyOf(destinos, tamano * 2);
+            pesos = Arrays.copyOf(pesos, tamano * 2);
+        }
+        destinos[tamano] = vecino;
+        pesos[tamano++] = peso;
+    }
+
+    @Override
+    public boolean next() {
+        return ++actual < tamano;
+    }
+
+    @Override
+    public int target() {
+        return destinos[actual];
+    }
+
+    @Override
+    public double weight() {
+        return pesos[actual];
+    }
+}
@@ -0,0 +1,97 @@
+package implementaciones;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Camino.java
+ *
+ * Esta clase representa un camino en un grafo: la secuencia de vertices desde
+ * el origen hasta el destino y la suma de los pesos de sus aristas. Un camino
+ * inexistente no tiene vertices y su peso es infinito.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public final class Camino<T> {
+
+    private final List<T> vertices;
+    private final double peso;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param vertices Vertices del camino, del origen al destino
+     * @param peso Suma de los pesos de las aristas del camino
+     */
+    public Camino(List<T> vertices, double peso) {
+        this.vertices = Collections.unmodifiableList(vertices);
+        this.peso = peso;
+    }
+
+    /**
+     * Crea un camino inexistente
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @return Un camino sin vertices y con peso infinito
+     */
+    public static <T> Camino<T> inexistente() {
+        return new Camino<>(Collections.<T>emptyList(),
+                Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Determina si el camino existe
+     *
+     * @return true si el camino existe, false en caso contrario
+     */
+    public boolean existe() {
+        return !vertices.isEmpty();
+    }
+
+    /**
+     * Obtiene los vertices del camino, del origen al destino
+     *
+     * @return Una lista no modificable con los vertices del camino
+     */
+    public List<T> getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Obtiene la suma de los pesos de las aristas del camino
+     *
+     * @return El peso del camino, infinito si el camino no existe
+     */
+    public double getPeso() {
+        return peso;
+    }
+
+    /**
+     * Obtiene el numero de aristas del camino
+     *
+     * @return El numero de aristas del camino, 0 si el camino no existe
+     */
+    public int getNumberEdges() {
+        return Math.max(0, vertices.size() - 1);
+    }
+
+    /**
+     * Obtiene una cadena con una representacion del camino
+     *
+     * @return Una cadena con una representacion del camino
+     */
+    @Override
+    public String toString() {
+        if (!existe()) {
+            return "[sin camino]";
+        }
+        StringBuilder s = new StringBuilder();
+        for (T vertice : vertices) {
+            if (s.length() > 0) {
+                s.append(" -> ");
+            }
+            s.append(vertice);
+        }
+        return s.append(" (").append(peso).append(')').toString();
+    }
+}
@@ -0,0 +1,247 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import interfaces.IGraph;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * ConcurrentGraph.java
+ *
+ * Esta clase envuelve un grafo que no es seguro para usarse desde varios hilos
+ * para que muchos hilos puedan consultarlo mientras otro lo modifica. Los
+ * metodos que modifican el grafo toman un StampedLock en modo exclusivo.
+ *
+ * Las consultas de tiempo acotado (hasVertex, hasEdge, getEdgeWeight y los
+ * contadores) se hacen primero con una lectura optimista, sin bloquear: si
+ * ningun escritor entro durante la consulta, su resultado es valido; en otro
+ * caso, o si la consulta fallo por ver el grafo a medio modificar, se repite
+ * con el candado de lectura. Asi los lectores no se bloquean entre si ni
+ * escriben en memoria compartida mientras no haya escrituras.
+ *
+ * Las consultas que recorren todo el grafo (getVertices y toString) siempre
+ * toman el candado de lectura. El grafo envuelto no debe usarse directamente
+ * mientras se use a traves de esta clase.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class ConcurrentGraph<T> implements IGraph<T> {
+
+    private final IGraph<T> grafo;
+    private final StampedLock candado;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param grafo Grafo a envolver
+     */
+    public ConcurrentGraph(IGraph<T> grafo) {
+        this.grafo = grafo;
+        candado = new StampedLock();
+    }
+
+    /**
+     * Ejecuta una consulta con una lectura optimista y, si un escritor
+     * intervino, la repite con el candado de lectura. Una excepcion o un error
+     * de la lectura optimista, que pueden deberse a ver el grafo a medio
+     * modificar (por ejemplo un StackOverflowError en una cadena
+     * inconsistente), solo se propaga si ningun escritor intervino.
+     *
+     * @param <R> Tipo del resultado de la consulta
+     * @param consulta Consulta a ejecutar
+     * @return El resultado de la consulta
+     */
+    private <R> R lee(Supplier<R> consulta) {
+        long sello = candado.tryOptimisticRead();
+        if (sello != 0) {
+            try {
+                R resultado = consulta.get();
+                if (candado.validate(sello)) {
+                    return resultado;
+                }
+            } catch (RuntimeException | Error e) {
+                if (candado.validate(sello)) {
+                    throw e;
+                }
+            }
+        }
+        sello = candado.readLock();
+        try {
+            return consulta.get();
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    @Override
+    public void addVertex(T etqVertice) throws GraphException {
+        long sello = candado.writeLock();
+        try {
+            grafo.addVertex(etqVertice);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public void addVertices(Collection<? extends T> etqVertices)
+            throws GraphException {
+        long sello = candado.writeLock();
+        try {
+            grafo.addVertices(etqVertices);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public void removeVertex(T etqVertice) throws GraphException {
+        long sello = candado.writeLock();
+        try {
+            grafo.removeVertex(etqVertice);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public boolean hasVertex(T etqVertice) {
+        return lee(() -> grafo.hasVertex(etqVertice));
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return lee(grafo::getNumberVertices);
+    }
+
+    @Override
+    public LinkedList<T> getVertices() {
+        long sello = candado.readLock();
+        try {
+            return grafo.getVertices();
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    @Override
+    public boolean empty() {
+        return lee(grafo::empty);
+    }
+
+    @Override
+    public void clear() {
+        long sello = candado.writeLock();
+        try {
+            grafo.clear();
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        long sello = candado.writeLock();
+        try {
+            grafo.addEdge(etqVerticeX, etqVerticeY, peso);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY) throws GraphException {
+        long sello = candado.writeLock();
+        try {
+            grafo.addEdge(etqVerticeX, etqVerticeY);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public int addEdges(EdgeBuffer aristas) throws GraphException {
+        long sello = candado.writeLock();
+        try {
+            return grafo.addEdges(aristas);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public void removeEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        long sello = candado.writeLock();
+        try {
+            grafo.removeEdge(etqVerticeX, etqVerticeY);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Determina si existe la arista entre los vertices dados, con una lectura
+     * optimista
+     *
+     * @param etqVerticeX Etiqueta del vertice origen
+     * @param etqVerticeY Etiqueta del vertice destino
+     * @return true si existe la arista, false en caso contrario
+     * @throws GraphException Si alguno de los vertices no existe
+     */
+    @Override
+    public boolean hasEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        return lee(() -> grafo.hasEdge(etqVerticeX, etqVerticeY));
+    }
+
+    /**
+     * Obtiene el peso de la arista entre los vertices dados, con una lectura
+     * optimista como hasEdge()
+     *
+     * @param etqVerticeX Etiqueta del vertice origen
+     * @param etqVerticeY Etiqueta del vertice destino
+     * @return El peso de la arista
+     * @throws GraphException Si alguno de los vertices o la arista no existe
+     */
+    @Override
+    public double getEdgeWeight(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        return lee(() -> grafo.getEdgeWeight(etqVerticeX, etqVerticeY));
+    }
+
+    @Override
+    public void setEdgeWeight(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        long sello = candado.writeLock();
+        try {
+            grafo.setEdgeWeight(etqVerticeX, etqVerticeY, peso);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    @Override
+    public int getNumberEdges() {
+        return lee(grafo::getNumberEdges);
+    }
+
+    /**
+     * Obtiene una cadena con una representacion del grafo
+     *
+     * @return Una cadena con una representacion del grafo
+     */
+    @Override
+    public String toString() {
+        long sello = candado.readLock();
+        try {
+            return grafo.toString();
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+}
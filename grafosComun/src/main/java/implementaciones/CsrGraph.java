@@ -0,0 +1,472 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import interfaces.IGraph;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import interfaces.INeighborVisitor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * CsrGraph.java
+ *
+ * Esta clase implementa un grafo inmutable en formato Compressed Sparse Row
+ * (CSR). Las aristas salientes del vertice v ocupan las posiciones
+ * offsets[v] .. offsets[v + 1] - 1 de los arreglos targets y weights, ordenadas
+ * por el indice del vertice destino. Recorrer los vecinos de un vertice es un
+ * recorrido lineal sobre arreglos primitivos y hasEdge es una busqueda
+ * binaria.
+ *
+ * En un grafo no dirigido cada arista se guarda en ambas direcciones.
+ *
+ * Los metodos que modifican el grafo lanzan GraphException. Para obtener de
+ * nuevo un grafo modificable se usa thaw().
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class CsrGraph<T> implements IIndexedGraph<T> {
+
+    private final VertexDictionary<T, Vertex<T>> vertices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final boolean dirigido;
+    private final int nAristas;
+
+    /**
+     * Constructor de la clase. Los renglones de targets y weights se ordenan
+     * por el indice del vertice destino; los arreglos pasan a ser propiedad del
+     * grafo y no deben modificarse despues.
+     *
+     * @param etiquetas Etiquetas de los vertices, en el orden de sus indices
+     * @param offsets Inicio de las aristas de cada vertice; tiene
+     * etiquetas.size() + 1 elementos
+     * @param targets Indice del vertice destino de cada arista
+     * @param weights Peso de cada arista
+     * @param dirigido true si el grafo es dirigido, false en caso contrario
+     * @throws GraphException Si los arreglos no son consistentes o hay
+     * etiquetas repetidas
+     */
+    public CsrGraph(List<T> etiquetas, int[] offsets, int[] targets,
+            double[] weights, boolean dirigido) throws GraphException {
+        int n = etiquetas.size();
+        if (offsets.length != n + 1 || offsets[0] != 0
+                || offsets[n] != targets.length
+                || targets.length != weights.length) {
+            throw new GraphException("Arreglos CSR inconsistentes");
+        }
+        vertices = new VertexDictionary<>(n);
+        for (T etiqueta : etiquetas) {
+            if (vertices.add(new Vertex<>(etiqueta)) < 0) {
+                throw new GraphException("Vertice repetido");
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            if (offsets[v] > offsets[v + 1]) {
+                throw new GraphException("Arreglos CSR inconsistentes");
+            }
+            ordena(targets, weights, offsets[v], offsets[v + 1] - 1);
+        }
+        int lazos = 0;
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (targets[e] < 0 || targets[e] >= n) {
+                    throw new GraphException("Vertice destino " + targets[e]
+                            + " fuera de rango");
+                }
+                if (targets[e] == v) {
+                    lazos++;
+                }
+            }
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.dirigido = dirigido;
+        // En un grafo no dirigido un lazo se guarda una sola vez
+        nAristas = dirigido ? targets.length : (targets.length + lazos) / 2;
+    }
+
+    /**
+     * Construye el grafo transpuesto de un grafo indexado: por cada arista
+     * x -> y del grafo hay una arista y -> x con el mismo peso en el
+     * transpuesto. Los vertices conservan sus posiciones, asi que el
+     * transpuesto sirve como vista de las aristas entrantes del grafo para
+     * busquedas hacia atras. Toma O(V + E).
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a transponer
+     * @return El grafo transpuesto, dirigido
+     */
+    public static <T> CsrGraph<T> transpose(IIndexedGraph<T> grafo) {
+        int n = grafo.getNumberVertices();
+        List<T> etiquetas = new ArrayList<>(n);
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            etiquetas.add(grafo.getEtiqueta(v));
+            grafo.forEachNeighbor(v, (w, peso) -> offsets[w + 1]++);
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int[] siguientes = Arrays.copyOf(offsets, n);
+        for (int v = 0; v < n; v++) {
+            int origen = v;
+            grafo.forEachNeighbor(v, (w, peso) -> {
+                int e = siguientes[w]++;
+                targets[e] = origen;
+                weights[e] = peso;
+            });
+        }
+        return new CsrGraph<>(etiquetas, offsets, targets, weights, true);
+    }
+
+    /**
+     * Ordena por destino las aristas entre las posiciones inicio y fin
+     * (inclusive), moviendo los pesos junto con los destinos
+     */
+    static void ordena(int[] targets, double[] weights, int inicio,
+            int fin) {
+        while (fin - inicio > 16) {
+            int pivote = targets[(inicio + fin) >>> 1];
+            int i = inicio;
+            int j = fin;
+            while (i <= j) {
+                while (targets[i] < pivote) {
+                    i++;
+                }
+                while (targets[j] > pivote) {
+                    j--;
+                }
+                if (i <= j) {
+                    intercambia(targets, weights, i++, j--);
+                }
+            }
+            // Ordena recursivamente la parte menor para acotar la pila
+            if (j - inicio < fin - i) {
+                ordena(targets, weights, inicio, j);
+                inicio = i;
+            } else {
+                ordena(targets, weights, i, fin);
+                fin = j;
+            }
+        }
+        for (int i = inicio + 1; i <= fin; i++) {
+            for (int j = i; j > inicio && targets[j - 1] > targets[j]; j--) {
+                intercambia(targets, weights, j - 1, j);
+            }
+        }
+    }
+
+    private static void intercambia(int[] targets, double[] weights, int i,
+            int j) {
+        int t = targets[i];
+        targets[i] = targets[j];
+        targets[j] = t;
+        double w = weights[i];
+        weights[i] = weights[j];
+        weights[j] = w;
+    }
+
+    /**
+     * Determina si el grafo es dirigido
+     *
+     * @return true si el grafo es dirigido, false en caso contrario
+     */
+    public boolean isDirigido() {
+        return dirigido;
+    }
+
+    /**
+     * Obtiene la posicion del vertice en el diccionario de vertices
+     *
+     * @param etiqueta vertice a buscar
+     * @return La posicion del vertice en el diccionario de vertices si existe,
+     * -1 en caso contrario.
+     */
+    @Override
+    public int indexOf(T etiqueta) {
+        return vertices.indexOf(etiqueta);
+    }
+
+    /**
+     * Obtiene la etiqueta del vertice en la posicion dada
+     *
+     * @param indice Posicion del vertice
+     * @return La etiqueta del vertice
+     */
+    @Override
+    public T getEtiqueta(int indice) {
+        return vertices.get(indice).getEtiqueta();
+    }
+
+    /**
+     * Invoca al visitante por cada arista saliente del vertice dado, en orden
+     * creciente del indice del vertice destino
+     *
+     * @param v Indice del vertice
+     * @param visitante Visitante de las aristas
+     */
+    @Override
+    public void forEachNeighbor(int v, INeighborVisitor visitante) {
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            visitante.visit(targets[e], weights[e]);
+        }
+    }
+
+    /**
+     * Crea un cursor que recorre directamente los arreglos del grafo
+     *
+     * @return Un cursor nuevo, sin posicionar
+     */
+    @Override
+    public INeighborCursor newNeighborCursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Cursor sobre el rango de aristas de un renglon
+     */
+    private final class Cursor implements INeighborCursor {
+
+        private int e;
+        private int fin;
+
+        @Override
+        public void reset(int v) {
+            e = offsets[v] - 1;
+            fin = offsets[v + 1];
+        }
+
+        @Override
+        public boolean next() {
+            return ++e < fin;
+        }
+
+        @Override
+        public int target() {
+            return targets[e];
+        }
+
+        @Override
+        public double weight() {
+            return weights[e];
+        }
+    }
+
+    /**
+     * Obtiene la posicion de la primera arista saliente del vertice dado
+     *
+     * @param v Indice del vertice
+     * @return La posicion de la primera arista saliente del vertice
+     */
+    public int firstEdge(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * Obtiene la posicion siguiente a la ultima arista saliente del vertice
+     * dado
+     *
+     * @param v Indice del vertice
+     * @return La posicion siguiente a la ultima arista saliente del vertice
+     */
+    public int endEdge(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * Obtiene el indice del vertice destino de la arista en la posicion dada
+     *
+     * @param e Posicion de la arista
+     * @return El indice del vertice destino
+     */
+    public int getTarget(int e) {
+        return targets[e];
+    }
+
+    /**
+     * Obtiene el peso de la arista en la posicion dada
+     *
+     * @param e Posicion de la arista
+     * @return El peso de la arista
+     */
+    public double getWeight(int e) {
+        return weights[e];
+    }
+
+    /**
+     * Busca la arista entre los vertices con indices x y y
+     *
+     * @param x Indice del vertice origen
+     * @param y Indice del vertice destino
+     * @return La posicion de la arista si existe, -1 en caso contrario
+     */
+    public int findEdge(int x, int y) {
+        int inicio = offsets[x];
+        int fin = offsets[x + 1] - 1;
+        while (inicio <= fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (targets[medio] < y) {
+                inicio = medio + 1;
+            } else if (targets[medio] > y) {
+                fin = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copia los vertices y las aristas de este grafo en un grafo modificable
+     * vacio
+     *
+     * @param <G> Tipo del grafo destino
+     * @param destino Grafo vacio en el que se copian los vertices y aristas
+     * @return El grafo destino
+     * @throws GraphException Si el grafo destino no esta vacio
+     */
+    public <G extends IGraph<T>> G thaw(G destino) throws GraphException {
+        if (!destino.empty()) {
+            throw new GraphException("El grafo destino no esta vacio");
+        }
+        int n = vertices.size();
+        for (int v = 0; v < n; v++) {
+            destino.addVertex(getEtiqueta(v));
+        }
+        for (int v = 0; v < n; v++) {
+            T etqX = getEtiqueta(v);
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                // En un grafo no dirigido cada arista se agrega una sola vez
+                if (dirigido || v <= targets[e]) {
+                    destino.addEdge(etqX, getEtiqueta(targets[e]), weights[e]);
+                }
+            }
+        }
+        return destino;
+    }
+
+    /**
+     * Obtiene el indice de un vertice que debe existir
+     */
+    private int indiceExistente(T etiqueta) throws GraphException {
+        int indice = vertices.indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return indice;
+    }
+
+    @Override
+    public void addVertex(T etqVertice) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addVertices(Collection<? extends T> etqVertices)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public int addEdges(EdgeBuffer aristas) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void removeVertex(T etqVertice) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public boolean hasVertex(T etqVertice) {
+        return vertices.contains(etqVertice);
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return vertices.size();
+    }
+
+    @Override
+    public LinkedList<T> getVertices() {
+        return vertices.getEtiquetas();
+    }
+
+    @Override
+    public boolean empty() {
+        return vertices.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void removeEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public boolean hasEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        int x = indiceExistente(etqVerticeX);
+        int y = indiceExistente(etqVerticeY);
+        return findEdge(x, y) >= 0;
+    }
+
+    @Override
+    public double getEdgeWeight(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        int x = indiceExistente(etqVerticeX);
+        int y = indiceExistente(etqVerticeY);
+        int e = findEdge(x, y);
+        if (e == -1) {
+            throw new GraphException("Arista " + etqVerticeX + " - "
+                    + etqVerticeY + " no existe");
+        }
+        return weights[e];
+    }
+
+    @Override
+    public void setEdgeWeight(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public int getNumberEdges() {
+        return nAristas;
+    }
+
+    /**
+     * Obtiene una cadena con una representacion del grafo
+     *
+     * @return Una cadena con una representacion del grafo
+     */
+    @Override
+    public String toString() {
+        return GraphWriter.adjacencyListString(this);
+    }
+}
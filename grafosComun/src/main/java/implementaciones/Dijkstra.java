@@ -0,0 +1,170 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborVisitor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dijkstra.java
+ *
+ * Esta clase implementa el algoritmo de Dijkstra para encontrar los caminos de
+ * menor peso desde un vertice origen en un grafo con pesos no negativos. Las
+ * distancias y los predecesores se guardan en arreglos indexados por la
+ * posicion de cada vertice y los vertices pendientes en un monticulo d-ario
+ * indexado, de modo que cada vertice esta en el monticulo a lo mas una vez y
+ * no se crean objetos por arista.
+ *
+ * Una instancia puede resolver muchas consultas sobre el mismo grafo. Al
+ * iniciar cada consulta solo se limpian los vertices que toco la consulta
+ * anterior, por lo que una consulta punto a punto cuesta en proporcion a la
+ * parte del grafo que explora, no al tamano del grafo. Los resultados son
+ * validos mientras el grafo no se modifique.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class Dijkstra<T> {
+
+    private final IIndexedGraph<T> grafo;
+    private final Relajacion relajacion = new Relajacion();
+    private EstadoBusqueda estado;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param grafo Grafo sobre el que se calculan los caminos
+     */
+    public Dijkstra(IIndexedGraph<T> grafo) {
+        this.grafo = grafo;
+        estado = new EstadoBusqueda(grafo.getNumberVertices());
+    }
+
+    private int indiceExistente(T etiqueta) throws GraphException {
+        int indice = grafo.indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return indice;
+    }
+
+    /**
+     * Ejecuta el algoritmo desde el vertice origen hasta fijar el vertice
+     * destino o, si destino es -1, todos los vertices alcanzables
+     */
+    private void ejecuta(int origen, int destino) throws GraphException {
+        if (estado.capacidad() != grafo.getNumberVertices()) {
+            estado = new EstadoBusqueda(grafo.getNumberVertices());
+        }
+        estado.inicia(origen, 0.0);
+        while (!estado.monticulo.isEmpty()) {
+            int v = estado.fija();
+            if (v == destino) {
+                return;
+            }
+            relajacion.origen = v;
+            relajacion.distanciaOrigen = estado.distancias[v];
+            grafo.forEachNeighbor(v, relajacion);
+        }
+    }
+
+    /**
+     * Calcula los caminos de menor peso desde el vertice origen a todos los
+     * vertices alcanzables. Despues se consultan con getDistancia() y
+     * getPath().
+     *
+     * @param origen Etiqueta del vertice origen
+     * @throws GraphException Si el vertice origen no existe o el grafo tiene
+     * una arista alcanzable con peso negativo
+     */
+    public void computeFrom(T origen) throws GraphException {
+        ejecuta(indiceExistente(origen), -1);
+    }
+
+    /**
+     * Calcula el camino de menor peso entre los vertices origen y destino. La
+     * busqueda se detiene al fijar el vertice destino.
+     *
+     * @param origen Etiqueta del vertice origen
+     * @param destino Etiqueta del vertice destino
+     * @return El camino de menor peso, inexistente si destino no es
+     * alcanzable desde origen
+     * @throws GraphException Si alguno de los vertices no existe o el grafo
+     * tiene una arista alcanzable con peso negativo
+     */
+    public Camino<T> shortestPath(T origen, T destino) throws GraphException {
+        int d = indiceExistente(destino);
+        ejecuta(indiceExistente(origen), d);
+        return camino(d);
+    }
+
+    /**
+     * Obtiene el peso del camino de menor peso al vertice dado, calculado por
+     * la ultima consulta. Solo los vertices fijados por la consulta tienen su
+     * distancia definitiva.
+     *
+     * @param destino Etiqueta del vertice destino
+     * @return El peso del camino, infinito si el vertice no se fijo
+     * @throws GraphException Si el vertice no existe
+     */
+    public double getDistancia(T destino) throws GraphException {
+        int d = indiceExistente(destino);
+        return estado.fijados[d] ? estado.distancias[d]
+                : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Obtiene el camino de menor peso al vertice dado, calculado por la ultima
+     * consulta
+     *
+     * @param destino Etiqueta del vertice destino
+     * @return El camino de menor peso, inexistente si el vertice no se fijo
+     * @throws GraphException Si el vertice no existe
+     */
+    public Camino<T> getPath(T destino) throws GraphException {
+        return camino(indiceExistente(destino));
+    }
+
+    /**
+     * Obtiene el numero de vertices que fijo la ultima consulta, una medida
+     * del trabajo que hizo
+     *
+     * @return El numero de vertices fijados
+     */
+    public int getVerticesFijados() {
+        return estado.nFijados;
+    }
+
+    private Camino<T> camino(int destino) {
+        if (!estado.fijados[destino]) {
+            return Camino.inexistente();
+        }
+        List<T> vertices = new ArrayList<>();
+        estado.agregaCamino(grafo, destino, vertices);
+        Collections.reverse(vertices);
+        return new Camino<>(vertices, estado.distancias[destino]);
+    }
+
+    /**
+     * Relaja las aristas salientes del vertice que se acaba de fijar
+     */
+    private final class Relajacion implements INeighborVisitor {
+
+        private int origen;
+        private double distanciaOrigen;
+
+        @Override
+        public void visit(int vecino, double peso) {
+            if (peso < 0.0) {
+                throw new GraphException("Arista con peso negativo: "
+                        + grafo.getEtiqueta(origen) + " -> "
+                        + grafo.getEtiqueta(vecino));
+            }
+            if (!estado.fijados[vecino]) {
+                double distancia = distanciaOrigen + peso;
+                estado.mejora(vecino, distancia, origen, distancia);
+            }
+        }
+    }
+}
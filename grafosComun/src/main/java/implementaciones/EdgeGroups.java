@@ -0,0 +1,74 @@
+package implementaciones;
+
+import interfaces.EdgeBuffer;
+import java.util.Arrays;
+
+/**
+ * EdgeGroups.java
+ *
+ * Esta clase guarda las aristas de un EdgeBuffer agrupadas por vertice
+ * origen, en el formato de renglones de CsrGraph: las aristas del vertice v
+ * ocupan las posiciones offsets[v] .. offsets[v + 1] - 1.
+ */
+final class EdgeGroups {
+
+    final int[] offsets;
+    final int[] destinos;
+    final double[] pesos;
+
+    /**
+     * Constructor de la clase. Agrupa las aristas del buffer por vertice
+     * origen con un ordenamiento por conteo, que es estable y toma O(V + E),
+     * y descarta las aristas repetidas conservando la primera. En un grafo no
+     * dirigido cada arista se agrupa bajo el menor de sus vertices, asi que
+     * x - y e y - x cuentan como repetidas. Las aristas deben estar
+     * validadas.
+     *
+     * @param aristas Buffer de aristas
+     * @param nVertices Numero de vertices del grafo
+     * @param noDirigido true si el grafo no es dirigido
+     */
+    EdgeGroups(EdgeBuffer aristas, int nVertices, boolean noDirigido) {
+        int tamano = aristas.size();
+        offsets = new int[nVertices + 1];
+        for (int i = 0; i < tamano; i++) {
+            int x = noDirigido
+                    ? Math.min(aristas.getOrigen(i), aristas.getDestino(i))
+                    : aristas.getOrigen(i);
+            offsets[x + 1]++;
+        }
+        for (int v = 0; v < nVertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] agrupados = new int[tamano];
+        double[] pesosAgrupados = new double[tamano];
+        int[] siguientes = Arrays.copyOf(offsets, nVertices);
+        for (int i = 0; i < tamano; i++) {
+            int x = aristas.getOrigen(i);
+            int y = aristas.getDestino(i);
+            if (noDirigido && y < x) {
+                x = y;
+                y = aristas.getOrigen(i);
+            }
+            agrupados[siguientes[x]] = y;
+            pesosAgrupados[siguientes[x]++] = aristas.getPeso(i);
+        }
+        // Compacta cada grupo descartando los destinos repetidos
+        int[] marcas = new int[nVertices];
+        int e = 0;
+        for (int v = 0; v < nVertices; v++) {
+            int inicio = offsets[v];
+            offsets[v] = e;
+            for (int k = inicio; k < offsets[v + 1]; k++) {
+                if (marcas[agrupados[k]] != v + 1) {
+                    marcas[agrupados[k]] = v + 1;
+                    agrupados[e] = agrupados[k];
+                    pesosAgrupados[e++] = pesosAgrupados[k];
+                }
+            }
+        }
+        offsets[nVertices] = e;
+        destinos = agrupados;
+        pesos = pesosAgrupados;
+    }
+}
@@ -0,0 +1,467 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import interfaces.IGraph;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * EdgeListLoader.java
+ *
+ * Esta clase carga un grafo desde un archivo de texto con una arista por
+ * linea, de la forma "origen destino [peso]". Los campos se separan con
+ * espacios, tabuladores, comas o punto y coma; el peso es opcional y vale 0 si
+ * falta. Las lineas vacias y las que empiezan con '#' o '%' se ignoran.
+ *
+ * El archivo se lee con un FileChannel sobre un ByteBuffer directo que se
+ * reutiliza, y los numeros se interpretan directamente de los bytes, sin crear
+ * una cadena por linea. Las aristas se acumulan en un EdgeBuffer por lotes que
+ * se pasan al grafo con addVertices() y addEdges(), de modo que la memoria
+ * adicional a la del grafo final no depende del tamano del archivo: el lote,
+ * el buffer de lectura y una tabla de identificadores a posiciones.
+ *
+ * Los vertices del grafo son los identificadores enteros del archivo, en el
+ * orden en que aparecen por primera vez. Una instancia no es segura para
+ * usarse desde varios hilos, pero puede reutilizarse para varias cargas.
+ */
+public class EdgeListLoader {
+
+    private static final int TAMANO_BUFFER = 1 << 20;
+    private static final int TAMANO_LOTE = 1 << 20;
+
+    /**
+     * Potencias de 10 que se representan exactamente como double
+     */
+    private static final double[] POTENCIAS = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+        1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ByteBuffer buffer;
+    private final EdgeBuffer lote;
+    private final int tamanoLote;
+    private boolean descartaLazos;
+
+    // Tabla de dispersion de identificadores a posiciones, con
+    // direccionamiento abierto
+    private int[] claves;
+    private int[] valores;
+    private int[] identificadores;
+    private int nIdentificadores;
+    private int nAgregados;
+
+    // Estado de la linea que se esta interpretando
+    private int cursor;
+    private long nLinea;
+
+    /**
+     * Constructor de la clase. Usa un buffer de 1 MB y lotes de 2^20 aristas
+     */
+    public EdgeListLoader() {
+        this(TAMANO_BUFFER, TAMANO_LOTE);
+    }
+
+    /**
+     * Constructor de la clase
+     *
+     * @param tamanoBuffer Tamano en bytes del buffer de lectura; limita la
+     * longitud de una linea
+     * @param tamanoLote Numero de aristas que se acumulan antes de pasarlas
+     * al grafo
+     * @throws GraphException Si algun tamano no es positivo
+     */
+    public EdgeListLoader(int tamanoBuffer, int tamanoLote) {
+        if (tamanoBuffer <= 0 || tamanoLote <= 0) {
+            throw new GraphException("Tamano de buffer o de lote invalido");
+        }
+        buffer = ByteBuffer.allocateDirect(tamanoBuffer);
+        lote = new EdgeBuffer(Math.min(tamanoLote, TAMANO_LOTE));
+        this.tamanoLote = tamanoLote;
+        descartaLazos = false;
+    }
+
+    /**
+     * Establece si se descartan las aristas de un vertice a si mismo. Los
+     * grafos de listas no admiten lazos, por lo que hay que descartarlos para
+     * cargar en ellos un archivo que los tenga. El vertice de un lazo
+     * descartado se agrega de todos modos, y el lazo no se cuenta en
+     * LoadReport.getAristas().
+     *
+     * @param descartaLazos true para descartar los lazos
+     */
+    public void setDescartaLazos(boolean descartaLazos) {
+        this.descartaLazos = descartaLazos;
+    }
+
+    /**
+     * Carga en el grafo las aristas del archivo. Las aristas repetidas se
+     * ignoran, igual que en addEdges().
+     *
+     * @param archivo Ruta del archivo a leer
+     * @param grafo Grafo vacio donde se cargan las aristas
+     * @return Las estadisticas de la carga
+     * @throws GraphException Si el grafo no esta vacio, si una linea no tiene
+     * el formato esperado o si el grafo rechaza una arista
+     * @throws UncheckedIOException Si ocurre un error al leer el archivo
+     */
+    public LoadReport load(Path archivo, IGraph<Integer> grafo)
+            throws GraphException {
+        if (!grafo.empty()) {
+            throw new GraphException("El grafo debe estar vacio");
+        }
+        long inicio = System.nanoTime();
+        reinicia();
+        long aristas = 0;
+        long bytes = 0;
+        try (FileChannel canal = FileChannel.open(archivo,
+                StandardOpenOption.READ)) {
+            boolean fin = false;
+            while (!fin) {
+                int leidos = canal.read(buffer);
+                fin = leidos < 0;
+                if (leidos > 0) {
+                    bytes += leidos;
+                }
+                buffer.flip();
+                aristas += interpretaLineas(grafo, fin);
+                buffer.compact();
+                if (!fin && !buffer.hasRemaining()) {
+                    throw new GraphException("Linea " + (nLinea + 1)
+                            + " demasiado larga");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+        vacia(grafo);
+        LoadReport reporte = new LoadReport(nLinea, aristas, nIdentificadores,
+                bytes, System.nanoTime() - inicio);
+        libera();
+        return reporte;
+    }
+
+    /**
+     * Interpreta las lineas completas que hay en el buffer. Al terminar, la
+     * posicion del buffer queda al inicio de la primera linea incompleta.
+     *
+     * @param grafo Grafo donde se cargan las aristas
+     * @param fin true si ya no hay mas datos en el archivo, en cuyo caso la
+     * ultima linea se interpreta aunque no termine en salto de linea
+     * @return El numero de aristas agregadas al lote
+     */
+    private int interpretaLineas(IGraph<Integer> grafo, boolean fin) {
+        int aristas = 0;
+        int limite = buffer.limit();
+        int inicioLinea = buffer.position();
+        while (inicioLinea < limite) {
+            int finLinea = inicioLinea;
+            while (finLinea < limite && buffer.get(finLinea) != '\n') {
+                finLinea++;
+            }
+            if (finLinea == limite && !fin) {
+                break;
+            }
+            nLinea++;
+            if (interpretaLinea(inicioLinea, finLinea)) {
+                aristas++;
+                if (lote.size() >= tamanoLote) {
+                    vacia(grafo);
+                }
+            }
+            inicioLinea = finLinea + 1;
+        }
+        buffer.position(Math.min(inicioLinea, limite));
+        return aristas;
+    }
+
+    /**
+     * Interpreta una linea y, si es una arista, la agrega al lote
+     *
+     * @param inicio Posicion del primer byte de la linea
+     * @param fin Posicion siguiente al ultimo byte de la linea
+     * @return true si la linea es una arista que se agrego al lote, false si
+     * es un comentario, esta vacia o es un lazo descartado
+     */
+    private boolean interpretaLinea(int inicio, int fin) {
+        if (fin > inicio && buffer.get(fin - 1) == '\r') {
+            fin--;
+        }
+        cursor = inicio;
+        saltaSeparadores(fin);
+        if (cursor == fin) {
+            return false;
+        }
+        byte primero = buffer.get(cursor);
+        if (primero == '#' || primero == '%') {
+            return false;
+        }
+        int x = leeEntero(fin);
+        saltaSeparadores(fin);
+        int y = leeEntero(fin);
+        saltaSeparadores(fin);
+        double peso = 0.0;
+        if (cursor < fin) {
+            peso = leeReal(fin);
+            saltaSeparadores(fin);
+            if (cursor < fin) {
+                throw errorFormato();
+            }
+        }
+        // Los vertices se registran aunque la arista se descarte, para que
+        // conserven el orden en que aparecen por primera vez
+        int posicionX = posicion(x);
+        int posicionY = posicion(y);
+        if (x == y && descartaLazos) {
+            return false;
+        }
+        lote.add(posicionX, posicionY, peso);
+        return true;
+    }
+
+    private static boolean esSeparador(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == ';';
+    }
+
+    private void saltaSeparadores(int fin) {
+        while (cursor < fin && esSeparador(buffer.get(cursor))) {
+            cursor++;
+        }
+    }
+
+    /**
+     * Lee un entero con signo a partir del cursor
+     *
+     * @param fin Posicion siguiente al ultimo byte de la linea
+     * @return El entero leido
+     * @throws GraphException Si no hay un entero valido en el cursor
+     */
+    private int leeEntero(int fin) {
+        boolean negativo = false;
+        if (cursor < fin && (buffer.get(cursor) == '-'
+                || buffer.get(cursor) == '+')) {
+            negativo = buffer.get(cursor++) == '-';
+        }
+        int inicio = cursor;
+        long valor = 0;
+        while (cursor < fin) {
+            int digito = buffer.get(cursor) - '0';
+            if (digito < 0 || digito > 9) {
+                break;
+            }
+            valor = valor * 10 + digito;
+            if (valor > Integer.MAX_VALUE + 1L) {
+                throw errorFormato();
+            }
+            cursor++;
+        }
+        if (cursor == inicio || (cursor < fin
+                && !esSeparador(buffer.get(cursor)))) {
+            throw errorFormato();
+        }
+        valor = negativo ? -valor : valor;
+        if (valor > Integer.MAX_VALUE) {
+            throw errorFormato();
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Lee un numero real a partir del cursor. Cuando la mantisa tiene a lo
+     * mas 15 digitos y el exponente decimal es pequeno, el resultado se
+     * calcula con una sola multiplicacion o division exacta; en otro caso se
+     * recurre a Double.parseDouble().
+     *
+     * @param fin Posicion siguiente al ultimo byte de la linea
+     * @return El numero leido
+     * @throws GraphException Si no hay un numero valido en el cursor
+     */
+    private double leeReal(int fin) {
+        int inicio = cursor;
+        boolean negativo = false;
+        if (cursor < fin && (buffer.get(cursor) == '-'
+                || buffer.get(cursor) == '+')) {
+            negativo = buffer.get(cursor++) == '-';
+        }
+        long mantisa = 0;
+        int digitos = 0;
+        int exponente = 0;
+        boolean hayDigitos = false;
+        boolean punto = false;
+        while (cursor < fin) {
+            byte b = buffer.get(cursor);
+            if (b >= '0' && b <= '9') {
+                hayDigitos = true;
+                if (digitos < 18) {
+                    mantisa = mantisa * 10 + (b - '0');
+                    if (mantisa != 0) {
+                        digitos++;
+                    }
+                    if (punto) {
+                        exponente--;
+                    }
+                } else if (!punto) {
+                    exponente++;
+                }
+            } else if (b == '.' && !punto) {
+                punto = true;
+            } else {
+                break;
+            }
+            cursor++;
+        }
+        if (!hayDigitos) {
+            throw errorFormato();
+        }
+        if (cursor < fin && (buffer.get(cursor) == 'e'
+                || buffer.get(cursor) == 'E')) {
+            cursor++;
+            boolean expNegativo = false;
+            if (cursor < fin && (buffer.get(cursor) == '-'
+                    || buffer.get(cursor) == '+')) {
+                expNegativo = buffer.get(cursor++) == '-';
+            }
+            int inicioExp = cursor;
+            int valorExp = 0;
+            while (cursor < fin && buffer.get(cursor) >= '0'
+                    && buffer.get(cursor) <= '9') {
+                if (valorExp < 100000) {
+                    valorExp = valorExp * 10 + (buffer.get(cursor) - '0');
+                }
+                cursor++;
+            }
+            if (cursor == inicioExp) {
+                throw errorFormato();
+            }
+            exponente += expNegativo ? -valorExp : valorExp;
+        }
+        if (cursor < fin && !esSeparador(buffer.get(cursor))) {
+            throw errorFormato();
+        }
+        double valor;
+        if (digitos <= 15 && Math.abs(exponente) < POTENCIAS.length) {
+            valor = exponente >= 0 ? mantisa * POTENCIAS[exponente]
+                    : mantisa / POTENCIAS[-exponente];
+        } else {
+            byte[] texto = new byte[cursor - inicio];
+            buffer.get(inicio, texto);
+            return Double.parseDouble(new String(texto,
+                    StandardCharsets.US_ASCII));
+        }
+        return negativo ? -valor : valor;
+    }
+
+    private GraphException errorFormato() {
+        return new GraphException("Formato invalido en la linea " + nLinea);
+    }
+
+    /**
+     * Obtiene la posicion asignada al identificador dado, asignandole la
+     * siguiente si es la primera vez que aparece
+     *
+     * @param id Identificador del vertice en el archivo
+     * @return La posicion del vertice en el grafo
+     */
+    private int posicion(int id) {
+        int mascara = claves.length - 1;
+        int i = mezcla(id) & mascara;
+        while (valores[i] >= 0) {
+            if (claves[i] == id) {
+                return valores[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = id;
+        valores[i] = nIdentificadores;
+        if (nIdentificadores == identificadores.length) {
+            identificadores = Arrays.copyOf(identificadores,
+                    identificadores.length * 2);
+        }
+        identificadores[nIdentificadores] = id;
+        int posicion = nIdentificadores++;
+        if (nIdentificadores * 2 > claves.length) {
+            redimensiona();
+        }
+        return posicion;
+    }
+
+    private static int mezcla(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void redimensiona() {
+        int[] clavesAnteriores = claves;
+        int[] valoresAnteriores = valores;
+        claves = new int[clavesAnteriores.length * 2];
+        valores = new int[clavesAnteriores.length * 2];
+        Arrays.fill(valores, -1);
+        int mascara = claves.length - 1;
+        for (int j = 0; j < clavesAnteriores.length; j++) {
+            if (valoresAnteriores[j] >= 0) {
+                int i = mezcla(clavesAnteriores[j]) & mascara;
+                while (valores[i] >= 0) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clavesAnteriores[j];
+                valores[i] = valoresAnteriores[j];
+            }
+        }
+    }
+
+    /**
+     * Pasa al grafo los vertices nuevos y las aristas del lote, y vacia el
+     * lote
+     *
+     * @param grafo Grafo donde se cargan las aristas
+     */
+    private void vacia(IGraph<Integer> grafo) {
+        final int desde = nAgregados;
+        final int hasta = nIdentificadores;
+        if (hasta > desde) {
+            grafo.addVertices(new AbstractList<Integer>() {
+                @Override
+                public Integer get(int i) {
+                    return identificadores[desde + i];
+                }
+
+                @Override
+                public int size() {
+                    return hasta - desde;
+                }
+            });
+            nAgregados = hasta;
+        }
+        if (!lote.isEmpty()) {
+            grafo.addEdges(lote);
+            lote.clear();
+        }
+    }
+
+    private void reinicia() {
+        claves = new int[1024];
+        valores = new int[1024];
+        Arrays.fill(valores, -1);
+        identificadores = new int[512];
+        nIdentificadores = 0;
+        nAgregados = 0;
+        nLinea = 0;
+        lote.clear();
+        buffer.clear();
+    }
+
+    private void libera() {
+        claves = null;
+        valores = null;
+        identificadores = null;
+    }
+}
@@ -0,0 +1,120 @@
+package implementaciones;
+
+import interfaces.IIndexedGraph;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EstadoBusqueda.java
+ *
+ * Esta clase guarda el estado de una busqueda de caminos de menor peso en una
+ * direccion: distancias, predecesores, vertices fijados y el monticulo de
+ * vertices pendientes, todo en arreglos indexados por la posicion de cada
+ * vertice. Lleva la lista de vertices tocados para limpiar solo esos al
+ * iniciar la siguiente busqueda.
+ */
+final class EstadoBusqueda {
+
+    static final int SIN_PREDECESOR = -1;
+
+    final double[] distancias;
+    final int[] predecesores;
+    final boolean[] fijados;
+    final IndexedDHeap monticulo;
+    final int[] tocados;
+    int nTocados;
+    int nFijados;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param n Numero de vertices del grafo
+     */
+    EstadoBusqueda(int n) {
+        distancias = new double[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        predecesores = new int[n];
+        Arrays.fill(predecesores, SIN_PREDECESOR);
+        fijados = new boolean[n];
+        monticulo = new IndexedDHeap(n);
+        tocados = new int[n];
+    }
+
+    /**
+     * Obtiene el numero de vertices para el que se creo el estado
+     */
+    int capacidad() {
+        return distancias.length;
+    }
+
+    /**
+     * Limpia los vertices tocados por la busqueda anterior y coloca el vertice
+     * origen con distancia 0
+     *
+     * @param origen Posicion del vertice origen
+     * @param prioridad Prioridad del vertice origen en el monticulo
+     */
+    void inicia(int origen, double prioridad) {
+        for (int i = 0; i < nTocados; i++) {
+            int v = tocados[i];
+            distancias[v] = Double.POSITIVE_INFINITY;
+            predecesores[v] = SIN_PREDECESOR;
+            fijados[v] = false;
+        }
+        monticulo.clear();
+        nTocados = 0;
+        nFijados = 0;
+        mejora(origen, 0.0, SIN_PREDECESOR, prioridad);
+    }
+
+    /**
+     * Registra una distancia al vertice dado si es menor que la actual. Un
+     * vertice ya fijado se vuelve a abrir.
+     *
+     * @param v Posicion del vertice
+     * @param distancia Distancia al vertice por el predecesor dado
+     * @param predecesor Posicion del vertice previo en el camino
+     * @param prioridad Prioridad del vertice en el monticulo
+     * @return true si la distancia mejoro, false en caso contrario
+     */
+    boolean mejora(int v, double distancia, int predecesor, double prioridad) {
+        if (distancia >= distancias[v]) {
+            return false;
+        }
+        if (distancias[v] == Double.POSITIVE_INFINITY) {
+            tocados[nTocados++] = v;
+        }
+        distancias[v] = distancia;
+        predecesores[v] = predecesor;
+        fijados[v] = false;
+        monticulo.offer(v, prioridad);
+        return true;
+    }
+
+    /**
+     * Saca del monticulo el vertice con la menor prioridad y lo fija
+     *
+     * @return La posicion del vertice fijado
+     */
+    int fija() {
+        int v = monticulo.poll();
+        fijados[v] = true;
+        nFijados++;
+        return v;
+    }
+
+    /**
+     * Agrega a la lista las etiquetas de los vertices del camino que termina
+     * en el vertice dado, siguiendo los predecesores hasta el origen. Los
+     * vertices quedan del vertice dado al origen.
+     *
+     * @param grafo Grafo de la busqueda
+     * @param v Posicion del ultimo vertice del camino
+     * @param vertices Lista a la que se agregan las etiquetas
+     */
+    <T> void agregaCamino(IIndexedGraph<T> grafo, int v, List<T> vertices) {
+        for (; v != SIN_PREDECESOR; v = predecesores[v]) {
+            vertices.add(grafo.getEtiqueta(v));
+        }
+    }
+}
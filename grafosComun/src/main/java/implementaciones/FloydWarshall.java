@@ -0,0 +1,371 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * FloydWarshall.java
+ *
+ * Esta clase calcula los caminos de menor peso entre todos los pares de
+ * vertices con el algoritmo de Floyd-Warshall, en O(V^3) tiempo y O(V^2)
+ * memoria. El resultado es una matriz de distancias y una matriz de
+ * siguientes saltos, ambas guardadas por renglones en arreglos planos, de
+ * las que se reconstruye cualquier camino en proporcion a su longitud.
+ *
+ * El calculo es por bloques (Venkataraman et al.): las matrices se dividen
+ * en bloques de BLOQUE x BLOQUE celdas y cada ronda k procesa primero el
+ * bloque diagonal (k, k), despues los bloques del renglon k y de la columna
+ * k, que solo dependen del diagonal, y al final el resto de los bloques, que
+ * solo dependen de los del renglon y la columna k. Asi los tres bloques que
+ * usa cada actualizacion caben en el cache, en lugar de recorrer la matriz
+ * completa por cada vertice intermedio, y los bloques de la segunda y la
+ * tercera fase se reparten entre los hilos de un ForkJoinPool propio que se
+ * libera al terminar el calculo. Cada renglon de un bloque se relaja con
+ * MatrixKernels, que usa instrucciones vectoriales si estan disponibles.
+ *
+ * Admite pesos negativos. Si el grafo tiene un ciclo negativo, las
+ * distancias que pasan por el no estan definidas: hasNegativeCycle() lo
+ * indica y getPath() lanza una excepcion para esos pares. Los resultados no
+ * cambian si despues se modifica el grafo: el constructor copia las
+ * etiquetas de los vertices y las consultas por etiqueta se responden con
+ * esa copia, sin volver al grafo.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public final class FloydWarshall<T> {
+
+    /**
+     * Lado de los bloques: tres bloques de 64 x 64 doubles ocupan 96 KB, que
+     * caben en el cache L2 de un nucleo
+     */
+    static final int BLOQUE = 64;
+    /**
+     * Valor de siguientes[] para los pares sin camino
+     */
+    private static final int SIN_CAMINO = -1;
+
+    private final int n;
+    /**
+     * Etiquetas de los vertices al calcular los caminos, por posicion
+     */
+    private final List<T> etiquetas;
+    private final Map<T, Integer> indices;
+    /**
+     * Numero de columnas de las matrices: n redondeado al siguiente multiplo
+     * del lado de bloque, para que todos los bloques sean completos
+     */
+    private final int paso;
+    private final int lado;
+    private final MatrixKernels kernels;
+    private final double[] distancias;
+    private final int[] siguientes;
+    private boolean cicloNegativo;
+
+    /**
+     * Constructor de la clase. Calcula los caminos de menor peso entre todos
+     * los pares de vertices del grafo
+     *
+     * @param grafo Grafo sobre el que se calculan los caminos
+     * @param hilos Numero de hilos; con 1 el calculo es secuencial
+     * @throws GraphException Si el numero de hilos no es positivo
+     */
+    public FloydWarshall(IIndexedGraph<T> grafo, int hilos)
+            throws GraphException {
+        this(grafo, null, 0, hilos, BLOQUE, MatrixKernels.INSTANCIA);
+    }
+
+    /**
+     * Constructor de la clase que toma los pesos de una matriz de
+     * adyacencias guardada por renglones, con Double.POSITIVE_INFINITY en las
+     * celdas sin arista. Lo usan los grafos sobre matrices, que asi no
+     * recorren sus aristas una por una.
+     *
+     * @param grafo Grafo sobre el que se calculan los caminos
+     * @param adyacencias Matriz de adyacencias del grafo, o null para leer
+     * las aristas del grafo
+     * @param columnas Numero de columnas de la matriz de adyacencias
+     * @param hilos Numero de hilos; con 1 el calculo es secuencial
+     * @param lado Lado de los bloques
+     * @param kernels Ciclos internos con los que se relajan los renglones
+     * @throws GraphException Si el numero de hilos no es positivo
+     */
+    FloydWarshall(IIndexedGraph<T> grafo, double[] adyacencias, int columnas,
+            int hilos, int lado, MatrixKernels kernels) throws GraphException {
+        if (hilos < 1) {
+            throw new GraphException("Numero de hilos invalido: " + hilos);
+        }
+        this.n = grafo.getNumberVertices();
+        etiquetas = new ArrayList<>(n);
+        indices = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            T etiqueta = grafo.getEtiqueta(i);
+            etiquetas.add(etiqueta);
+            indices.put(etiqueta, i);
+        }
+        this.lado = lado;
+        this.kernels = kernels;
+        this.paso = (n + lado - 1) / lado * lado;
+        distancias = new double[paso * paso];
+        siguientes = new int[paso * paso];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(siguientes, SIN_CAMINO);
+        if (adyacencias != null) {
+            copiaMatriz(adyacencias, columnas);
+        } else {
+            copiaAristas(grafo);
+        }
+        for (int i = 0; i < n; i++) {
+            int ii = i * paso + i;
+            // Un lazo negativo es un ciclo negativo; los demas no acortan
+            // el camino vacio
+            if (!(distancias[ii] < 0.0)) {
+                distancias[ii] = 0.0;
+            }
+            siguientes[ii] = i;
+        }
+        if (hilos == 1 || paso <= lado) {
+            calcula(null);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            try {
+                calcula(pool);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (distancias[i * paso + i] < 0.0) {
+                cicloNegativo = true;
+                break;
+            }
+        }
+    }
+
+    private void copiaMatriz(double[] adyacencias, int columnas) {
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(adyacencias, i * columnas, distancias, i * paso,
+                    n);
+            for (int j = 0; j < n; j++) {
+                if (distancias[i * paso + j] != Double.POSITIVE_INFINITY) {
+                    siguientes[i * paso + j] = j;
+                }
+            }
+        }
+    }
+
+    private void copiaAristas(IIndexedGraph<T> grafo) {
+        INeighborCursor cursor = grafo.newNeighborCursor();
+        for (int i = 0; i < n; i++) {
+            cursor.reset(i);
+            while (cursor.next()) {
+                int ij = i * paso + cursor.target();
+                // Entre aristas paralelas se queda la de menor peso
+                if (cursor.weight() < distancias[ij]) {
+                    distancias[ij] = cursor.weight();
+                    siguientes[ij] = cursor.target();
+                }
+            }
+        }
+    }
+
+    /**
+     * Ejecuta las rondas del algoritmo por bloques. Con pool null todas las
+     * fases son secuenciales.
+     */
+    private void calcula(ForkJoinPool pool) {
+        int bloques = paso / lado;
+        for (int kb = 0; kb < bloques; kb++) {
+            final int k = kb;
+            // Fase 1: el bloque diagonal depende solo de si mismo
+            actualiza(k, k, k);
+            // Fase 2: los bloques del renglon y la columna k dependen del
+            // diagonal y de si mismos
+            ParallelBlocks.ejecuta(pool, 2 * (bloques - 1), t -> {
+                int otro = t / 2 < k ? t / 2 : t / 2 + 1;
+                if (t % 2 == 0) {
+                    actualiza(k, otro, k);
+                } else {
+                    actualiza(otro, k, k);
+                }
+            });
+            // Fase 3: el resto depende solo de los bloques del renglon y la
+            // columna k, que ya no cambian en esta ronda
+            ParallelBlocks.ejecuta(pool, (bloques - 1) * (bloques - 1), t -> {
+                int ib = t / (bloques - 1);
+                int jb = t % (bloques - 1);
+                actualizaIndependiente(ib < k ? ib : ib + 1,
+                        jb < k ? jb : jb + 1, k);
+            });
+        }
+    }
+
+    /**
+     * Relaja el bloque (ib, jb) con los vertices intermedios del bloque kb,
+     * cuando el bloque puede ser el mismo que (ib, kb) o (kb, jb): el vertice
+     * intermedio debe ser el ciclo exterior
+     */
+    private void actualiza(int ib, int jb, int kb) {
+        int i0 = ib * lado;
+        int j0 = jb * lado;
+        int k0 = kb * lado;
+        for (int k = k0; k < k0 + lado; k++) {
+            int kk = k * paso;
+            for (int i = i0; i < i0 + lado; i++) {
+                int ik = i * paso + k;
+                double dik = distancias[ik];
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                kernels.minPlus(distancias, siguientes, i * paso, kk, j0,
+                        j0 + lado, dik, siguientes[ik]);
+            }
+        }
+    }
+
+    /**
+     * Relaja el bloque (ib, jb) con los vertices intermedios del bloque kb,
+     * cuando (ib, kb) y (kb, jb) son otros bloques que no cambian: el
+     * renglon i del bloque se queda en el cache mientras se recorren los
+     * vertices intermedios
+     */
+    private void actualizaIndependiente(int ib, int jb, int kb) {
+        int i0 = ib * lado;
+        int j0 = jb * lado;
+        int k0 = kb * lado;
+        for (int i = i0; i < i0 + lado; i++) {
+            int fila = i * paso;
+            for (int k = k0; k < k0 + lado; k++) {
+                double dik = distancias[fila + k];
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                kernels.minPlus(distancias, siguientes, fila, k * paso, j0,
+                        j0 + lado, dik, siguientes[fila + k]);
+            }
+        }
+    }
+
+    private int indiceExistente(T etiqueta) throws GraphException {
+        Integer indice = indices.get(etiqueta);
+        if (indice == null) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return indice;
+    }
+
+    /**
+     * Obtiene el numero de vertices del grafo al calcular los caminos
+     *
+     * @return El numero de vertices
+     */
+    public int getNumberVertices() {
+        return n;
+    }
+
+    /**
+     * Determina si el grafo tiene un ciclo de peso negativo
+     *
+     * @return true si hay un ciclo negativo, false en caso contrario
+     */
+    public boolean hasNegativeCycle() {
+        return cicloNegativo;
+    }
+
+    /**
+     * Obtiene el peso del camino de menor peso entre dos vertices
+     *
+     * @param origen Etiqueta del vertice origen
+     * @param destino Etiqueta del vertice destino
+     * @return El peso del camino, Double.POSITIVE_INFINITY si no hay camino
+     * @throws GraphException Si alguno de los vertices no existe
+     */
+    public double getDistancia(T origen, T destino) throws GraphException {
+        return getDistancia(indiceExistente(origen), indiceExistente(destino));
+    }
+
+    /**
+     * Obtiene el peso del camino de menor peso entre los vertices en las
+     * posiciones dadas
+     *
+     * @param i Posicion del vertice origen
+     * @param j Posicion del vertice destino
+     * @return El peso del camino, Double.POSITIVE_INFINITY si no hay camino
+     */
+    public double getDistancia(int i, int j) {
+        return distancias[celda(i, j)];
+    }
+
+    /**
+     * Obtiene el vertice que sigue al origen en el camino de menor peso entre
+     * los vertices en las posiciones dadas
+     *
+     * @param i Posicion del vertice origen
+     * @param j Posicion del vertice destino
+     * @return La posicion del siguiente vertice, i si i == j, -1 si no hay
+     * camino
+     */
+    public int getSiguiente(int i, int j) {
+        return siguientes[celda(i, j)];
+    }
+
+    private int celda(int i, int j) {
+        if (i < 0 || i >= n || j < 0 || j >= n) {
+            throw new IndexOutOfBoundsException("Par (" + i + ", " + j
+                    + ") fuera de 0 .. " + (n - 1));
+        }
+        return i * paso + j;
+    }
+
+    /**
+     * Obtiene la matriz de distancias de n x n, guardada por renglones
+     *
+     * @return Una copia de la matriz de distancias
+     */
+    public double[] getDistancias() {
+        double[] copia = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(distancias, i * paso, copia, i * n, n);
+        }
+        return copia;
+    }
+
+    /**
+     * Obtiene el camino de menor peso entre dos vertices
+     *
+     * @param origen Etiqueta del vertice origen
+     * @param destino Etiqueta del vertice destino
+     * @return El camino, o un camino inexistente si no hay camino
+     * @throws GraphException Si alguno de los vertices no existe o el camino
+     * puede pasar por un ciclo negativo
+     */
+    public Camino<T> getPath(T origen, T destino) throws GraphException {
+        int i = indiceExistente(origen);
+        int j = indiceExistente(destino);
+        if (siguientes[i * paso + j] == SIN_CAMINO) {
+            return Camino.inexistente();
+        }
+        if (cicloNegativo) {
+            for (int w = 0; w < n; w++) {
+                if (distancias[w * paso + w] < 0.0
+                        && distancias[i * paso + w] != Double.POSITIVE_INFINITY
+                        && distancias[w * paso + j] != Double.POSITIVE_INFINITY) {
+                    throw new GraphException("El camino de " + origen + " a "
+                            + destino + " pasa por un ciclo negativo");
+                }
+            }
+        }
+        List<T> vertices = new ArrayList<>();
+        vertices.add(etiquetas.get(i));
+        for (int v = i; v != j; v = siguientes[v * paso + j]) {
+            vertices.add(etiquetas.get(siguientes[v * paso + j]));
+        }
+        return new Camino<>(vertices, distancias[i * paso + j]);
+    }
+}
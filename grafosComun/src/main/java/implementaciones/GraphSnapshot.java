@@ -0,0 +1,267 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import interfaces.INeighborVisitor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * GraphSnapshot.java
+ *
+ * Esta clase implementa una version inmutable de un grafo, obtenida con el
+ * metodo snapshot() de ListDiGraph o MatrixDiGraph. La version comparte su
+ * estructura con el grafo del que se obtuvo (diccionarios persistentes de
+ * vertices y de aristas salientes), asi que obtenerla toma O(1) y las
+ * modificaciones posteriores del grafo no la alteran.
+ *
+ * Las consultas por etiqueta toman O(log V) sobre los diccionarios. Los
+ * metodos indexados (indexOf, getEtiqueta, forEachNeighbor) construyen la
+ * primera vez un grafo CSR con los vertices en orden de insercion, en
+ * O(V + E), y a partir de ahi consultan ese grafo. La clase puede leerse
+ * desde varios hilos sin sincronizacion externa y sin bloquear al grafo
+ * original.
+ *
+ * Los metodos que modifican el grafo lanzan GraphException.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public final class GraphSnapshot<T> implements IIndexedGraph<T> {
+
+    /**
+     * Vertice de una version: su numero de insercion y sus aristas salientes,
+     * de la etiqueta destino al peso
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     */
+    static final class Entrada<T> {
+
+        final long orden;
+        final PersistentMap<T, Double> salientes;
+
+        Entrada(long orden, PersistentMap<T, Double> salientes) {
+            this.orden = orden;
+            this.salientes = salientes;
+        }
+    }
+
+    private final PersistentMap<T, Entrada<T>> vertices;
+    private final int nAristas;
+    private volatile CsrGraph<T> indice;
+
+    GraphSnapshot(PersistentMap<T, Entrada<T>> vertices, int nAristas) {
+        this.vertices = vertices;
+        this.nAristas = nAristas;
+    }
+
+    /**
+     * Obtiene el grafo CSR de esta version, construyendolo la primera vez
+     */
+    private CsrGraph<T> indice() {
+        CsrGraph<T> csr = indice;
+        if (csr == null) {
+            synchronized (this) {
+                csr = indice;
+                if (csr == null) {
+                    indice = csr = construyeIndice();
+                }
+            }
+        }
+        return csr;
+    }
+
+    private CsrGraph<T> construyeIndice() {
+        List<T> etiquetas = ordenInsercion();
+        int n = etiquetas.size();
+        VertexDictionary<T, Vertex<T>> posiciones = new VertexDictionary<>(n);
+        for (T etiqueta : etiquetas) {
+            posiciones.add(new Vertex<>(etiqueta));
+        }
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v]
+                    + vertices.get(etiquetas.get(v)).salientes.size();
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int[] e = new int[1];
+        for (T etiqueta : etiquetas) {
+            vertices.get(etiqueta).salientes.forEach((y, peso) -> {
+                targets[e[0]] = posiciones.indexOf(y);
+                weights[e[0]++] = peso;
+            });
+        }
+        return new CsrGraph<>(etiquetas, offsets, targets, weights, true);
+    }
+
+    /**
+     * Obtiene las etiquetas de los vertices en el orden en que se agregaron
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> ordenInsercion() {
+        int n = vertices.size();
+        Object[] desordenadas = new Object[n];
+        long[] ordenes = new long[n];
+        int[] k = new int[1];
+        vertices.forEach((etiqueta, entrada) -> {
+            ordenes[k[0]] = entrada.orden;
+            desordenadas[k[0]++] = etiqueta;
+        });
+        // Los numeros de insercion son distintos, asi que la posicion de cada
+        // uno en el arreglo ordenado es la posicion de su vertice
+        long[] ordenados = ordenes.clone();
+        Arrays.sort(ordenados);
+        Object[] etiquetas = new Object[n];
+        for (int i = 0; i < n; i++) {
+            etiquetas[Arrays.binarySearch(ordenados, ordenes[i])]
+                    = desordenadas[i];
+        }
+        return new ArrayList<>((List<T>) Arrays.asList(etiquetas));
+    }
+
+    /**
+     * Obtiene la entrada de un vertice que debe existir
+     */
+    private Entrada<T> entradaExistente(T etiqueta) throws GraphException {
+        Entrada<T> entrada = vertices.get(etiqueta);
+        if (entrada == null) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return entrada;
+    }
+
+    @Override
+    public int indexOf(T etiqueta) {
+        return indice().indexOf(etiqueta);
+    }
+
+    @Override
+    public T getEtiqueta(int indice) {
+        return indice().getEtiqueta(indice);
+    }
+
+    @Override
+    public void forEachNeighbor(int indice, INeighborVisitor visitante) {
+        indice().forEachNeighbor(indice, visitante);
+    }
+
+    @Override
+    public INeighborCursor newNeighborCursor() {
+        return indice().newNeighborCursor();
+    }
+
+    @Override
+    public void addVertex(T etqVertice) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addVertices(Collection<? extends T> etqVertices)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public int addEdges(EdgeBuffer aristas) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void removeVertex(T etqVertice) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public boolean hasVertex(T etqVertice) {
+        return vertices.containsKey(etqVertice);
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return vertices.size();
+    }
+
+    /**
+     * Obtiene las etiquetas de los vertices, en el orden en que se agregaron
+     *
+     * @return Una lista nueva con las etiquetas de los vertices
+     */
+    @Override
+    public LinkedList<T> getVertices() {
+        return new LinkedList<>(ordenInsercion());
+    }
+
+    @Override
+    public boolean empty() {
+        return vertices.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void removeEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public boolean hasEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        Entrada<T> x = entradaExistente(etqVerticeX);
+        entradaExistente(etqVerticeY);
+        return x.salientes.containsKey(etqVerticeY);
+    }
+
+    @Override
+    public double getEdgeWeight(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        Entrada<T> x = entradaExistente(etqVerticeX);
+        entradaExistente(etqVerticeY);
+        Double peso = x.salientes.get(etqVerticeY);
+        if (peso == null) {
+            throw new GraphException("Arista " + etqVerticeX + " -> "
+                    + etqVerticeY + " no existe");
+        }
+        return peso;
+    }
+
+    @Override
+    public void setEdgeWeight(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public int getNumberEdges() {
+        return nAristas;
+    }
+
+    /**
+     * Obtiene una cadena con una representacion del grafo
+     *
+     * @return Una cadena con una representacion del grafo
+     */
+    @Override
+    public String toString() {
+        return indice().toString();
+    }
+}
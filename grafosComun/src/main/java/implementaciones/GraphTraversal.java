@@ -0,0 +1,254 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborVisitor;
+import interfaces.ITraversalVisitor;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * GraphTraversal.java
+ *
+ * Esta clase implementa los recorridos en amplitud (BFS) y en profundidad
+ * (DFS) sobre cualquier grafo indexado. El estado del recorrido (vertices
+ * visitados, predecesores, cola o pila) se guarda en arreglos de enteros
+ * indexados por la posicion de cada vertice, sin modificar los atributos
+ * visitado y predecesor de los vertices del grafo. Cada recorrido toma
+ * O(V + E) sobre listas de adyacencias y O(V^2) sobre una matriz.
+ *
+ * Los recorridos solo alcanzan los vertices a los que se llega desde el
+ * vertice origen. El grafo no debe modificarse durante un recorrido.
+ */
+public final class GraphTraversal {
+
+    private static final int SIN_VISITAR = -2;
+    private static final int SIN_PREDECESOR = -1;
+
+    private GraphTraversal() {
+    }
+
+    /**
+     * Recorre en amplitud los vertices alcanzables desde el vertice origen
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a recorrer
+     * @param origen Etiqueta del vertice origen
+     * @param visitante Visitante invocado por cada vertice alcanzado
+     * @throws GraphException Si el vertice origen no existe
+     */
+    public static <T> void bfs(IIndexedGraph<T> grafo, T origen,
+            ITraversalVisitor<T> visitante) throws GraphException {
+        Amplitud<T> recorrido = new Amplitud<>(grafo, indiceOrigen(grafo, origen));
+        while (recorrido.hasNext()) {
+            int v = recorrido.siguiente();
+            visitante.visit(grafo.getEtiqueta(v),
+                    etiqueta(grafo, recorrido.predecesores[v]));
+        }
+    }
+
+    /**
+     * Recorre en profundidad los vertices alcanzables desde el vertice
+     * origen. Los vecinos de cada vertice se visitan en el orden en que los
+     * entrega el grafo, como en un recorrido recursivo, pero con una pila
+     * explicita.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a recorrer
+     * @param origen Etiqueta del vertice origen
+     * @param visitante Visitante invocado por cada vertice alcanzado
+     * @throws GraphException Si el vertice origen no existe
+     */
+    public static <T> void dfs(IIndexedGraph<T> grafo, T origen,
+            ITraversalVisitor<T> visitante) throws GraphException {
+        Profundidad<T> recorrido = new Profundidad<>(grafo,
+                indiceOrigen(grafo, origen));
+        while (recorrido.hasNext()) {
+            int v = recorrido.siguiente();
+            visitante.visit(grafo.getEtiqueta(v),
+                    etiqueta(grafo, recorrido.predecesores[v]));
+        }
+    }
+
+    /**
+     * Obtiene un iterador a los vertices alcanzables desde el vertice origen
+     * en el orden de un recorrido en amplitud. El recorrido avanza conforme se
+     * piden los vertices.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a recorrer
+     * @param origen Etiqueta del vertice origen
+     * @return El iterador a los vertices alcanzables
+     * @throws GraphException Si el vertice origen no existe
+     */
+    public static <T> Iterator<T> bfsIterator(IIndexedGraph<T> grafo,
+            T origen) throws GraphException {
+        return new Amplitud<>(grafo, indiceOrigen(grafo, origen));
+    }
+
+    /**
+     * Obtiene un iterador a los vertices alcanzables desde el vertice origen
+     * en el orden de un recorrido en profundidad. El recorrido avanza conforme
+     * se piden los vertices.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a recorrer
+     * @param origen Etiqueta del vertice origen
+     * @return El iterador a los vertices alcanzables
+     * @throws GraphException Si el vertice origen no existe
+     */
+    public static <T> Iterator<T> dfsIterator(IIndexedGraph<T> grafo,
+            T origen) throws GraphException {
+        return new Profundidad<>(grafo, indiceOrigen(grafo, origen));
+    }
+
+    private static <T> int indiceOrigen(IIndexedGraph<T> grafo, T origen)
+            throws GraphException {
+        int indice = grafo.indexOf(origen);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + origen + " no existe");
+        }
+        return indice;
+    }
+
+    private static <T> T etiqueta(IIndexedGraph<T> grafo, int indice) {
+        return indice < 0 ? null : grafo.getEtiqueta(indice);
+    }
+
+    /**
+     * Recorrido en amplitud. La cola es un arreglo de n posiciones porque cada
+     * vertice se encola a lo mas una vez; el mismo objeto recibe los vecinos
+     * de cada vertice, asi que no se crean objetos por vertice ni por arista.
+     */
+    private static final class Amplitud<T> implements Iterator<T>,
+            INeighborVisitor {
+
+        private final IIndexedGraph<T> grafo;
+        private final int[] predecesores;
+        private final int[] cola;
+        private int inicio;
+        private int fin;
+        private int actual;
+
+        private Amplitud(IIndexedGraph<T> grafo, int origen) {
+            this.grafo = grafo;
+            int n = grafo.getNumberVertices();
+            predecesores = new int[n];
+            Arrays.fill(predecesores, SIN_VISITAR);
+            cola = new int[n];
+            predecesores[origen] = SIN_PREDECESOR;
+            cola[fin++] = origen;
+        }
+
+        @Override
+        public void visit(int vecino, double peso) {
+            if (predecesores[vecino] == SIN_VISITAR) {
+                predecesores[vecino] = actual;
+                cola[fin++] = vecino;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return inicio < fin;
+        }
+
+        private int siguiente() {
+            if (inicio == fin) {
+                throw new NoSuchElementException();
+            }
+            actual = cola[inicio++];
+            grafo.forEachNeighbor(actual, this);
+            return actual;
+        }
+
+        @Override
+        public T next() {
+            return grafo.getEtiqueta(siguiente());
+        }
+    }
+
+    /**
+     * Recorrido en profundidad con una pila de pares (vertice, predecesor).
+     * Un vertice se marca como visitado al sacarlo de la pila, por lo que
+     * puede apilarse varias veces; la pila crece a lo mas a E + 1 elementos.
+     * Los vecinos se apilan en orden inverso para sacarlos en el orden en que
+     * los entrega el grafo.
+     */
+    private static final class Profundidad<T> implements Iterator<T>,
+            INeighborVisitor {
+
+        private final IIndexedGraph<T> grafo;
+        private final int[] predecesores;
+        private int[] pilaVertices;
+        private int[] pilaPredecesores;
+        private int tope;
+        private int actual;
+
+        private Profundidad(IIndexedGraph<T> grafo, int origen) {
+            this.grafo = grafo;
+            int n = grafo.getNumberVertices();
+            predecesores = new int[n];
+            Arrays.fill(predecesores, SIN_VISITAR);
+            pilaVertices = new int[Math.max(16, n)];
+            pilaPredecesores = new int[pilaVertices.length];
+            actual = SIN_PREDECESOR;
+            visit(origen, 0.0);
+        }
+
+        @Override
+        public void visit(int vecino, double peso) {
+            if (predecesores[vecino] != SIN_VISITAR) {
+                return;
+            }
+            if (tope == pilaVertices.length) {
+                pilaVertices = Arrays.copyOf(pilaVertices, tope * 2);
+                pilaPredecesores = Arrays.copyOf(pilaPredecesores, tope * 2);
+            }
+            pilaVertices[tope] = vecino;
+            pilaPredecesores[tope++] = actual;
+        }
+
+        /**
+         * Descarta los vertices ya visitados del tope de la pila
+         */
+        @Override
+        public boolean hasNext() {
+            while (tope > 0 && predecesores[pilaVertices[tope - 1]]
+                    != SIN_VISITAR) {
+                tope--;
+            }
+            return tope > 0;
+        }
+
+        private int siguiente() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            tope--;
+            actual = pilaVertices[tope];
+            predecesores[actual] = pilaPredecesores[tope];
+            int base = tope;
+            grafo.forEachNeighbor(actual, this);
+            invierte(base, tope - 1);
+            return actual;
+        }
+
+        private void invierte(int i, int j) {
+            for (; i < j; i++, j--) {
+                int v = pilaVertices[i];
+                pilaVertices[i] = pilaVertices[j];
+                pilaVertices[j] = v;
+                int p = pilaPredecesores[i];
+                pilaPredecesores[i] = pilaPredecesores[j];
+                pilaPredecesores[j] = p;
+            }
+        }
+
+        @Override
+        public T next() {
+            return grafo.getEtiqueta(siguiente());
+        }
+    }
+}
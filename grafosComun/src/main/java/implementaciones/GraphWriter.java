@@ -0,0 +1,257 @@
+package implementaciones;
+
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * GraphWriter.java
+ *
+ * Esta clase escribe un grafo indexado en un Appendable (un StringBuilder, o
+ * un Writer para archivos grandes) conforme lo recorre, sin armar cadenas
+ * intermedias, asi que el tiempo es lineal en el tamano de la salida y la
+ * memoria adicional no depende del numero de aristas. Los formatos son:
+ *
+ * - Listas de adyacencias: una linea "x: [(y, peso), ...]" por vertice; es el
+ * formato de toString() de los grafos sobre listas y de CsrGraph.
+ *
+ * - Matriz: un encabezado con las etiquetas y un renglon "x | peso, ---, ... |"
+ * por vertice; es el formato de toString() de los grafos sobre matrices.
+ *
+ * - DOT de Graphviz, con el peso de cada arista como etiqueta.
+ *
+ * - Lista de aristas: una linea "x y peso" por arista, que EdgeListLoader
+ * puede volver a leer cuando las etiquetas son enteros.
+ *
+ * Para escribir en un archivo conviene envolver el Writer en un
+ * BufferedWriter. El grafo no debe modificarse mientras se escribe.
+ */
+public final class GraphWriter {
+
+    private GraphWriter() {
+    }
+
+    /**
+     * Escribe el grafo como una linea de adyacencias por vertice
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a escribir
+     * @param destino Destino de la escritura
+     * @throws IOException Si el destino falla
+     */
+    public static <T> void writeAdjacencyList(IIndexedGraph<T> grafo,
+            Appendable destino) throws IOException {
+        INeighborCursor cursor = grafo.newNeighborCursor();
+        int n = grafo.getNumberVertices();
+        for (int v = 0; v < n; v++) {
+            agregaEtiqueta(destino, grafo.getEtiqueta(v));
+            destino.append(": [");
+            cursor.reset(v);
+            boolean primera = true;
+            while (cursor.next()) {
+                if (!primera) {
+                    destino.append(", ");
+                }
+                primera = false;
+                destino.append('(');
+                agregaEtiqueta(destino, grafo.getEtiqueta(cursor.target()));
+                destino.append(", ");
+                agregaNumero(destino, cursor.weight());
+                destino.append(')');
+            }
+            destino.append("]\n");
+        }
+    }
+
+    /**
+     * Escribe el grafo como matriz de adyacencias. Las celdas sin arista se
+     * escriben como "---". Toma O(V^2) y O(V) de memoria adicional.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a escribir
+     * @param destino Destino de la escritura
+     * @throws IOException Si el destino falla
+     */
+    public static <T> void writeMatrix(IIndexedGraph<T> grafo,
+            Appendable destino) throws IOException {
+        int n = grafo.getNumberVertices();
+        destino.append(' ');
+        for (int j = 0; j < n; j++) {
+            agregaEtiqueta(destino, grafo.getEtiqueta(j));
+            if (j < n - 1) {
+                destino.append(' ');
+            }
+        }
+        destino.append('\n');
+        INeighborCursor cursor = grafo.newNeighborCursor();
+        double[] renglon = new double[n];
+        Arrays.fill(renglon, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < n; i++) {
+            cursor.reset(i);
+            while (cursor.next()) {
+                renglon[cursor.target()] = cursor.weight();
+            }
+            agregaEtiqueta(destino, grafo.getEtiqueta(i));
+            destino.append(" | ");
+            for (int j = 0; j < n; j++) {
+                if (renglon[j] == Double.POSITIVE_INFINITY) {
+                    destino.append("---");
+                } else {
+                    agregaNumero(destino, renglon[j]);
+                    renglon[j] = Double.POSITIVE_INFINITY;
+                }
+                if (j < n - 1) {
+                    destino.append(", ");
+                }
+            }
+            destino.append(" |\n");
+        }
+    }
+
+    /**
+     * Escribe el grafo en el lenguaje DOT de Graphviz. Cada vertice se
+     * declara aunque no tenga aristas; en un grafo no dirigido cada arista se
+     * escribe una sola vez.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a escribir
+     * @param dirigido true si el grafo es dirigido, false en caso contrario
+     * @param destino Destino de la escritura
+     * @throws IOException Si el destino falla
+     */
+    public static <T> void writeDot(IIndexedGraph<T> grafo, boolean dirigido,
+            Appendable destino) throws IOException {
+        String conector = dirigido ? " -> " : " -- ";
+        destino.append(dirigido ? "digraph {\n" : "graph {\n");
+        int n = grafo.getNumberVertices();
+        for (int v = 0; v < n; v++) {
+            destino.append("  ");
+            agregaIdentificador(destino, grafo.getEtiqueta(v));
+            destino.append(";\n");
+        }
+        INeighborCursor cursor = grafo.newNeighborCursor();
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                int w = cursor.target();
+                if (dirigido || v <= w) {
+                    destino.append("  ");
+                    agregaIdentificador(destino, grafo.getEtiqueta(v));
+                    destino.append(conector);
+                    agregaIdentificador(destino, grafo.getEtiqueta(w));
+                    destino.append(" [label=\"");
+                    agregaNumero(destino, cursor.weight());
+                    destino.append("\"];\n");
+                }
+            }
+        }
+        destino.append("}\n");
+    }
+
+    /**
+     * Escribe una linea "x y peso" por arista. En un grafo no dirigido cada
+     * arista se escribe una sola vez. Los vertices sin aristas no aparecen.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a escribir
+     * @param dirigido true si el grafo es dirigido, false en caso contrario
+     * @param destino Destino de la escritura
+     * @throws IOException Si el destino falla
+     */
+    public static <T> void writeEdgeList(IIndexedGraph<T> grafo,
+            boolean dirigido, Appendable destino) throws IOException {
+        INeighborCursor cursor = grafo.newNeighborCursor();
+        int n = grafo.getNumberVertices();
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                int w = cursor.target();
+                if (dirigido || v <= w) {
+                    agregaEtiqueta(destino, grafo.getEtiqueta(v));
+                    destino.append(' ');
+                    agregaEtiqueta(destino, grafo.getEtiqueta(w));
+                    destino.append(' ');
+                    agregaNumero(destino, cursor.weight());
+                    destino.append('\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene las listas de adyacencias del grafo como cadena
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a escribir
+     * @return Una cadena con una linea de adyacencias por vertice
+     */
+    public static <T> String adjacencyListString(IIndexedGraph<T> grafo) {
+        StringBuilder s = new StringBuilder();
+        try {
+            writeAdjacencyList(grafo, s);
+        } catch (IOException e) {
+            // Un StringBuilder no lanza IOException
+            throw new UncheckedIOException(e);
+        }
+        return s.toString();
+    }
+
+    /**
+     * Obtiene la matriz de adyacencias del grafo como cadena
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a escribir
+     * @return Una cadena con el encabezado y un renglon por vertice
+     */
+    public static <T> String matrixString(IIndexedGraph<T> grafo) {
+        StringBuilder s = new StringBuilder();
+        try {
+            writeMatrix(grafo, s);
+        } catch (IOException e) {
+            // Un StringBuilder no lanza IOException
+            throw new UncheckedIOException(e);
+        }
+        return s.toString();
+    }
+
+    private static void agregaEtiqueta(Appendable destino, Object etiqueta)
+            throws IOException {
+        if (destino instanceof StringBuilder) {
+            ((StringBuilder) destino).append(etiqueta);
+        } else {
+            destino.append(String.valueOf(etiqueta));
+        }
+    }
+
+    /**
+     * Agrega un peso; en un StringBuilder se escribe sin crear una cadena
+     */
+    private static void agregaNumero(Appendable destino, double numero)
+            throws IOException {
+        if (destino instanceof StringBuilder) {
+            ((StringBuilder) destino).append(numero);
+        } else {
+            destino.append(Double.toString(numero));
+        }
+    }
+
+    /**
+     * Agrega una etiqueta como identificador DOT entre comillas, escapando
+     * las comillas y diagonales invertidas que contenga
+     */
+    private static void agregaIdentificador(Appendable destino,
+            Object etiqueta) throws IOException {
+        String texto = String.valueOf(etiqueta);
+        destino.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                destino.append('\\');
+            }
+            destino.append(c);
+        }
+        destino.append('"');
+    }
+}
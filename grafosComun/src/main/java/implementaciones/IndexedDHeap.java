@@ -0,0 +1,227 @@
+package implementaciones;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IndexedDHeap.java
+ *
+ * Esta clase implementa un monticulo minimo d-ario indexado sobre los enteros
+ * 0 .. capacidad - 1. Cada elemento tiene una prioridad double y se puede
+ * reducir su prioridad sin reinsertarlo, porque el monticulo guarda la
+ * posicion de cada elemento. Todo el estado son arreglos primitivos, asi que
+ * ninguna operacion crea objetos.
+ *
+ * Con d = 4 el monticulo es menos profundo que uno binario y los hijos de un
+ * nodo son contiguos en memoria, lo que favorece a algoritmos como Dijkstra
+ * que hacen muchas mas reducciones de prioridad que extracciones.
+ */
+public class IndexedDHeap {
+
+    private static final int AUSENTE = -1;
+
+    private final int d;
+    private final int[] elementos;
+    private final int[] posiciones;
+    private final double[] prioridades;
+    private int tamano;
+
+    /**
+     * Constructor de la clase. Crea un monticulo 4-ario vacio
+     *
+     * @param capacidad Numero de elementos posibles, 0 .. capacidad - 1
+     */
+    public IndexedDHeap(int capacidad) {
+        this(capacidad, 4);
+    }
+
+    /**
+     * Constructor de la clase. Crea un monticulo d-ario vacio
+     *
+     * @param capacidad Numero de elementos posibles, 0 .. capacidad - 1
+     * @param d Numero de hijos de cada nodo; al menos 2
+     * @throws IllegalArgumentException Si d es menor que 2
+     */
+    public IndexedDHeap(int capacidad, int d) {
+        if (d < 2) {
+            throw new IllegalArgumentException("Aridad invalida: " + d);
+        }
+        this.d = d;
+        elementos = new int[capacidad];
+        posiciones = new int[capacidad];
+        prioridades = new double[capacidad];
+        Arrays.fill(posiciones, AUSENTE);
+    }
+
+    /**
+     * Obtiene el numero de elementos posibles del monticulo
+     *
+     * @return La capacidad del monticulo
+     */
+    public int capacidad() {
+        return elementos.length;
+    }
+
+    /**
+     * Obtiene el numero de elementos en el monticulo
+     *
+     * @return El numero de elementos en el monticulo
+     */
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Determina si el monticulo esta vacio
+     *
+     * @return true si el monticulo esta vacio, false en caso contrario
+     */
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    /**
+     * Determina si el elemento esta en el monticulo
+     *
+     * @param elemento Elemento a buscar
+     * @return true si el elemento esta en el monticulo, false en caso
+     * contrario
+     */
+    public boolean contains(int elemento) {
+        return posiciones[elemento] != AUSENTE;
+    }
+
+    /**
+     * Obtiene la prioridad de un elemento que esta en el monticulo
+     *
+     * @param elemento Elemento del monticulo
+     * @return La prioridad del elemento
+     */
+    public double getPrioridad(int elemento) {
+        return prioridades[elemento];
+    }
+
+    /**
+     * Agrega el elemento con la prioridad dada o, si ya esta en el monticulo,
+     * reduce su prioridad. Una prioridad mayor que la actual se ignora.
+     *
+     * @param elemento Elemento a agregar
+     * @param prioridad Prioridad del elemento
+     * @return true si el elemento se agrego o cambio su prioridad, false en
+     * caso contrario
+     */
+    public boolean offer(int elemento, double prioridad) {
+        int i = posiciones[elemento];
+        if (i == AUSENTE) {
+            i = tamano++;
+        } else if (prioridad >= prioridades[elemento]) {
+            return false;
+        }
+        prioridades[elemento] = prioridad;
+        sube(elemento, i);
+        return true;
+    }
+
+    /**
+     * Obtiene el elemento con la menor prioridad sin sacarlo del monticulo
+     *
+     * @return El elemento con la menor prioridad
+     * @throws NoSuchElementException Si el monticulo esta vacio
+     */
+    public int peek() {
+        if (tamano == 0) {
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+        return elementos[0];
+    }
+
+    /**
+     * Obtiene la menor prioridad del monticulo
+     *
+     * @return La prioridad del elemento con la menor prioridad, infinito si
+     * el monticulo esta vacio
+     */
+    public double peekPrioridad() {
+        return tamano == 0 ? Double.POSITIVE_INFINITY
+                : prioridades[elementos[0]];
+    }
+
+    /**
+     * Saca del monticulo el elemento con la menor prioridad
+     *
+     * @return El elemento con la menor prioridad
+     * @throws NoSuchElementException Si el monticulo esta vacio
+     */
+    public int poll() {
+        int minimo = peek();
+        posiciones[minimo] = AUSENTE;
+        int ultimo = elementos[--tamano];
+        if (tamano > 0) {
+            baja(ultimo, 0);
+        }
+        return minimo;
+    }
+
+    /**
+     * Saca todos los elementos del monticulo. Toma un tiempo proporcional al
+     * numero de elementos en el monticulo, no a su capacidad.
+     */
+    public void clear() {
+        for (int i = 0; i < tamano; i++) {
+            posiciones[elementos[i]] = AUSENTE;
+        }
+        tamano = 0;
+    }
+
+    /**
+     * Coloca el elemento en la posicion i y lo sube mientras su prioridad sea
+     * menor que la de su padre
+     */
+    private void sube(int elemento, int i) {
+        double prioridad = prioridades[elemento];
+        while (i > 0) {
+            int padre = (i - 1) / d;
+            int elementoPadre = elementos[padre];
+            if (prioridades[elementoPadre] <= prioridad) {
+                break;
+            }
+            elementos[i] = elementoPadre;
+            posiciones[elementoPadre] = i;
+            i = padre;
+        }
+        elementos[i] = elemento;
+        posiciones[elemento] = i;
+    }
+
+    /**
+     * Coloca el elemento en la posicion i y lo baja mientras alguno de sus
+     * hijos tenga menor prioridad
+     */
+    private void baja(int elemento, int i) {
+        double prioridad = prioridades[elemento];
+        while (true) {
+            int primero = i * d + 1;
+            if (primero >= tamano) {
+                break;
+            }
+            int fin = Math.min(primero + d, tamano);
+            int menor = primero;
+            double prioridadMenor = prioridades[elementos[primero]];
+            for (int h = primero + 1; h < fin; h++) {
+                double p = prioridades[elementos[h]];
+                if (p < prioridadMenor) {
+                    menor = h;
+                    prioridadMenor = p;
+                }
+            }
+            if (prioridadMenor >= prioridad) {
+                break;
+            }
+            elementos[i] = elementos[menor];
+            posiciones[elementos[i]] = i;
+            i = menor;
+        }
+        elementos[i] = elemento;
+        posiciones[elemento] = i;
+    }
+}
@@ -0,0 +1,81 @@
+package implementaciones;
+
+/**
+ * LoadReport.java
+ *
+ * Esta clase guarda las estadisticas de la carga de un grafo desde un archivo:
+ * lineas leidas, aristas, vertices, bytes y el tiempo que tomo.
+ */
+public final class LoadReport {
+
+    private final long lineas;
+    private final long aristas;
+    private final int vertices;
+    private final long bytes;
+    private final long nanos;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param lineas Numero de lineas leidas, incluyendo comentarios
+     * @param aristas Numero de aristas leidas
+     * @param vertices Numero de vertices distintos leidos
+     * @param bytes Numero de bytes leidos
+     * @param nanos Tiempo de la carga en nanosegundos
+     */
+    public LoadReport(long lineas, long aristas, int vertices, long bytes,
+            long nanos) {
+        this.lineas = lineas;
+        this.aristas = aristas;
+        this.vertices = vertices;
+        this.bytes = bytes;
+        this.nanos = nanos;
+    }
+
+    public long getLineas() {
+        return lineas;
+    }
+
+    public long getAristas() {
+        return aristas;
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Obtiene el tiempo que tomo la carga
+     *
+     * @return El tiempo de la carga en segundos
+     */
+    public double getSegundos() {
+        return nanos / 1e9;
+    }
+
+    /**
+     * Obtiene la velocidad de la carga
+     *
+     * @return El numero de lineas leidas por segundo
+     */
+    public double getLineasPorSegundo() {
+        return nanos == 0 ? 0 : lineas * 1e9 / nanos;
+    }
+
+    /**
+     * Obtiene una cadena con una representacion de las estadisticas
+     *
+     * @return Una cadena con una representacion de las estadisticas
+     */
+    @Override
+    public String toString() {
+        return String.format("%d lineas, %d aristas, %d vertices en %.3f s"
+                + " (%.0f lineas/s, %.1f MB/s)", lineas, aristas, vertices,
+                getSegundos(), getLineasPorSegundo(),
+                nanos == 0 ? 0.0 : bytes * 1e3 / nanos);
+    }
+}
@@ -0,0 +1,760 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import interfaces.IGraph;
+import interfaces.IIndexedGraph;
+import interfaces.ILabelCodec;
+import interfaces.INeighborCursor;
+import interfaces.INeighborVisitor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * MappedCsrGraph.java
+ *
+ * Esta clase implementa un grafo inmutable en formato CSR cuyos arreglos estan
+ * en un archivo binario proyectado en memoria con FileChannel.map(). Abrir el
+ * grafo lee el encabezado, proyecta las secciones del archivo y valida los
+ * offsets: no copia vertices ni aristas al heap, de modo que el grafo puede
+ * consultarse sin importar el numero de aristas, y el sistema operativo carga
+ * las paginas conforme se usan.
+ *
+ * El archivo, en orden little-endian, tiene un encabezado de 32 bytes (numero
+ * magico, version, banderas, numero de vertices, de aristas y de entradas CSR,
+ * longitud de las etiquetas y tamano de la tabla de dispersion) seguido de las
+ * secciones, cada una alineada a 8 bytes:
+ * <ol>
+ * <li>inicio de la etiqueta de cada vertice: n + 1 enteros</li>
+ * <li>bytes de las etiquetas, segun un ILabelCodec</li>
+ * <li>tabla de dispersion de etiquetas a indices, con direccionamiento
+ * abierto; -1 marca una celda vacia</li>
+ * <li>offsets CSR: n + 1 enteros</li>
+ * <li>destinos: un entero por entrada, ordenados dentro de cada renglon</li>
+ * <li>pesos: un double por entrada; se omite si todos los pesos son 0</li>
+ * </ol>
+ *
+ * Cada seccion se proyecta por separado, asi que ninguna puede exceder 2 GB.
+ * En un grafo no dirigido cada arista se guarda en ambas direcciones, como en
+ * CsrGraph.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class MappedCsrGraph<T> implements IIndexedGraph<T> {
+
+    private static final int MAGICO = 0x46415247; // "GRAF"
+    private static final int VERSION = 1;
+    private static final int TAMANO_ENCABEZADO = 32;
+    private static final int DIRIGIDO = 1;
+    private static final int CON_PESOS = 2;
+    private static final int VACIA = -1;
+
+    private final ILabelCodec<T> codec;
+    private final int nVertices;
+    private final int nAristas;
+    private final boolean dirigido;
+    private final IntBuffer iniciosEtiquetas;
+    private final ByteBuffer etiquetas;
+    private final IntBuffer tabla;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+
+    /**
+     * Constructor de la clase. Proyecta las secciones del archivo abierto
+     *
+     * @param canal Canal del archivo
+     * @param codec Codificador de las etiquetas
+     * @throws IOException Si ocurre un error al leer el archivo
+     * @throws GraphException Si el archivo no tiene el formato esperado
+     */
+    private MappedCsrGraph(FileChannel canal, ILabelCodec<T> codec)
+            throws IOException {
+        this.codec = codec;
+        long tamano = canal.size();
+        if (tamano < TAMANO_ENCABEZADO) {
+            throw new GraphException("Archivo de grafo invalido");
+        }
+        ByteBuffer encabezado = canal.map(FileChannel.MapMode.READ_ONLY, 0,
+                TAMANO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+        if (encabezado.getInt(0) != MAGICO) {
+            throw new GraphException("Archivo de grafo invalido");
+        }
+        if (encabezado.getInt(4) != VERSION) {
+            throw new GraphException("Version de archivo no soportada: "
+                    + encabezado.getInt(4));
+        }
+        int banderas = encabezado.getInt(8);
+        nVertices = encabezado.getInt(12);
+        nAristas = encabezado.getInt(16);
+        int nEntradas = encabezado.getInt(20);
+        int longitudEtiquetas = encabezado.getInt(24);
+        int tamanoTabla = encabezado.getInt(28);
+        dirigido = (banderas & DIRIGIDO) != 0;
+        // La tabla necesita al menos una celda vacia para que la busqueda de
+        // una etiqueta que no existe termine
+        if (nVertices < 0 || nAristas < 0 || nEntradas < 0
+                || longitudEtiquetas < 0 || Integer.bitCount(tamanoTabla) != 1
+                || tamanoTabla <= nVertices) {
+            throw new GraphException("Archivo de grafo invalido");
+        }
+        if (dirigido ? nEntradas != nAristas
+                : nEntradas < nAristas || nEntradas > 2L * nAristas) {
+            throw new GraphException("Archivo de grafo invalido");
+        }
+        Secciones s = new Secciones(nVertices, longitudEtiquetas,
+                tamanoTabla, nEntradas, (banderas & CON_PESOS) != 0);
+        if (s.fin > tamano) {
+            throw new GraphException("Archivo de grafo truncado");
+        }
+        iniciosEtiquetas = proyecta(canal, s.iniciosEtiquetas,
+                4L * (nVertices + 1)).asIntBuffer();
+        etiquetas = proyecta(canal, s.etiquetas, longitudEtiquetas);
+        tabla = proyecta(canal, s.tabla, 4L * tamanoTabla).asIntBuffer();
+        offsets = proyecta(canal, s.offsets, 4L * (nVertices + 1))
+                .asIntBuffer();
+        targets = proyecta(canal, s.targets, 4L * nEntradas).asIntBuffer();
+        weights = s.weights < 0 ? null
+                : proyecta(canal, s.weights, 8L * nEntradas).asDoubleBuffer();
+        if (offsets.get(0) != 0 || offsets.get(nVertices) != nEntradas) {
+            throw new GraphException("Arreglos CSR inconsistentes");
+        }
+        for (int v = 0; v < nVertices; v++) {
+            if (offsets.get(v) > offsets.get(v + 1)) {
+                throw new GraphException("Arreglos CSR inconsistentes");
+            }
+        }
+    }
+
+    private static ByteBuffer proyecta(FileChannel canal, long posicion,
+            long longitud) throws IOException {
+        if (longitud > Integer.MAX_VALUE) {
+            throw new GraphException("Seccion de " + longitud
+                    + " bytes demasiado grande para proyectarse");
+        }
+        return canal.map(FileChannel.MapMode.READ_ONLY, posicion, longitud)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Posiciones de las secciones del archivo, que se deducen de los tamanos
+     * del encabezado
+     */
+    private static final class Secciones {
+
+        final long iniciosEtiquetas;
+        final long etiquetas;
+        final long tabla;
+        final long offsets;
+        final long targets;
+        final long weights;
+        final long fin;
+
+        Secciones(int nVertices, int longitudEtiquetas, int tamanoTabla,
+                int nEntradas, boolean conPesos) {
+            iniciosEtiquetas = TAMANO_ENCABEZADO;
+            etiquetas = alinea(iniciosEtiquetas + 4L * (nVertices + 1));
+            tabla = alinea(etiquetas + longitudEtiquetas);
+            offsets = alinea(tabla + 4L * tamanoTabla);
+            targets = alinea(offsets + 4L * (nVertices + 1));
+            long finTargets = alinea(targets + 4L * nEntradas);
+            weights = conPesos ? finTargets : -1;
+            fin = conPesos ? finTargets + 8L * nEntradas : finTargets;
+        }
+
+        private static long alinea(long posicion) {
+            return (posicion + 7) & ~7L;
+        }
+    }
+
+    /**
+     * Abre un grafo guardado con write(). Solo recorre los offsets para
+     * validarlos, asi que toma O(V) y no depende del numero de aristas.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param archivo Ruta del archivo
+     * @param codec Codificador con el que se guardaron las etiquetas
+     * @return El grafo de solo lectura
+     * @throws GraphException Si el archivo no tiene el formato esperado
+     * @throws UncheckedIOException Si ocurre un error al leer el archivo
+     */
+    public static <T> MappedCsrGraph<T> open(Path archivo,
+            ILabelCodec<T> codec) throws GraphException {
+        // Las proyecciones siguen siendo validas al cerrar el canal
+        try (FileChannel canal = FileChannel.open(archivo,
+                StandardOpenOption.READ)) {
+            return new MappedCsrGraph<>(canal, codec);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Guarda un grafo en un archivo binario que puede abrirse con open(). Si
+     * el grafo es un IIndexedGraph sus aristas se recorren con
+     * forEachNeighbor() en O(V + E); en otro caso se consulta hasEdge() por
+     * cada par de vertices. Las aristas se escriben por renglones, asi que la
+     * memoria adicional es O(V) mas el renglon mas largo.
+     *
+     * La direccion se indica explicitamente: con solo lazos o sin aristas un
+     * grafo no dirigido tiene tantas entradas en sus renglones como aristas,
+     * igual que uno dirigido.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a guardar
+     * @param archivo Ruta del archivo; si existe se reemplaza
+     * @param codec Codificador de las etiquetas
+     * @param dirigido true si el grafo es dirigido, false en caso contrario
+     * @throws GraphException Si el numero de aristas del grafo no corresponde
+     * a sus renglones con la direccion indicada
+     * @throws UncheckedIOException Si ocurre un error al escribir el archivo
+     */
+    public static <T> void write(IGraph<T> grafo, Path archivo,
+            ILabelCodec<T> codec, boolean dirigido) {
+        Renglones<T> renglones = new Renglones<>(grafo);
+        int n = renglones.etiquetas.size();
+        try (FileChannel canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Etiquetas: inicios y bytes se escriben a la vez
+            long posEtiquetas = new Secciones(n, 0, 1, 0, false).etiquetas;
+            Escritor inicios = new Escritor(canal, TAMANO_ENCABEZADO);
+            Escritor bytes = new Escritor(canal, posEtiquetas);
+            int[] dispersiones = new int[n];
+            long longitud = 0;
+            for (int v = 0; v < n; v++) {
+                byte[] codigo = codec.encode(renglones.etiquetas.get(v));
+                inicios.putInt((int) longitud);
+                bytes.put(codigo);
+                dispersiones[v] = dispersa(codigo, 0, codigo.length);
+                longitud += codigo.length;
+                if (longitud > Integer.MAX_VALUE) {
+                    throw new GraphException("Etiquetas demasiado grandes");
+                }
+            }
+            inicios.putInt((int) longitud);
+            inicios.flush();
+            bytes.flush();
+
+            int tamanoTabla = Integer.highestOneBit(Math.max(2 * n, 1) - 1)
+                    << 1;
+            tamanoTabla = Math.max(tamanoTabla, 2);
+            int[] celdas = new int[tamanoTabla];
+            Arrays.fill(celdas, VACIA);
+            for (int v = 0; v < n; v++) {
+                int i = dispersiones[v] & (tamanoTabla - 1);
+                while (celdas[i] != VACIA) {
+                    i = (i + 1) & (tamanoTabla - 1);
+                }
+                celdas[i] = v;
+            }
+            dispersiones = null;
+
+            int[] inicioRenglon = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                long fin = (long) inicioRenglon[v] + renglones.lee(v);
+                if (fin > Integer.MAX_VALUE) {
+                    throw new GraphException("Demasiadas aristas");
+                }
+                inicioRenglon[v + 1] = (int) fin;
+            }
+            int nEntradas = inicioRenglon[n];
+            // En un grafo no dirigido cada arista que no es un lazo aparece
+            // en dos renglones
+            long nAristas = grafo.getNumberEdges();
+            if (dirigido ? nEntradas != nAristas
+                    : nEntradas < nAristas || nEntradas > 2 * nAristas) {
+                throw new GraphException(nAristas + " aristas no corresponden"
+                        + " a " + nEntradas + " entradas en un grafo "
+                        + (dirigido ? "dirigido" : "no dirigido"));
+            }
+
+            Secciones s = new Secciones(n, (int) longitud, tamanoTabla,
+                    nEntradas, true);
+            Escritor tabla = new Escritor(canal, s.tabla);
+            for (int celda : celdas) {
+                tabla.putInt(celda);
+            }
+            tabla.flush();
+            Escritor offsets = new Escritor(canal, s.offsets);
+            for (int inicio : inicioRenglon) {
+                offsets.putInt(inicio);
+            }
+            offsets.flush();
+            Escritor targets = new Escritor(canal, s.targets);
+            Escritor weights = new Escritor(canal, s.weights);
+            boolean conPesos = false;
+            for (int v = 0; v < n; v++) {
+                int grado = renglones.lee(v);
+                CsrGraph.ordena(renglones.destinos, renglones.pesos, 0,
+                        grado - 1);
+                for (int e = 0; e < grado; e++) {
+                    targets.putInt(renglones.destinos[e]);
+                    weights.putDouble(renglones.pesos[e]);
+                    conPesos |= renglones.pesos[e] != 0.0;
+                }
+            }
+            targets.flush();
+            weights.flush();
+            long fin = conPesos ? s.fin : s.weights;
+            canal.truncate(fin);
+            if (canal.size() < fin) {
+                // Relleno final de una seccion vacia
+                canal.write(ByteBuffer.allocate(1), fin - 1);
+            }
+
+            ByteBuffer encabezado = ByteBuffer.allocate(TAMANO_ENCABEZADO)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            encabezado.putInt(MAGICO).putInt(VERSION)
+                    .putInt((dirigido ? DIRIGIDO : 0)
+                            | (conPesos ? CON_PESOS : 0))
+                    .putInt(n).putInt(grafo.getNumberEdges()).putInt(nEntradas)
+                    .putInt((int) longitud).putInt(tamanoTabla).flip();
+            while (encabezado.hasRemaining()) {
+                canal.write(encabezado, encabezado.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lee los renglones de un grafo: las aristas salientes de cada vertice
+     */
+    private static final class Renglones<T> implements INeighborVisitor {
+
+        final IGraph<T> grafo;
+        final List<T> etiquetas;
+        int[] destinos = new int[16];
+        double[] pesos = new double[16];
+        int grado;
+
+        Renglones(IGraph<T> grafo) {
+            this.grafo = grafo;
+            if (grafo instanceof IIndexedGraph) {
+                IIndexedGraph<T> indexado = (IIndexedGraph<T>) grafo;
+                etiquetas = new ArrayList<>(grafo.getNumberVertices());
+                for (int v = 0; v < grafo.getNumberVertices(); v++) {
+                    etiquetas.add(indexado.getEtiqueta(v));
+                }
+            } else {
+                etiquetas = new ArrayList<>(grafo.getVertices());
+            }
+        }
+
+        /**
+         * Lee las aristas salientes del vertice dado en destinos y pesos
+         *
+         * @param v Indice del vertice
+         * @return El numero de aristas salientes
+         */
+        int lee(int v) {
+            grado = 0;
+            if (grafo instanceof IIndexedGraph) {
+                ((IIndexedGraph<T>) grafo).forEachNeighbor(v, this);
+            } else {
+                T etqX = etiquetas.get(v);
+                for (int w = 0; w < etiquetas.size(); w++) {
+                    T etqY = etiquetas.get(w);
+                    if (grafo.hasEdge(etqX, etqY)) {
+                        visit(w, grafo.getEdgeWeight(etqX, etqY));
+                    }
+                }
+            }
+            return grado;
+        }
+
+        @Override
+        public void visit(int vecino, double peso) {
+            if (grado == destinos.length) {
+                destinos = Arrays.copyOf(destinos, grado * 2);
+                pesos = Arrays.copyOf(pesos, grado * 2);
+            }
+            destinos[grado] = vecino;
+            pesos[grado++] = peso;
+        }
+    }
+
+    /**
+     * Escribe valores en posiciones consecutivas del archivo a traves de un
+     * buffer, para poder llenar varias secciones a la vez
+     */
+    private static final class Escritor {
+
+        private final FileChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private long posicion;
+
+        Escritor(FileChannel canal, long posicion) {
+            this.canal = canal;
+            this.posicion = posicion;
+        }
+
+        void putInt(int valor) throws IOException {
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+            buffer.putInt(valor);
+        }
+
+        void putDouble(double valor) throws IOException {
+            if (buffer.remaining() < 8) {
+                flush();
+            }
+            buffer.putDouble(valor);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int i = 0;
+            while (i < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int cuantos = Math.min(buffer.remaining(), bytes.length - i);
+                buffer.put(bytes, i, cuantos);
+                i += cuantos;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                posicion += canal.write(buffer, posicion);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Funcion de dispersion FNV-1a de los bytes de una etiqueta
+     */
+    private static int dispersa(byte[] bytes, int inicio, int longitud) {
+        int h = 0x811C9DC5;
+        for (int i = inicio; i < inicio + longitud; i++) {
+            h = (h ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Determina si los bytes de la etiqueta del vertice v son iguales a los
+     * dados
+     */
+    private boolean etiquetaIgual(int v, byte[] codigo) {
+        int inicio = iniciosEtiquetas.get(v);
+        if (iniciosEtiquetas.get(v + 1) - inicio != codigo.length) {
+            return false;
+        }
+        for (int i = 0; i < codigo.length; i++) {
+            if (etiquetas.get(inicio + i) != codigo[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determina si el grafo es dirigido
+     *
+     * @return true si el grafo es dirigido, false en caso contrario
+     */
+    public boolean isDirigido() {
+        return dirigido;
+    }
+
+    /**
+     * Obtiene la posicion del vertice buscandolo en la tabla de dispersion del
+     * archivo
+     *
+     * @param etiqueta vertice a buscar
+     * @return La posicion del vertice si existe, -1 en caso contrario.
+     */
+    @Override
+    public int indexOf(T etiqueta) {
+        byte[] codigo = codec.encode(etiqueta);
+        int mascara = tabla.limit() - 1;
+        int i = dispersa(codigo, 0, codigo.length) & mascara;
+        int v;
+        while ((v = tabla.get(i)) != VACIA) {
+            if (etiquetaIgual(v, codigo)) {
+                return v;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene la etiqueta del vertice en la posicion dada, decodificandola del
+     * archivo
+     *
+     * @param indice Posicion del vertice
+     * @return La etiqueta del vertice
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
+     */
+    @Override
+    public T getEtiqueta(int indice) {
+        if (indice < 0 || indice >= nVertices) {
+            throw new IndexOutOfBoundsException("Posicion " + indice
+                    + " fuera de rango");
+        }
+        int inicio = iniciosEtiquetas.get(indice);
+        return codec.decode(etiquetas, inicio,
+                iniciosEtiquetas.get(indice + 1) - inicio);
+    }
+
+    /**
+     * Invoca al visitante por cada arista saliente del vertice dado, en orden
+     * creciente del indice del vertice destino
+     *
+     * @param v Indice del vertice
+     * @param visitante Visitante de las aristas
+     */
+    @Override
+    public void forEachNeighbor(int v, INeighborVisitor visitante) {
+        int fin = offsets.get(v + 1);
+        for (int e = offsets.get(v); e < fin; e++) {
+            visitante.visit(targets.get(e), getWeight(e));
+        }
+    }
+
+    /**
+     * Crea un cursor que copia las aristas de cada vertice con
+     * forEachNeighbor()
+     *
+     * @return Un cursor nuevo, sin posicionar
+     */
+    @Override
+    public INeighborCursor newNeighborCursor() {
+        return new BufferedNeighborCursor(this);
+    }
+
+    /**
+     * Obtiene la posicion de la primera arista saliente del vertice dado
+     *
+     * @param v Indice del vertice
+     * @return La posicion de la primera arista saliente del vertice
+     */
+    public int firstEdge(int v) {
+        return offsets.get(v);
+    }
+
+    /**
+     * Obtiene la posicion siguiente a la ultima arista saliente del vertice
+     * dado
+     *
+     * @param v Indice del vertice
+     * @return La posicion siguiente a la ultima arista saliente del vertice
+     */
+    public int endEdge(int v) {
+        return offsets.get(v + 1);
+    }
+
+    /**
+     * Obtiene el indice del vertice destino de la arista en la posicion dada
+     *
+     * @param e Posicion de la arista
+     * @return El indice del vertice destino
+     */
+    public int getTarget(int e) {
+        return targets.get(e);
+    }
+
+    /**
+     * Obtiene el peso de la arista en la posicion dada
+     *
+     * @param e Posicion de la arista
+     * @return El peso de la arista; 0 si el archivo no guarda pesos
+     */
+    public double getWeight(int e) {
+        return weights == null ? 0.0 : weights.get(e);
+    }
+
+    /**
+     * Busca la arista entre los vertices con indices x y y
+     *
+     * @param x Indice del vertice origen
+     * @param y Indice del vertice destino
+     * @return La posicion de la arista si existe, -1 en caso contrario
+     */
+    public int findEdge(int x, int y) {
+        int inicio = offsets.get(x);
+        int fin = offsets.get(x + 1) - 1;
+        while (inicio <= fin) {
+            int medio = (inicio + fin) >>> 1;
+            int destino = targets.get(medio);
+            if (destino < y) {
+                inicio = medio + 1;
+            } else if (destino > y) {
+                fin = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copia los vertices y las aristas de este grafo en un grafo modificable
+     * vacio
+     *
+     * @param <G> Tipo del grafo destino
+     * @param destino Grafo vacio en el que se copian los vertices y aristas
+     * @return El grafo destino
+     * @throws GraphException Si el grafo destino no esta vacio
+     */
+    public <G extends IGraph<T>> G thaw(G destino) throws GraphException {
+        if (!destino.empty()) {
+            throw new GraphException("El grafo destino no esta vacio");
+        }
+        List<T> etiquetasVertices = new ArrayList<>(nVertices);
+        for (int v = 0; v < nVertices; v++) {
+            etiquetasVertices.add(getEtiqueta(v));
+        }
+        destino.addVertices(etiquetasVertices);
+        EdgeBuffer aristas = new EdgeBuffer(targets.limit());
+        for (int v = 0; v < nVertices; v++) {
+            for (int e = offsets.get(v); e < offsets.get(v + 1); e++) {
+                // En un grafo no dirigido cada arista se agrega una sola vez
+                if (dirigido || v <= targets.get(e)) {
+                    aristas.add(v, targets.get(e), getWeight(e));
+                }
+            }
+        }
+        destino.addEdges(aristas);
+        return destino;
+    }
+
+    /**
+     * Obtiene el indice de un vertice que debe existir
+     */
+    private int indiceExistente(T etiqueta) throws GraphException {
+        int indice = indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return indice;
+    }
+
+    @Override
+    public void addVertex(T etqVertice) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addVertices(Collection<? extends T> etqVertices)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public int addEdges(EdgeBuffer aristas) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void removeVertex(T etqVertice) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public boolean hasVertex(T etqVertice) {
+        return indexOf(etqVertice) != -1;
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return nVertices;
+    }
+
+    @Override
+    public LinkedList<T> getVertices() {
+        LinkedList<T> lista = new LinkedList<>();
+        for (int v = 0; v < nVertices; v++) {
+            lista.add(getEtiqueta(v));
+        }
+        return lista;
+    }
+
+    @Override
+    public boolean empty() {
+        return nVertices == 0;
+    }
+
+    @Override
+    public void clear() {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY) throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public void removeEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public boolean hasEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        int x = indiceExistente(etqVerticeX);
+        int y = indiceExistente(etqVerticeY);
+        return findEdge(x, y) >= 0;
+    }
+
+    @Override
+    public double getEdgeWeight(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        int x = indiceExistente(etqVerticeX);
+        int y = indiceExistente(etqVerticeY);
+        int e = findEdge(x, y);
+        if (e == -1) {
+            throw new GraphException("Arista " + etqVerticeX + " - "
+                    + etqVerticeY + " no existe");
+        }
+        return getWeight(e);
+    }
+
+    @Override
+    public void setEdgeWeight(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        throw new GraphException("Grafo de solo lectura");
+    }
+
+    @Override
+    public int getNumberEdges() {
+        return nAristas;
+    }
+
+    /**
+     * Obtiene una cadena con una representacion del grafo
+     *
+     * @return Una cadena con una representacion del grafo
+     */
+    @Override
+    public String toString() {
+        return GraphWriter.adjacencyListString(this);
+    }
+}
@@ -0,0 +1,122 @@
+package implementaciones;
+
+/**
+ * MatrixKernels.java
+ *
+ * Esta clase declara los ciclos internos de los algoritmos sobre matrices de
+ * adyacencias guardadas por renglones: la relajacion min-plus de un renglon
+ * de Floyd-Warshall, la cuenta de celdas con arista de un renglon y el OR de
+ * un renglon de bits con otro para la cerradura transitiva.
+ *
+ * Hay dos implementaciones: la escalar de esta clase y VectorMatrixKernels,
+ * que procesa varias celdas por instruccion con la API de vectores del JDK.
+ * La API es un modulo en incubacion, asi que solo se usa si la maquina
+ * virtual se inicio con --add-modules jdk.incubator.vector; si no, o si la
+ * propiedad del sistema grafos.vector es false, se usa la escalar. Ambas dan
+ * exactamente los mismos resultados.
+ */
+class MatrixKernels {
+
+    /**
+     * Implementacion que usan los algoritmos
+     */
+    static final MatrixKernels INSTANCIA = elige();
+
+    /**
+     * Implementacion escalar, siempre disponible
+     */
+    static final MatrixKernels ESCALAR = new MatrixKernels();
+
+    private static MatrixKernels elige() {
+        if (!Boolean.parseBoolean(System.getProperty("grafos.vector",
+                "true"))) {
+            return new MatrixKernels();
+        }
+        MatrixKernels vectorial = vectorial();
+        return vectorial != null ? vectorial : new MatrixKernels();
+    }
+
+    /**
+     * Crea la implementacion vectorial si el modulo de vectores esta cargado
+     *
+     * @return La implementacion vectorial, null si no esta disponible
+     */
+    static MatrixKernels vectorial() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return new VectorMatrixKernels();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Obtiene el nombre de la implementacion
+     *
+     * @return El nombre de la implementacion
+     */
+    String nombre() {
+        return "escalar";
+    }
+
+    /**
+     * Relaja las celdas desde .. hasta - 1 del renglon i de la matriz de
+     * distancias a traves del vertice intermedio k: si d[k][j] + dik mejora
+     * d[i][j], la reemplaza y pone sik como siguiente salto de (i, j)
+     *
+     * @param distancias Matriz de distancias
+     * @param siguientes Matriz de siguientes saltos
+     * @param filaI Posicion de la celda (i, 0)
+     * @param filaK Posicion de la celda (k, 0)
+     * @param desde Primera columna
+     * @param hasta Columna siguiente a la ultima
+     * @param dik Distancia de i a k
+     * @param sik Siguiente salto de i a k
+     */
+    void minPlus(double[] distancias, int[] siguientes, int filaI, int filaK,
+            int desde, int hasta, double dik, int sik) {
+        for (int j = desde; j < hasta; j++) {
+            double suma = dik + distancias[filaK + j];
+            if (suma < distancias[filaI + j]) {
+                distancias[filaI + j] = suma;
+                siguientes[filaI + j] = sik;
+            }
+        }
+    }
+
+    /**
+     * Cuenta las celdas con arista, distintas de Double.POSITIVE_INFINITY,
+     * entre las posiciones desde .. hasta - 1
+     *
+     * @param matriz Matriz de adyacencias
+     * @param desde Primera posicion
+     * @param hasta Posicion siguiente a la ultima
+     * @return El numero de celdas con arista
+     */
+    int cuentaAristas(double[] matriz, int desde, int hasta) {
+        int cuenta = 0;
+        for (int j = desde; j < hasta; j++) {
+            if (matriz[j] != Double.POSITIVE_INFINITY) {
+                cuenta++;
+            }
+        }
+        return cuenta;
+    }
+
+    /**
+     * Hace el OR de las palabras origen .. origen + longitud - 1 sobre las
+     * palabras destino .. destino + longitud - 1
+     *
+     * @param palabras Matriz de bits
+     * @param destino Primera palabra del renglon destino
+     * @param origen Primera palabra del renglon origen
+     * @param longitud Numero de palabras
+     */
+    void or(long[] palabras, int destino, int origen, int longitud) {
+        for (int k = 0; k < longitud; k++) {
+            palabras[destino + k] |= palabras[origen + k];
+        }
+    }
+}
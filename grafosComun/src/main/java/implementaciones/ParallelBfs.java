@@ -0,0 +1,363 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ParallelBfs.java
+ *
+ * Esta clase implementa un recorrido en amplitud paralelo, sincronizado por
+ * niveles, que calcula el numero de saltos desde un vertice origen hasta cada
+ * vertice del grafo. Cada nivel se expande en paralelo en un ForkJoinPool
+ * propio, de una de dos formas (busqueda con optimizacion de direccion de
+ * Beamer):
+ *
+ * - De arriba hacia abajo: cada vertice de la frontera revisa sus aristas
+ * salientes y reclama a los vecinos no visitados con una operacion atomica
+ * sobre un conjunto de bits de visitados. Conviene cuando la frontera es
+ * pequena.
+ *
+ * - De abajo hacia arriba: cada vertice no visitado revisa sus aristas
+ * entrantes hasta encontrar uno que este en la frontera. Cada tarea es duena
+ * de un bloque de palabras del conjunto de bits, asi que no hay contencion, y
+ * la revision de un vertice termina en cuanto encuentra un padre. Conviene
+ * cuando la frontera tiene una fraccion grande de las aristas.
+ *
+ * Se cambia a abajo hacia arriba cuando las aristas que salen de la frontera
+ * rebasan 1 / alfa de las aristas que llegan a vertices no visitados, y se
+ * regresa a arriba hacia abajo cuando la frontera se reduce a menos de
+ * 1 / beta de los vertices.
+ *
+ * El recorrido trabaja sobre copias CSR de las aristas salientes y entrantes
+ * que se construyen una vez en el constructor, en O(V + E); si el grafo ya es
+ * un CsrGraph se usa directamente. Los indices de los vertices son los del
+ * grafo original. Las instancias no deben usarse desde varios hilos a la vez;
+ * al terminar hay que cerrarlas para liberar los hilos.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public final class ParallelBfs<T> implements AutoCloseable {
+
+    /**
+     * Distancia de los vertices que no se alcanzan desde el origen
+     */
+    public static final int NO_ALCANZADO = -1;
+    /**
+     * Valores de alfa y beta propuestos por Beamer et al.
+     */
+    public static final double ALFA = 15.0;
+    public static final double BETA = 18.0;
+
+    /**
+     * Numero minimo de vertices de la frontera, o de palabras del conjunto de
+     * bits, que procesa cada tarea
+     */
+    private static final int MIN_BLOQUE = 256;
+    private static final int MIN_PALABRAS = 16;
+
+    private final CsrGraph<T> salientes;
+    private final CsrGraph<T> entrantes;
+    private final long totalEntrantes;
+    private final int hilos;
+    private final ForkJoinPool pool;
+    private final double alfa;
+    private final double beta;
+
+    /**
+     * Numero de niveles que la ultima busqueda expandio de abajo hacia
+     * arriba; sirve a las pruebas para verificar el cambio de direccion
+     */
+    int nivelesAbajoArriba;
+
+    /**
+     * Constructor de la clase, con los valores de alfa y beta de Beamer
+     *
+     * @param grafo Grafo a recorrer
+     * @param hilos Numero de hilos; con 1 el recorrido es secuencial
+     */
+    public ParallelBfs(IIndexedGraph<T> grafo, int hilos) {
+        this(grafo, hilos, ALFA, BETA);
+    }
+
+    /**
+     * Constructor de la clase
+     *
+     * @param grafo Grafo a recorrer
+     * @param hilos Numero de hilos; con 1 el recorrido es secuencial
+     * @param alfa Se expande de abajo hacia arriba cuando las aristas de la
+     * frontera rebasan 1 / alfa de las aristas por explorar
+     * @param beta Se regresa a arriba hacia abajo cuando la frontera tiene
+     * menos de 1 / beta de los vertices
+     * @throws GraphException Si el numero de hilos no es positivo
+     */
+    @SuppressWarnings("unchecked")
+    public ParallelBfs(IIndexedGraph<T> grafo, int hilos, double alfa,
+            double beta) throws GraphException {
+        if (hilos < 1) {
+            throw new GraphException("Numero de hilos invalido: " + hilos);
+        }
+        if (grafo instanceof CsrGraph) {
+            salientes = (CsrGraph<T>) grafo;
+            entrantes = salientes.isDirigido()
+                    ? CsrGraph.transpose(salientes) : salientes;
+        } else {
+            // El transpuesto del transpuesto es una copia CSR del grafo
+            entrantes = CsrGraph.transpose(grafo);
+            salientes = CsrGraph.transpose(entrantes);
+        }
+        int n = entrantes.getNumberVertices();
+        totalEntrantes = n == 0 ? 0 : entrantes.endEdge(n - 1);
+        this.hilos = hilos;
+        this.pool = hilos > 1 ? new ForkJoinPool(hilos) : null;
+        this.alfa = alfa;
+        this.beta = beta;
+    }
+
+    /**
+     * Calcula el numero de saltos desde el vertice origen hasta cada vertice
+     *
+     * @param origen Etiqueta del vertice origen
+     * @return Un arreglo con la distancia de cada vertice, indexado por su
+     * posicion en el grafo; NO_ALCANZADO para los vertices no alcanzables
+     * @throws GraphException Si el vertice origen no existe
+     */
+    public int[] distancias(T origen) throws GraphException {
+        int indice = salientes.indexOf(origen);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + origen + " no existe");
+        }
+        return distancias(indice);
+    }
+
+    /**
+     * Calcula el numero de saltos desde el vertice en la posicion origen
+     * hasta cada vertice
+     *
+     * @param origen Posicion del vertice origen
+     * @return Un arreglo con la distancia de cada vertice, indexado por su
+     * posicion en el grafo; NO_ALCANZADO para los vertices no alcanzables
+     */
+    public int[] distancias(int origen) {
+        int n = salientes.getNumberVertices();
+        int[] distancias = new int[n];
+        Arrays.fill(distancias, NO_ALCANZADO);
+        int palabras = (n + 63) >>> 6;
+        AtomicLongArray visitados = new AtomicLongArray(palabras);
+        // Los bits que sobran de la ultima palabra cuentan como visitados
+        if ((n & 63) != 0) {
+            visitados.set(palabras - 1, -1L << (n & 63));
+        }
+        distancias[origen] = 0;
+        marca(visitados, origen);
+
+        Nivel frontera = new Nivel();
+        frontera.lista = new int[]{origen};
+        frontera.tamano = 1;
+        frontera.aristasSalientes = grado(salientes, origen);
+        long porExplorar = totalEntrantes - grado(entrantes, origen);
+        boolean arribaAbajo = true;
+        int anterior = 0;
+        nivelesAbajoArriba = 0;
+        for (int nivel = 0; frontera.tamano > 0; nivel++) {
+            if (arribaAbajo) {
+                if (frontera.aristasSalientes > porExplorar / alfa) {
+                    frontera.aBits(palabras);
+                    arribaAbajo = false;
+                }
+            } else if (frontera.tamano < n / beta
+                    && frontera.tamano < anterior) {
+                frontera.aLista();
+                arribaAbajo = true;
+            }
+            anterior = frontera.tamano;
+            Nivel siguiente;
+            if (arribaAbajo) {
+                siguiente = arribaAbajo(frontera, nivel + 1, distancias,
+                        visitados);
+            } else {
+                siguiente = abajoArriba(frontera, nivel + 1, distancias,
+                        visitados);
+                nivelesAbajoArriba++;
+            }
+            porExplorar -= siguiente.aristasEntrantes;
+            frontera = siguiente;
+        }
+        return distancias;
+    }
+
+    /**
+     * Expande la frontera revisando las aristas salientes de sus vertices
+     */
+    private Nivel arribaAbajo(Nivel frontera, int distancia, int[] distancias,
+            AtomicLongArray visitados) {
+        int tamanoBloque = Math.max(MIN_BLOQUE,
+                (frontera.tamano + 4 * hilos - 1) / (4 * hilos));
+        int bloques = (frontera.tamano + tamanoBloque - 1) / tamanoBloque;
+        Nivel[] parciales = new Nivel[bloques];
+        ParallelBlocks.ejecuta(pool, bloques, b -> {
+            Nivel parcial = new Nivel();
+            parcial.lista = new int[64];
+            int fin = Math.min(frontera.tamano, (b + 1) * tamanoBloque);
+            for (int i = b * tamanoBloque; i < fin; i++) {
+                int v = frontera.lista[i];
+                for (int e = salientes.firstEdge(v); e < salientes.endEdge(v);
+                        e++) {
+                    int w = salientes.getTarget(e);
+                    if (marca(visitados, w)) {
+                        distancias[w] = distancia;
+                        parcial.agrega(w);
+                    }
+                }
+            }
+            parciales[b] = parcial;
+        });
+        Nivel siguiente = new Nivel();
+        for (Nivel parcial : parciales) {
+            siguiente.tamano += parcial.tamano;
+        }
+        siguiente.lista = new int[siguiente.tamano];
+        int k = 0;
+        for (Nivel parcial : parciales) {
+            System.arraycopy(parcial.lista, 0, siguiente.lista, k,
+                    parcial.tamano);
+            k += parcial.tamano;
+        }
+        for (int i = 0; i < siguiente.tamano; i++) {
+            int w = siguiente.lista[i];
+            siguiente.aristasSalientes += grado(salientes, w);
+            siguiente.aristasEntrantes += grado(entrantes, w);
+        }
+        return siguiente;
+    }
+
+    /**
+     * Expande la frontera buscando, para cada vertice no visitado, un padre
+     * en la frontera entre sus aristas entrantes
+     */
+    private Nivel abajoArriba(Nivel frontera, int distancia, int[] distancias,
+            AtomicLongArray visitados) {
+        int palabras = frontera.bits.length;
+        long[] siguientesBits = new long[palabras];
+        int palabrasBloque = Math.max(MIN_PALABRAS,
+                (palabras + 4 * hilos - 1) / (4 * hilos));
+        int bloques = (palabras + palabrasBloque - 1) / palabrasBloque;
+        Nivel[] parciales = new Nivel[bloques];
+        long[] bits = frontera.bits;
+        ParallelBlocks.ejecuta(pool, bloques, b -> {
+            Nivel parcial = new Nivel();
+            int fin = Math.min(palabras, (b + 1) * palabrasBloque);
+            for (int p = b * palabrasBloque; p < fin; p++) {
+                long visitadas = visitados.get(p);
+                long pendientes = ~visitadas;
+                long nuevas = 0;
+                while (pendientes != 0) {
+                    int v = (p << 6) + Long.numberOfTrailingZeros(pendientes);
+                    pendientes &= pendientes - 1;
+                    for (int e = entrantes.firstEdge(v);
+                            e < entrantes.endEdge(v); e++) {
+                        int u = entrantes.getTarget(e);
+                        if ((bits[u >>> 6] & (1L << u)) != 0) {
+                            distancias[v] = distancia;
+                            nuevas |= 1L << v;
+                            parcial.tamano++;
+                            parcial.aristasSalientes += grado(salientes, v);
+                            parcial.aristasEntrantes += grado(entrantes, v);
+                            break;
+                        }
+                    }
+                }
+                if (nuevas != 0) {
+                    // La palabra solo la modifica esta tarea
+                    siguientesBits[p] = nuevas;
+                    visitados.set(p, visitadas | nuevas);
+                }
+            }
+            parciales[b] = parcial;
+        });
+        Nivel siguiente = new Nivel();
+        siguiente.bits = siguientesBits;
+        for (Nivel parcial : parciales) {
+            siguiente.tamano += parcial.tamano;
+            siguiente.aristasSalientes += parcial.aristasSalientes;
+            siguiente.aristasEntrantes += parcial.aristasEntrantes;
+        }
+        return siguiente;
+    }
+
+    /**
+     * Marca un vertice como visitado
+     *
+     * @return true si el vertice no estaba visitado
+     */
+    private static boolean marca(AtomicLongArray visitados, int v) {
+        int p = v >>> 6;
+        long bit = 1L << v;
+        long palabra = visitados.get(p);
+        while ((palabra & bit) == 0) {
+            long actual = visitados.compareAndExchange(p, palabra,
+                    palabra | bit);
+            if (actual == palabra) {
+                return true;
+            }
+            palabra = actual;
+        }
+        return false;
+    }
+
+    private static int grado(CsrGraph<?> grafo, int v) {
+        return grafo.endEdge(v) - grafo.firstEdge(v);
+    }
+
+    /**
+     * Libera los hilos del recorrido
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Frontera de un nivel, como lista de vertices (arriba hacia abajo) o
+     * como conjunto de bits (abajo hacia arriba), con la suma de los grados
+     * de sus vertices
+     */
+    private static final class Nivel {
+
+        int[] lista;
+        long[] bits;
+        int tamano;
+        long aristasSalientes;
+        long aristasEntrantes;
+
+        void agrega(int v) {
+            if (tamano == lista.length) {
+                lista = Arrays.copyOf(lista, tamano * 2);
+            }
+            lista[tamano++] = v;
+        }
+
+        void aBits(int palabras) {
+            bits = new long[palabras];
+            for (int i = 0; i < tamano; i++) {
+                bits[lista[i] >>> 6] |= 1L << lista[i];
+            }
+            lista = null;
+        }
+
+        void aLista() {
+            lista = new int[tamano];
+            int k = 0;
+            for (int p = 0; p < bits.length; p++) {
+                for (long b = bits[p]; b != 0; b &= b - 1) {
+                    lista[k++] = (p << 6) + Long.numberOfTrailingZeros(b);
+                }
+            }
+            bits = null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package implementaciones;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * ParallelBlocks.java
+ *
+ * Tarea de fork/join que divide recursivamente un rango de bloques entre los
+ * hilos de un pool hasta llegar a un solo bloque. La usan ParallelBfs para
+ * repartir los bloques de la frontera y FloydWarshall para repartir los
+ * bloques de la matriz.
+ */
+final class ParallelBlocks extends RecursiveAction {
+
+    private final IntConsumer tarea;
+    private final int inicio;
+    private final int fin;
+
+    private ParallelBlocks(IntConsumer tarea, int inicio, int fin) {
+        this.tarea = tarea;
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+
+    /**
+     * Ejecuta la tarea con cada numero de bloque 0 .. bloques - 1, en el pool
+     * si hay uno y mas de un bloque, y espera a que terminen todas
+     *
+     * @param pool Pool de hilos, null para ejecutar en el hilo actual
+     * @param bloques Numero de bloques
+     * @param tarea Tarea que recibe el numero de bloque
+     */
+    static void ejecuta(ForkJoinPool pool, int bloques, IntConsumer tarea) {
+        if (pool == null || bloques <= 1) {
+            for (int b = 0; b < bloques; b++) {
+                tarea.accept(b);
+            }
+        } else {
+            pool.invoke(new ParallelBlocks(tarea, 0, bloques));
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (fin - inicio == 1) {
+            tarea.accept(inicio);
+        } else {
+            int medio = (inicio + fin) >>> 1;
+            invokeAll(new ParallelBlocks(tarea, inicio, medio),
+                    new ParallelBlocks(tarea, medio, fin));
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package implementaciones;
+
+import java.util.function.BiConsumer;
+
+/**
+ * PersistentMap.java
+ *
+ * Esta clase implementa un diccionario inmutable como un trie de dispersion
+ * (hash array mapped trie) de 32 ramas por nivel. Agregar o quitar una llave
+ * no modifica el diccionario: regresa uno nuevo que comparte con el anterior
+ * todos los nodos salvo los O(log32 n) del camino a la llave, de modo que
+ * conservar versiones anteriores cuesta solo los nodos que cambiaron.
+ *
+ * Las llaves no pueden ser null y deben ser inmutables respecto a equals y
+ * hashCode. Como es inmutable, un diccionario puede leerse desde varios hilos
+ * sin sincronizacion.
+ *
+ * @param <K> Tipo de las llaves
+ * @param <V> Tipo de los valores
+ */
+public final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASCARA = (1 << BITS) - 1;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentMap VACIO = new PersistentMap<>(null, 0);
+
+    private final Nodo raiz;
+    private final int tamano;
+
+    private PersistentMap(Nodo raiz, int tamano) {
+        this.raiz = raiz;
+        this.tamano = tamano;
+    }
+
+    /**
+     * Obtiene el diccionario vacio
+     *
+     * @param <K> Tipo de las llaves
+     * @param <V> Tipo de los valores
+     * @return El diccionario vacio
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return VACIO;
+    }
+
+    private static int dispersa(Object llave) {
+        int h = llave.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Obtiene el valor asociado a una llave
+     *
+     * @param llave Llave a buscar
+     * @return El valor asociado a la llave, null si no esta
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K llave) {
+        return raiz == null ? null
+                : (V) raiz.busca(0, dispersa(llave), llave);
+    }
+
+    /**
+     * Determina si el diccionario contiene una llave
+     *
+     * @param llave Llave a buscar
+     * @return true si la llave esta en el diccionario
+     */
+    public boolean containsKey(K llave) {
+        return get(llave) != null;
+    }
+
+    /**
+     * Obtiene un diccionario con la llave asociada al valor dado
+     *
+     * @param llave Llave a agregar o reemplazar
+     * @param valor Valor a asociar; no puede ser null
+     * @return El diccionario nuevo, o este mismo si la llave ya tenia ese
+     * valor
+     */
+    public PersistentMap<K, V> put(K llave, V valor) {
+        if (valor == null) {
+            throw new NullPointerException("valor");
+        }
+        int h = dispersa(llave);
+        if (raiz == null) {
+            return new PersistentMap<>(new NodoMapa(0, new Object[0])
+                    .pon(0, h, llave, valor), 1);
+        }
+        Nodo nueva = raiz.pon(0, h, llave, valor);
+        if (nueva == raiz) {
+            return this;
+        }
+        boolean agregada = raiz.busca(0, h, llave) == null;
+        return new PersistentMap<>(nueva, agregada ? tamano + 1 : tamano);
+    }
+
+    /**
+     * Obtiene un diccionario sin la llave dada
+     *
+     * @param llave Llave a quitar
+     * @return El diccionario nuevo, o este mismo si la llave no estaba
+     */
+    public PersistentMap<K, V> remove(K llave) {
+        if (raiz == null) {
+            return this;
+        }
+        Nodo nueva = raiz.quita(0, dispersa(llave), llave);
+        if (nueva == raiz) {
+            return this;
+        }
+        return nueva == null ? empty() : new PersistentMap<>(nueva, tamano - 1);
+    }
+
+    /**
+     * Obtiene el numero de llaves del diccionario
+     *
+     * @return El numero de llaves
+     */
+    public int size() {
+        return tamano;
+    }
+
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    /**
+     * Invoca a la accion con cada par llave-valor, en un orden no
+     * especificado
+     *
+     * @param accion Accion a invocar
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> accion) {
+        if (raiz != null) {
+            raiz.recorre((BiConsumer<Object, Object>) accion);
+        }
+    }
+
+    /**
+     * Nodo del trie. Los nodos nunca se modifican despues de construirse.
+     */
+    private abstract static class Nodo {
+
+        abstract Object busca(int corrimiento, int h, Object llave);
+
+        abstract Nodo pon(int corrimiento, int h, Object llave, Object valor);
+
+        abstract Nodo quita(int corrimiento, int h, Object llave);
+
+        abstract void recorre(BiConsumer<Object, Object> accion);
+    }
+
+    /**
+     * Nodo con hasta 32 ramas. Cada bit encendido del mapa corresponde a un
+     * par de elementos: una llave y su valor, o null y un nodo hijo.
+     */
+    private static final class NodoMapa extends Nodo {
+
+        final int mapa;
+        final Object[] elementos;
+
+        NodoMapa(int mapa, Object[] elementos) {
+            this.mapa = mapa;
+            this.elementos = elementos;
+        }
+
+        @Override
+        Object busca(int corrimiento, int h, Object llave) {
+            int bit = 1 << ((h >>> corrimiento) & MASCARA);
+            if ((mapa & bit) == 0) {
+                return null;
+            }
+            int i = 2 * Integer.bitCount(mapa & (bit - 1));
+            Object k = elementos[i];
+            if (k == null) {
+                return ((Nodo) elementos[i + 1]).busca(corrimiento + BITS, h,
+                        llave);
+            }
+            return llave.equals(k) ? elementos[i + 1] : null;
+        }
+
+        @Override
+        Nodo pon(int corrimiento, int h, Object llave, Object valor) {
+            int bit = 1 << ((h >>> corrimiento) & MASCARA);
+            int i = 2 * Integer.bitCount(mapa & (bit - 1));
+            if ((mapa & bit) == 0) {
+                Object[] nuevos = new Object[elementos.length + 2];
+                System.arraycopy(elementos, 0, nuevos, 0, i);
+                nuevos[i] = llave;
+                nuevos[i + 1] = valor;
+                System.arraycopy(elementos, i, nuevos, i + 2,
+                        elementos.length - i);
+                return new NodoMapa(mapa | bit, nuevos);
+            }
+            Object k = elementos[i];
+            Object v = elementos[i + 1];
+            if (k == null) {
+                Nodo hijo = (Nodo) v;
+                Nodo nuevo = hijo.pon(corrimiento + BITS, h, llave, valor);
+                return nuevo == hijo ? this : reemplaza(i, null, nuevo);
+            }
+            if (llave.equals(k)) {
+                return v == valor ? this : reemplaza(i, k, valor);
+            }
+            return reemplaza(i, null, crea(corrimiento + BITS, k, v, h, llave,
+                    valor));
+        }
+
+        private NodoMapa reemplaza(int i, Object llave, Object valor) {
+            Object[] nuevos = elementos.clone();
+            nuevos[i] = llave;
+            nuevos[i + 1] = valor;
+            return new NodoMapa(mapa, nuevos);
+        }
+
+        /**
+         * Crea el nodo que contiene dos pares cuyas llaves coinciden en los
+         * bits de dispersion anteriores al corrimiento dado
+         */
+        private static Nodo crea(int corrimiento, Object k1, Object v1,
+                int h2, Object k2, Object v2) {
+            int h1 = dispersa(k1);
+            if (h1 == h2) {
+                return new NodoColision(h1, new Object[]{k1, v1, k2, v2});
+            }
+            return new NodoMapa(0, new Object[0])
+                    .pon(corrimiento, h1, k1, v1)
+                    .pon(corrimiento, h2, k2, v2);
+        }
+
+        @Override
+        Nodo quita(int corrimiento, int h, Object llave) {
+            int bit = 1 << ((h >>> corrimiento) & MASCARA);
+            if ((mapa & bit) == 0) {
+                return this;
+            }
+            int i = 2 * Integer.bitCount(mapa & (bit - 1));
+            Object k = elementos[i];
+            if (k == null) {
+                Nodo hijo = (Nodo) elementos[i + 1];
+                Nodo nuevo = hijo.quita(corrimiento + BITS, h, llave);
+                if (nuevo == hijo) {
+                    return this;
+                }
+                if (nuevo != null) {
+                    return reemplaza(i, null, nuevo);
+                }
+            } else if (!llave.equals(k)) {
+                return this;
+            }
+            if (mapa == bit) {
+                return null;
+            }
+            Object[] nuevos = new Object[elementos.length - 2];
+            System.arraycopy(elementos, 0, nuevos, 0, i);
+            System.arraycopy(elementos, i + 2, nuevos, i,
+                    elementos.length - i - 2);
+            return new NodoMapa(mapa & ~bit, nuevos);
+        }
+
+        @Override
+        void recorre(BiConsumer<Object, Object> accion) {
+            for (int i = 0; i < elementos.length; i += 2) {
+                if (elementos[i] == null) {
+                    ((Nodo) elementos[i + 1]).recorre(accion);
+                } else {
+                    accion.accept(elementos[i], elementos[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Nodo con pares cuyas llaves tienen la misma dispersion
+     */
+    private static final class NodoColision extends Nodo {
+
+        final int h;
+        final Object[] pares;
+
+        NodoColision(int h, Object[] pares) {
+            this.h = h;
+            this.pares = pares;
+        }
+
+        private int posicion(Object llave) {
+            for (int i = 0; i < pares.length; i += 2) {
+                if (llave.equals(pares[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object busca(int corrimiento, int h, Object llave) {
+            int i = posicion(llave);
+            return i < 0 ? null : pares[i + 1];
+        }
+
+        @Override
+        Nodo pon(int corrimiento, int h, Object llave, Object valor) {
+            int i = posicion(llave);
+            Object[] nuevos;
+            if (i >= 0) {
+                if (pares[i + 1] == valor) {
+                    return this;
+                }
+                nuevos = pares.clone();
+            } else {
+                i = pares.length;
+                nuevos = java.util.Arrays.copyOf(pares, i + 2);
+                nuevos[i] = llave;
+            }
+            nuevos[i + 1] = valor;
+            return new NodoColision(this.h, nuevos);
+        }
+
+        @Override
+        Nodo quita(int corrimiento, int h, Object llave) {
+            int i = posicion(llave);
+            if (i < 0) {
+                return this;
+            }
+            if (pares.length == 2) {
+                return null;
+            }
+            Object[] nuevos = new Object[pares.length - 2];
+            System.arraycopy(pares, 0, nuevos, 0, i);
+            System.arraycopy(pares, i + 2, nuevos, i, pares.length - i - 2);
+            return new NodoColision(this.h, nuevos);
+        }
+
+        @Override
+        void recorre(BiConsumer<Object, Object> accion) {
+            for (int i = 0; i < pares.length; i += 2) {
+                accion.accept(pares[i], pares[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package implementaciones;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorMatrixKernels.java
+ *
+ * Implementacion de MatrixKernels con la API de vectores del JDK. Usa el
+ * ancho de vector preferido de la maquina (por ejemplo 4 doubles con AVX2 u
+ * 8 con AVX-512) y termina cada renglon con el ciclo escalar cuando su
+ * longitud no es multiplo del ancho. Solo se carga si la maquina virtual se
+ * inicio con --add-modules jdk.incubator.vector.
+ */
+final class VectorMatrixKernels extends MatrixKernels {
+
+    private static final VectorSpecies<Double> DOUBLES
+            = DoubleVector.SPECIES_PREFERRED;
+    /**
+     * Enteros con el mismo numero de carriles que DOUBLES, para escribir los
+     * siguientes saltos con la misma mascara
+     */
+    private static final VectorSpecies<Integer> ENTEROS = VectorSpecies.of(
+            int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final VectorSpecies<Long> LONGS
+            = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    String nombre() {
+        return "vectorial " + DOUBLES.vectorBitSize() + " bits";
+    }
+
+    @Override
+    void minPlus(double[] distancias, int[] siguientes, int filaI, int filaK,
+            int desde, int hasta, double dik, int sik) {
+        int j = desde;
+        int limite = desde + DOUBLES.loopBound(hasta - desde);
+        for (; j < limite; j += DOUBLES.length()) {
+            DoubleVector suma = DoubleVector.fromArray(DOUBLES, distancias,
+                    filaK + j).add(dik);
+            DoubleVector actual = DoubleVector.fromArray(DOUBLES, distancias,
+                    filaI + j);
+            VectorMask<Double> mejora = suma.lt(actual);
+            // En las rondas finales casi ninguna celda mejora; se evitan las
+            // escrituras
+            if (mejora.anyTrue()) {
+                actual.blend(suma, mejora).intoArray(distancias, filaI + j);
+                IntVector.fromArray(ENTEROS, siguientes, filaI + j)
+                        .blend(sik, mejora.cast(ENTEROS))
+                        .intoArray(siguientes, filaI + j);
+            }
+        }
+        super.minPlus(distancias, siguientes, filaI, filaK, j, hasta, dik,
+                sik);
+    }
+
+    @Override
+    int cuentaAristas(double[] matriz, int desde, int hasta) {
+        int cuenta = 0;
+        int j = desde;
+        int limite = desde + DOUBLES.loopBound(hasta - desde);
+        for (; j < limite; j += DOUBLES.length()) {
+            cuenta += DoubleVector.fromArray(DOUBLES, matriz, j)
+                    .compare(VectorOperators.NE, Double.POSITIVE_INFINITY)
+                    .trueCount();
+        }
+        return cuenta + super.cuentaAristas(matriz, j, hasta);
+    }
+
+    @Override
+    void or(long[] palabras, int destino, int origen, int longitud) {
+        int k = 0;
+        int limite = LONGS.loopBound(longitud);
+        for (; k < limite; k += LONGS.length()) {
+            LongVector.fromArray(LONGS, palabras, destino + k)
+                    .or(LongVector.fromArray(LONGS, palabras, origen + k))
+                    .intoArray(palabras, destino + k);
+        }
+        super.or(palabras, destino + k, origen + k, longitud - k);
+    }
+}
@@ -0,0 +1,131 @@
+package implementaciones;
+
+import interfaces.IIndexedGraph;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * VersionedAdjacency.java
+ *
+ * Copia persistente de las adyacencias de un grafo dirigido, que el grafo
+ * mantiene al dia desde sus metodos de modificacion para poder entregar
+ * versiones inmutables en O(1). Cada modificacion reemplaza solo los nodos de
+ * los diccionarios persistentes en el camino a la llave modificada, asi que
+ * cuesta O(log V) adicional y las versiones entregadas antes conservan su
+ * estado.
+ *
+ * Los metodos suponen que el grafo ya valido la operacion; no verifican que
+ * los vertices existan.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+final class VersionedAdjacency<T> {
+
+    private PersistentMap<T, GraphSnapshot.Entrada<T>> vertices;
+    private int nAristas;
+    private long siguienteOrden;
+
+    private VersionedAdjacency() {
+        vertices = PersistentMap.empty();
+    }
+
+    /**
+     * Construye la copia persistente de un grafo, en O((V + E) log V)
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param grafo Grafo a copiar
+     * @return La copia persistente de las adyacencias del grafo
+     */
+    static <T> VersionedAdjacency<T> de(IIndexedGraph<T> grafo) {
+        VersionedAdjacency<T> versiones = new VersionedAdjacency<>();
+        int n = grafo.getNumberVertices();
+        List<T> etiquetas = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            etiquetas.add(grafo.getEtiqueta(v));
+        }
+        for (int v = 0; v < n; v++) {
+            T etqX = etiquetas.get(v);
+            PersistentMap<T, Double>[] salientes = nuevoRenglon();
+            grafo.forEachNeighbor(v, (w, peso) -> salientes[0]
+                    = salientes[0].put(etiquetas.get(w), peso));
+            versiones.vertices = versiones.vertices.put(etqX,
+                    new GraphSnapshot.Entrada<>(versiones.siguienteOrden++,
+                            salientes[0]));
+            versiones.nAristas += salientes[0].size();
+        }
+        return versiones;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PersistentMap<T, Double>[] nuevoRenglon() {
+        return new PersistentMap[]{PersistentMap.empty()};
+    }
+
+    /**
+     * Obtiene la version actual, en O(1)
+     *
+     * @return La version actual de las adyacencias
+     */
+    GraphSnapshot<T> snapshot() {
+        return new GraphSnapshot<>(vertices, nAristas);
+    }
+
+    void agregaVertice(T etiqueta) {
+        vertices = vertices.put(etiqueta, new GraphSnapshot.Entrada<>(
+                siguienteOrden++, PersistentMap.empty()));
+    }
+
+    /**
+     * Elimina un vertice junto con sus aristas salientes y entrantes. Las
+     * entrantes se buscan en todos los renglones, asi que toma O(V log V).
+     */
+    void eliminaVertice(T etiqueta) {
+        GraphSnapshot.Entrada<T> entrada = vertices.get(etiqueta);
+        if (entrada == null) {
+            return;
+        }
+        nAristas -= entrada.salientes.size();
+        vertices = vertices.remove(etiqueta);
+        List<T> origenes = new ArrayList<>();
+        vertices.forEach((x, e) -> {
+            if (e.salientes.containsKey(etiqueta)) {
+                origenes.add(x);
+            }
+        });
+        for (T x : origenes) {
+            quitaArista(x, etiqueta);
+        }
+    }
+
+    /**
+     * Agrega la arista x -> y o, si ya existe, cambia su peso
+     */
+    void ponArista(T x, T y, double peso) {
+        GraphSnapshot.Entrada<T> entrada = vertices.get(x);
+        PersistentMap<T, Double> salientes = entrada.salientes.put(y, peso);
+        nAristas += salientes.size() - entrada.salientes.size();
+        vertices = vertices.put(x, new GraphSnapshot.Entrada<>(entrada.orden,
+                salientes));
+    }
+
+    /**
+     * Quita la arista x -> y, si existe
+     */
+    void quitaArista(T x, T y) {
+        GraphSnapshot.Entrada<T> entrada = vertices.get(x);
+        if (entrada == null) {
+            return;
+        }
+        PersistentMap<T, Double> salientes = entrada.salientes.remove(y);
+        if (salientes != entrada.salientes) {
+            nAristas--;
+            vertices = vertices.put(x, new GraphSnapshot.Entrada<>(
+                    entrada.orden, salientes));
+        }
+    }
+
+    void limpia() {
+        vertices = PersistentMap.empty();
+        nAristas = 0;
+    }
+}
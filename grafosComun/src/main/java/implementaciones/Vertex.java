@@ -17,6 +17,11 @@ public class Vertex<T> {
     protected boolean visitado;
     protected Vertex<T> predecesor;
     protected double peso;
+    /**
+     * Posicion del vertice en el diccionario de vertices que lo contiene, -1
+     * si no esta en un diccionario. La mantiene VertexDictionary.
+     */
+    int posicion = -1;
 
     /**
      * Constructor de un vertice. Establece el valor de su etiqueta
@@ -39,6 +44,16 @@ public class Vertex<T> {
         return etiqueta;
     }
 
+    /**
+     * Regresa la posicion de este vertice en el diccionario de vertices de su
+     * grafo
+     *
+     * @return La posicion del vertice, -1 si no esta en un diccionario
+     */
+    public int getPosicion() {
+        return posicion;
+    }
+
     /**
      * Regresa el valor del atributo visitado
      *
@@ -0,0 +1,250 @@
+package implementaciones;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+
+/**
+ * VertexDictionary.java
+ *
+ * Esta clase implementa el diccionario de vertices de un grafo. Asocia la
+ * etiqueta de cada vertice con el vertice mediante una tabla de dispersion y
+ * guarda los vertices en un arreglo denso; cada vertice lleva su posicion
+ * (slot). Buscar un vertice por su etiqueta o por su posicion, agregarlo y
+ * eliminarlo con swapRemove() toman un tiempo esperado O(1). remove() conserva
+ * el orden y toma O(n), porque recorre los vertices que siguen al eliminado.
+ *
+ * Las posiciones son consecutivas (0 .. size() - 1) y respetan el orden en que
+ * se agregaron los vertices, salvo despues de un swapRemove().
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ * @param <V> Tipo del vertice guardado en el diccionario
+ */
+public class VertexDictionary<T, V extends Vertex<T>> implements Iterable<V> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private final HashMap<T, Vertex<T>> porEtiqueta;
+    private Vertex<T>[] vertices;
+    private int nVertices;
+    private int modificaciones;
+
+    /**
+     * Constructor de la clase. Crea un diccionario vacio
+     */
+    public VertexDictionary() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor de la clase. Crea un diccionario vacio con espacio para el
+     * numero de vertices dado
+     *
+     * @param capacidad Numero de vertices esperado
+     */
+    @SuppressWarnings("unchecked")
+    public VertexDictionary(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        porEtiqueta = new HashMap<>(Math.max(16,
+                (int) (capacidad / 0.75f) + 1));
+        vertices = new Vertex[capacidad];
+        nVertices = 0;
+    }
+
+    /**
+     * Agrega un vertice al final del diccionario, si no hay otro con la misma
+     * etiqueta
+     *
+     * @param vertice Vertice a agregar
+     * @return La posicion del vertice agregado, -1 si ya existe un vertice con
+     * la misma etiqueta
+     */
+    public int add(V vertice) {
+        Vertex<T> previo = porEtiqueta.putIfAbsent(vertice.getEtiqueta(),
+                vertice);
+        if (previo != null) {
+            return -1;
+        }
+        if (nVertices == vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+        vertices[nVertices] = vertice;
+        vertice.posicion = nVertices;
+        modificaciones++;
+        return nVertices++;
+    }
+
+    /**
+     * Obtiene la posicion del vertice en el diccionario
+     *
+     * @param etiqueta Etiqueta del vertice a buscar
+     * @return La posicion del vertice si existe, -1 en caso contrario
+     */
+    public int indexOf(T etiqueta) {
+        Vertex<T> vertice = porEtiqueta.get(etiqueta);
+        return vertice == null ? -1 : vertice.posicion;
+    }
+
+    /**
+     * Determina si hay un vertice con la etiqueta dada
+     *
+     * @param etiqueta Etiqueta del vertice a buscar
+     * @return true si el vertice existe, false en caso contrario
+     */
+    public boolean contains(T etiqueta) {
+        return porEtiqueta.containsKey(etiqueta);
+    }
+
+    /**
+     * Regresa el vertice que esta en la posicion dada
+     *
+     * @param posicion Posicion del vertice
+     * @return El vertice en la posicion dada
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int posicion) {
+        if (posicion < 0 || posicion >= nVertices) {
+            throw new IndexOutOfBoundsException("Posicion " + posicion
+                    + " fuera de rango");
+        }
+        return (V) vertices[posicion];
+    }
+
+    /**
+     * Regresa el vertice cuya etiqueta esta dada por el parametro
+     *
+     * @param etiqueta Etiqueta del vertice a obtener
+     * @return El vertice si esta en el diccionario, null en caso contrario
+     */
+    @SuppressWarnings("unchecked")
+    public V get(T etiqueta) {
+        return (V) porEtiqueta.get(etiqueta);
+    }
+
+    /**
+     * Elimina el vertice que esta en la posicion dada. Los vertices que le
+     * siguen se recorren una posicion hacia el inicio, conservando el orden,
+     * asi que toma O(n); la tabla de dispersion solo cambia para el vertice
+     * eliminado. Si no hace falta conservar el orden, swapRemove() toma O(1).
+     *
+     * @param posicion Posicion del vertice a eliminar
+     * @return El vertice eliminado
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
+     */
+    public V remove(int posicion) {
+        V vertice = get(posicion);
+        porEtiqueta.remove(vertice.getEtiqueta());
+        System.arraycopy(vertices, posicion + 1, vertices, posicion,
+                nVertices - posicion - 1);
+        vertices[--nVertices] = null;
+        for (int i = posicion; i < nVertices; i++) {
+            vertices[i].posicion = i;
+        }
+        vertice.posicion = -1;
+        modificaciones++;
+        return vertice;
+    }
+
+    /**
+     * Elimina el vertice que esta en la posicion dada moviendo a esa posicion
+     * el ultimo vertice del diccionario. Toma un tiempo esperado O(1) pero no
+     * conserva el orden de los vertices.
+     *
+     * @param posicion Posicion del vertice a eliminar
+     * @return El vertice eliminado
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
+     */
+    public V swapRemove(int posicion) {
+        V vertice = get(posicion);
+        porEtiqueta.remove(vertice.getEtiqueta());
+        int ultima = --nVertices;
+        if (posicion != ultima) {
+            vertices[posicion] = vertices[ultima];
+            vertices[posicion].posicion = posicion;
+        }
+        vertices[ultima] = null;
+        vertice.posicion = -1;
+        modificaciones++;
+        return vertice;
+    }
+
+    /**
+     * Obtiene el numero de vertices en el diccionario
+     *
+     * @return El numero de vertices en el diccionario
+     */
+    public int size() {
+        return nVertices;
+    }
+
+    /**
+     * Determina si el diccionario esta vacio
+     *
+     * @return true si el diccionario esta vacio, false en caso contrario
+     */
+    public boolean isEmpty() {
+        return nVertices == 0;
+    }
+
+    /**
+     * Elimina todos los vertices del diccionario
+     */
+    public void clear() {
+        for (int i = 0; i < nVertices; i++) {
+            vertices[i].posicion = -1;
+        }
+        Arrays.fill(vertices, 0, nVertices, null);
+        porEtiqueta.clear();
+        nVertices = 0;
+        modificaciones++;
+    }
+
+    /**
+     * Obtiene la lista de etiquetas de los vertices en el orden de sus
+     * posiciones
+     *
+     * @return La lista de etiquetas de los vertices
+     */
+    public LinkedList<T> getEtiquetas() {
+        LinkedList<T> etiquetas = new LinkedList<>();
+        for (int i = 0; i < nVertices; i++) {
+            etiquetas.add(vertices[i].getEtiqueta());
+        }
+        return etiquetas;
+    }
+
+    /**
+     * Obtiene un iterador a los vertices del diccionario en el orden de sus
+     * posiciones
+     *
+     * @return El iterador a los vertices del diccionario
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            private int siguiente = 0;
+            private final int esperadas = modificaciones;
+
+            @Override
+            public boolean hasNext() {
+                return siguiente < nVertices;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (esperadas != modificaciones) {
+                    throw new ConcurrentModificationException();
+                }
+                if (siguiente >= nVertices) {
+                    throw new NoSuchElementException();
+                }
+                return (V) vertices[siguiente++];
+            }
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package interfaces;
+
+import excepciones.GraphException;
+import java.util.Arrays;
+
+/**
+ * EdgeBuffer.java
+ *
+ * Esta clase implementa un buffer de aristas para cargarlas a un grafo con
+ * IGraph.addEdges(). Cada arista se guarda como el par de posiciones de sus
+ * vertices y su peso en arreglos primitivos, sin crear un objeto por arista.
+ * Las posiciones son las de los vertices en la lista que regresa
+ * getVertices() del grafo destino.
+ */
+public class EdgeBuffer {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private int[] origenes;
+    private int[] destinos;
+    private double[] pesos;
+    private int tamano;
+
+    /**
+     * Constructor de la clase. Crea un buffer vacio
+     */
+    public EdgeBuffer() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor de la clase. Crea un buffer vacio con espacio para el
+     * numero de aristas dado
+     *
+     * @param capacidad Numero de aristas esperado
+     */
+    public EdgeBuffer(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        origenes = new int[capacidad];
+        destinos = new int[capacidad];
+        pesos = new double[capacidad];
+    }
+
+    /**
+     * Agrega una arista al buffer
+     *
+     * @param x Posicion del vertice origen
+     * @param y Posicion del vertice destino
+     * @param peso Peso de la arista
+     */
+    public void add(int x, int y, double peso) {
+        if (tamano == origenes.length) {
+            int capacidad = origenes.length * 2;
+            origenes = Arrays.copyOf(origenes, capacidad);
+            destinos = Arrays.copyOf(destinos, capacidad);
+            pesos = Arrays.copyOf(pesos, capacidad);
+        }
+        origenes[tamano] = x;
+        destinos[tamano] = y;
+        pesos[tamano++] = peso;
+    }
+
+    /**
+     * Agrega una arista sin peso al buffer
+     *
+     * @param x Posicion del vertice origen
+     * @param y Posicion del vertice destino
+     */
+    public void add(int x, int y) {
+        add(x, y, 0.0);
+    }
+
+    /**
+     * Obtiene el numero de aristas en el buffer
+     *
+     * @return El numero de aristas en el buffer
+     */
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Determina si el buffer esta vacio
+     *
+     * @return true si el buffer esta vacio, false en caso contrario
+     */
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    /**
+     * Elimina todas las aristas del buffer, conservando su capacidad
+     */
+    public void clear() {
+        tamano = 0;
+    }
+
+    /**
+     * Obtiene la posicion del vertice origen de la arista i
+     *
+     * @param i Posicion de la arista en el buffer
+     * @return La posicion del vertice origen
+     */
+    public int getOrigen(int i) {
+        return origenes[indice(i)];
+    }
+
+    /**
+     * Obtiene la posicion del vertice destino de la arista i
+     *
+     * @param i Posicion de la arista en el buffer
+     * @return La posicion del vertice destino
+     */
+    public int getDestino(int i) {
+        return destinos[indice(i)];
+    }
+
+    /**
+     * Obtiene el peso de la arista i
+     *
+     * @param i Posicion de la arista en el buffer
+     * @return El peso de la arista
+     */
+    public double getPeso(int i) {
+        return pesos[indice(i)];
+    }
+
+    private int indice(int i) {
+        if (i < 0 || i >= tamano) {
+            throw new IndexOutOfBoundsException("Posicion " + i
+                    + " fuera de rango");
+        }
+        return i;
+    }
+
+    /**
+     * Verifica que todas las aristas del buffer unan vertices de un grafo con
+     * el numero de vertices dado
+     *
+     * @param nVertices Numero de vertices del grafo
+     * @param admiteLazos false si el grafo no admite aristas de un vertice a
+     * si mismo
+     * @throws GraphException Si alguna arista no es valida
+     */
+    public void valida(int nVertices, boolean admiteLazos)
+            throws GraphException {
+        for (int i = 0; i < tamano; i++) {
+            int x = origenes[i];
+            int y = destinos[i];
+            if (x < 0 || x >= nVertices || y < 0 || y >= nVertices) {
+                throw new GraphException("Arista " + x + " - " + y
+                        + " con un vertice fuera de rango");
+            }
+            if (x == y && !admiteLazos) {
+                throw new GraphException("Arista " + x + " - " + y
+                        + ": el vertice origen es el mismo que el destino");
+            }
+        }
+    }
+}
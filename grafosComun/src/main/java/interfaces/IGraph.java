@@ -1,7 +1,12 @@
 package interfaces;
 
 import excepciones.GraphException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 
 /**
  * IGraph.java * Esta interfaz declara los metodos que deben implementar una
@@ -142,4 +147,57 @@ public interface IGraph<T> {
      * @return El numero de aristas del grafo
      */
     public int getNumberEdges();
+
+    /**
+     * Agrega varios vertices al grafo. Verifica primero que ninguno este
+     * repetido, en la coleccion o en el grafo, de modo que si hay un error no
+     * se agrega ningun vertice.
+     *
+     * @param etqVertices Etiquetas de los vertices a agregar, en el orden en
+     * que se agregan
+     * @throws GraphException Si algun vertice esta repetido o no hay espacio
+     * para los vertices nuevos
+     */
+    public default void addVertices(Collection<? extends T> etqVertices)
+            throws GraphException {
+        Set<T> nuevos = new HashSet<>();
+        for (T etiqueta : etqVertices) {
+            if (!nuevos.add(etiqueta) || hasVertex(etiqueta)) {
+                throw new GraphException("Vertice repetido: " + etiqueta);
+            }
+        }
+        for (T etiqueta : etqVertices) {
+            addVertex(etiqueta);
+        }
+    }
+
+    /**
+     * Agrega las aristas de un buffer. Las aristas del buffer unen las
+     * posiciones de los vertices en la lista que regresa getVertices(). Las
+     * aristas repetidas en el buffer o que el grafo ya tiene se descartan, y
+     * en un grafo no dirigido x - y e y - x son la misma arista.
+     *
+     * La implementacion por omision agrega las aristas una por una con
+     * addEdge(); las implementaciones la sobreescriben para validar el buffer
+     * una sola vez y agregar las aristas en bloque.
+     *
+     * @param aristas Buffer de aristas a agregar
+     * @return El numero de aristas agregadas
+     * @throws GraphException Si alguna arista une posiciones fuera de rango o
+     * no es valida para el grafo
+     */
+    public default int addEdges(EdgeBuffer aristas) throws GraphException {
+        List<T> etiquetas = new ArrayList<>(getVertices());
+        aristas.valida(etiquetas.size(), true);
+        int agregadas = 0;
+        for (int i = 0; i < aristas.size(); i++) {
+            T x = etiquetas.get(aristas.getOrigen(i));
+            T y = etiquetas.get(aristas.getDestino(i));
+            if (!hasEdge(x, y)) {
+                addEdge(x, y, aristas.getPeso(i));
+                agregadas++;
+            }
+        }
+        return agregadas;
+    }
 }
@@ -0,0 +1,27 @@
+package interfaces;
+
+/**
+ * IHeuristic.java
+ *
+ * Esta interfaz declara la funcion heuristica de una busqueda A*: una cota
+ * inferior del peso del camino de menor peso entre dos vertices.
+ *
+ * Para que A* encuentre el camino de menor peso la estimacion no debe exceder
+ * el peso real (admisible). Si ademas es consistente, es decir,
+ * estimate(x, d) &lt;= peso(x, y) + estimate(y, d) para toda arista (x, y),
+ * ningun vertice se fija mas de una vez.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+@FunctionalInterface
+public interface IHeuristic<T> {
+
+    /**
+     * Estima el peso del camino de menor peso entre dos vertices
+     *
+     * @param vertice Etiqueta del vertice desde el que se estima
+     * @param destino Etiqueta del vertice destino
+     * @return Una cota inferior no negativa del peso del camino
+     */
+    public double estimate(T vertice, T destino);
+}
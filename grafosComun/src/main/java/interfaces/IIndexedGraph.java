@@ -0,0 +1,54 @@
+package interfaces;
+
+/**
+ * IIndexedGraph.java
+ *
+ * Esta interfaz declara los metodos de un grafo cuyos vertices ocupan las
+ * posiciones consecutivas 0 .. getNumberVertices() - 1, de modo que los
+ * algoritmos pueden guardar su estado en arreglos indexados por vertice en
+ * lugar de modificar los vertices del grafo.
+ *
+ * Las posiciones son validas mientras el grafo no se modifique.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public interface IIndexedGraph<T> extends IGraph<T> {
+
+    /**
+     * Obtiene la posicion del vertice en el grafo
+     *
+     * @param etqVertice Etiqueta del vertice a buscar
+     * @return La posicion del vertice si existe, -1 en caso contrario
+     */
+    public int indexOf(T etqVertice);
+
+    /**
+     * Obtiene la etiqueta del vertice en la posicion dada
+     *
+     * @param indice Posicion del vertice
+     * @return La etiqueta del vertice
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
+     */
+    public T getEtiqueta(int indice);
+
+    /**
+     * Invoca al visitante por cada arista saliente del vertice en la posicion
+     * dada, con la posicion del vertice destino y el peso de la arista. En un
+     * grafo no dirigido se visitan todos los vertices adyacentes.
+     *
+     * @param indice Posicion del vertice
+     * @param visitante Visitante de las aristas
+     */
+    public void forEachNeighbor(int indice, INeighborVisitor visitante);
+
+    /**
+     * Crea un cursor reutilizable sobre las aristas salientes de los vertices
+     * del grafo, que entrega el destino y el peso de cada arista como
+     * primitivos. Los grafos que no pueden recorrer sus aristas en su lugar
+     * regresan un BufferedNeighborCursor, que las copia a arreglos que se
+     * reutilizan.
+     *
+     * @return Un cursor nuevo, sin posicionar
+     */
+    public INeighborCursor newNeighborCursor();
+}
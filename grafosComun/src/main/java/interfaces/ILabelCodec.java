@@ -0,0 +1,82 @@
+package interfaces;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ILabelCodec.java
+ *
+ * Esta interfaz declara como se convierte la etiqueta de un vertice en bytes
+ * para guardarla en un archivo, y como se recupera. Dos etiquetas distintas
+ * deben convertirse en secuencias de bytes distintas, pues los vertices de un
+ * grafo guardado se buscan comparando bytes.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public interface ILabelCodec<T> {
+
+    /**
+     * Convierte una etiqueta en bytes
+     *
+     * @param etiqueta Etiqueta a convertir
+     * @return Los bytes de la etiqueta
+     */
+    public byte[] encode(T etiqueta);
+
+    /**
+     * Recupera una etiqueta a partir de sus bytes. No modifica la posicion ni
+     * el limite del buffer.
+     *
+     * @param datos Buffer que contiene los bytes de la etiqueta
+     * @param inicio Posicion del primer byte de la etiqueta
+     * @param longitud Numero de bytes de la etiqueta
+     * @return La etiqueta
+     */
+    public T decode(ByteBuffer datos, int inicio, int longitud);
+
+    /**
+     * Obtiene un codificador de cadenas en UTF-8
+     *
+     * @return El codificador de cadenas
+     */
+    public static ILabelCodec<String> strings() {
+        return new ILabelCodec<String>() {
+            @Override
+            public byte[] encode(String etiqueta) {
+                return etiqueta.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(ByteBuffer datos, int inicio, int longitud) {
+                byte[] bytes = new byte[longitud];
+                datos.get(inicio, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Obtiene un codificador de enteros de 4 bytes, sin importar el orden de
+     * bytes del buffer
+     *
+     * @return El codificador de enteros
+     */
+    public static ILabelCodec<Integer> integers() {
+        return new ILabelCodec<Integer>() {
+            @Override
+            public byte[] encode(Integer etiqueta) {
+                int v = etiqueta;
+                return new byte[]{(byte) v, (byte) (v >>> 8),
+                    (byte) (v >>> 16), (byte) (v >>> 24)};
+            }
+
+            @Override
+            public Integer decode(ByteBuffer datos, int inicio, int longitud) {
+                return (datos.get(inicio) & 0xFF)
+                        | (datos.get(inicio + 1) & 0xFF) << 8
+                        | (datos.get(inicio + 2) & 0xFF) << 16
+                        | (datos.get(inicio + 3) & 0xFF) << 24;
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package interfaces;
+
+/**
+ * INeighborCursor.java
+ *
+ * Esta interfaz declara un cursor reutilizable sobre las aristas salientes de
+ * un vertice de un grafo indexado. A diferencia de un Iterator, no regresa
+ * objetos: el destino y el peso de la arista actual se leen como primitivos,
+ * y el mismo cursor se reposiciona en otro vertice con reset(), asi que un
+ * ciclo interno de un algoritmo no crea objetos por arista ni por vertice.
+ *
+ * Uso tipico:
+ *
+ * <pre>
+ * INeighborCursor cursor = grafo.newNeighborCursor();
+ * for (int v = 0; v &lt; n; v++) {
+ *     cursor.reset(v);
+ *     while (cursor.next()) {
+ *         suma += cursor.weight();
+ *     }
+ * }
+ * </pre>
+ *
+ * Un cursor no es valido si el grafo se modifica despues de reset(), y no
+ * debe compartirse entre hilos.
+ */
+public interface INeighborCursor {
+
+    /**
+     * Coloca el cursor antes de la primera arista saliente del vertice en la
+     * posicion dada
+     *
+     * @param indice Posicion del vertice
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
+     */
+    public void reset(int indice);
+
+    /**
+     * Avanza a la siguiente arista saliente
+     *
+     * @return true si hay una arista, false si ya no quedan
+     */
+    public boolean next();
+
+    /**
+     * Obtiene la posicion del vertice destino de la arista actual
+     *
+     * @return La posicion del vertice destino
+     */
+    public int target();
+
+    /**
+     * Obtiene el peso de la arista actual
+     *
+     * @return El peso de la arista
+     */
+    public double weight();
+}
@@ -0,0 +1,19 @@
+package interfaces;
+
+/**
+ * INeighborVisitor.java
+ *
+ * Esta interfaz declara el metodo que se invoca por cada arista saliente de un
+ * vertice al recorrer sus vecinos por indice, sin crear objetos por arista.
+ */
+@FunctionalInterface
+public interface INeighborVisitor {
+
+    /**
+     * Se invoca por cada arista saliente del vertice recorrido
+     *
+     * @param vecino Indice del vertice destino de la arista
+     * @param peso Peso de la arista
+     */
+    public void visit(int vecino, double peso);
+}
@@ -0,0 +1,22 @@
+package interfaces;
+
+/**
+ * ITraversalVisitor.java
+ *
+ * Esta interfaz declara el metodo que se invoca por cada vertice alcanzado en
+ * un recorrido de un grafo, en el orden del recorrido.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+@FunctionalInterface
+public interface ITraversalVisitor<T> {
+
+    /**
+     * Se invoca al visitar un vertice
+     *
+     * @param vertice Etiqueta del vertice visitado
+     * @param predecesor Etiqueta del vertice desde el que se llego al vertice
+     * visitado, null si es el vertice origen
+     */
+    public void visit(T vertice, T predecesor);
+}
@@ -0,0 +1,171 @@
+package implementaciones;
+
+import interfaces.EdgeBuffer;
+import interfaces.IGraph;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiPredicate;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToIntFunction;
+import static org.junit.Assert.*;
+
+/**
+ * GraphAsserts.java
+ *
+ * Verificaciones y generadores de grafos que comparten las pruebas de los
+ * distintos motores de grafos. Se publica en el jar de pruebas de
+ * grafosComun.
+ */
+final class GraphAsserts {
+
+    private GraphAsserts() {
+    }
+
+    /**
+     * Llena un grafo vacio con los vertices 0 .. n - 1 y con aristas entre
+     * pares de vertices al azar, cargadas en bloque con addEdges(). Se
+     * sortean tantos pares como aristas se piden; los lazos, los pares que
+     * el filtro rechaza y los repetidos se descartan, asi que el grafo puede
+     * quedar con menos aristas.
+     *
+     * @param <G> Tipo del grafo
+     * @param grafo Grafo vacio
+     * @param n Numero de vertices
+     * @param aristas Numero de pares que se sortean
+     * @param azar Generador de los pares; el filtro y el peso pueden usarlo
+     * @param admite Filtro de los pares x -> y
+     * @param peso Peso de la arista x -> y
+     * @return El mismo grafo
+     */
+    static <G extends IGraph<Integer>> G grafoAlAzar(G grafo, int n,
+            int aristas, Random azar, BiPredicate<Integer, Integer> admite,
+            ToDoubleBiFunction<Integer, Integer> peso) {
+        for (int v = 0; v < n; v++) {
+            grafo.addVertex(v);
+        }
+        EdgeBuffer buffer = new EdgeBuffer(aristas);
+        for (int i = 0; i < aristas; i++) {
+            int x = azar.nextInt(n);
+            int y = azar.nextInt(n);
+            if (x != y && admite.test(x, y)) {
+                buffer.add(x, y, peso.applyAsDouble(x, y));
+            }
+        }
+        grafo.addEdges(buffer);
+        return grafo;
+    }
+
+    /**
+     * Verifica que el grafo tenga los mismos vertices, en el mismo orden, y
+     * las mismas aristas con los mismos pesos que el esperado
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param esperado Grafo con el que se compara
+     * @param grafo Grafo a verificar
+     */
+    static <T> void assertMismoGrafo(IGraph<T> esperado, IGraph<T> grafo) {
+        assertEquals(esperado.getVertices(), grafo.getVertices());
+        assertMismasAristas(esperado, grafo);
+    }
+
+    /**
+     * Verifica que el grafo tenga tantas aristas como el esperado y que cada
+     * par de sus vertices tenga la misma arista, con el mismo peso, en los
+     * dos grafos. Los vertices del grafo deben existir en el esperado, pero
+     * no se compara su orden.
+     *
+     * @param <T> Tipo de la etiqueta de un vertice del grafo
+     * @param esperado Grafo con el que se compara
+     * @param grafo Grafo a verificar
+     */
+    static <T> void assertMismasAristas(IGraph<T> esperado, IGraph<T> grafo) {
+        assertEquals("Numero de aristas", esperado.getNumberEdges(),
+                grafo.getNumberEdges());
+        List<T> etiquetas = grafo.getVertices();
+        for (T x : etiquetas) {
+            for (T y : etiquetas) {
+                assertEquals(x + " -> " + y, esperado.hasEdge(x, y),
+                        grafo.hasEdge(x, y));
+                if (esperado.hasEdge(x, y)) {
+                    assertEquals(x + " -> " + y, esperado.getEdgeWeight(x, y),
+                            grafo.getEdgeWeight(x, y), 0.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Aplica al grafo, vacio, una secuencia aleatoria de altas y bajas de
+     * vertices y aristas, y despues de cada operacion compara el numero de
+     * aristas y los grados de los vertices contra un conteo directo
+     *
+     * @param grafo Grafo vacio
+     * @param dirigido true si el grafo es dirigido
+     * @param admiteLazos true si el grafo admite lazos
+     * @param gradoSalida Grado de salida que mantiene el grafo
+     * @param gradoEntrada Grado de entrada que mantiene el grafo
+     */
+    static void verificaMutacionesAleatorias(IGraph<Integer> grafo,
+            boolean dirigido, boolean admiteLazos,
+            ToIntFunction<Integer> gradoSalida,
+            ToIntFunction<Integer> gradoEntrada) {
+        Random azar = new Random(253313);
+        for (int paso = 0; paso < 2000; paso++) {
+            List<Integer> etiquetas = grafo.getVertices();
+            int operacion = azar.nextInt(100);
+            if (operacion < 15 || etiquetas.size() < 2) {
+                Integer nueva = azar.nextInt(60);
+                if (!grafo.hasVertex(nueva)) {
+                    grafo.addVertex(nueva);
+                }
+            } else if (operacion < 22) {
+                grafo.removeVertex(etiquetas.get(azar.nextInt(
+                        etiquetas.size())));
+            } else if (operacion < 23) {
+                grafo.clear();
+            } else {
+                Integer x = etiquetas.get(azar.nextInt(etiquetas.size()));
+                Integer y = etiquetas.get(azar.nextInt(etiquetas.size()));
+                if (x.equals(y) && !admiteLazos) {
+                    continue;
+                }
+                if (grafo.hasEdge(x, y)) {
+                    grafo.removeEdge(x, y);
+                } else {
+                    grafo.addEdge(x, y, paso);
+                }
+            }
+            verificaContadores(grafo, dirigido, gradoSalida, gradoEntrada);
+        }
+    }
+
+    private static void verificaContadores(IGraph<Integer> grafo,
+            boolean dirigido, ToIntFunction<Integer> gradoSalida,
+            ToIntFunction<Integer> gradoEntrada) {
+        List<Integer> etiquetas = grafo.getVertices();
+        int aristas = 0;
+        for (int i = 0; i < etiquetas.size(); i++) {
+            Integer x = etiquetas.get(i);
+            int salida = 0;
+            int entrada = 0;
+            for (int j = 0; j < etiquetas.size(); j++) {
+                Integer y = etiquetas.get(j);
+                if (grafo.hasEdge(x, y)) {
+                    salida++;
+                    // En un grafo no dirigido x - y se cuenta una sola vez
+                    if (dirigido || i <= j) {
+                        aristas++;
+                    }
+                }
+                if (grafo.hasEdge(y, x)) {
+                    entrada++;
+                }
+            }
+            assertEquals("Grado de salida de " + x, salida,
+                    gradoSalida.applyAsInt(x));
+            assertEquals("Grado de entrada de " + x, entrada,
+                    gradoEntrada.applyAsInt(x));
+        }
+        assertEquals("Numero de aristas", aristas, grafo.getNumberEdges());
+    }
+}
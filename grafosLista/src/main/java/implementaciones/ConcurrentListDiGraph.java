@@ -0,0 +1,440 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IGraph;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConcurrentListDiGraph.java
+ *
+ * Esta clase implementa un grafo dirigido sobre listas de adyacencias que
+ * puede usarse desde varios hilos a la vez. Los vertices estan en un
+ * ConcurrentHashMap y las aristas salientes de cada vertice en un par de
+ * arreglos inmutables (destinos y pesos) que se reemplazan completos en cada
+ * modificacion. Las consultas leen el par vigente sin bloquear; las
+ * modificaciones de las aristas de un vertice se serializan con uno de un
+ * conjunto fijo de candados, elegido por el vertice origen, de modo que
+ * agregar aristas desde origenes distintos escala con el numero de nucleos.
+ *
+ * Cada modificacion de aristas copia el renglon del origen, asi que toma
+ * O(grado). Eliminar un vertice recorre todos los vertices para quitar sus
+ * aristas entrantes. Las operaciones que abarcan todo el grafo (getVertices,
+ * toString, clear, addVertices, addEdges) no son atomicas respecto a las
+ * modificaciones concurrentes: addVertices puede fallar a la mitad si otro
+ * hilo agrega uno de sus vertices, dejando agregados los anteriores, y
+ * addEdges ubica las posiciones del buffer en la lista de getVertices, que
+ * cambia si otro hilo agrega o elimina vertices mientras tanto.
+ *
+ * getVertices regresa los vertices en el orden en que se agregaron, segun el
+ * numero que recibe cada uno al agregarse.
+ *
+ * Como ListDiGraph, no admite lazos.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class ConcurrentListDiGraph<T> implements IGraph<T> {
+
+    private static final Nodo<?>[] SIN_DESTINOS = new Nodo<?>[0];
+    private static final double[] SIN_PESOS = new double[0];
+
+    private final ConcurrentHashMap<T, Nodo<T>> vertices;
+    private final Object[] candados;
+    private final AtomicInteger siguienteId;
+    private final AtomicLong nAristas;
+
+    /**
+     * Vertice del grafo con su renglon de aristas salientes
+     */
+    private static final class Nodo<T> {
+
+        final T etiqueta;
+        final int id;
+        // Se reemplaza completo; nunca se modifica el renglon vigente
+        volatile Renglon renglon;
+        volatile boolean eliminado;
+
+        Nodo(T etiqueta, int id) {
+            this.etiqueta = etiqueta;
+            this.id = id;
+            renglon = Renglon.VACIO;
+        }
+    }
+
+    /**
+     * Aristas salientes de un vertice: destinos[i] tiene peso pesos[i]
+     */
+    private static final class Renglon {
+
+        static final Renglon VACIO = new Renglon(SIN_DESTINOS, SIN_PESOS);
+
+        final Nodo<?>[] destinos;
+        final double[] pesos;
+
+        Renglon(Nodo<?>[] destinos, double[] pesos) {
+            this.destinos = destinos;
+            this.pesos = pesos;
+        }
+
+        int buscaDestino(Nodo<?> destino) {
+            for (int i = 0; i < destinos.length; i++) {
+                if (destinos[i] == destino) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Renglon agrega(Nodo<?> destino, double peso) {
+            int n = destinos.length;
+            Nodo<?>[] nuevosDestinos = Arrays.copyOf(destinos, n + 1);
+            double[] nuevosPesos = Arrays.copyOf(pesos, n + 1);
+            nuevosDestinos[n] = destino;
+            nuevosPesos[n] = peso;
+            return new Renglon(nuevosDestinos, nuevosPesos);
+        }
+
+        Renglon quita(int i) {
+            int n = destinos.length - 1;
+            if (n == 0) {
+                return VACIO;
+            }
+            Nodo<?>[] nuevosDestinos = new Nodo<?>[n];
+            double[] nuevosPesos = new double[n];
+            System.arraycopy(destinos, 0, nuevosDestinos, 0, i);
+            System.arraycopy(destinos, i + 1, nuevosDestinos, i, n - i);
+            System.arraycopy(pesos, 0, nuevosPesos, 0, i);
+            System.arraycopy(pesos, i + 1, nuevosPesos, i, n - i);
+            return new Renglon(nuevosDestinos, nuevosPesos);
+        }
+
+        Renglon cambiaPeso(int i, double peso) {
+            double[] nuevosPesos = pesos.clone();
+            nuevosPesos[i] = peso;
+            return new Renglon(destinos, nuevosPesos);
+        }
+    }
+
+    /**
+     * Constructor de la clase. Usa cuatro candados por procesador
+     */
+    public ConcurrentListDiGraph() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor de la clase
+     *
+     * @param nCandados Numero de candados entre los que se reparten los
+     * vertices origen; se redondea a una potencia de 2
+     */
+    public ConcurrentListDiGraph(int nCandados) {
+        int n = Integer.highestOneBit(Math.max(nCandados, 1) * 2 - 1);
+        candados = new Object[n];
+        for (int i = 0; i < n; i++) {
+            candados[i] = new Object();
+        }
+        vertices = new ConcurrentHashMap<>();
+        siguienteId = new AtomicInteger();
+        nAristas = new AtomicLong();
+    }
+
+    private Object candado(Nodo<T> nodo) {
+        return candados[nodo.id & (candados.length - 1)];
+    }
+
+    /**
+     * Obtiene el nodo de un vertice que debe existir
+     */
+    private Nodo<T> nodoExistente(T etiqueta) throws GraphException {
+        Nodo<T> nodo = vertices.get(etiqueta);
+        if (nodo == null) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return nodo;
+    }
+
+    /**
+     * Agrega un vertice al grafo
+     *
+     * @param etqVertice Etiqueta del vertice a agregar
+     * @throws GraphException Si el vertice ya existe
+     */
+    @Override
+    public void addVertex(T etqVertice) throws GraphException {
+        Nodo<T> nodo = new Nodo<>(etqVertice, siguienteId.getAndIncrement());
+        if (vertices.putIfAbsent(etqVertice, nodo) != null) {
+            throw new GraphException("Vertice repetido");
+        }
+    }
+
+    /**
+     * Elimina un vertice del grafo junto con sus aristas salientes y
+     * entrantes. Toma O(V + E).
+     *
+     * @param etqVertice Etiqueta del vertice a eliminar
+     * @throws GraphException Si el vertice no existe
+     */
+    @Override
+    public void removeVertex(T etqVertice) throws GraphException {
+        Nodo<T> nodo = vertices.remove(etqVertice);
+        if (nodo == null) {
+            throw new GraphException("Vertice " + etqVertice + " no existe");
+        }
+        marcaEliminado(nodo);
+        // Con la marca puesta ningun addEdge nuevo agrega aristas hacia el
+        // nodo, y tomar el candado de cada origen espera a los que ya la
+        // revisaron
+        for (Nodo<T> origen : vertices.values()) {
+            synchronized (candado(origen)) {
+                int i = origen.renglon.buscaDestino(nodo);
+                if (i >= 0) {
+                    origen.renglon = origen.renglon.quita(i);
+                    nAristas.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Marca un nodo ya quitado del diccionario como eliminado y quita sus
+     * aristas salientes
+     */
+    private void marcaEliminado(Nodo<T> nodo) {
+        synchronized (candado(nodo)) {
+            nodo.eliminado = true;
+            nAristas.addAndGet(-nodo.renglon.destinos.length);
+            nodo.renglon = Renglon.VACIO;
+        }
+    }
+
+    @Override
+    public boolean hasVertex(T etqVertice) {
+        return vertices.containsKey(etqVertice);
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return vertices.size();
+    }
+
+    /**
+     * Obtiene los nodos vigentes ordenados por su numero, es decir, en el
+     * orden en que se agregaron
+     */
+    @SuppressWarnings("unchecked")
+    private Nodo<T>[] nodosEnOrden() {
+        Nodo<T>[] nodos = vertices.values().toArray(new Nodo[0]);
+        Arrays.sort(nodos, (a, b) -> Integer.compare(a.id, b.id));
+        return nodos;
+    }
+
+    /**
+     * Obtiene la lista de etiquetas de los vertices, en el orden en que se
+     * agregaron. Es el orden de las posiciones de addEdges(EdgeBuffer).
+     *
+     * @return La lista de etiquetas de los vertices
+     */
+    @Override
+    public LinkedList<T> getVertices() {
+        LinkedList<T> etiquetas = new LinkedList<>();
+        for (Nodo<T> nodo : nodosEnOrden()) {
+            etiquetas.add(nodo.etiqueta);
+        }
+        return etiquetas;
+    }
+
+    @Override
+    public boolean empty() {
+        return vertices.isEmpty();
+    }
+
+    /**
+     * Elimina todos los vertices del grafo. Si otros hilos agregan vertices
+     * mientras tanto, algunos pueden quedar en el grafo, pero sin aristas
+     * hacia los vertices eliminados. Toma O(V + E).
+     */
+    @Override
+    public void clear() {
+        for (T etiqueta : vertices.keySet()) {
+            Nodo<T> nodo = vertices.remove(etiqueta);
+            if (nodo != null) {
+                marcaEliminado(nodo);
+            }
+        }
+        for (Nodo<T> origen : vertices.values()) {
+            synchronized (candado(origen)) {
+                Renglon renglon = origen.renglon;
+                for (int i = renglon.destinos.length - 1; i >= 0; i--) {
+                    if (renglon.destinos[i].eliminado) {
+                        renglon = renglon.quita(i);
+                        nAristas.decrementAndGet();
+                    }
+                }
+                origen.renglon = renglon;
+            }
+        }
+    }
+
+    /**
+     * Agrega una arista entre los vertices dados
+     *
+     * @param etqVerticeX Etiqueta del vertice origen
+     * @param etqVerticeY Etiqueta del vertice destino
+     * @param peso Peso de la arista
+     * @throws GraphException Si algun vertice no existe, si la arista es un
+     * lazo o si ya existe
+     */
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        Nodo<T> x = nodoExistente(etqVerticeX);
+        Nodo<T> y = nodoExistente(etqVerticeY);
+        if (x == y) {
+            throw new GraphException("El vertice origen es el mismo que el"
+                    + " vertice destino");
+        }
+        synchronized (candado(x)) {
+            if (x.eliminado || y.eliminado) {
+                throw new GraphException("Vertice origen o destino no existe");
+            }
+            if (x.renglon.buscaDestino(y) >= 0) {
+                throw new GraphException("Arista " + etqVerticeX + " -> "
+                        + etqVerticeY + " ya existe");
+            }
+            x.renglon = x.renglon.agrega(y, peso);
+            nAristas.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void addEdge(T etqVerticeX, T etqVerticeY) throws GraphException {
+        addEdge(etqVerticeX, etqVerticeY, 0);
+    }
+
+    @Override
+    public void removeEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        Nodo<T> x = nodoExistente(etqVerticeX);
+        Nodo<T> y = nodoExistente(etqVerticeY);
+        synchronized (candado(x)) {
+            int i = x.renglon.buscaDestino(y);
+            if (i < 0) {
+                throw new GraphException("Arista " + etqVerticeX + " -> "
+                        + etqVerticeY + " no existe");
+            }
+            x.renglon = x.renglon.quita(i);
+            nAristas.decrementAndGet();
+        }
+    }
+
+    /**
+     * Determina si existe la arista entre los vertices dados, sin bloquear
+     *
+     * @param etqVerticeX Etiqueta del vertice origen
+     * @param etqVerticeY Etiqueta del vertice destino
+     * @return true si existe la arista, false en caso contrario
+     * @throws GraphException Si alguno de los vertices no existe
+     */
+    @Override
+    public boolean hasEdge(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        Nodo<T> x = nodoExistente(etqVerticeX);
+        Nodo<T> y = nodoExistente(etqVerticeY);
+        return x.renglon.buscaDestino(y) >= 0;
+    }
+
+    @Override
+    public double getEdgeWeight(T etqVerticeX, T etqVerticeY)
+            throws GraphException {
+        Nodo<T> x = nodoExistente(etqVerticeX);
+        Nodo<T> y = nodoExistente(etqVerticeY);
+        Renglon renglon = x.renglon;
+        int i = renglon.buscaDestino(y);
+        if (i < 0) {
+            throw new GraphException("Arista " + etqVerticeX + " -> "
+                    + etqVerticeY + " no existe");
+        }
+        return renglon.pesos[i];
+    }
+
+    @Override
+    public void setEdgeWeight(T etqVerticeX, T etqVerticeY, double peso)
+            throws GraphException {
+        Nodo<T> x = nodoExistente(etqVerticeX);
+        Nodo<T> y = nodoExistente(etqVerticeY);
+        synchronized (candado(x)) {
+            int i = x.renglon.buscaDestino(y);
+            if (i < 0) {
+                throw new GraphException("Arista " + etqVerticeX + " -> "
+                        + etqVerticeY + " no existe");
+            }
+            x.renglon = x.renglon.cambiaPeso(i, peso);
+        }
+    }
+
+    /**
+     * Obtiene el numero de aristas del grafo. Con modificaciones en curso
+     * puede no coincidir con ningun estado del grafo.
+     *
+     * @return El numero de aristas del grafo
+     */
+    @Override
+    public int getNumberEdges() {
+        return (int) nAristas.get();
+    }
+
+    /**
+     * Obtiene el numero de aristas salientes de un vertice
+     *
+     * @param etqVertice Etiqueta del vertice
+     * @return El numero de aristas salientes del vertice
+     * @throws GraphException Si el vertice no existe
+     */
+    public int getGradoSalida(T etqVertice) throws GraphException {
+        return nodoExistente(etqVertice).renglon.destinos.length;
+    }
+
+    /**
+     * Obtiene las etiquetas de los vecinos de un vertice, en el orden en que
+     * se agregaron sus aristas
+     *
+     * @param etqVertice Etiqueta del vertice
+     * @return La lista de etiquetas de los vecinos
+     * @throws GraphException Si el vertice no existe
+     */
+    @SuppressWarnings("unchecked")
+    public LinkedList<T> getVecinos(T etqVertice) throws GraphException {
+        LinkedList<T> vecinos = new LinkedList<>();
+        for (Nodo<?> destino : nodoExistente(etqVertice).renglon.destinos) {
+            vecinos.add(((Nodo<T>) destino).etiqueta);
+        }
+        return vecinos;
+    }
+
+    /**
+     * Obtiene una cadena con una representacion del grafo
+     *
+     * @return Una cadena con una representacion del grafo
+     */
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (Nodo<T> nodo : nodosEnOrden()) {
+            Renglon renglon = nodo.renglon;
+            s.append(nodo.etiqueta).append(": [");
+            for (int i = 0; i < renglon.destinos.length; i++) {
+                s.append('(').append(renglon.destinos[i].etiqueta)
+                        .append(", ").append(renglon.pesos[i]).append(')');
+                if (i < renglon.destinos.length - 1) {
+                    s.append(", ");
+                }
+            }
+            s.append("]\n");
+        }
+        return s.toString();
+    }
+}
@@ -1,8 +1,8 @@
 package implementaciones;
 
 import excepciones.GraphException;
+import interfaces.EdgeBuffer;
 import java.lang.reflect.Field;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -42,7 +42,7 @@ public class ListDiGraph<T> extends ListGraph<T> {
                     + " no existe");
         }
 // Agrega la arista a la lista de aristas del vertice origen
-        verticeX.connect(verticeY, peso);
+        conecta(verticeX, verticeY, peso);
     }
 
     /**
@@ -112,13 +112,8 @@ public class ListDiGraph<T> extends ListGraph<T> {
             throw new GraphException("Vertice " + etqY
                     + " no existe");
         }
-// Determina si hay una arista
-        if (!verticeX.hasEdge(verticeY)) {
-            throw new GraphException("Arista " + etqX + " - "
-                    + etqY + " no existe");
-        }
-// Regresa el peso de la arista
-        return verticeX.getEdge(verticeY).getPeso();
+// Busca la arista una sola vez y regresa su peso
+        return verticeX.getEdgeWeight(verticeY);
     }
 
     /**
@@ -145,22 +140,13 @@ public void removeEdge(T etqX, T etqY) throws GraphException {
         throw new GraphException("Vértice origen o destino no existe");
     }
 
-    // 2. Buscar y eliminar la arista
-    boolean aristaEncontrada = false;
-    Iterator<ListVertex<T>> vecinosIter = verticeX.getNeighborIterator();
-    
-    while (vecinosIter.hasNext()) {
-        if (vecinosIter.next().equals(verticeY)) {
-            vecinosIter.remove();  // Esto requiere que NeighborIterator.remove() esté implementado
-            aristaEncontrada = true;
-            break;
-        }
-    }
-
-    // 3. Si no se encontró, lanzar excepción
-    if (!aristaEncontrada) {
+    // 2. Si no existe la arista, lanzar excepción
+    if (!verticeX.hasEdge(verticeY)) {
         throw new GraphException("Arista " + etqX + " -> " + etqY + " no existe");
     }
+
+    // 3. Eliminar la arista
+    desconecta(verticeX, verticeY);
 }
     
     
@@ -185,31 +171,17 @@ public void removeEdge(T etqX, T etqY) throws GraphException {
             throw new GraphException("Vértice origen o destino no existe");
         }
 
-        // Itera sobre los vecinos y pesos de verticeX para actualizar el peso
-        Iterator<ListVertex<T>> iterVecinos = verticeX.getNeighborIterator();
-        Iterator<Double> iterPesos = verticeX.getWeightIterator();
-        boolean aristaEncontrada = false;
-
-        while (iterVecinos.hasNext()) {
-            ListVertex<T> vecino = iterVecinos.next();
-            if (vecino.equals(verticeY)) {
-                iterPesos.remove();          // Elimina el peso antiguo
-                verticeX.connect(verticeY, peso); // Vuelve a agregar con el nuevo peso
-                aristaEncontrada = true;
-                break;
-            }
-            iterPesos.next(); // Avanza el iterador de pesos si no es el vértice buscado
-        }
-
-        if (!aristaEncontrada) {
-            throw new GraphException("Arista " + etqX + " -> " + etqY + " no existe");
+        // Actualiza el peso de la arista
+        verticeX.setEdgeWeight(verticeY, peso);
+        if (versiones != null) {
+            versiones.ponArista(etqX, etqY, peso);
         }
     }
 
     /**
-     * Calcula y devuelve el número total de aristas dirigidas en el grafo. Este
-     * método recorre todos los vértices del grafo y cuenta cada una de sus
-     * aristas salientes para obtener el total.
+     * Devuelve el número total de aristas dirigidas en el grafo. El número se
+     * mantiene al agregar y eliminar aristas y vértices, así que no se
+     * recorren las listas de adyacencias.
      *
      * @return Entero que representa el número total de aristas dirigidas en el
      * grafo. Retorna 0 si el grafo está vacío o no contiene aristas.
@@ -217,17 +189,54 @@ public void removeEdge(T etqX, T etqY) throws GraphException {
      */
     @Override
     public int getNumberEdges() {
-        int totalAristas = 0;
-        // Recorre todos los vértices y cuenta sus aristas salientes
-        for (ListVertex<T> vertice : vertices) {
-            Iterator<ListVertex<T>> iterVecinos = vertice.getNeighborIterator();
-            while (iterVecinos.hasNext()) {
-                iterVecinos.next();
-                totalAristas++;
-            }
-        }
-        return totalAristas;
+        return nConexiones;
     }
 
+    /**
+     * Agrega las aristas de un buffer en bloque, descartando las repetidas y
+     * las que el grafo ya tiene. Toma O(V + E).
+     *
+     * @param aristas Buffer de aristas a agregar
+     * @return El numero de aristas agregadas
+     * @throws GraphException Si alguna arista une posiciones fuera de rango o
+     * es un lazo
+     */
+    @Override
+    public int addEdges(EdgeBuffer aristas) throws GraphException {
+        return agregaAristas(aristas, false);
+    }
+
+    /**
+     * Copia este grafo en un grafo inmutable en formato CSR, optimizado para
+     * consultas. Para regresar a un grafo modificable se usa
+     * CsrGraph.thaw(new ListDiGraph<>()).
+     *
+     * @return El grafo CSR con los mismos vertices y aristas que este grafo
+     */
+    public CsrGraph<T> freeze() {
+        return freeze(true);
+    }
+
+    /**
+     * Obtiene una version inmutable del grafo en su estado actual, que no
+     * cambia al modificar el grafo despues. Sirve para recorridos largos que
+     * no deben bloquear las modificaciones ni verlas a medias.
+     *
+     * La primera llamada copia las adyacencias a diccionarios persistentes en
+     * O((V + E) log V); a partir de ahi cada version toma O(1) y cada
+     * modificacion del grafo cuesta O(log V) adicional para mantener la copia.
+     * El grafo en si no es seguro para varios hilos: las modificaciones y las
+     * llamadas a snapshot() deben hacerse desde un mismo hilo o bajo un
+     * candado, pero las versiones obtenidas pueden leerse desde cualquier
+     * hilo sin sincronizacion.
+     *
+     * @return La version actual del grafo
+     */
+    public GraphSnapshot<T> snapshot() {
+        if (versiones == null) {
+            versiones = VersionedAdjacency.de(this);
+        }
+        return versiones.snapshot();
+    }
 
 }
@@ -1,8 +1,10 @@
 package implementaciones;
 
 import excepciones.GraphException;
-import interfaces.IGraph;
-import java.util.Iterator;
+import interfaces.EdgeBuffer;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import interfaces.INeighborVisitor;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Stack;
@@ -15,17 +17,28 @@ import java.util.Stack;
  *
  * @author mdomitsu
  */
-public abstract class ListGraph<T> implements IGraph<T> {
+public abstract class ListGraph<T> implements IIndexedGraph<T> {
 
-    protected LinkedList<ListVertex<T>> vertices;
+    protected final VertexDictionary<T, ListVertex<T>> vertices;
     protected int nVertices;
+    /**
+     * Numero de aristas guardadas en las listas de adyacencias de todos los
+     * vertices. En un grafo no dirigido cada arista se guarda dos veces.
+     */
+    protected int nConexiones;
+    /**
+     * Copia persistente de las adyacencias de la que se obtienen las versiones
+     * inmutables del grafo. Es null hasta que se pide la primera version; a
+     * partir de ahi los metodos de modificacion la mantienen al dia.
+     */
+    VersionedAdjacency<T> versiones;
 
     /**
      * Constructor de la clase
      */
     public ListGraph() {
         nVertices = 0;
-        vertices = new LinkedList<>();
+        vertices = new VertexDictionary<>();
     }
 
     /**
@@ -37,14 +50,14 @@ public abstract class ListGraph<T> implements IGraph<T> {
      */
     @Override
     public void addVertex(T etiqueta) throws GraphException {
-// Verifica que el vertice no este repetido
-        int indicex = indexOf(etiqueta);
-        if (indicex >= 0) {
+// Agrega el vertice verificando que no este repetido
+        if (vertices.add(new ListVertex<>(etiqueta)) < 0) {
             throw new GraphException("Vertice repetido");
         }
-// Agrega el vertice
-        vertices.add(new ListVertex(etiqueta));
         nVertices++;
+        if (versiones != null) {
+            versiones.agregaVertice(etiqueta);
+        }
     }
 
     /**
@@ -86,23 +99,7 @@ public abstract class ListGraph<T> implements IGraph<T> {
      */
     @Override
     public String toString() {
-        String s = "";
-        for (int i = 0; i < nVertices; i++) {
-            ListVertex<T> vertice = vertices.get(i);
-            s += vertice.getEtiqueta() + ": [";
-            Iterator<ListVertex<T>> iter
-                    = vertice.getNeighborIterator();
-            Iterator<Double> iterPeso = vertice.getWeightIterator();
-            while (iter.hasNext()) {
-                s += "(" + iter.next().getEtiqueta() + ", ";
-                s += iterPeso.next() + ")";
-                if (iter.hasNext()) {
-                    s += ", ";
-                }
-            }
-            s += "]\n";
-        }
-        return s;
+        return GraphWriter.adjacencyListString(this);
     }
 
     /**
@@ -112,13 +109,72 @@ public abstract class ListGraph<T> implements IGraph<T> {
      * @return La posicion del vertice en el diccionario de vertices si existe,
      * -1 en caso contrario.
      */
-    protected int indexOf(T etiqueta) {
-        for (int i = 0; i < nVertices; i++) {
-            if (etiqueta.equals(vertices.get(i).getEtiqueta())) {
-                return i;
-            }
+    @Override
+    public int indexOf(T etiqueta) {
+        return vertices.indexOf(etiqueta);
+    }
+
+    /**
+     * Obtiene la etiqueta del vertice en la posicion dada
+     *
+     * @param indice Posicion del vertice
+     * @return La etiqueta del vertice
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
+     */
+    @Override
+    public T getEtiqueta(int indice) {
+        return vertices.get(indice).getEtiqueta();
+    }
+
+    /**
+     * Invoca al visitante por cada arista en la lista de adyacencias del
+     * vertice en la posicion dada. Toma un tiempo proporcional al grado del
+     * vertice.
+     *
+     * @param indice Posicion del vertice
+     * @param visitante Visitante de las aristas
+     */
+    @Override
+    public void forEachNeighbor(int indice, INeighborVisitor visitante) {
+        vertices.get(indice).forEachNeighbor(visitante);
+    }
+
+    /**
+     * Crea un cursor que recorre directamente los arreglos de aristas de
+     * cada vertice, sin copiarlas
+     *
+     * @return Un cursor nuevo, sin posicionar
+     */
+    @Override
+    public INeighborCursor newNeighborCursor() {
+        return new Cursor();
+    }
+
+    private final class Cursor implements INeighborCursor {
+
+        private ListVertex<T> vertice;
+        private int k;
+
+        @Override
+        public void reset(int indice) {
+            vertice = vertices.get(indice);
+            k = -1;
+        }
+
+        @Override
+        public boolean next() {
+            return ++k < vertice.nAristas;
+        }
+
+        @Override
+        public int target() {
+            return vertice.destinos[k].posicion;
+        }
+
+        @Override
+        public double weight() {
+            return vertice.pesos[k];
         }
-        return -1;
     }
 
     /**
@@ -129,14 +185,7 @@ public abstract class ListGraph<T> implements IGraph<T> {
      * contrario
      */
     protected ListVertex<T> getVertex(T etiqueta) {
-        ListVertex<T> vertex;
-        for (int i = 0; i < nVertices; i++) {
-            vertex = vertices.get(i);
-            if (etiqueta.equals(vertex.getEtiqueta())) {
-                return vertex;
-            }
-        }
-        return null;
+        return vertices.get(etiqueta);
     }
 
     /**
@@ -155,6 +204,8 @@ public abstract class ListGraph<T> implements IGraph<T> {
      * Elimina un vértice del grafo junto con todas las aristas asociadas.
      * Primero elimina todas las aristas que apuntan al vértice desde otros
      * vértices, luego remueve el vértice de la lista principal de vértices.
+     * Toma O(V): busca las aristas entrantes en los demás vértices y el
+     * diccionario recorre los vértices que siguen para conservar el orden.
      *
      * @param etiqueta La etiqueta del vértice a eliminar
      * @throws GraphException Si el vértice con la etiqueta especificada no
@@ -164,30 +215,33 @@ public abstract class ListGraph<T> implements IGraph<T> {
     @Override
     public void removeVertex(T etiqueta) throws GraphException {
         // Busca el vértice a eliminar
-        ListVertex<T> verticeAEliminar = getVertex(etiqueta);
-        if (verticeAEliminar == null) {
+        int indice = indexOf(etiqueta);
+        if (indice == -1) {
             throw new GraphException("El vértice '" + etiqueta + "' no existe");
         }
+        ListVertex<T> verticeAEliminar = vertices.get(indice);
 
-        // Elimina todas las aristas que apuntan al vértice (en otros vértices)
+        // Elimina todas las aristas que apuntan al vértice (en otros
+        // vértices), hasta que ya no quede ninguna
         for (ListVertex<T> vertice : vertices) {
-            Iterator<ListVertex<T>> iterVecinos = vertice.getNeighborIterator();
-            Iterator<Double> iterPesos = vertice.getWeightIterator();
-
-            while (iterVecinos.hasNext()) {
-                ListVertex<T> vecino = iterVecinos.next();
-                iterPesos.next(); // Sincroniza con el iterador de pesos
-                if (vecino.equals(verticeAEliminar)) {
-                    iterVecinos.remove(); // Elimina la referencia al vértice
-                    iterPesos.remove(); // Elimina el peso asociado
-                    break; // Suponiendo grafo simple (una sola arista por par)
-                }
+            if (verticeAEliminar.getGradoEntrada() == 0) {
+                break;
+            }
+            if (vertice.hasEdge(verticeAEliminar)) {
+                desconecta(vertice, verticeAEliminar);
             }
         }
 
-        // Elimina el vértice de la lista principal
-        vertices.remove(verticeAEliminar);
+        // Elimina las aristas que salen del vértice
+        nConexiones -= verticeAEliminar.getNumberEdges();
+        verticeAEliminar.unconnectAll();
+
+        // Elimina el vértice del diccionario de vertices
+        vertices.remove(indice);
         nVertices--;
+        if (versiones != null) {
+            versiones.eliminaVertice(etiqueta);
+        }
     }
 
     /**
@@ -204,11 +258,7 @@ public abstract class ListGraph<T> implements IGraph<T> {
      */
     @Override
     public LinkedList<T> getVertices() {
-        LinkedList<T> etiquetas = new LinkedList<>();
-        for (ListVertex<T> vertice : vertices) {
-            etiquetas.add(vertice.getEtiqueta());
-        }
-        return etiquetas;
+        return vertices.getEtiquetas();
     }
 
     
@@ -222,6 +272,160 @@ public abstract class ListGraph<T> implements IGraph<T> {
     public void clear() {
         vertices.clear();
         nVertices = 0;
+        nConexiones = 0;
+        if (versiones != null) {
+            versiones.limpia();
+        }
+    }
+
+    /**
+     * Agrega una arista del vertice x al vertice y en la lista de adyacencias
+     * de x, llevando la cuenta de las aristas guardadas
+     *
+     * @param verticeX Vertice origen
+     * @param verticeY Vertice destino
+     * @param peso Peso de la arista
+     * @throws GraphException Si los vertices son el mismo o ya hay una arista
+     */
+    protected void conecta(ListVertex<T> verticeX, ListVertex<T> verticeY,
+            double peso) throws GraphException {
+        verticeX.connect(verticeY, peso);
+        nConexiones++;
+        if (versiones != null) {
+            versiones.ponArista(verticeX.getEtiqueta(), verticeY.getEtiqueta(),
+                    peso);
+        }
+    }
+
+    /**
+     * Elimina la arista del vertice x al vertice y de la lista de adyacencias
+     * de x, llevando la cuenta de las aristas guardadas
+     *
+     * @param verticeX Vertice origen
+     * @param verticeY Vertice destino
+     * @throws GraphException Si no hay una arista entre los vertices
+     */
+    protected void desconecta(ListVertex<T> verticeX, ListVertex<T> verticeY)
+            throws GraphException {
+        verticeX.unconnect(verticeY);
+        nConexiones--;
+        if (versiones != null) {
+            versiones.quitaArista(verticeX.getEtiqueta(),
+                    verticeY.getEtiqueta());
+        }
+    }
+
+    /**
+     * Agrega las aristas de un buffer en bloque. Valida el buffer una sola
+     * vez, lo agrupa por vertice origen descartando las aristas repetidas y,
+     * para cada vertice origen, marca sus vecinos actuales en un arreglo para
+     * descartar las aristas que ya tiene sin recorrer su lista por cada
+     * arista. Toma O(V + E) en lugar de O(E * grado).
+     *
+     * @param aristas Buffer de aristas a agregar
+     * @param noDirigido true para agregar cada arista en ambas direcciones
+     * @return El numero de aristas agregadas
+     * @throws GraphException Si alguna arista une posiciones fuera de rango o
+     * es un lazo
+     */
+    protected int agregaAristas(EdgeBuffer aristas, boolean noDirigido)
+            throws GraphException {
+        aristas.valida(nVertices, false);
+        EdgeGroups grupos = new EdgeGroups(aristas, nVertices, noDirigido);
+        int[] marcas = new int[nVertices];
+        int[] marca = new int[1];
+        INeighborVisitor marcaVecino = (y, peso) -> marcas[y] = marca[0];
+        int agregadas = 0;
+        for (int x = 0; x < nVertices; x++) {
+            int inicio = grupos.offsets[x];
+            int fin = grupos.offsets[x + 1];
+            if (inicio == fin) {
+                continue;
+            }
+            ListVertex<T> verticeX = vertices.get(x);
+            marca[0] = x + 1;
+            verticeX.forEachNeighbor(marcaVecino);
+            for (int k = inicio; k < fin; k++) {
+                int y = grupos.destinos[k];
+                if (marcas[y] != marca[0]) {
+                    ListVertex<T> verticeY = vertices.get(y);
+                    verticeX.connectSinVerificar(verticeY, grupos.pesos[k]);
+                    nConexiones++;
+                    if (noDirigido) {
+                        verticeY.connectSinVerificar(verticeX, grupos.pesos[k]);
+                        nConexiones++;
+                    }
+                    if (versiones != null) {
+                        versiones.ponArista(verticeX.getEtiqueta(),
+                                verticeY.getEtiqueta(), grupos.pesos[k]);
+                        if (noDirigido) {
+                            versiones.ponArista(verticeY.getEtiqueta(),
+                                    verticeX.getEtiqueta(), grupos.pesos[k]);
+                        }
+                    }
+                    agregadas++;
+                }
+            }
+        }
+        return agregadas;
+    }
+
+    /**
+     * Obtiene el numero de aristas que salen del vertice dado. En un grafo no
+     * dirigido es el numero de vertices adyacentes.
+     *
+     * @param etiqueta Etiqueta del vertice
+     * @return El grado de salida del vertice
+     * @throws GraphException Si el vertice no existe
+     */
+    public int getGradoSalida(T etiqueta) throws GraphException {
+        ListVertex<T> vertice = getVertex(etiqueta);
+        if (vertice == null) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return vertice.getNumberEdges();
+    }
+
+    /**
+     * Obtiene el numero de aristas que llegan al vertice dado. En un grafo no
+     * dirigido es el numero de vertices adyacentes.
+     *
+     * @param etiqueta Etiqueta del vertice
+     * @return El grado de entrada del vertice
+     * @throws GraphException Si el vertice no existe
+     */
+    public int getGradoEntrada(T etiqueta) throws GraphException {
+        ListVertex<T> vertice = getVertex(etiqueta);
+        if (vertice == null) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return vertice.getGradoEntrada();
+    }
+
+    /**
+     * Copia este grafo en un grafo inmutable en formato CSR. Los indices de
+     * los vertices en el grafo CSR son sus posiciones en el diccionario de
+     * vertices.
+     *
+     * @param dirigido true si el grafo es dirigido, false en caso contrario
+     * @return El grafo CSR con los mismos vertices y aristas que este grafo
+     */
+    protected CsrGraph<T> freeze(boolean dirigido) {
+        int[] offsets = new int[nVertices + 1];
+        for (int v = 0; v < nVertices; v++) {
+            offsets[v + 1] = offsets[v] + vertices.get(v).getNumberEdges();
+        }
+        int[] targets = new int[offsets[nVertices]];
+        double[] weights = new double[offsets[nVertices]];
+        int[] e = new int[1];
+        for (ListVertex<T> vertice : vertices) {
+            vertice.forEachNeighbor((w, peso) -> {
+                targets[e[0]] = w;
+                weights[e[0]++] = peso;
+            });
+        }
+        return new CsrGraph<>(getVertices(), offsets, targets, weights,
+                dirigido);
     }
 
 }
@@ -2,6 +2,7 @@ package implementaciones;
 
 import excepciones.GraphException;
 import implementaciones.ListVertex.Edge;
+import interfaces.EdgeBuffer;
 import java.util.Iterator;
 import java.util.LinkedList;
 
@@ -41,8 +42,8 @@ public class ListNoDiGraph<T> extends ListGraph<T> {
                     + " no existe");
         }
 // Agrega la arista a la lista de aristas del vertice origen
-        verticeX.connect(verticeY, peso);
-        verticeY.connect(verticeX, peso);
+        conecta(verticeX, verticeY, peso);
+        conecta(verticeY, verticeX, peso);
     }
 
     /**
@@ -113,17 +114,8 @@ public class ListNoDiGraph<T> extends ListGraph<T> {
             throw new GraphException("Vertice " + etqY
                     + " no existe");
         }
-// Determina si hay una arista
-        if (!verticeX.hasEdge(verticeY)) {
-            throw new GraphException("Arista " + etqX + " - "
-                    + etqY + " no existe");
-        }
-        if (!verticeY.hasEdge(verticeX)) {
-            throw new GraphException("Arista " + etqY + " - "
-                    + etqX + " no existe");
-        }
-// Regresa el peso de la arista
-        return verticeX.getEdge(verticeY).getPeso();
+// Busca la arista una sola vez y regresa su peso
+        return verticeX.getEdgeWeight(verticeY);
     }
 
     /**
@@ -153,8 +145,8 @@ public class ListNoDiGraph<T> extends ListGraph<T> {
 
         // Eliminar en ambas direcciones (grafo no dirigido)
         try {
-            verticeX.unconnect(verticeY);
-            verticeY.unconnect(verticeX);
+            desconecta(verticeX, verticeY);
+            desconecta(verticeY, verticeX);
         } catch (GraphException e) {
             // Esto no debería ocurrir porque ya verificamos que existe
             throw new GraphException("Error al eliminar arista: " + e.getMessage());
@@ -180,16 +172,10 @@ public class ListNoDiGraph<T> extends ListGraph<T> {
             throw new GraphException("Vértices no existen");
         }
 
-        // Alternativa usando getEdge() y setPeso()
-        ListVertex.Edge<T> aristaXY = verticeX.getEdge(verticeY);
-        ListVertex.Edge<T> aristaYX = verticeY.getEdge(verticeX);
-
-        if (aristaXY == null || aristaYX == null) {
-            throw new GraphException("Arista no existe");
-        }
-
-        aristaXY.setPeso(peso);
-        aristaYX.setPeso(peso);
+        // La arista esta en ambas listas o en ninguna; si falta, la primera
+        // llamada lanza la excepcion sin modificar nada
+        verticeX.setEdgeWeight(verticeY, peso);
+        verticeY.setEdgeWeight(verticeX, peso);
     }
 
     /**
@@ -201,18 +187,47 @@ public class ListNoDiGraph<T> extends ListGraph<T> {
      */
     @Override
     public int getNumberEdges() {
-        int totalAristas = 0;
+        // Cada arista está almacenada en ambos vértices (duplicada); el número
+        // de aristas almacenadas se mantiene al modificar el grafo
+        return nConexiones / 2;
+    }
 
-        // Contamos todas las aristas de todos los vértices
-        for (ListVertex<T> vertice : vertices) {
-            totalAristas += vertice.getNumberEdges();
-        }
+    /**
+     * Agrega las aristas de un buffer en bloque, descartando las repetidas y
+     * las que el grafo ya tiene. Toma O(V + E).
+     *
+     * @param aristas Buffer de aristas a agregar
+     * @return El numero de aristas agregadas
+     * @throws GraphException Si alguna arista une posiciones fuera de rango o
+     * es un lazo
+     */
+    @Override
+    public int addEdges(EdgeBuffer aristas) throws GraphException {
+        return agregaAristas(aristas, true);
+    }
 
-        // Dividimos entre 2 porque en grafo no dirigido cada arista 
-        // está almacenada en ambos vértices (duplicada)
-        return totalAristas / 2;
+    /**
+     * Copia este grafo en un grafo inmutable en formato CSR, optimizado para
+     * consultas. Para regresar a un grafo modificable se usa
+     * CsrGraph.thaw(new ListNoDiGraph<>()).
+     *
+     * @return El grafo CSR con los mismos vertices y aristas que este grafo
+     */
+    public CsrGraph<T> freeze() {
+        return freeze(false);
     }
 
-    
+    /**
+     * Calcula el bosque generador de peso minimo del grafo con Kruskal si el
+     * grafo es muy disperso o con Prim en otro caso, segun
+     * MinimumSpanningTree.compute(). Para fijar el algoritmo se usa
+     * MinimumSpanningTree.prim() o kruskal() con un ListNoDiGraph vacio.
+     *
+     * @return El bosque, como un grafo nuevo con los mismos vertices en el
+     * mismo orden, con su peso total
+     */
+    public MinimumSpanningTree<T> minimumSpanningTree() {
+        return MinimumSpanningTree.compute(this, new ListNoDiGraph<>());
+    }
 
 }
@@ -1,26 +1,61 @@
 package implementaciones;
 
 import excepciones.GraphException;
-import java.util.ArrayList;
+import interfaces.INeighborVisitor;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 /**
  * Esta clase representa un vértice de un grafo sobre una lista de adyacencias
  *
+ * Las aristas salientes se guardan en dos arreglos paralelos que crecen al
+ * doble cuando se llenan: el vertice destino y el peso de cada arista. Un
+ * vertice sin aristas no reserva arreglos. Eliminar una arista mueve la
+ * ultima arista a su lugar, asi que el orden de las aristas puede cambiar al
+ * eliminar.
+ *
+ * Mientras el grado es pequeno las aristas se buscan recorriendo los
+ * arreglos. Cuando el grado pasa de UMBRAL_INDICE se construye un indice de
+ * direccionamiento abierto del vertice destino a la posicion de su arista,
+ * asi que hasEdge(), getEdge(), unconnect() y la verificacion de aristas
+ * repetidas en connect() toman O(1) esperado en los vertices de grado alto.
+ * El indice se descarta cuando el grado baja a la mitad del umbral.
+ *
  * @param <T> Tipo de la etiqueta de un vertice del grafo
  *
  * @author mdomitsu
  */
 public class ListVertex<T> extends Vertex<T> {
 
-    private final LinkedList<Edge<T>> aristas;
+    private static final ListVertex[] SIN_DESTINOS = new ListVertex[0];
+    private static final double[] SIN_PESOS = new double[0];
+    private static final int CAPACIDAD_INICIAL = 4;
+    /**
+     * Grado a partir del cual se indexan las aristas
+     */
+    static final int UMBRAL_INDICE = 16;
+
+    /**
+     * Aristas salientes: destinos[k] y pesos[k] para k en 0 .. nAristas - 1
+     */
+    ListVertex<T>[] destinos;
+    double[] pesos;
+    int nAristas;
+    /**
+     * Indice de las aristas con sondeo lineal: cada casilla guarda la
+     * posicion de una arista mas uno, 0 si esta vacia. Su tamano es una
+     * potencia de 2 de al menos el doble del grado. Es null mientras el grado
+     * no pase de UMBRAL_INDICE.
+     */
+    private int[] indice;
+    private int gradoEntrada;
 
     /**
-     * Esta clase anidada representa una arista saliente de este vertice
+     * Esta clase anidada representa una arista saliente de este vertice. Las
+     * aristas que regresa getEdge() son vistas de la arista guardada en el
+     * vertice origen: setPeso() cambia el peso guardado y getPeso() lo lee,
+     * mientras la arista exista.
      *
      * @param <T> Tipo de la etiqueta de un vertice destino de este arista
      */
@@ -28,6 +63,7 @@ public class ListVertex<T> extends Vertex<T> {
 
         private final ListVertex<T> verticeDest;
         private double peso;
+        private final ListVertex<T> origen;
 
         /**
          * Construye una arista saliente de este vertice a partir del vertice
@@ -37,6 +73,12 @@ public class ListVertex<T> extends Vertex<T> {
          * @param peso Peso de la arista
          */
         public Edge(ListVertex verticeDest, double peso) {
+            this(null, verticeDest, peso);
+        }
+
+        private Edge(ListVertex<T> origen, ListVertex<T> verticeDest,
+                double peso) {
+            this.origen = origen;
             this.verticeDest = verticeDest;
             this.peso = peso;
         }
@@ -58,6 +100,12 @@ public class ListVertex<T> extends Vertex<T> {
          */
         public void setPeso(double peso) {
             this.peso = peso;
+            if (origen != null) {
+                int k = origen.posicionArista(verticeDest);
+                if (k >= 0) {
+                    origen.pesos[k] = peso;
+                }
+            }
         }
 
         /**
@@ -66,41 +114,53 @@ public class ListVertex<T> extends Vertex<T> {
          * @return El peso de esta arista
          */
         public double getPeso() {
+            if (origen != null) {
+                int k = origen.posicionArista(verticeDest);
+                if (k >= 0) {
+                    return origen.pesos[k];
+                }
+            }
             return peso;
         }
     }
 
     /**
-     * Esta clase anidada implementa un iterador a los vertices destino de las
-     * aristas salientes de este vertice
+     * Esta clase anidada implementa un iterador sobre las aristas salientes
+     * de este vertice. Al eliminar una arista la ultima pasa a su lugar, asi
+     * que el iterador vuelve a visitar esa posicion.
+     *
+     * @param <E> Tipo de los elementos que regresa el iterador
      */
-    private class NeighborIterator implements Iterator<ListVertex<T>> {
-
-        private final ListIterator<Edge<T>> iteradorAristas;
-        private Edge<T> lastReturned = null;
+    private abstract class EdgeIterator<E> implements Iterator<E> {
 
-        private NeighborIterator() {
-            iteradorAristas = aristas.listIterator(); // Usar ListIterator
-        }
+        private int siguiente;
+        private boolean puedeEliminar;
 
         @Override
         public boolean hasNext() {
-            return iteradorAristas.hasNext();
+            return siguiente < nAristas;
         }
 
-        @Override
-        public ListVertex<T> next() {
-            lastReturned = iteradorAristas.next();
-            return lastReturned.getVerticeDest();
+        /**
+         * Avanza a la siguiente arista
+         *
+         * @return La posicion de la arista
+         */
+        protected int avanza() {
+            if (siguiente >= nAristas) {
+                throw new NoSuchElementException();
+            }
+            puedeEliminar = true;
+            return siguiente++;
         }
 
         @Override
         public void remove() {
-            if (lastReturned == null) {
+            if (!puedeEliminar) {
                 throw new IllegalStateException("Debe llamar a next() antes de remove()");
             }
-            iteradorAristas.remove(); // Elimina la arista actual
-            lastReturned = null;
+            eliminaArista(--siguiente);
+            puedeEliminar = false;
         }
     }
 
@@ -108,33 +168,23 @@ public class ListVertex<T> extends Vertex<T> {
      * Esta clase anidada implementa un iterador a los vertices destino de las
      * aristas salientes de este vertice
      */
-    private class WeightIterator implements Iterator<Double> {
-
-        private final ListIterator<Edge<T>> iteradorAristas;
-        private Edge<T> lastReturned = null;
-
-        private WeightIterator() {
-            iteradorAristas = aristas.listIterator(); // Usar ListIterator
-        }
+    private class NeighborIterator extends EdgeIterator<ListVertex<T>> {
 
         @Override
-        public boolean hasNext() {
-            return iteradorAristas.hasNext();
+        public ListVertex<T> next() {
+            return destinos[avanza()];
         }
+    }
 
-        @Override
-        public Double next() {
-            lastReturned = iteradorAristas.next();
-            return lastReturned.getPeso();
-        }
+    /**
+     * Esta clase anidada implementa un iterador a los pesos de las aristas
+     * salientes de este vertice
+     */
+    private class WeightIterator extends EdgeIterator<Double> {
 
         @Override
-        public void remove() {
-            if (lastReturned == null) {
-                throw new IllegalStateException("Debe llamar a next() antes de remove()");
-            }
-            iteradorAristas.remove(); // Elimina la arista actual
-            lastReturned = null;
+        public Double next() {
+            return pesos[avanza()];
         }
     }
 
@@ -143,9 +193,159 @@ public class ListVertex<T> extends Vertex<T> {
      *
      * @param etiqueta Etiqueta del vertice
      */
+    @SuppressWarnings("unchecked")
     public ListVertex(T etiqueta) {
         super(etiqueta);
-        aristas = new LinkedList<>();
+        destinos = SIN_DESTINOS;
+        pesos = SIN_PESOS;
+    }
+
+    /**
+     * Indica si el vertice tiene construido el indice de aristas
+     *
+     * @return true si el indice existe
+     */
+    boolean tieneIndice() {
+        return indice != null;
+    }
+
+    /**
+     * Obtiene la posicion de la arista hacia el vertice dado en los arreglos
+     * de aristas
+     *
+     * @param verticeDest Vertice destino
+     * @return La posicion de la arista, -1 si no existe
+     */
+    int posicionArista(ListVertex<T> verticeDest) {
+        if (indice == null) {
+            for (int k = 0; k < nAristas; k++) {
+                if (destinos[k] == verticeDest
+                        || destinos[k].equals(verticeDest)) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+        int mascara = indice.length - 1;
+        for (int h = casilla(verticeDest, mascara); indice[h] != 0;
+                h = (h + 1) & mascara) {
+            int k = indice[h] - 1;
+            if (destinos[k] == verticeDest || destinos[k].equals(verticeDest)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene la casilla inicial del vertice en el indice, mezclando los
+     * bits de su hashCode() para que las etiquetas consecutivas no queden
+     * en casillas consecutivas
+     */
+    private static int casilla(ListVertex<?> vertice, int mascara) {
+        int h = vertice.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    /**
+     * Construye el indice con todas las aristas del vertice
+     */
+    private void construyeIndice() {
+        int tamano = Integer.highestOneBit(nAristas * 4 - 1);
+        indice = new int[tamano];
+        for (int k = 0; k < nAristas; k++) {
+            indexa(k);
+        }
+    }
+
+    /**
+     * Agrega al indice la arista en la posicion dada
+     */
+    private void indexa(int k) {
+        int mascara = indice.length - 1;
+        int h = casilla(destinos[k], mascara);
+        while (indice[h] != 0) {
+            h = (h + 1) & mascara;
+        }
+        indice[h] = k + 1;
+    }
+
+    /**
+     * Obtiene la casilla del indice que guarda la arista en la posicion dada
+     */
+    private int casillaDe(int k) {
+        int mascara = indice.length - 1;
+        int h = casilla(destinos[k], mascara);
+        while (indice[h] != k + 1) {
+            h = (h + 1) & mascara;
+        }
+        return h;
+    }
+
+    /**
+     * Quita del indice la arista en la posicion dada. Recorre hacia atras las
+     * casillas siguientes del mismo grupo para no dejar huecos en el sondeo.
+     */
+    private void desindexa(int k) {
+        int mascara = indice.length - 1;
+        int hueco = casillaDe(k);
+        for (int h = (hueco + 1) & mascara; indice[h] != 0;
+                h = (h + 1) & mascara) {
+            int ideal = casilla(destinos[indice[h] - 1], mascara);
+            // La entrada puede ocupar el hueco si su casilla ideal no esta
+            // entre el hueco (exclusive) y su casilla actual (inclusive)
+            if (((h - ideal) & mascara) >= ((h - hueco) & mascara)) {
+                indice[hueco] = indice[h];
+                hueco = h;
+            }
+        }
+        indice[hueco] = 0;
+    }
+
+    /**
+     * Agrega la arista al final de los arreglos, haciendolos crecer si estan
+     * llenos
+     */
+    private void agregaArista(ListVertex<T> verticeDest, double peso) {
+        if (nAristas == destinos.length) {
+            int capacidad = Math.max(CAPACIDAD_INICIAL, 2 * nAristas);
+            destinos = Arrays.copyOf(destinos, capacidad);
+            pesos = Arrays.copyOf(pesos, capacidad);
+        }
+        destinos[nAristas] = verticeDest;
+        pesos[nAristas++] = peso;
+        verticeDest.gradoEntrada++;
+        if (indice != null) {
+            if (2 * nAristas > indice.length) {
+                construyeIndice();
+            } else {
+                indexa(nAristas - 1);
+            }
+        } else if (nAristas > UMBRAL_INDICE) {
+            construyeIndice();
+        }
+    }
+
+    /**
+     * Elimina la arista en la posicion dada moviendo la ultima a su lugar
+     */
+    private void eliminaArista(int k) {
+        destinos[k].gradoEntrada--;
+        int ultima = nAristas - 1;
+        if (indice != null) {
+            if (ultima < UMBRAL_INDICE / 2) {
+                indice = null;
+            } else {
+                desindexa(k);
+                if (ultima != k) {
+                    indice[casillaDe(ultima)] = k + 1;
+                }
+            }
+        }
+        nAristas = ultima;
+        destinos[k] = destinos[ultima];
+        pesos[k] = pesos[ultima];
+        destinos[ultima] = null;
     }
 
     /**
@@ -164,7 +364,19 @@ public class ListVertex<T> extends Vertex<T> {
         if (hasEdge(verticeDest)) {
             throw new GraphException("Ya hay una arista entre el vertice origen y el vertice destino 00");
         }
-        aristas.add(new Edge(verticeDest, peso));
+        agregaArista(verticeDest, peso);
+    }
+
+    /**
+     * Agrega una arista de este vertice a un vertice dado sin verificar si
+     * ya existe. Lo usa la carga en bloque, que descarta las aristas
+     * repetidas antes de agregarlas.
+     *
+     * @param verticeDest Vertice destino de la arista, distinto de este
+     * @param peso Peso de la arista
+     */
+    void connectSinVerificar(ListVertex<T> verticeDest, double peso) {
+        agregaArista(verticeDest, peso);
     }
 
     /**
@@ -187,15 +399,24 @@ public class ListVertex<T> extends Vertex<T> {
      */
     public void unconnect(ListVertex<T> verticeDest)
             throws GraphException {
-        if (!hasEdge(verticeDest)) {
+        int k = posicionArista(verticeDest);
+        if (k == -1) {
             throw new GraphException("No hay una arista entre el vertice origen y el vertice destino");
         }
+        eliminaArista(k);
+    }
 
-        for (int i = 0; i < aristas.size(); i++) {
-            if (verticeDest.equals(aristas.get(i).verticeDest)) {
-                aristas.remove(i);
-            }
+    /**
+     * Elimina todas las aristas salientes de este vertice
+     */
+    public void unconnectAll() {
+        for (int k = 0; k < nAristas; k++) {
+            destinos[k].gradoEntrada--;
         }
+        destinos = SIN_DESTINOS;
+        pesos = SIN_PESOS;
+        indice = null;
+        nAristas = 0;
     }
 
     /**
@@ -206,12 +427,7 @@ public class ListVertex<T> extends Vertex<T> {
      * en caso contrario
      */
     public boolean hasEdge(ListVertex<T> verticeDest) {
-        for (Edge<T> arista : aristas) {
-            if (arista.getVerticeDest().equals(verticeDest)) {
-                return true;
-            }
-        }
-        return false;
+        return posicionArista(verticeDest) >= 0;
     }
 
     /**
@@ -222,14 +438,42 @@ public class ListVertex<T> extends Vertex<T> {
      * caso contrario
      */
     public  Edge<T> getEdge(ListVertex<T> verticeDest) {
-        Edge<T> arista;
-        for (int i = 0; i < aristas.size(); i++) {
-            arista = aristas.get(i);
-            if (verticeDest.equals(arista.verticeDest)) {
-                return arista;
-            }
+        int k = posicionArista(verticeDest);
+        return k == -1 ? null : new Edge<>(this, destinos[k], pesos[k]);
+    }
+
+    /**
+     * Obtiene el peso de la arista entre este vertice y un vertice dado
+     *
+     * @param verticeDest Vertice destino de la arista
+     * @return El peso de la arista
+     * @throws GraphException Si no hay una arista entre los vertices
+     */
+    public double getEdgeWeight(ListVertex<T> verticeDest)
+            throws GraphException {
+        int k = posicionArista(verticeDest);
+        if (k == -1) {
+            throw new GraphException("Arista " + getEtiqueta() + " - "
+                    + verticeDest.getEtiqueta() + " no existe");
         }
-        return null;
+        return pesos[k];
+    }
+
+    /**
+     * Cambia el peso de la arista entre este vertice y un vertice dado
+     *
+     * @param verticeDest Vertice destino de la arista
+     * @param peso Nuevo peso de la arista
+     * @throws GraphException Si no hay una arista entre los vertices
+     */
+    public void setEdgeWeight(ListVertex<T> verticeDest, double peso)
+            throws GraphException {
+        int k = posicionArista(verticeDest);
+        if (k == -1) {
+            throw new GraphException("Arista " + getEtiqueta() + " - "
+                    + verticeDest.getEtiqueta() + " no existe");
+        }
+        pesos[k] = peso;
     }
 
     /**
@@ -238,7 +482,29 @@ public class ListVertex<T> extends Vertex<T> {
      * @return El numero de aristas salientes de este vertice
      */
     public int getNumberEdges() {
-        return aristas.size();
+        return nAristas;
+    }
+
+    /**
+     * Obtiene el numero de aristas que llegan a este vertice
+     *
+     * @return El numero de aristas que llegan a este vertice
+     */
+    public int getGradoEntrada() {
+        return gradoEntrada;
+    }
+
+    /**
+     * Invoca al visitante por cada arista saliente de este vertice, con la
+     * posicion del vertice destino en el diccionario de vertices y el peso de
+     * la arista
+     *
+     * @param visitante Visitante de las aristas
+     */
+    public void forEachNeighbor(INeighborVisitor visitante) {
+        for (int k = 0; k < nAristas; k++) {
+            visitante.visit(destinos[k].posicion, pesos[k]);
+        }
     }
 
     /**
@@ -266,7 +532,7 @@ public class ListVertex<T> extends Vertex<T> {
      * caso contrario
      */
     public boolean hasNeighbor() {
-        return !aristas.isEmpty();
+        return nAristas > 0;
     }
 
     /**
@@ -277,11 +543,9 @@ public class ListVertex<T> extends Vertex<T> {
      * existe, null en caso contrario
      */
     public ListVertex<T> getUnvisitedNeighbor() {
-        Iterator<ListVertex<T>> vecinos = getNeighborIterator();
-        while (vecinos.hasNext()) {
-            ListVertex<T> vecinoSiguiente = vecinos.next();
-            if (!vecinoSiguiente.isVisitado()) {
-                return vecinoSiguiente;
+        for (int k = 0; k < nAristas; k++) {
+            if (!destinos[k].isVisitado()) {
+                return destinos[k];
             }
         }
         return null;
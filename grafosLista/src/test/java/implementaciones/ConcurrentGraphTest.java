@@ -0,0 +1,195 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para ConcurrentGraph. Varios lectores consultan
+ * el grafo mientras un escritor lo modifica, y se verifica que las consultas
+ * solo vean estados validos.
+ */
+public class ConcurrentGraphTest {
+
+    private static final int VERTICES = 200;
+    private static final int LECTORES = 4;
+
+    /**
+     * Prueba que los lectores nunca vean un peso distinto del que tiene cada
+     * arista ni fallen en vertices que siempre existen, mientras el escritor
+     * agrega y quita aristas y vertices temporales.
+     *
+     * @throws Exception si algun hilo falla
+     */
+    @Test(timeout = 60000)
+    public void testLecturasConcurrentes() throws Exception {
+        ConcurrentGraph<Integer> grafo = new ConcurrentGraph<>(
+                new ListDiGraph<>());
+        for (int i = 0; i < VERTICES; i++) {
+            grafo.addVertex(i);
+        }
+        AtomicBoolean termina = new AtomicBoolean(false);
+        ExecutorService hilos = Executors.newFixedThreadPool(LECTORES + 1);
+        try {
+            List<Future<Long>> lectores = new ArrayList<>();
+            for (int l = 0; l < LECTORES; l++) {
+                long semilla = l;
+                lectores.add(hilos.submit(() -> lee(grafo, termina, semilla)));
+            }
+            Future<?> escritor = hilos.submit(() -> {
+                escribe(grafo);
+                termina.set(true);
+                return null;
+            });
+            escritor.get();
+            for (Future<Long> lector : lectores) {
+                assertTrue(lector.get() > 0);
+            }
+        } finally {
+            termina.set(true);
+            hilos.shutdownNow();
+            hilos.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        for (int i = 0; i < VERTICES; i++) {
+            assertTrue(grafo.hasVertex(i));
+        }
+        long permanentes = grafo.getVertices().stream()
+                .filter(v -> v >= 0).count();
+        assertEquals(VERTICES, permanentes);
+    }
+
+    /**
+     * Agrega y quita aristas entre vertices permanentes, siempre con el peso
+     * que les corresponde, y agrega y quita vertices temporales
+     */
+    private static void escribe(ConcurrentGraph<Integer> grafo) {
+        Random azar = new Random(253313);
+        for (int paso = 0; paso < 50000; paso++) {
+            int x = azar.nextInt(VERTICES);
+            int y = azar.nextInt(VERTICES);
+            if (x == y) {
+                int temporal = -1 - azar.nextInt(20);
+                if (grafo.hasVertex(temporal)) {
+                    grafo.removeVertex(temporal);
+                } else {
+                    grafo.addVertex(temporal);
+                    grafo.addEdge(temporal, x, peso(temporal, x));
+                }
+            } else if (grafo.hasEdge(x, y)) {
+                grafo.removeEdge(x, y);
+            } else {
+                grafo.addEdge(x, y, peso(x, y));
+            }
+        }
+    }
+
+    /**
+     * Consulta aristas al azar hasta que el escritor termina
+     *
+     * @return El numero de consultas hechas
+     */
+    private static long lee(ConcurrentGraph<Integer> grafo,
+            AtomicBoolean termina, long semilla) {
+        Random azar = new Random(semilla);
+        long consultas = 0;
+        while (!termina.get()) {
+            int x = azar.nextInt(VERTICES);
+            int y = azar.nextInt(VERTICES);
+            if (grafo.hasEdge(x, y)) {
+                try {
+                    assertEquals(peso(x, y), grafo.getEdgeWeight(x, y), 0.0);
+                } catch (GraphException e) {
+                    // El escritor quito la arista entre ambas consultas
+                }
+            }
+            assertTrue(grafo.hasVertex(x));
+            int aristas = grafo.getNumberEdges();
+            assertTrue(aristas >= 0);
+            consultas++;
+        }
+        return consultas;
+    }
+
+    private static double peso(int x, int y) {
+        return x * 1000 + y;
+    }
+
+    /**
+     * Prueba que una consulta sobre un vertice inexistente lance la excepcion
+     * del grafo envuelto.
+     */
+    @Test(expected = GraphException.class)
+    public void testHasEdge_verticeInexistente() {
+        ConcurrentGraph<String> grafo = new ConcurrentGraph<>(
+                new ListDiGraph<>());
+        grafo.addVertex("A");
+        grafo.hasEdge("A", "B");
+    }
+
+    /**
+     * Prueba que el envoltorio delegue las operaciones al grafo envuelto.
+     */
+    @Test
+    public void testDelegacion() {
+        ListNoDiGraph<String> base = new ListNoDiGraph<>();
+        ConcurrentGraph<String> grafo = new ConcurrentGraph<>(base);
+        grafo.addVertices(List.of("A", "B", "C"));
+        grafo.addEdge("A", "B", 2.0);
+        grafo.addEdge("B", "C");
+        grafo.setEdgeWeight("B", "C", 5.0);
+        assertEquals(2, grafo.getNumberEdges());
+        assertEquals(5.0, grafo.getEdgeWeight("C", "B"), 0.0);
+        assertEquals(base.toString(), grafo.toString());
+        grafo.removeVertex("B");
+        assertEquals(0, base.getNumberEdges());
+        grafo.clear();
+        assertTrue(grafo.empty());
+    }
+
+    /**
+     * Prueba que un error de la lectura optimista, como el que produce un
+     * grafo a medio modificar, no se propague si un escritor intervino, sino
+     * que la consulta se repita con el candado de lectura.
+     *
+     * @throws Exception si falla el hilo escritor
+     */
+    @Test
+    public void testLecturaOptimista_errorConEscritor() throws Exception {
+        AtomicBoolean primera = new AtomicBoolean(true);
+        AtomicReference<ConcurrentGraph<String>> envoltorio
+                = new AtomicReference<>();
+        ListDiGraph<String> base = new ListDiGraph<>() {
+            @Override
+            public boolean hasEdge(String x, String y) {
+                if (primera.getAndSet(false)) {
+                    // Un escritor entra a la mitad de la lectura optimista
+                    Thread escritor = new Thread(
+                            () -> envoltorio.get().addVertex("C"));
+                    escritor.start();
+                    try {
+                        escritor.join();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    throw new StackOverflowError();
+                }
+                return super.hasEdge(x, y);
+            }
+        };
+        base.addVertex("A");
+        base.addVertex("B");
+        base.addEdge("A", "B");
+        envoltorio.set(new ConcurrentGraph<>(base));
+        assertTrue(envoltorio.get().hasEdge("A", "B"));
+        assertTrue(envoltorio.get().hasVertex("C"));
+    }
+}
@@ -0,0 +1,284 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para ConcurrentListDiGraph. Las pruebas de estres
+ * modifican el grafo desde varios hilos y al final comparan el numero de
+ * aristas y los vecinos de cada vertice contra un modelo.
+ */
+public class ConcurrentListDiGraphTest {
+
+    private static final int HILOS = 4;
+    private static final int VERTICES = 400;
+
+    /**
+     * Ejecuta las tareas en hilos distintos que arrancan a la vez, y regresa
+     * sus resultados
+     */
+    private static <R> List<R> ejecuta(List<Callable<R>> tareas)
+            throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(tareas.size());
+        CyclicBarrier salida = new CyclicBarrier(tareas.size());
+        try {
+            List<Future<R>> futuros = new ArrayList<>();
+            for (Callable<R> tarea : tareas) {
+                futuros.add(hilos.submit(() -> {
+                    salida.await();
+                    return tarea.call();
+                }));
+            }
+            List<R> resultados = new ArrayList<>();
+            for (Future<R> futuro : futuros) {
+                resultados.add(futuro.get());
+            }
+            return resultados;
+        } finally {
+            hilos.shutdownNow();
+            hilos.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void verificaModelo(ConcurrentListDiGraph<Integer> grafo,
+            Map<Integer, Set<Integer>> modelo) {
+        int aristas = 0;
+        for (Map.Entry<Integer, Set<Integer>> renglon : modelo.entrySet()) {
+            Integer x = renglon.getKey();
+            assertEquals("Vecinos de " + x, renglon.getValue(),
+                    new HashSet<>(grafo.getVecinos(x)));
+            assertEquals(renglon.getValue().size(), grafo.getGradoSalida(x));
+            for (Integer y : renglon.getValue()) {
+                assertEquals(x * 1000.0 + y, grafo.getEdgeWeight(x, y), 0.0);
+            }
+            aristas += renglon.getValue().size();
+        }
+        assertEquals(aristas, grafo.getNumberEdges());
+    }
+
+    /**
+     * Prueba que, con inserciones y eliminaciones de aristas en paralelo, cada
+     * una desde los vertices origen de un hilo hacia cualquier destino, el
+     * grafo termine igual que el modelo de cada hilo.
+     *
+     * @throws Exception si algun hilo falla
+     */
+    @Test(timeout = 60000)
+    public void testEstres_aristas() throws Exception {
+        ConcurrentListDiGraph<Integer> grafo = new ConcurrentListDiGraph<>(8);
+        for (int v = 0; v < VERTICES; v++) {
+            grafo.addVertex(v);
+        }
+        List<Callable<Map<Integer, Set<Integer>>>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            int hilo = h;
+            tareas.add(() -> {
+                Random azar = new Random(hilo);
+                Map<Integer, Set<Integer>> modelo = new HashMap<>();
+                for (int x = hilo; x < VERTICES; x += HILOS) {
+                    modelo.put(x, new HashSet<>());
+                }
+                for (int paso = 0; paso < 40000; paso++) {
+                    int x = hilo + HILOS * azar.nextInt(VERTICES / HILOS);
+                    int y = azar.nextInt(VERTICES);
+                    if (x == y) {
+                        continue;
+                    }
+                    Set<Integer> vecinos = modelo.get(x);
+                    if (vecinos.contains(y)) {
+                        grafo.removeEdge(x, y);
+                        vecinos.remove(y);
+                    } else {
+                        grafo.addEdge(x, y, x * 1000.0 + y);
+                        vecinos.add(y);
+                    }
+                    assertEquals(vecinos.contains(y), grafo.hasEdge(x, y));
+                }
+                return modelo;
+            });
+        }
+        Map<Integer, Set<Integer>> modelo = new HashMap<>();
+        for (Map<Integer, Set<Integer>> parcial : ejecuta(tareas)) {
+            modelo.putAll(parcial);
+        }
+        verificaModelo(grafo, modelo);
+    }
+
+    /**
+     * Prueba que eliminar y volver a agregar vertices mientras otros hilos
+     * agregan aristas hacia ellos no deje aristas hacia vertices eliminados
+     * ni descuadre el numero de aristas.
+     *
+     * @throws Exception si algun hilo falla
+     */
+    @Test(timeout = 60000)
+    public void testEstres_eliminaVertices() throws Exception {
+        ConcurrentListDiGraph<Integer> grafo = new ConcurrentListDiGraph<>(8);
+        for (int v = 0; v < VERTICES; v++) {
+            grafo.addVertex(v);
+        }
+        // Los vertices 0 .. 19 se eliminan y se vuelven a agregar
+        int volatiles = 20;
+        List<Callable<Integer>> tareas = new ArrayList<>();
+        tareas.add(() -> {
+            Random azar = new Random(253313);
+            for (int paso = 0; paso < 3000; paso++) {
+                int v = azar.nextInt(volatiles);
+                grafo.removeVertex(v);
+                grafo.addVertex(v);
+            }
+            return 0;
+        });
+        for (int h = 1; h < HILOS; h++) {
+            int hilo = h;
+            tareas.add(() -> {
+                Random azar = new Random(hilo);
+                int fallidas = 0;
+                for (int paso = 0; paso < 30000; paso++) {
+                    int x = volatiles + azar.nextInt(VERTICES - volatiles);
+                    int y = azar.nextInt(volatiles);
+                    try {
+                        if (grafo.hasEdge(x, y)) {
+                            grafo.removeEdge(x, y);
+                        } else {
+                            grafo.addEdge(x, y, x * 1000.0 + y);
+                        }
+                    } catch (GraphException e) {
+                        // El vertice y se elimino entre las dos llamadas
+                        fallidas++;
+                    }
+                }
+                return fallidas;
+            });
+        }
+        ejecuta(tareas);
+
+        int aristas = 0;
+        for (Integer x : grafo.getVertices()) {
+            for (Integer y : grafo.getVecinos(x)) {
+                assertTrue(grafo.hasVertex(y));
+                assertTrue(grafo.hasEdge(x, y));
+            }
+            aristas += grafo.getGradoSalida(x);
+        }
+        assertEquals(VERTICES, grafo.getNumberVertices());
+        assertEquals(aristas, grafo.getNumberEdges());
+    }
+
+    /**
+     * Prueba las operaciones basicas con un solo hilo.
+     */
+    @Test
+    public void testOperacionesBasicas() {
+        ConcurrentListDiGraph<String> grafo = new ConcurrentListDiGraph<>();
+        grafo.addVertices(List.of("A", "B", "C"));
+        grafo.addEdge("A", "B", 2.0);
+        grafo.addEdge("A", "C");
+        grafo.addEdge("C", "A", 4.0);
+        assertEquals(3, grafo.getNumberEdges());
+        assertTrue(grafo.hasEdge("A", "B"));
+        assertFalse(grafo.hasEdge("B", "A"));
+        grafo.setEdgeWeight("A", "B", 7.0);
+        assertEquals(7.0, grafo.getEdgeWeight("A", "B"), 0.0);
+        assertEquals(List.of("B", "C"), grafo.getVecinos("A"));
+
+        grafo.removeVertex("A");
+        assertEquals(0, grafo.getNumberEdges());
+        assertEquals(0, grafo.getGradoSalida("C"));
+        grafo.addVertex("A");
+        assertFalse(grafo.hasEdge("C", "A"));
+
+        grafo.addEdge("B", "C");
+        grafo.clear();
+        assertTrue(grafo.empty());
+        assertEquals(0, grafo.getNumberEdges());
+    }
+
+    /**
+     * Las posiciones del buffer son las de getVertices, que debe conservar
+     * el orden en que se agregaron los vertices y no el del diccionario.
+     */
+    @Test
+    public void testAddEdges_ordenDeInsercion() {
+        ConcurrentListDiGraph<Integer> grafo = new ConcurrentListDiGraph<>();
+        List<Integer> etiquetas = List.of(100, 5, 7, 3, 64, 2, 41, 18);
+        grafo.addVertices(etiquetas);
+        assertEquals(etiquetas, grafo.getVertices());
+
+        EdgeBuffer buffer = new EdgeBuffer();
+        Random azar = new Random(253313);
+        Map<Integer, Set<Integer>> modelo = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            int x = azar.nextInt(etiquetas.size());
+            int y = azar.nextInt(etiquetas.size());
+            if (x != y) {
+                buffer.add(x, y, 10 * x + y);
+                modelo.computeIfAbsent(etiquetas.get(x),
+                        k -> new HashSet<>()).add(etiquetas.get(y));
+            }
+        }
+        int esperadas = 0;
+        for (Set<Integer> destinos : modelo.values()) {
+            esperadas += destinos.size();
+        }
+        assertEquals(esperadas, grafo.addEdges(buffer));
+        assertEquals(esperadas, grafo.getNumberEdges());
+        for (int x = 0; x < etiquetas.size(); x++) {
+            for (int y = 0; y < etiquetas.size(); y++) {
+                Integer etqX = etiquetas.get(x);
+                Integer etqY = etiquetas.get(y);
+                boolean existe = modelo.getOrDefault(etqX, Set.of())
+                        .contains(etqY);
+                assertEquals(etqX + " -> " + etqY, existe,
+                        grafo.hasEdge(etqX, etqY));
+                if (existe) {
+                    assertEquals(10 * x + y, grafo.getEdgeWeight(etqX, etqY),
+                            0.0);
+                }
+            }
+        }
+
+        // Un vertice que se vuelve a agregar queda al final
+        grafo.removeVertex(5);
+        grafo.addVertex(5);
+        assertEquals(List.of(100, 7, 3, 64, 2, 41, 18, 5),
+                grafo.getVertices());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testAddEdge_lazo() {
+        ConcurrentListDiGraph<String> grafo = new ConcurrentListDiGraph<>();
+        grafo.addVertex("A");
+        grafo.addEdge("A", "A");
+    }
+
+    @Test(expected = GraphException.class)
+    public void testAddEdge_repetida() {
+        ConcurrentListDiGraph<String> grafo = new ConcurrentListDiGraph<>();
+        grafo.addVertices(List.of("A", "B"));
+        grafo.addEdge("A", "B");
+        grafo.addEdge("A", "B");
+    }
+
+    @Test(expected = GraphException.class)
+    public void testAddVertex_repetido() {
+        ConcurrentListDiGraph<String> grafo = new ConcurrentListDiGraph<>();
+        grafo.addVertex("A");
+        grafo.addVertex("A");
+    }
+}
@@ -0,0 +1,100 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para CsrGraph, construido a partir de los grafos
+ * sobre listas de adyacencias.
+ */
+public class CsrGraphTest {
+
+    private ListDiGraph<String> dirigido;
+    private ListNoDiGraph<String> noDirigido;
+
+    /**
+     * Configuración inicial antes de cada prueba.
+     * Crea un grafo dirigido y uno no dirigido con los mismos vértices y aristas.
+     */
+    @Before
+    public void setUp() {
+        dirigido = new ListDiGraph<>();
+        noDirigido = new ListNoDiGraph<>();
+        for (String etiqueta : new String[]{"A", "B", "C", "D"}) {
+            dirigido.addVertex(etiqueta);
+            noDirigido.addVertex(etiqueta);
+        }
+        // Se agregan en desorden para probar que los renglones se ordenan
+        dirigido.addEdge("A", "D", 4.0);
+        dirigido.addEdge("A", "B", 1.0);
+        dirigido.addEdge("A", "C", 2.0);
+        dirigido.addEdge("C", "A", 3.0);
+        noDirigido.addEdge("A", "D", 4.0);
+        noDirigido.addEdge("A", "B", 1.0);
+        noDirigido.addEdge("B", "C", 2.0);
+    }
+
+    /**
+     * Prueba que el grafo congelado conserve vértices, aristas y pesos del grafo dirigido.
+     */
+    @Test
+    public void testFreeze_dirigido() {
+        CsrGraph<String> csr = dirigido.freeze();
+        assertEquals(4, csr.getNumberVertices());
+        assertEquals(4, csr.getNumberEdges());
+        assertTrue(csr.hasEdge("A", "D"));
+        assertFalse(csr.hasEdge("D", "A"));
+        assertEquals(3.0, csr.getEdgeWeight("C", "A"), 0.001);
+        assertEquals(dirigido.getVertices(), csr.getVertices());
+
+        int a = csr.indexOf("A");
+        assertEquals(3, csr.endEdge(a) - csr.firstEdge(a));
+        for (int e = csr.firstEdge(a) + 1; e < csr.endEdge(a); e++) {
+            assertTrue("Los destinos deberian estar ordenados",
+                    csr.getTarget(e - 1) < csr.getTarget(e));
+        }
+    }
+
+    /**
+     * Prueba que el grafo congelado no dirigido cuente cada arista una sola vez.
+     */
+    @Test
+    public void testFreeze_noDirigido() {
+        CsrGraph<String> csr = noDirigido.freeze();
+        assertEquals(3, csr.getNumberEdges());
+        assertTrue(csr.hasEdge("C", "B"));
+        assertEquals(4.0, csr.getEdgeWeight("D", "A"), 0.001);
+        assertFalse(csr.hasEdge("C", "D"));
+    }
+
+    /**
+     * Prueba que los métodos que modifican el grafo lancen excepción.
+     */
+    @Test(expected = GraphException.class)
+    public void testAddEdge_soloLectura() {
+        dirigido.freeze().addEdge("B", "D", 1.0);
+    }
+
+    /**
+     * Prueba que se lance excepción al consultar un vértice inexistente.
+     */
+    @Test(expected = GraphException.class)
+    public void testHasEdge_verticeNoExistente() {
+        dirigido.freeze().hasEdge("A", "X");
+    }
+
+    /**
+     * Prueba que thaw regrese un grafo modificable equivalente.
+     */
+    @Test
+    public void testThaw() {
+        ListNoDiGraph<String> copia = noDirigido.freeze().thaw(new ListNoDiGraph<>());
+        assertEquals(noDirigido.getNumberEdges(), copia.getNumberEdges());
+        assertEquals(2.0, copia.getEdgeWeight("C", "B"), 0.001);
+        copia.addEdge("C", "D", 5.0);
+        assertTrue(copia.hasEdge("D", "C"));
+        assertFalse(noDirigido.hasEdge("C", "D"));
+    }
+}
@@ -0,0 +1,155 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para Dijkstra e IndexedDHeap sobre los grafos de
+ * listas de adyacencias y su version CSR.
+ */
+public class DijkstraTest {
+
+    private ListDiGraph<String> grafo;
+
+    /**
+     * Configuración inicial antes de cada prueba. Crea un grafo dirigido en el
+     * que el camino directo A -> D es mas pesado que A -> B -> C -> D.
+     */
+    @Before
+    public void setUp() {
+        grafo = new ListDiGraph<>();
+        for (String etiqueta : new String[]{"A", "B", "C", "D", "E"}) {
+            grafo.addVertex(etiqueta);
+        }
+        grafo.addEdge("A", "D", 10.0);
+        grafo.addEdge("A", "B", 1.0);
+        grafo.addEdge("B", "C", 2.0);
+        grafo.addEdge("C", "D", 3.0);
+        grafo.addEdge("A", "C", 4.0);
+    }
+
+    /**
+     * Prueba el camino de menor peso entre dos vertices.
+     */
+    @Test
+    public void testShortestPath() {
+        Camino<String> camino = new Dijkstra<>(grafo).shortestPath("A", "D");
+        assertTrue(camino.existe());
+        assertEquals(Arrays.asList("A", "B", "C", "D"), camino.getVertices());
+        assertEquals(6.0, camino.getPeso(), 0.0);
+        assertEquals(3, camino.getNumberEdges());
+    }
+
+    /**
+     * Prueba que un vertice no alcanzable produzca un camino inexistente.
+     */
+    @Test
+    public void testShortestPath_inalcanzable() {
+        Camino<String> camino = new Dijkstra<>(grafo).shortestPath("D", "A");
+        assertFalse(camino.existe());
+        assertEquals(Double.POSITIVE_INFINITY, camino.getPeso(), 0.0);
+        assertEquals(Arrays.asList("E"),
+                new Dijkstra<>(grafo).shortestPath("E", "E").getVertices());
+    }
+
+    /**
+     * Prueba que una arista alcanzable con peso negativo lance excepcion.
+     */
+    @Test(expected = GraphException.class)
+    public void testShortestPath_pesoNegativo() {
+        grafo.addEdge("D", "E", -1.0);
+        new Dijkstra<>(grafo).computeFrom("A");
+    }
+
+    /**
+     * Prueba que el monticulo entregue los elementos en orden de prioridad
+     * aunque se reduzcan prioridades de elementos que ya estan en el.
+     */
+    @Test
+    public void testIndexedDHeap() {
+        Random azar = new Random(253313);
+        IndexedDHeap monticulo = new IndexedDHeap(500, 3);
+        double[] prioridades = new double[500];
+        for (int i = 0; i < 500; i++) {
+            prioridades[i] = azar.nextDouble();
+            monticulo.offer(i, prioridades[i]);
+        }
+        for (int i = 0; i < 500; i += 2) {
+            prioridades[i] /= 2;
+            assertTrue(monticulo.offer(i, prioridades[i]));
+            assertFalse(monticulo.offer(i, prioridades[i] + 1));
+        }
+        double anterior = -1;
+        while (!monticulo.isEmpty()) {
+            double prioridad = monticulo.peekPrioridad();
+            int elemento = monticulo.poll();
+            assertEquals(prioridades[elemento], prioridad, 0.0);
+            assertTrue(prioridad >= anterior);
+            assertFalse(monticulo.contains(elemento));
+            anterior = prioridad;
+        }
+    }
+
+    /**
+     * Compara las distancias de Dijkstra contra Bellman-Ford en grafos
+     * aleatorios, reutilizando la misma instancia para varias consultas y
+     * sobre el grafo de listas y su version CSR.
+     */
+    @Test
+    public void testDistancias_grafosAleatorios() {
+        Random azar = new Random(42);
+        for (int prueba = 0; prueba < 5; prueba++) {
+            int n = 60;
+            ListDiGraph<Integer> aleatorio = new ListDiGraph<>();
+            for (int i = 0; i < n; i++) {
+                aleatorio.addVertex(i);
+            }
+            for (int k = 0; k < 4 * n; k++) {
+                int x = azar.nextInt(n);
+                int y = azar.nextInt(n);
+                if (x != y && !aleatorio.hasEdge(x, y)) {
+                    aleatorio.addEdge(x, y, azar.nextInt(20));
+                }
+            }
+            Dijkstra<Integer> lista = new Dijkstra<>(aleatorio);
+            Dijkstra<Integer> csr = new Dijkstra<>(aleatorio.freeze());
+            for (int origen = 0; origen < n; origen += 7) {
+                double[] esperadas = bellmanFord(aleatorio, n, origen);
+                lista.computeFrom(origen);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(esperadas[v], lista.getDistancia(v), 0.0);
+                    Camino<Integer> camino = csr.shortestPath(origen, v);
+                    assertEquals(esperadas[v], camino.getPeso(), 0.0);
+                    if (camino.existe()) {
+                        assertEquals(Integer.valueOf(origen),
+                                camino.getVertices().get(0));
+                        assertEquals(Integer.valueOf(v), camino.getVertices()
+                                .get(camino.getNumberEdges()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static double[] bellmanFord(ListDiGraph<Integer> grafo, int n,
+            int origen) {
+        double[] distancias = new double[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        distancias[origen] = 0;
+        for (int ronda = 0; ronda < n; ronda++) {
+            for (int x = 0; x < n; x++) {
+                for (int y = 0; y < n; y++) {
+                    if (grafo.hasEdge(x, y)) {
+                        distancias[y] = Math.min(distancias[y],
+                                distancias[x] + grafo.getEdgeWeight(x, y));
+                    }
+                }
+            }
+        }
+        return distancias;
+    }
+}
@@ -0,0 +1,146 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para EdgeListLoader. Usa un buffer y un lote
+ * pequenos para que las lineas crucen el limite del buffer y haya varios
+ * lotes por carga.
+ */
+public class EdgeListLoaderTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private Path escribe(String contenido) throws IOException {
+        Path archivo = carpeta.newFile().toPath();
+        Files.write(archivo, contenido.getBytes(StandardCharsets.US_ASCII));
+        return archivo;
+    }
+
+    @Test
+    public void testLoad_formatos() throws IOException {
+        Path archivo = escribe("# comentario\n"
+                + "10 20 1.5\r\n"
+                + "\n"
+                + "20,30,2\n"
+                + "% otro comentario\n"
+                + "30\t10\t-0.25e1\n"
+                + "10;30\n"
+                + "  30  40  1e-3  \n"
+                + "40 10 0.1234567890123456789");
+        ListDiGraph<Integer> grafo = new ListDiGraph<>();
+        LoadReport reporte = new EdgeListLoader(32, 2).load(archivo, grafo);
+
+        assertEquals(9, reporte.getLineas());
+        assertEquals(6, reporte.getAristas());
+        assertEquals(4, reporte.getVertices());
+        assertEquals(Arrays.asList(10, 20, 30, 40), grafo.getVertices());
+        assertEquals(6, grafo.getNumberEdges());
+        assertEquals(1.5, grafo.getEdgeWeight(10, 20), 0.0);
+        assertEquals(2.0, grafo.getEdgeWeight(20, 30), 0.0);
+        assertEquals(-2.5, grafo.getEdgeWeight(30, 10), 0.0);
+        assertEquals(0.0, grafo.getEdgeWeight(10, 30), 0.0);
+        assertEquals(1e-3, grafo.getEdgeWeight(30, 40), 0.0);
+        assertEquals(0.1234567890123456789, grafo.getEdgeWeight(40, 10), 0.0);
+    }
+
+    @Test
+    public void testLoad_aleatorio() throws IOException {
+        Random azar = new Random(253313);
+        StringBuilder s = new StringBuilder();
+        ListNoDiGraph<Integer> esperado = new ListNoDiGraph<>();
+        int lazos = 0;
+        for (int i = 0; i < 3000; i++) {
+            int x = azar.nextInt(500) * 7 - 1000;
+            int y = azar.nextInt(500) * 7 - 1000;
+            double peso = azar.nextInt(100000) / 100.0;
+            s.append(x).append(' ').append(y).append(' ').append(peso)
+                    .append('\n');
+            if (!esperado.hasVertex(x)) {
+                esperado.addVertex(x);
+            }
+            if (!esperado.hasVertex(y)) {
+                esperado.addVertex(y);
+            }
+            if (x == y) {
+                lazos++;
+            } else if (!esperado.hasEdge(x, y)) {
+                esperado.addEdge(x, y, peso);
+            }
+        }
+        EdgeListLoader cargador = new EdgeListLoader(64, 100);
+        cargador.setDescartaLazos(true);
+        ListNoDiGraph<Integer> grafo = new ListNoDiGraph<>();
+        LoadReport reporte = cargador.load(escribe(s.toString()), grafo);
+
+        assertEquals(3000 - lazos, reporte.getAristas());
+        GraphAsserts.assertMismoGrafo(esperado, grafo);
+    }
+
+    /**
+     * Un vertice que solo aparece en un lazo descartado debe agregarse en el
+     * orden en que aparece, sin contar el lazo como arista
+     */
+    @Test
+    public void testLoad_verticeSoloEnLazo() throws IOException {
+        EdgeListLoader cargador = new EdgeListLoader(16, 1);
+        cargador.setDescartaLazos(true);
+        ListDiGraph<Integer> grafo = new ListDiGraph<>();
+        LoadReport reporte = cargador.load(escribe("1 2\n5 5\n3 1\n5 5\n"),
+                grafo);
+
+        assertEquals(Arrays.asList(1, 2, 5, 3), grafo.getVertices());
+        assertEquals(2, reporte.getAristas());
+        assertEquals(4, reporte.getVertices());
+        assertEquals(2, grafo.getNumberEdges());
+        assertTrue(grafo.hasEdge(1, 2));
+        assertTrue(grafo.hasEdge(3, 1));
+        assertEquals(0, grafo.getGradoSalida(5));
+    }
+
+    @Test
+    public void testLoad_reutilizable() throws IOException {
+        EdgeListLoader cargador = new EdgeListLoader();
+        Path archivo = escribe("1 2\n2 3\n");
+        cargador.load(archivo, new ListDiGraph<>());
+        ListDiGraph<Integer> grafo = new ListDiGraph<>();
+        LoadReport reporte = cargador.load(archivo, grafo);
+        assertEquals(2, reporte.getAristas());
+        assertEquals(Arrays.asList(1, 2, 3), grafo.getVertices());
+        assertTrue(grafo.hasEdge(2, 3));
+    }
+
+    @Test(expected = GraphException.class)
+    public void testLoad_formatoInvalido() throws IOException {
+        new EdgeListLoader().load(escribe("1 2\n1 x\n"), new ListDiGraph<>());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testLoad_lazoEnGrafoDeListas() throws IOException {
+        new EdgeListLoader().load(escribe("1 1\n"), new ListDiGraph<>());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testLoad_lineaDemasiadoLarga() throws IOException {
+        new EdgeListLoader(8, 10).load(escribe("123456 654321\n"),
+                new ListDiGraph<>());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testLoad_grafoNoVacio() throws IOException {
+        ListDiGraph<Integer> grafo = new ListDiGraph<>();
+        grafo.addVertex(1);
+        new EdgeListLoader().load(escribe("1 2\n"), grafo);
+    }
+}
@@ -0,0 +1,159 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para FloydWarshall. Las distancias se comparan
+ * contra las del triple ciclo sin bloques, con bloques pequenos para que el
+ * numero de vertices no sea multiplo del lado de bloque, y los caminos se
+ * verifican contra los pesos de sus aristas.
+ */
+public class FloydWarshallTest {
+
+    /**
+     * Construye un grafo dirigido al azar con pesos que pueden ser negativos
+     * pero sin ciclos negativos: cada peso es un numero no negativo mas la
+     * diferencia de los potenciales de sus extremos
+     */
+    private static ListDiGraph<Integer> grafoAlAzar(int n, int aristas,
+            long semilla) {
+        Random azar = new Random(semilla);
+        int[] potencial = azar.ints(n, 0, 50).toArray();
+        return GraphAsserts.grafoAlAzar(new ListDiGraph<>(), n, aristas, azar,
+                (x, y) -> true,
+                (x, y) -> azar.nextInt(100) + potencial[x] - potencial[y]);
+    }
+
+    /**
+     * Calcula las distancias con el triple ciclo de Floyd-Warshall
+     */
+    private static double[][] distanciasIngenuas(ListDiGraph<Integer> grafo) {
+        int n = grafo.getNumberVertices();
+        double[][] d = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(d[i], Double.POSITIVE_INFINITY);
+            d[i][i] = 0.0;
+            final int x = i;
+            grafo.forEachNeighbor(i, (y, peso) -> d[x][y] = peso);
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    d[i][j] = Math.min(d[i][j], d[i][k] + d[k][j]);
+                }
+            }
+        }
+        return d;
+    }
+
+    private static void verifica(ListDiGraph<Integer> grafo,
+            FloydWarshall<Integer> fw, double[][] esperadas) {
+        int n = grafo.getNumberVertices();
+        assertFalse(fw.hasNegativeCycle());
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals(esperadas[i][j], fw.getDistancia(i, j), 0.0);
+                Camino<Integer> camino = fw.getPath(i, j);
+                if (esperadas[i][j] == Double.POSITIVE_INFINITY) {
+                    assertFalse(camino.existe());
+                    assertEquals(-1, fw.getSiguiente(i, j));
+                    continue;
+                }
+                List<Integer> vertices = camino.getVertices();
+                assertEquals(Integer.valueOf(i), vertices.get(0));
+                assertEquals(Integer.valueOf(j),
+                        vertices.get(vertices.size() - 1));
+                double suma = 0.0;
+                for (int k = 1; k < vertices.size(); k++) {
+                    suma += grafo.getEdgeWeight(vertices.get(k - 1),
+                            vertices.get(k));
+                }
+                assertEquals(esperadas[i][j], suma, 1e-9);
+                assertEquals(esperadas[i][j], camino.getPeso(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testBloquesPequenos() {
+        ListDiGraph<Integer> grafo = grafoAlAzar(53, 400, 253313);
+        double[][] esperadas = distanciasIngenuas(grafo);
+        verifica(grafo, new FloydWarshall<>(grafo, null, 0, 1, 8,
+                MatrixKernels.ESCALAR), esperadas);
+        verifica(grafo, new FloydWarshall<>(grafo, null, 0, 4, 8,
+                MatrixKernels.INSTANCIA), esperadas);
+    }
+
+    @Test
+    public void testBloquesCompletos() {
+        ListDiGraph<Integer> grafo = grafoAlAzar(150, 3000, 97);
+        double[][] esperadas = distanciasIngenuas(grafo);
+        verifica(grafo, new FloydWarshall<>(grafo, 1), esperadas);
+        verifica(grafo, new FloydWarshall<>(grafo, 3), esperadas);
+        verifica(grafo, new FloydWarshall<>(grafo.freeze(), 2), esperadas);
+    }
+
+    @Test
+    public void testCicloNegativo() {
+        ListDiGraph<String> grafo = new ListDiGraph<>();
+        for (String v : new String[]{"A", "B", "C", "D", "E"}) {
+            grafo.addVertex(v);
+        }
+        grafo.addEdge("A", "B", 1.0);
+        grafo.addEdge("B", "C", -3.0);
+        grafo.addEdge("C", "B", 1.0);
+        grafo.addEdge("D", "E", 2.0);
+        FloydWarshall<String> fw = new FloydWarshall<>(grafo, 1);
+        assertTrue(fw.hasNegativeCycle());
+        assertEquals(2.0, fw.getDistancia("D", "E"), 0.0);
+        assertEquals(1, fw.getPath("D", "E").getNumberEdges());
+        try {
+            fw.getPath("A", "C");
+            fail("El camino de A a C pasa por un ciclo negativo");
+        } catch (GraphException e) {
+            // Esperada
+        }
+        assertFalse(fw.getPath("E", "A").existe());
+    }
+
+    /**
+     * Los resultados deben responder con los vertices que tenia el grafo al
+     * calcularlos, aunque despues se eliminen o se agreguen vertices
+     */
+    @Test
+    public void testGrafoModificadoDespues() {
+        ListDiGraph<String> grafo = new ListDiGraph<>();
+        for (String v : new String[]{"A", "B", "C"}) {
+            grafo.addVertex(v);
+        }
+        grafo.addEdge("A", "B", 1.0);
+        grafo.addEdge("B", "C", 5.0);
+        FloydWarshall<String> fw = new FloydWarshall<>(grafo, 1);
+        grafo.removeVertex("A");
+        grafo.addVertex("D");
+        grafo.addEdge("D", "C", 1.0);
+
+        assertEquals(5.0, fw.getDistancia("B", "C"), 0.0);
+        assertEquals(6.0, fw.getDistancia("A", "C"), 0.0);
+        assertEquals(List.of("A", "B", "C"), fw.getPath("A", "C")
+                .getVertices());
+        try {
+            fw.getDistancia("D", "C");
+            fail("D no estaba en el grafo al calcular los caminos");
+        } catch (GraphException e) {
+            // Esperada
+        }
+    }
+
+    @Test(expected = GraphException.class)
+    public void testVerticeInexistente() {
+        ListDiGraph<String> grafo = new ListDiGraph<>();
+        grafo.addVertex("A");
+        new FloydWarshall<>(grafo, 1).getDistancia("A", "Z");
+    }
+}
@@ -0,0 +1,192 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para las versiones inmutables de ListDiGraph y
+ * para PersistentMap. Cada version se compara contra una copia CSR tomada en
+ * el mismo momento, despues de seguir modificando el grafo.
+ */
+public class GraphSnapshotTest {
+
+    private static final int VERTICES = 60;
+
+    /**
+     * Verifica que la version tenga los mismos vertices, aristas y pesos que
+     * la copia CSR
+     */
+    private static void verificaIguales(CsrGraph<Integer> esperado,
+            GraphSnapshot<Integer> version) {
+        assertEquals(esperado.getNumberVertices(), version.getNumberVertices());
+        assertEquals(new HashSet<>(esperado.getVertices()),
+                new HashSet<>(version.getVertices()));
+        GraphAsserts.assertMismasAristas(esperado, version);
+    }
+
+    /**
+     * Aplica una modificacion al azar al grafo
+     */
+    private static void modifica(ListDiGraph<Integer> grafo, Random azar) {
+        int x = azar.nextInt(VERTICES);
+        int y = azar.nextInt(VERTICES);
+        int operacion = azar.nextInt(20);
+        if (operacion == 0) {
+            if (grafo.hasVertex(x)) {
+                grafo.removeVertex(x);
+            } else {
+                grafo.addVertex(x);
+            }
+        } else if (!grafo.hasVertex(x) || !grafo.hasVertex(y) || x == y) {
+            return;
+        } else if (!grafo.hasEdge(x, y)) {
+            grafo.addEdge(x, y, azar.nextInt(100));
+        } else if (operacion < 10) {
+            grafo.removeEdge(x, y);
+        } else {
+            grafo.setEdgeWeight(x, y, azar.nextInt(100));
+        }
+    }
+
+    /**
+     * Prueba que cada version conserve el estado del grafo en el momento en
+     * que se obtuvo, con modificaciones al azar entre versiones.
+     */
+    @Test
+    public void testVersiones_azar() {
+        Random azar = new Random(253313);
+        ListDiGraph<Integer> grafo = new ListDiGraph<>();
+        for (int v = 0; v < VERTICES; v++) {
+            grafo.addVertex(v);
+        }
+        List<CsrGraph<Integer>> copias = new ArrayList<>();
+        List<GraphSnapshot<Integer>> versiones = new ArrayList<>();
+        for (int ronda = 0; ronda < 20; ronda++) {
+            for (int paso = 0; paso < 200; paso++) {
+                modifica(grafo, azar);
+            }
+            copias.add(grafo.freeze());
+            versiones.add(grafo.snapshot());
+        }
+        for (int i = 0; i < copias.size(); i++) {
+            verificaIguales(copias.get(i), versiones.get(i));
+        }
+        // La version mas reciente coincide tambien en sus recorridos
+        GraphSnapshot<Integer> ultima = versiones.get(versiones.size() - 1);
+        Integer origen = ultima.getVertices().getFirst();
+        assertEquals(recorrido(grafo, origen), recorrido(ultima, origen));
+    }
+
+    private static HashSet<Integer> recorrido(
+            IIndexedGraph<Integer> grafo, Integer origen) {
+        HashSet<Integer> alcanzados = new HashSet<>();
+        GraphTraversal.bfsIterator(grafo, origen)
+                .forEachRemaining(alcanzados::add);
+        return alcanzados;
+    }
+
+    /**
+     * Prueba que un recorrido sobre una version desde otro hilo no vea las
+     * modificaciones que se hacen al grafo mientras tanto.
+     *
+     * @throws Exception si el hilo lector falla
+     */
+    @Test(timeout = 60000)
+    public void testVersiones_lectorConcurrente() throws Exception {
+        ListDiGraph<Integer> grafo = new ListDiGraph<>();
+        for (int v = 0; v < VERTICES; v++) {
+            grafo.addVertex(v);
+        }
+        for (int v = 0; v + 1 < VERTICES; v++) {
+            grafo.addEdge(v, v + 1, v);
+        }
+        GraphSnapshot<Integer> version = grafo.snapshot();
+        CsrGraph<Integer> copia = grafo.freeze();
+        ExecutorService hilo = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> lector = hilo.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    verificaIguales(copia, version);
+                }
+            });
+            Random azar = new Random(7);
+            while (!lector.isDone()) {
+                modifica(grafo, azar);
+            }
+            lector.get();
+        } finally {
+            hilo.shutdownNow();
+            hilo.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Prueba que las versiones no puedan modificarse.
+     */
+    @Test(expected = GraphException.class)
+    public void testVersion_soloLectura() {
+        ListDiGraph<String> grafo = new ListDiGraph<>();
+        grafo.addVertex("A");
+        grafo.snapshot().addVertex("B");
+    }
+
+    /**
+     * Prueba el diccionario persistente con llaves cuya dispersion coincide,
+     * verificando que las versiones anteriores no cambien.
+     */
+    @Test
+    public void testPersistentMap_colisiones() {
+        // "Aa" y "BB" tienen el mismo hashCode
+        PersistentMap<String, Integer> vacio = PersistentMap.empty();
+        PersistentMap<String, Integer> uno = vacio.put("Aa", 1);
+        PersistentMap<String, Integer> dos = uno.put("BB", 2);
+        PersistentMap<String, Integer> tres = dos.put("Aa", 3);
+        assertEquals(0, vacio.size());
+        assertEquals(Integer.valueOf(1), uno.get("Aa"));
+        assertNull(uno.get("BB"));
+        assertEquals(2, tres.size());
+        assertEquals(Integer.valueOf(3), tres.get("Aa"));
+        assertEquals(Integer.valueOf(1), dos.get("Aa"));
+        PersistentMap<String, Integer> sinAa = tres.remove("Aa");
+        assertEquals(1, sinAa.size());
+        assertEquals(Integer.valueOf(2), sinAa.get("BB"));
+        assertSame(sinAa, sinAa.remove("Aa"));
+        assertTrue(sinAa.remove("BB").isEmpty());
+    }
+
+    /**
+     * Prueba el diccionario persistente contra un HashMap con muchas llaves.
+     */
+    @Test
+    public void testPersistentMap_azar() {
+        Random azar = new Random(99);
+        HashMap<Integer, Integer> modelo = new HashMap<>();
+        PersistentMap<Integer, Integer> mapa = PersistentMap.empty();
+        for (int paso = 0; paso < 100000; paso++) {
+            int llave = azar.nextInt(5000);
+            if (azar.nextInt(3) == 0) {
+                modelo.remove(llave);
+                mapa = mapa.remove(llave);
+            } else {
+                modelo.put(llave, paso);
+                mapa = mapa.put(llave, paso);
+            }
+        }
+        assertEquals(modelo.size(), mapa.size());
+        HashMap<Integer, Integer> contenido
+                = new HashMap<>();
+        mapa.forEach(contenido::put);
+        assertEquals(modelo, contenido);
+    }
+}
@@ -0,0 +1,129 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para los recorridos en amplitud y en profundidad
+ * de GraphTraversal sobre los grafos de listas de adyacencias y su version CSR.
+ */
+public class GraphTraversalTest {
+
+    private ListDiGraph<String> dirigido;
+    private ListNoDiGraph<String> noDirigido;
+
+    /**
+     * Configuración inicial antes de cada prueba. Crea un grafo dirigido
+     * A -> B, A -> C, B -> D, C -> D, D -> E con F aislado, y un grafo no
+     * dirigido con las mismas aristas.
+     */
+    @Before
+    public void setUp() {
+        dirigido = new ListDiGraph<>();
+        noDirigido = new ListNoDiGraph<>();
+        for (String etiqueta : new String[]{"A", "B", "C", "D", "E", "F"}) {
+            dirigido.addVertex(etiqueta);
+            noDirigido.addVertex(etiqueta);
+        }
+        String[][] aristas = {{"A", "B"}, {"A", "C"}, {"B", "D"}, {"C", "D"},
+        {"D", "E"}};
+        for (String[] arista : aristas) {
+            dirigido.addEdge(arista[0], arista[1]);
+            noDirigido.addEdge(arista[0], arista[1]);
+        }
+    }
+
+    private static List<String> recorre(Iterator<String> iterador) {
+        List<String> orden = new ArrayList<>();
+        while (iterador.hasNext()) {
+            orden.add(iterador.next());
+        }
+        return orden;
+    }
+
+    /**
+     * Prueba el orden y los predecesores de un recorrido en amplitud.
+     */
+    @Test
+    public void testBfs_dirigido() {
+        List<String> orden = new ArrayList<>();
+        Map<String, String> predecesores = new HashMap<>();
+        GraphTraversal.bfs(dirigido, "A", (vertice, predecesor) -> {
+            orden.add(vertice);
+            predecesores.put(vertice, predecesor);
+        });
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), orden);
+        assertNull(predecesores.get("A"));
+        assertEquals("A", predecesores.get("C"));
+        assertEquals("B", predecesores.get("D"));
+        assertEquals("D", predecesores.get("E"));
+        assertEquals(orden,
+                recorre(GraphTraversal.bfsIterator(dirigido, "A")));
+    }
+
+    /**
+     * Prueba el orden y los predecesores de un recorrido en profundidad.
+     */
+    @Test
+    public void testDfs_dirigido() {
+        List<String> orden = new ArrayList<>();
+        Map<String, String> predecesores = new HashMap<>();
+        GraphTraversal.dfs(dirigido, "A", (vertice, predecesor) -> {
+            orden.add(vertice);
+            predecesores.put(vertice, predecesor);
+        });
+        assertEquals(Arrays.asList("A", "B", "D", "E", "C"), orden);
+        assertEquals("B", predecesores.get("D"));
+        assertEquals("A", predecesores.get("C"));
+        assertEquals(orden,
+                recorre(GraphTraversal.dfsIterator(dirigido, "A")));
+    }
+
+    /**
+     * Prueba que en un grafo no dirigido se alcancen los vertices por aristas
+     * en ambas direcciones, pero no los vertices aislados.
+     */
+    @Test
+    public void testRecorridos_noDirigido() {
+        assertEquals(Arrays.asList("E", "D", "B", "C", "A"),
+                recorre(GraphTraversal.bfsIterator(noDirigido, "E")));
+        assertEquals(Arrays.asList("E", "D", "B", "A", "C"),
+                recorre(GraphTraversal.dfsIterator(noDirigido, "E")));
+        assertEquals(Arrays.asList("F"),
+                recorre(GraphTraversal.bfsIterator(noDirigido, "F")));
+    }
+
+    /**
+     * Prueba que el grafo CSR recorra los mismos vertices en el mismo orden,
+     * y que las posiciones sigan siendo correctas despues de eliminar un
+     * vertice.
+     */
+    @Test
+    public void testRecorridos_csrYEliminacion() {
+        CsrGraph<String> csr = dirigido.freeze();
+        assertEquals(recorre(GraphTraversal.bfsIterator(dirigido, "A")),
+                recorre(GraphTraversal.bfsIterator(csr, "A")));
+        assertEquals(recorre(GraphTraversal.dfsIterator(dirigido, "A")),
+                recorre(GraphTraversal.dfsIterator(csr, "A")));
+
+        dirigido.removeVertex("B");
+        assertEquals(Arrays.asList("A", "C", "D", "E"),
+                recorre(GraphTraversal.bfsIterator(dirigido, "A")));
+    }
+
+    /**
+     * Prueba que un recorrido desde un vertice inexistente lance excepcion.
+     */
+    @Test(expected = GraphException.class)
+    public void testBfs_origenInexistente() {
+        GraphTraversal.bfsIterator(dirigido, "Z");
+    }
+}
@@ -0,0 +1,128 @@
+package implementaciones;
+
+import interfaces.EdgeBuffer;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para GraphWriter: el formato de cada escritura y
+ * que la lista de aristas se pueda volver a cargar con EdgeListLoader.
+ */
+public class GraphWriterTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private static ListDiGraph<String> dirigido() {
+        ListDiGraph<String> grafo = new ListDiGraph<>();
+        grafo.addVertices(Arrays.asList("A", "B", "C"));
+        grafo.addEdge("A", "B", 1.5);
+        grafo.addEdge("A", "C", 2.0);
+        grafo.addEdge("C", "A", -1.0);
+        return grafo;
+    }
+
+    @Test
+    public void testListasDeAdyacencias() {
+        ListDiGraph<String> grafo = dirigido();
+        String esperado = "A: [(B, 1.5), (C, 2.0)]\n"
+                + "B: []\n"
+                + "C: [(A, -1.0)]\n";
+        assertEquals(esperado, grafo.toString());
+        assertEquals(esperado, grafo.freeze().toString());
+    }
+
+    @Test
+    public void testMatriz() {
+        assertEquals(" A B C\n"
+                + "A | ---, 1.5, 2.0 |\n"
+                + "B | ---, ---, --- |\n"
+                + "C | -1.0, ---, --- |\n",
+                GraphWriter.matrixString(dirigido()));
+    }
+
+    @Test
+    public void testDot() throws IOException {
+        StringBuilder s = new StringBuilder();
+        GraphWriter.writeDot(dirigido(), true, s);
+        assertEquals("digraph {\n"
+                + "  \"A\";\n  \"B\";\n  \"C\";\n"
+                + "  \"A\" -> \"B\" [label=\"1.5\"];\n"
+                + "  \"A\" -> \"C\" [label=\"2.0\"];\n"
+                + "  \"C\" -> \"A\" [label=\"-1.0\"];\n"
+                + "}\n", s.toString());
+
+        ListNoDiGraph<String> noDirigido = new ListNoDiGraph<>();
+        noDirigido.addVertices(Arrays.asList("x\"y", "z"));
+        noDirigido.addEdge("x\"y", "z", 3.0);
+        s.setLength(0);
+        GraphWriter.writeDot(noDirigido, false, s);
+        assertEquals("graph {\n"
+                + "  \"x\\\"y\";\n  \"z\";\n"
+                + "  \"x\\\"y\" -- \"z\" [label=\"3.0\"];\n"
+                + "}\n", s.toString());
+    }
+
+    /**
+     * Prueba que la lista de aristas escrita en un archivo se cargue de nuevo
+     * en un grafo igual.
+     *
+     * @throws IOException si falla el archivo temporal
+     */
+    @Test
+    public void testListaDeAristas_idaYVuelta() throws IOException {
+        ListNoDiGraph<Integer> grafo = new ListNoDiGraph<>();
+        Random azar = new Random(253313);
+        for (int v = 0; v < 300; v++) {
+            grafo.addVertex(v);
+        }
+        for (int i = 0; i < 2000; i++) {
+            int x = azar.nextInt(300);
+            int y = azar.nextInt(300);
+            if (x != y && !grafo.hasEdge(x, y)) {
+                grafo.addEdge(x, y, azar.nextInt(1000) / 8.0);
+            }
+        }
+        Path archivo = carpeta.newFile().toPath();
+        try (Writer escritor = Files.newBufferedWriter(archivo,
+                StandardCharsets.US_ASCII)) {
+            GraphWriter.writeEdgeList(grafo, false, escritor);
+        }
+        assertEquals(grafo.getNumberEdges(), Files.readAllLines(archivo).size());
+
+        ListNoDiGraph<Integer> cargado = new ListNoDiGraph<>();
+        new EdgeListLoader().load(archivo, cargado);
+        GraphAsserts.assertMismasAristas(grafo, cargado);
+    }
+
+    /**
+     * Prueba que escribir un grafo grande tome tiempo lineal: con la
+     * concatenacion de cadenas anterior esta prueba tardaba minutos.
+     */
+    @Test(timeout = 20000)
+    public void testGrafoGrande() {
+        ListDiGraph<Integer> grafo = new ListDiGraph<>();
+        int n = 100000;
+        for (int v = 0; v < n; v++) {
+            grafo.addVertex(v);
+        }
+        EdgeBuffer aristas = new EdgeBuffer();
+        for (int v = 0; v < n; v++) {
+            aristas.add(v, (v + 1) % n, 1.0);
+            aristas.add(v, (v + 7) % n, 2.0);
+        }
+        grafo.addEdges(aristas);
+        String texto = grafo.toString();
+        assertTrue(texto.startsWith("0: [(1, 1.0), (7, 2.0)]\n"));
+        assertEquals(n, texto.chars().filter(c -> c == '\n').count());
+    }
+}
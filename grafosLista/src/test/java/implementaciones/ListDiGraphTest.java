@@ -1,10 +1,20 @@
 package implementaciones;
 
 import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
-import java.util.LinkedList;
 
 /**
  * Clase de pruebas unitarias para ListDiGraph que implementa un grafo dirigido.
@@ -133,4 +143,235 @@ public class ListDiGraphTest {
         grafo.removeEdge("A", "B");
         assertFalse(grafo.hasEdge("A", "B"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Prueba que el número de aristas y los grados de los vértices, que se
+     * mantienen al modificar el grafo, coincidan con un conteo directo después
+     * de cada operación de una secuencia aleatoria.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testContadores_mutacionesAleatorias() throws GraphException {
+        ListDiGraph<Integer> grafo = new ListDiGraph<>();
+        GraphAsserts.verificaMutacionesAleatorias(grafo, true, false,
+                grafo::getGradoSalida, grafo::getGradoEntrada);
+    }
+
+    /**
+     * Prueba la carga en bloque de vertices y aristas: las aristas repetidas
+     * en el buffer y las que el grafo ya tiene se descartan, y los contadores
+     * quedan consistentes.
+     */
+    @Test
+    public void testCargaEnBloque() {
+        ListDiGraph<String> grafo = new ListDiGraph<>();
+        grafo.addVertices(Arrays.asList("A", "B", "C", "D"));
+        grafo.addEdge("A", "B", 7.0);
+        EdgeBuffer aristas = new EdgeBuffer();
+        aristas.add(0, 1, 1.0); // A -> B ya existe
+        aristas.add(0, 2, 2.0);
+        aristas.add(0, 2, 3.0); // repetida, se conserva la primera
+        aristas.add(2, 0, 4.0);
+        aristas.add(3, 1, 5.0);
+
+        assertEquals(3, grafo.addEdges(aristas));
+        assertEquals(4, grafo.getNumberEdges());
+        assertEquals(7.0, grafo.getEdgeWeight("A", "B"), 0.0);
+        assertEquals(2.0, grafo.getEdgeWeight("A", "C"), 0.0);
+        assertEquals(4.0, grafo.getEdgeWeight("C", "A"), 0.0);
+        assertEquals(2, grafo.getGradoEntrada("B"));
+        assertEquals(0, grafo.addEdges(aristas));
+    }
+
+    /**
+     * Prueba que un buffer o una coleccion de vertices invalidos no
+     * modifiquen el grafo.
+     */
+    @Test
+    public void testCargaEnBloque_invalida() {
+        ListDiGraph<String> grafo = new ListDiGraph<>();
+        grafo.addVertices(Arrays.asList("A", "B"));
+        EdgeBuffer aristas = new EdgeBuffer();
+        aristas.add(0, 1);
+        aristas.add(1, 1);
+        try {
+            grafo.addEdges(aristas);
+            fail("Se esperaba GraphException por el lazo");
+        } catch (GraphException e) {
+            assertEquals(0, grafo.getNumberEdges());
+        }
+        try {
+            grafo.addVertices(Arrays.asList("C", "A"));
+            fail("Se esperaba GraphException por el vertice repetido");
+        } catch (GraphException e) {
+            assertFalse(grafo.hasVertex("C"));
+        }
+    }
+
+    /**
+     * Prueba que el cursor de vecinos del grafo y el de su copia CSR
+     * entreguen las mismas aristas que forEachNeighbor, reutilizando el
+     * cursor entre vertices.
+     */
+    @Test
+    public void testCursorVecinos() {
+        for (String v : new String[]{"A", "B", "C", "D"}) {
+            grafo.addVertex(v);
+        }
+        grafo.addEdge("A", "B", 1.0);
+        grafo.addEdge("A", "C", 2.0);
+        grafo.addEdge("A", "D", 3.0);
+        grafo.addEdge("C", "A", 4.0);
+        verificaCursor(grafo);
+        verificaCursor(grafo.freeze());
+    }
+
+    /**
+     * Prueba un vertice con muchas aristas: eliminar aristas intercaladas,
+     * cambiar pesos y quitar aristas con el iterador deja las aristas
+     * restantes con sus pesos y los grados de entrada correctos.
+     */
+    @Test
+    public void testVerticeConMuchasAristas() throws GraphException {
+        ListDiGraph<Integer> estrella = new ListDiGraph<>();
+        int n = 5000;
+        for (int v = 0; v <= n; v++) {
+            estrella.addVertex(v);
+        }
+        for (int v = 1; v <= n; v++) {
+            estrella.addEdge(0, v, v);
+        }
+        for (int v = 2; v <= n; v += 2) {
+            estrella.removeEdge(0, v);
+        }
+        for (int v = 3; v <= n; v += 4) {
+            estrella.setEdgeWeight(0, v, -v);
+        }
+        assertEquals(n / 2, estrella.getNumberEdges());
+        for (int v = 1; v <= n; v++) {
+            assertEquals(v % 2 == 1, estrella.hasEdge(0, v));
+            if (v % 2 == 1) {
+                assertEquals(v % 4 == 3 ? -v : v,
+                        estrella.getEdgeWeight(0, v), 0.0);
+            }
+        }
+        ListVertex<Integer> centro = estrella.getVertex(0);
+        Iterator<ListVertex<Integer>> vecinos
+                = centro.getNeighborIterator();
+        while (vecinos.hasNext()) {
+            if (vecinos.next().getEtiqueta() % 3 == 0) {
+                vecinos.remove();
+            }
+        }
+        for (int v = 1; v <= n; v++) {
+            boolean queda = v % 2 == 1 && v % 3 != 0;
+            assertEquals(queda, centro.hasEdge(estrella.getVertex(v)));
+            assertEquals(queda ? 1 : 0,
+                    estrella.getVertex(v).getGradoEntrada());
+        }
+        verificaCursor(estrella);
+    }
+
+    /**
+     * Prueba el indice de aristas de los vertices de grado alto contra un
+     * HashMap, con altas, bajas y cambios de peso al azar que hacen que el
+     * grado cruce el umbral del indice varias veces.
+     */
+    @Test
+    public void testIndiceDeAristas_operacionesAleatorias() throws GraphException {
+        ListDiGraph<Integer> g = new ListDiGraph<>();
+        int n = 40;
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        Map<Integer, Double> esperadas = new HashMap<>();
+        Random azar = new Random(253313);
+        for (int i = 0; i < 20000; i++) {
+            // Alterna fases en las que el grado ronda 26 y 4
+            boolean crece = (i / 2000) % 2 == 0;
+            int y = 1 + azar.nextInt(n - 1);
+            int operacion = azar.nextInt(10);
+            if (operacion < (crece ? 6 : 1) && !esperadas.containsKey(y)) {
+                g.addEdge(0, y, i);
+                esperadas.put(y, (double) i);
+            } else if (operacion < 9 && esperadas.containsKey(y)) {
+                g.removeEdge(0, y);
+                esperadas.remove(y);
+            } else if (esperadas.containsKey(y)) {
+                g.setEdgeWeight(0, y, -i);
+                esperadas.put(y, (double) -i);
+            } else {
+                try {
+                    g.getEdgeWeight(0, y);
+                    fail("La arista 0 -> " + y + " no existe");
+                } catch (GraphException e) {
+                    // Esperada
+                }
+            }
+            assertEquals(esperadas.size(), g.getNumberEdges());
+            assertEquals(esperadas.containsKey(y), g.hasEdge(0, y));
+        }
+        for (int y = 1; y < n; y++) {
+            assertEquals(esperadas.containsKey(y), g.hasEdge(0, y));
+            if (esperadas.containsKey(y)) {
+                assertEquals(esperadas.get(y), g.getEdgeWeight(0, y), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Prueba que el indice de aristas del centro de una estrella se construya
+     * al pasar de UMBRAL_INDICE aristas y se descarte al bajar de la mitad
+     * del umbral, y que las consultas sigan siendo correctas en ambos casos.
+     * El costo de connect() se mide en el benchmark de JMH.
+     */
+    @Test
+    public void testIndiceDeAristas_umbral() throws GraphException {
+        ListDiGraph<Integer> estrella = new ListDiGraph<>();
+        int n = 4 * ListVertex.UMBRAL_INDICE;
+        for (int v = 0; v <= n; v++) {
+            estrella.addVertex(v);
+        }
+        ListVertex<Integer> centro = estrella.getVertex(0);
+        for (int v = 1; v <= n; v++) {
+            estrella.addEdge(0, v, v);
+            assertEquals("Grado " + v, v > ListVertex.UMBRAL_INDICE,
+                    centro.tieneIndice());
+        }
+        try {
+            estrella.addEdge(0, n / 2, 1.0);
+            fail("La arista 0 -> " + n / 2 + " ya existe");
+        } catch (GraphException e) {
+            // Esperada
+        }
+        for (int v = n; v >= 1; v--) {
+            estrella.removeEdge(0, v);
+            int grado = v - 1;
+            assertEquals(grado, centro.getNumberEdges());
+            assertEquals("Grado " + grado,
+                    grado >= ListVertex.UMBRAL_INDICE / 2,
+                    centro.tieneIndice());
+            assertFalse(estrella.hasEdge(0, v));
+            if (grado > 0) {
+                assertEquals(grado, estrella.getEdgeWeight(0, grado), 0.0);
+            }
+        }
+        assertEquals(0, estrella.getNumberEdges());
+    }
+
+    private static <T> void verificaCursor(
+            IIndexedGraph<T> grafo) {
+        INeighborCursor cursor = grafo.newNeighborCursor();
+        for (int v = 0; v < grafo.getNumberVertices(); v++) {
+            List<String> esperadas = new ArrayList<>();
+            grafo.forEachNeighbor(v, (w, peso) -> esperadas.add(w + ":" + peso));
+            List<String> obtenidas = new ArrayList<>();
+            cursor.reset(v);
+            while (cursor.next()) {
+                obtenidas.add(cursor.target() + ":" + cursor.weight());
+            }
+            assertEquals(esperadas, obtenidas);
+        }
+    }
+}
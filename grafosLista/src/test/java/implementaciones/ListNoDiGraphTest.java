@@ -1,6 +1,8 @@
 package implementaciones;
 
 import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import java.util.Arrays;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -155,4 +157,41 @@ public class ListNoDiGraphTest {
         grafo.addVertex("B");
         grafo.getEdgeWeight("A", "B");
     }
-}
\ No newline at end of file
+
+    /**
+     * Prueba que el número de aristas y los grados de los vértices, que se
+     * mantienen al modificar el grafo, coincidan con un conteo directo después
+     * de cada operación de una secuencia aleatoria.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testContadores_mutacionesAleatorias() throws GraphException {
+        ListNoDiGraph<Integer> grafo = new ListNoDiGraph<>();
+        GraphAsserts.verificaMutacionesAleatorias(grafo, false, false,
+                grafo::getGradoSalida, grafo::getGradoEntrada);
+    }
+
+    /**
+     * Prueba que en la carga en bloque de un grafo no dirigido las aristas
+     * x - y e y - x sean la misma y se agreguen en ambas direcciones.
+     */
+    @Test
+    public void testCargaEnBloque() {
+        ListNoDiGraph<String> grafo = new ListNoDiGraph<>();
+        grafo.addVertices(Arrays.asList("A", "B", "C"));
+        grafo.addEdge("B", "C", 1.0);
+        EdgeBuffer aristas = new EdgeBuffer();
+        aristas.add(0, 1, 2.0);
+        aristas.add(1, 0, 3.0); // la misma que A - B
+        aristas.add(2, 1, 4.0); // ya existe como B - C
+        aristas.add(2, 0, 5.0);
+
+        assertEquals(2, grafo.addEdges(aristas));
+        assertEquals(3, grafo.getNumberEdges());
+        assertEquals(2.0, grafo.getEdgeWeight("B", "A"), 0.0);
+        assertEquals(5.0, grafo.getEdgeWeight("A", "C"), 0.0);
+        assertEquals(1.0, grafo.getEdgeWeight("C", "B"), 0.0);
+        assertEquals(2, grafo.getGradoEntrada("A"));
+    }
+}
@@ -0,0 +1,281 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import interfaces.ILabelCodec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para MappedCsrGraph. Guarda grafos sobre listas
+ * de adyacencias en un archivo y compara el grafo proyectado con el original.
+ */
+public class MappedCsrGraphTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private ListDiGraph<String> dirigido;
+    private Path archivo;
+
+    /**
+     * Configuración inicial antes de cada prueba. Crea un grafo dirigido
+     * aleatorio con etiquetas de varias longitudes y pesos distintos de 0.
+     *
+     * @throws IOException si no se puede crear el archivo temporal
+     */
+    @Before
+    public void setUp() throws IOException {
+        Random azar = new Random(253313);
+        dirigido = new ListDiGraph<>();
+        for (int i = 0; i < 300; i++) {
+            dirigido.addVertex("vértice " + (i * 7919 % 1000));
+        }
+        List<String> etiquetas = dirigido.getVertices();
+        for (int i = 0; i < 2000; i++) {
+            String x = etiquetas.get(azar.nextInt(etiquetas.size()));
+            String y = etiquetas.get(azar.nextInt(etiquetas.size()));
+            if (!x.equals(y) && !dirigido.hasEdge(x, y)) {
+                dirigido.addEdge(x, y, azar.nextDouble() * 100);
+            }
+        }
+        archivo = carpeta.newFile().toPath();
+    }
+
+    /**
+     * Prueba que el grafo proyectado tenga los mismos vertices, aristas y
+     * pesos que el grafo dirigido guardado.
+     */
+    @Test
+    public void testOpen_dirigido() {
+        MappedCsrGraph.write(dirigido, archivo, ILabelCodec.strings(), true);
+        MappedCsrGraph<String> grafo = MappedCsrGraph.open(archivo,
+                ILabelCodec.strings());
+        assertTrue(grafo.isDirigido());
+        GraphAsserts.assertMismoGrafo(dirigido, grafo);
+        for (String x : dirigido.getVertices()) {
+            assertEquals(dirigido.indexOf(x), grafo.indexOf(x));
+        }
+        assertEquals(-1, grafo.indexOf("no existe"));
+        GraphAsserts.assertMismoGrafo(dirigido, grafo.thaw(new ListDiGraph<>()));
+    }
+
+    /**
+     * Prueba que el grafo proyectado de un grafo no dirigido con etiquetas
+     * enteras cuente cada arista una sola vez y que, sin pesos, el archivo no
+     * guarde la seccion de pesos.
+     *
+     * @throws IOException si no se puede leer el tamano del archivo
+     */
+    @Test
+    public void testOpen_noDirigidoSinPesos() throws IOException {
+        ListNoDiGraph<Integer> noDirigido = new ListNoDiGraph<>();
+        for (int i = 0; i < 100; i++) {
+            noDirigido.addVertex(-i * 31);
+        }
+        for (int i = 1; i < 100; i++) {
+            noDirigido.addEdge(-i * 31, -(i / 2) * 31);
+        }
+        MappedCsrGraph.write(noDirigido, archivo, ILabelCodec.integers(),
+                false);
+        MappedCsrGraph<Integer> grafo = MappedCsrGraph.open(archivo,
+                ILabelCodec.integers());
+        assertFalse(grafo.isDirigido());
+        GraphAsserts.assertMismoGrafo(noDirigido, grafo);
+        // Encabezado, inicios, etiquetas, tabla, offsets y 2 * 99 destinos,
+        // con relleno para alinear a 8 bytes
+        assertEquals(32 + 404 + 4 + 400 + 1024 + 404 + 4 + 792,
+                Files.size(archivo));
+
+        ListNoDiGraph<Integer> copia = grafo.thaw(new ListNoDiGraph<>());
+        assertEquals(99, copia.getNumberEdges());
+        assertTrue(copia.hasEdge(-31 * 99, -31 * 49));
+    }
+
+    /**
+     * Obtiene el numero de aristas de cada vertice alcanzable al origen segun
+     * un recorrido en amplitud. No depende del orden de los vecinos.
+     */
+    private static Map<String, Integer> niveles(
+            IIndexedGraph<String> grafo, String origen) {
+        Map<String, Integer> niveles = new HashMap<>();
+        GraphTraversal.bfs(grafo, origen, (vertice, predecesor)
+                -> niveles.put(vertice, predecesor == null ? 0
+                        : niveles.get(predecesor) + 1));
+        return niveles;
+    }
+
+    /**
+     * Prueba que los recorridos y Dijkstra funcionen sobre el grafo
+     * proyectado igual que sobre el original. Los renglones del archivo estan
+     * ordenados por destino, asi que se comparan los niveles del recorrido y
+     * no el orden de visita.
+     */
+    @Test
+    public void testOpen_recorridos() {
+        MappedCsrGraph.write(dirigido, archivo, ILabelCodec.strings(), true);
+        MappedCsrGraph<String> grafo = MappedCsrGraph.open(archivo,
+                ILabelCodec.strings());
+        String origen = dirigido.getVertices().getFirst();
+        assertEquals(niveles(dirigido, origen), niveles(grafo, origen));
+        Dijkstra<String> esperado = new Dijkstra<>(dirigido);
+        Dijkstra<String> proyectado = new Dijkstra<>(grafo);
+        for (String destino : dirigido.getVertices()) {
+            assertEquals(esperado.shortestPath(origen, destino).getPeso(),
+                    proyectado.shortestPath(origen, destino).getPeso(), 1e-9);
+        }
+    }
+
+    /**
+     * Prueba que un grafo vacio pueda guardarse y abrirse.
+     */
+    @Test
+    public void testOpen_vacio() {
+        MappedCsrGraph.write(new ListDiGraph<String>(), archivo,
+                ILabelCodec.strings(), true);
+        MappedCsrGraph<String> grafo = MappedCsrGraph.open(archivo,
+                ILabelCodec.strings());
+        assertTrue(grafo.empty());
+        assertTrue(grafo.isDirigido());
+        assertFalse(grafo.hasVertex("A"));
+    }
+
+    /**
+     * Prueba que la direccion del archivo sea la indicada aunque el grafo no
+     * dirigido no tenga aristas o solo tenga lazos, casos en los que tiene
+     * tantas entradas en sus renglones como aristas.
+     */
+    @Test
+    public void testOpen_noDirigidoSinAristasOSoloLazos() {
+        ListNoDiGraph<String> sinAristas = new ListNoDiGraph<>();
+        sinAristas.addVertex("A");
+        sinAristas.addVertex("B");
+        MappedCsrGraph.write(sinAristas, archivo, ILabelCodec.strings(),
+                false);
+        MappedCsrGraph<String> grafo = MappedCsrGraph.open(archivo,
+                ILabelCodec.strings());
+        assertFalse(grafo.isDirigido());
+        GraphAsserts.assertMismoGrafo(sinAristas, grafo);
+
+        CsrGraph<String> soloLazos = new CsrGraph<>(List.of("A", "B", "C"),
+                new int[]{0, 1, 1, 2}, new int[]{0, 2},
+                new double[]{1.5, 2.5}, false);
+        assertEquals(2, soloLazos.getNumberEdges());
+        MappedCsrGraph.write(soloLazos, archivo, ILabelCodec.strings(),
+                false);
+        grafo = MappedCsrGraph.open(archivo, ILabelCodec.strings());
+        assertFalse(grafo.isDirigido());
+        GraphAsserts.assertMismoGrafo(soloLazos, grafo);
+    }
+
+    /**
+     * Prueba que un grafo no dirigido guardado como dirigido se rechace,
+     * porque cada arista aparece en dos renglones.
+     */
+    @Test(expected = GraphException.class)
+    public void testWrite_direccionIncorrecta() {
+        ListNoDiGraph<String> noDirigido = new ListNoDiGraph<>();
+        noDirigido.addVertex("A");
+        noDirigido.addVertex("B");
+        noDirigido.addEdge("A", "B");
+        MappedCsrGraph.write(noDirigido, archivo, ILabelCodec.strings(), true);
+    }
+
+    /**
+     * Prueba que los metodos que modifican el grafo lancen excepcion.
+     */
+    @Test(expected = GraphException.class)
+    public void testAddEdge_soloLectura() {
+        MappedCsrGraph.write(dirigido, archivo, ILabelCodec.strings(), true);
+        MappedCsrGraph.open(archivo, ILabelCodec.strings())
+                .addEdge("vértice 0", "vértice 7");
+    }
+
+    /**
+     * Prueba que abrir un archivo que no es un grafo lance excepcion.
+     *
+     * @throws IOException si no se puede escribir el archivo
+     */
+    @Test(expected = GraphException.class)
+    public void testOpen_archivoInvalido() throws IOException {
+        Files.write(archivo, new byte[64]);
+        MappedCsrGraph.open(archivo, ILabelCodec.strings());
+    }
+
+    /**
+     * Escribe el grafo dirigido, cambia el entero en la posicion dada del
+     * archivo y verifica que abrirlo lance excepcion
+     */
+    private void verificaCorrupto(String caso, long posicion, int valor)
+            throws IOException {
+        MappedCsrGraph.write(dirigido, archivo, ILabelCodec.strings(), true);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(archivo))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt((int) posicion, valor);
+        Files.write(archivo, bytes.array());
+        try {
+            MappedCsrGraph.open(archivo, ILabelCodec.strings());
+            fail(caso);
+        } catch (GraphException e) {
+            // Esperada
+        }
+    }
+
+    /**
+     * Prueba que abrir un archivo con un encabezado o unos offsets
+     * inconsistentes lance excepcion en lugar de dejar un grafo cuyas
+     * busquedas no terminen.
+     *
+     * @throws IOException si no se puede escribir el archivo
+     */
+    @Test
+    public void testOpen_encabezadoCorrupto() throws IOException {
+        int n = dirigido.getNumberVertices();
+        // Una tabla de dispersion sin celdas vacias
+        verificaCorrupto("Tabla llena", 28, Integer.highestOneBit(n));
+        verificaCorrupto("Tabla de una celda", 28, 1);
+        // Aristas que no corresponden a las entradas de un grafo dirigido
+        verificaCorrupto("Numero de aristas",
+                16, dirigido.getNumberEdges() + 1);
+
+        // Offsets que decrecen: el del vertice 1 pasa del ultimo
+        MappedCsrGraph.write(dirigido, archivo, ILabelCodec.strings(), true);
+        ByteBuffer encabezado = ByteBuffer.wrap(Files.readAllBytes(archivo))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        long etiquetas = alinea(32 + 4L * (n + 1));
+        long tabla = alinea(etiquetas + encabezado.getInt(24));
+        long offsets = alinea(tabla + 4L * encabezado.getInt(28));
+        verificaCorrupto("Offsets decrecientes", offsets + 4,
+                encabezado.getInt(20) + 1);
+    }
+
+    private static long alinea(long posicion) {
+        return (posicion + 7) & ~7L;
+    }
+
+    /**
+     * Prueba que abrir un archivo truncado lance excepcion.
+     *
+     * @throws IOException si no se puede escribir el archivo
+     */
+    @Test(expected = GraphException.class)
+    public void testOpen_truncado() throws IOException {
+        MappedCsrGraph.write(dirigido, archivo, ILabelCodec.strings(), true);
+        byte[] bytes = Files.readAllBytes(archivo);
+        Files.write(archivo, Arrays.copyOf(bytes, bytes.length - 8));
+        MappedCsrGraph.open(archivo, ILabelCodec.strings());
+    }
+}
@@ -0,0 +1,163 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para MinimumSpanningTree. Prim y Kruskal deben
+ * dar un bosque del mismo peso, con una arista menos que vertices por cada
+ * componente, sin ciclos y con aristas del grafo original; en grafos chicos
+ * el peso se compara contra todos los subconjuntos de aristas.
+ */
+public class MinimumSpanningTreeTest {
+
+    /**
+     * Construye un grafo no dirigido al azar con pesos enteros entre -10 y 29
+     */
+    private static ListNoDiGraph<Integer> grafoAlAzar(int n, int aristas,
+            long semilla) {
+        Random azar = new Random(semilla);
+        return GraphAsserts.grafoAlAzar(new ListNoDiGraph<>(), n, aristas,
+                azar, (x, y) -> true, (x, y) -> azar.nextInt(40) - 10);
+    }
+
+    /**
+     * Verifica que el bosque tenga los vertices del grafo, aristas del grafo
+     * con su peso, ningun ciclo y el numero de aristas que corresponde al
+     * numero de componentes
+     */
+    private static void verificaBosque(ListNoDiGraph<Integer> grafo,
+            MinimumSpanningTree<Integer> mst) {
+        ListNoDiGraph<Integer> bosque = (ListNoDiGraph<Integer>) mst.getTree();
+        int n = grafo.getNumberVertices();
+        assertEquals(grafo.getVertices(), bosque.getVertices());
+        assertEquals(mst.getNumberEdges(), bosque.getNumberEdges());
+        assertEquals(n - mst.getComponentes(), mst.getNumberEdges());
+        int[] componente = new int[n];
+        Arrays.fill(componente, -1);
+        int componentes = 0;
+        for (int v = 0; v < n; v++) {
+            if (componente[v] == -1) {
+                final int c = componentes++;
+                GraphTraversal.bfs(grafo, v, (vertice, predecesor)
+                        -> componente[vertice] = c);
+            }
+        }
+        assertEquals(componentes, mst.getComponentes());
+        double peso = 0.0;
+        int[] padres = new int[n];
+        for (int v = 0; v < n; v++) {
+            padres[v] = v;
+        }
+        for (int x = 0; x < n; x++) {
+            for (int y = x + 1; y < n; y++) {
+                if (bosque.hasEdge(x, y)) {
+                    assertTrue(grafo.hasEdge(x, y));
+                    assertEquals(grafo.getEdgeWeight(x, y),
+                            bosque.getEdgeWeight(x, y), 0.0);
+                    peso += bosque.getEdgeWeight(x, y);
+                    int raizX = raiz(padres, x);
+                    int raizY = raiz(padres, y);
+                    assertNotEquals("Ciclo en " + x + " - " + y, raizX,
+                            raizY);
+                    padres[raizX] = raizY;
+                }
+            }
+        }
+        assertEquals(peso, mst.getPeso(), 1e-9);
+    }
+
+    private static int raiz(int[] padres, int v) {
+        while (padres[v] != v) {
+            v = padres[v];
+        }
+        return v;
+    }
+
+    @Test
+    public void testPrimIgualAKruskal() {
+        for (long semilla = 1; semilla <= 10; semilla++) {
+            // Desde grafos con varias componentes hasta grafos densos
+            ListNoDiGraph<Integer> grafo = grafoAlAzar(120,
+                    (int) (40 * semilla), semilla);
+            MinimumSpanningTree<Integer> prim = MinimumSpanningTree.prim(
+                    grafo, new ListNoDiGraph<>());
+            MinimumSpanningTree<Integer> kruskal = MinimumSpanningTree.kruskal(
+                    grafo, new ListNoDiGraph<>());
+            verificaBosque(grafo, prim);
+            verificaBosque(grafo, kruskal);
+            assertEquals(kruskal.getPeso(), prim.getPeso(), 1e-9);
+            assertEquals(kruskal.getComponentes(), prim.getComponentes());
+            assertEquals(kruskal.getPeso(),
+                    grafo.minimumSpanningTree().getPeso(), 1e-9);
+            assertEquals(kruskal.getPeso(), MinimumSpanningTree.compute(
+                    grafo.freeze(), new ListNoDiGraph<>()).getPeso(), 1e-9);
+        }
+    }
+
+    /**
+     * Compara el peso contra el menor peso de todos los subconjuntos de n - 1
+     * aristas que forman un arbol, en grafos conexos de 6 vertices
+     */
+    @Test
+    public void testPesoMinimo_fuerzaBruta() {
+        for (long semilla = 1; semilla <= 20; semilla++) {
+            ListNoDiGraph<Integer> grafo = grafoAlAzar(6, 14, semilla);
+            MinimumSpanningTree<Integer> mst = grafo.minimumSpanningTree();
+            if (!mst.isSpanningTree()) {
+                continue;
+            }
+            int[][] aristas = new int[grafo.getNumberEdges()][];
+            int m = 0;
+            for (int x = 0; x < 6; x++) {
+                for (int y = x + 1; y < 6; y++) {
+                    if (grafo.hasEdge(x, y)) {
+                        aristas[m++] = new int[]{x, y};
+                    }
+                }
+            }
+            double minimo = Double.POSITIVE_INFINITY;
+            for (int subconjunto = 0; subconjunto < 1 << m; subconjunto++) {
+                if (Integer.bitCount(subconjunto) != 5) {
+                    continue;
+                }
+                int[] padres = {0, 1, 2, 3, 4, 5};
+                double peso = 0.0;
+                boolean arbol = true;
+                for (int e = 0; e < m && arbol; e++) {
+                    if ((subconjunto & 1 << e) != 0) {
+                        int raizX = raiz(padres, aristas[e][0]);
+                        int raizY = raiz(padres, aristas[e][1]);
+                        arbol = raizX != raizY;
+                        padres[raizX] = raizY;
+                        peso += grafo.getEdgeWeight(aristas[e][0],
+                                aristas[e][1]);
+                    }
+                }
+                if (arbol) {
+                    minimo = Math.min(minimo, peso);
+                }
+            }
+            assertEquals(minimo, mst.getPeso(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testGrafoVacio() {
+        MinimumSpanningTree<String> mst = new ListNoDiGraph<String>()
+                .minimumSpanningTree();
+        assertTrue(mst.getTree().empty());
+        assertEquals(0.0, mst.getPeso(), 0.0);
+        assertEquals(0, mst.getComponentes());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testDestinoNoVacio() {
+        ListNoDiGraph<String> destino = new ListNoDiGraph<>();
+        destino.addVertex("A");
+        MinimumSpanningTree.kruskal(new ListNoDiGraph<String>(), destino);
+    }
+}
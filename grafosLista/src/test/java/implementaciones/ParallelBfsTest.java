@@ -0,0 +1,119 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para ParallelBfs. Las distancias se comparan
+ * contra las que resultan del recorrido en amplitud secuencial de
+ * GraphTraversal, forzando cada una de las dos direcciones de expansion.
+ */
+public class ParallelBfsTest {
+
+    /**
+     * Construye un grafo dirigido al azar con n vertices y grado promedio
+     * dado, dejando sin aristas entrantes el ultimo de cada diez vertices
+     */
+    private static ListDiGraph<Integer> grafoAlAzar(int n, int grado,
+            long semilla) {
+        return GraphAsserts.grafoAlAzar(new ListDiGraph<>(), n, n * grado,
+                new Random(semilla), (x, y) -> y % 10 != 9, (x, y) -> 1.0);
+    }
+
+    /**
+     * Calcula las distancias con el recorrido en amplitud secuencial
+     */
+    private static int[] distanciasSecuenciales(IIndexedGraph<Integer> grafo,
+            int origen) {
+        int[] distancias = new int[grafo.getNumberVertices()];
+        Arrays.fill(distancias, ParallelBfs.NO_ALCANZADO);
+        GraphTraversal.bfs(grafo, grafo.getEtiqueta(origen),
+                (vertice, predecesor) -> distancias[grafo.indexOf(vertice)]
+                = predecesor == null ? 0
+                        : distancias[grafo.indexOf(predecesor)] + 1);
+        return distancias;
+    }
+
+    private static void verifica(IIndexedGraph<Integer> grafo, int hilos,
+            double alfa, boolean abajoArriba) {
+        try (ParallelBfs<Integer> bfs = new ParallelBfs<>(grafo, hilos, alfa,
+                ParallelBfs.BETA)) {
+            int paso = grafo.getNumberVertices() / 8 + 1;
+            for (int origen = 0; origen < grafo.getNumberVertices();
+                    origen += paso) {
+                assertArrayEquals("Origen " + origen,
+                        distanciasSecuenciales(grafo, origen),
+                        bfs.distancias(origen));
+            }
+            assertEquals(abajoArriba, bfs.nivelesAbajoArriba > 0);
+        }
+    }
+
+    /**
+     * Prueba la expansion de arriba hacia abajo, con uno y varios hilos.
+     */
+    @Test
+    public void testArribaAbajo() {
+        ListDiGraph<Integer> grafo = grafoAlAzar(3000, 4, 1);
+        verifica(grafo, 1, 1e-9, false);
+        verifica(grafo, 4, 1e-9, false);
+    }
+
+    /**
+     * Prueba la expansion de abajo hacia arriba, con uno y varios hilos.
+     */
+    @Test
+    public void testAbajoArriba() {
+        ListDiGraph<Integer> grafo = grafoAlAzar(3000, 4, 2);
+        verifica(grafo, 1, 1e9, true);
+        verifica(grafo, 4, 1e9, true);
+    }
+
+    /**
+     * Prueba el cambio de direccion con los valores de alfa y beta de Beamer
+     * en un grafo con suficientes aristas para que convenga.
+     */
+    @Test
+    public void testDireccionOptimizada() {
+        ListDiGraph<Integer> grafo = grafoAlAzar(20000, 16, 3);
+        verifica(grafo, 3, ParallelBfs.ALFA, true);
+    }
+
+    /**
+     * Prueba el recorrido sobre un grafo CSR no dirigido, en el que las
+     * aristas entrantes son las mismas que las salientes.
+     */
+    @Test
+    public void testCsrNoDirigido() {
+        ListNoDiGraph<Integer> lista = new ListNoDiGraph<>();
+        for (int v = 0; v < 500; v++) {
+            lista.addVertex(v);
+        }
+        for (int v = 0; v + 1 < 500; v++) {
+            if (v % 50 != 49) {
+                lista.addEdge(v, v + 1);
+            }
+        }
+        CsrGraph<Integer> csr = lista.freeze();
+        try (ParallelBfs<Integer> bfs = new ParallelBfs<>(csr, 2)) {
+            int[] distancias = bfs.distancias(Integer.valueOf(60));
+            assertEquals(0, distancias[60]);
+            assertEquals(10, distancias[50]);
+            assertEquals(39, distancias[99]);
+            assertEquals(ParallelBfs.NO_ALCANZADO, distancias[49]);
+            assertEquals(ParallelBfs.NO_ALCANZADO, distancias[100]);
+        }
+    }
+
+    @Test(expected = GraphException.class)
+    public void testOrigenInexistente() {
+        ListDiGraph<Integer> grafo = grafoAlAzar(10, 2, 4);
+        try (ParallelBfs<Integer> bfs = new ParallelBfs<>(grafo, 1)) {
+            bfs.distancias(Integer.valueOf(99));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package implementaciones;
+
+import interfaces.IHeuristic;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para BidirectionalDijkstra y AStar. Compara sus
+ * caminos contra los de Dijkstra sobre una cuadricula con pesos aleatorios.
+ */
+public class PointToPointSearchTest {
+
+    private static final int LADO = 30;
+
+    private ListDiGraph<Integer> cuadricula;
+    private final IHeuristic<Integer> manhattan = (x, d) ->
+            Math.abs(x / LADO - d / LADO) + Math.abs(x % LADO - d % LADO);
+
+    /**
+     * Configuración inicial antes de cada prueba. Crea una cuadricula de
+     * LADO x LADO vertices con aristas en ambas direcciones entre vecinos y
+     * pesos en [1, 3), de modo que la distancia Manhattan es una heuristica
+     * consistente.
+     */
+    @Before
+    public void setUp() {
+        Random azar = new Random(253313);
+        cuadricula = new ListDiGraph<>();
+        for (int v = 0; v < LADO * LADO; v++) {
+            cuadricula.addVertex(v);
+        }
+        for (int r = 0; r < LADO; r++) {
+            for (int c = 0; c < LADO; c++) {
+                int v = r * LADO + c;
+                if (c + 1 < LADO) {
+                    cuadricula.addEdge(v, v + 1, 1 + 2 * azar.nextDouble());
+                    cuadricula.addEdge(v + 1, v, 1 + 2 * azar.nextDouble());
+                }
+                if (r + 1 < LADO) {
+                    cuadricula.addEdge(v, v + LADO, 1 + 2 * azar.nextDouble());
+                    cuadricula.addEdge(v + LADO, v, 1 + 2 * azar.nextDouble());
+                }
+            }
+        }
+    }
+
+    private static double peso(ListDiGraph<Integer> grafo,
+            Camino<Integer> camino) {
+        double suma = 0;
+        for (int i = 1; i < camino.getVertices().size(); i++) {
+            suma += grafo.getEdgeWeight(camino.getVertices().get(i - 1),
+                    camino.getVertices().get(i));
+        }
+        return suma;
+    }
+
+    /**
+     * Prueba que las tres busquedas encuentren caminos del mismo peso entre
+     * pares de vertices aleatorios y que los caminos sean validos.
+     */
+    @Test
+    public void testCaminos_igualQueDijkstra() {
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(cuadricula);
+        BidirectionalDijkstra<Integer> bidireccional
+                = new BidirectionalDijkstra<>(cuadricula);
+        AStar<Integer> aEstrella = new AStar<>(cuadricula, manhattan);
+        Random azar = new Random(7);
+        for (int consulta = 0; consulta < 100; consulta++) {
+            int s = azar.nextInt(LADO * LADO);
+            int t = azar.nextInt(LADO * LADO);
+            double esperado = dijkstra.shortestPath(s, t).getPeso();
+            for (Camino<Integer> camino : Arrays.asList(
+                    bidireccional.shortestPath(s, t),
+                    aEstrella.shortestPath(s, t))) {
+                assertEquals(esperado, camino.getPeso(), 1e-9);
+                assertEquals(Integer.valueOf(s), camino.getVertices().get(0));
+                assertEquals(Integer.valueOf(t),
+                        camino.getVertices().get(camino.getNumberEdges()));
+                assertEquals(esperado, peso(cuadricula, camino), 1e-9);
+            }
+        }
+    }
+
+    /**
+     * Prueba que entre esquinas opuestas las busquedas bidireccional y A*
+     * fijen menos vertices que Dijkstra.
+     */
+    @Test
+    public void testVerticesFijados_menosQueDijkstra() {
+        int s = 0;
+        int t = LADO * LADO - 1;
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(cuadricula);
+        BidirectionalDijkstra<Integer> bidireccional
+                = new BidirectionalDijkstra<>(cuadricula);
+        AStar<Integer> aEstrella = new AStar<>(cuadricula, manhattan);
+        dijkstra.shortestPath(s, t);
+        bidireccional.shortestPath(s, t);
+        aEstrella.shortestPath(s, t);
+        assertTrue(bidireccional.getVerticesFijados()
+                < dijkstra.getVerticesFijados());
+        assertTrue(aEstrella.getVerticesFijados()
+                < dijkstra.getVerticesFijados());
+    }
+
+    /**
+     * Prueba los casos de un destino inalcanzable, de origen igual al destino
+     * y de un grafo no dirigido que es su propio inverso.
+     */
+    @Test
+    public void testCasosEspeciales() {
+        cuadricula.addVertex(-1);
+        BidirectionalDijkstra<Integer> bidireccional
+                = new BidirectionalDijkstra<>(cuadricula);
+        AStar<Integer> aEstrella = new AStar<>(cuadricula, (x, d) -> 0);
+        assertFalse(bidireccional.shortestPath(0, -1).existe());
+        assertFalse(aEstrella.shortestPath(0, -1).existe());
+        assertEquals(Arrays.asList(5), bidireccional.shortestPath(5, 5)
+                .getVertices());
+        assertEquals(0.0, aEstrella.shortestPath(5, 5).getPeso(), 0.0);
+
+        ListNoDiGraph<String> noDirigido = new ListNoDiGraph<>();
+        for (String etiqueta : new String[]{"A", "B", "C", "D"}) {
+            noDirigido.addVertex(etiqueta);
+        }
+        noDirigido.addEdge("A", "B", 1.0);
+        noDirigido.addEdge("B", "C", 1.0);
+        noDirigido.addEdge("C", "D", 1.0);
+        noDirigido.addEdge("A", "D", 5.0);
+        Camino<String> camino = new BidirectionalDijkstra<>(noDirigido,
+                noDirigido).shortestPath("D", "A");
+        assertEquals(Arrays.asList("D", "C", "B", "A"), camino.getVertices());
+        assertEquals(3.0, camino.getPeso(), 0.0);
+    }
+}
@@ -0,0 +1,107 @@
+package implementaciones;
+
+import interfaces.INeighborVisitor;
+import java.util.Arrays;
+
+/**
+ * BitMatrixDiGraph.java
+ *
+ * Esta clase implementa un grafo dirigido sin pesos sobre una matriz de
+ * adyacencias de bits. Cada renglon ocupa un numero entero de palabras de 64
+ * bits, asi que la matriz de un grafo de n vertices ocupa n * ceil(n / 64)
+ * palabras.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class BitMatrixDiGraph<T> extends BitMatrixGraph<T> {
+
+    /**
+     * Numero de palabras de cada renglon; la cerradura transitiva de
+     * MatrixGraph recorre la matriz por renglones completos
+     */
+    final int palabrasPorRenglon;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param maxVertices Numero maximo de vertices en el grafo
+     */
+    public BitMatrixDiGraph(int maxVertices) {
+        super(maxVertices, (long) maxVertices * ((maxVertices + 63) >>> 6));
+        palabrasPorRenglon = (maxVertices + 63) >>> 6;
+    }
+
+    /**
+     * Obtiene la posicion absoluta del bit de la celda (i, j)
+     */
+    private long posicion(int i, int j) {
+        return ((long) i * palabrasPorRenglon << 6) + j;
+    }
+
+    @Override
+    protected boolean getBit(int i, int j) {
+        return getBit(posicion(i, j));
+    }
+
+    @Override
+    protected void setBit(int i, int j, boolean valor) {
+        setBit(posicion(i, j), valor);
+    }
+
+    /**
+     * Invoca al visitante, con peso 0, por cada bit encendido del renglon del
+     * vertice en la posicion dada. Recorre el renglon por palabras y salta
+     * directamente a cada bit encendido.
+     *
+     * @param indice Posicion del vertice
+     * @param visitante Visitante de las aristas
+     */
+    @Override
+    public void forEachNeighbor(int indice, INeighborVisitor visitante) {
+        if (indice < 0 || indice >= nVertices) {
+            throw new IndexOutOfBoundsException("Posicion " + indice
+                    + " fuera de rango");
+        }
+        int inicio = indice * palabrasPorRenglon;
+        for (int k = 0; k < palabrasPorRenglon; k++) {
+            long palabra = palabras[inicio + k];
+            while (palabra != 0) {
+                visitante.visit((k << 6) + Long.numberOfTrailingZeros(palabra),
+                        0.0);
+                palabra &= palabra - 1;
+            }
+        }
+    }
+
+    /**
+     * Copia el renglon y la columna del vertice ultimo a los del vertice
+     * indice. Los renglones se copian por palabras completas.
+     *
+     * @param indice Posicion del vertice eliminado
+     * @param ultimo Posicion del ultimo vertice
+     */
+    @Override
+    protected void mueve(int indice, int ultimo) {
+        System.arraycopy(palabras, ultimo * palabrasPorRenglon, palabras,
+                indice * palabrasPorRenglon, palabrasPorRenglon);
+        // La columna; el lazo del ultimo vertice pasa de (indice, ultimo)
+        // a (indice, indice)
+        for (int k = 0; k <= ultimo; k++) {
+            setBit(k, indice, getBit(k, ultimo));
+        }
+    }
+
+    /**
+     * Apaga los bits del renglon y la columna del vertice dado
+     *
+     * @param v Posicion del vertice
+     */
+    @Override
+    protected void limpia(int v) {
+        int inicio = v * palabrasPorRenglon;
+        Arrays.fill(palabras, inicio, inicio + palabrasPorRenglon, 0L);
+        for (int k = 0; k < v; k++) {
+            setBit(k, v, false);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import interfaces.INeighborVisitor;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+/**
+ * BitMatrixGraph.java
+ *
+ * Esta clase abstracta implementa los metodos comunes a un grafo dirigido y un
+ * grafo no dirigido sin pesos sobre una matriz de adyacencias de bits. Cada
+ * celda ocupa un bit de un arreglo de long, en lugar de los 8 bytes de un
+ * double, de modo que solo se admiten aristas con peso 0.
+ *
+ * Al eliminar un vertice, el ultimo vertice pasa a ocupar su lugar, por lo que
+ * el orden de los vertices no se conserva.
+ *
+ * @param <T> Tipo del vertice del grafo
+ */
+public abstract class BitMatrixGraph<T> implements IIndexedGraph<T> {
+
+    protected final VertexDictionary<T, Vertex<T>> vertices;
+    protected int nVertices;
+    protected final long palabras[];
+    protected final int maxVertices;
+
+    /**
+     * Constructor de la clase
+     *
+     * @param maxVertices Numero maximo de vertices en el grafo
+     * @param nPalabras Numero de palabras de 64 bits de la matriz
+     * @throws GraphException Si la matriz no cabe en un arreglo
+     */
+    protected BitMatrixGraph(int maxVertices, long nPalabras) {
+        if (maxVertices < 0 || nPalabras > Integer.MAX_VALUE - 8) {
+            throw new GraphException("Numero maximo de vertices invalido: "
+                    + maxVertices);
+        }
+        this.maxVertices = maxVertices;
+        nVertices = 0;
+        vertices = new VertexDictionary<>(maxVertices);
+        palabras = new long[(int) nPalabras];
+    }
+
+    /**
+     * Determina si esta encendido el bit de la celda (i, j)
+     *
+     * @param i Indice del renglon
+     * @param j Indice de la columna
+     * @return true si hay una arista entre los vertices i y j
+     */
+    protected abstract boolean getBit(int i, int j);
+
+    /**
+     * Enciende o apaga el bit de la celda (i, j)
+     *
+     * @param i Indice del renglon
+     * @param j Indice de la columna
+     * @param valor true para encender el bit, false para apagarlo
+     */
+    protected abstract void setBit(int i, int j, boolean valor);
+
+    /**
+     * Enciende el bit en la posicion absoluta dada
+     *
+     * @param posicion Posicion del bit en el arreglo de palabras
+     * @param valor true para encender el bit, false para apagarlo
+     */
+    protected final void setBit(long posicion, boolean valor) {
+        int palabra = (int) (posicion >>> 6);
+        long mascara = 1L << posicion;
+        if (valor) {
+            palabras[palabra] |= mascara;
+        } else {
+            palabras[palabra] &= ~mascara;
+        }
+    }
+
+    /**
+     * Determina si esta encendido el bit en la posicion absoluta dada
+     *
+     * @param posicion Posicion del bit en el arreglo de palabras
+     * @return true si el bit esta encendido
+     */
+    protected final boolean getBit(long posicion) {
+        return (palabras[(int) (posicion >>> 6)] & (1L << posicion)) != 0;
+    }
+
+    /**
+     * Copia el renglon y la columna del vertice ultimo a los del vertice
+     * indice, para ocupar el lugar de un vertice eliminado
+     *
+     * @param indice Posicion del vertice eliminado
+     * @param ultimo Posicion del ultimo vertice
+     */
+    protected abstract void mueve(int indice, int ultimo);
+
+    /**
+     * Apaga los bits del renglon y la columna del vertice dado
+     *
+     * @param v Posicion del vertice
+     */
+    protected abstract void limpia(int v);
+
+    /**
+     * Obtiene la posicion de un vertice que debe existir
+     *
+     * @param etiqueta Etiqueta del vertice
+     * @return La posicion del vertice
+     * @throws GraphException Si el vertice no existe
+     */
+    protected int indiceExistente(T etiqueta) throws GraphException {
+        int indice = vertices.indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return indice;
+    }
+
+    /**
+     * Agrega un vertice al grafo, si no existe
+     *
+     * @param etiqueta Etiqueta del vertice a agregar al grafo
+     * @throws GraphException Si no hay espacio para un nuevo vertice o el
+     * vertice ya existe
+     */
+    @Override
+    public void addVertex(T etiqueta) throws GraphException {
+        if (nVertices >= maxVertices) {
+            throw new GraphException("Grafo lleno");
+        }
+        if (vertices.add(new Vertex<>(etiqueta)) < 0) {
+            throw new GraphException("Vertice repetido");
+        }
+        nVertices++;
+    }
+
+    /**
+     * Elimina un vertice del grafo moviendo a su lugar el ultimo vertice.
+     * Toma O(n).
+     *
+     * @param etiqueta Etiqueta del vertice a eliminar
+     * @throws GraphException Si el vertice a eliminar no existe
+     */
+    @Override
+    public void removeVertex(T etiqueta) throws GraphException {
+        int indice = indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("El vertice no existe");
+        }
+        vertices.swapRemove(indice);
+        int ultimo = --nVertices;
+        if (indice != ultimo) {
+            mueve(indice, ultimo);
+        }
+        limpia(ultimo);
+    }
+
+    /**
+     * Determina si el vertice existe en el grafo
+     *
+     * @param etiqueta Etiqueta del vertice a buscar
+     * @return true si el vertice existe en el grafo, false en caso contrario
+     */
+    @Override
+    public boolean hasVertex(T etiqueta) {
+        return vertices.contains(etiqueta);
+    }
+
+    /**
+     * Obtiene la posicion del vertice en el diccionario de vertices
+     *
+     * @param etiqueta vertice a buscar
+     * @return La posicion del vertice en el diccionario de vertices si existe,
+     * -1 en caso contrario.
+     */
+    @Override
+    public int indexOf(T etiqueta) {
+        return vertices.indexOf(etiqueta);
+    }
+
+    /**
+     * Obtiene la etiqueta del vertice en la posicion dada
+     *
+     * @param indice Posicion del vertice
+     * @return La etiqueta del vertice
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
+     */
+    @Override
+    public T getEtiqueta(int indice) {
+        return vertices.get(indice).getEtiqueta();
+    }
+
+    /**
+     * Invoca al visitante, con peso 0, por cada bit encendido del renglon del
+     * vertice en la posicion dada
+     *
+     * @param indice Posicion del vertice
+     * @param visitante Visitante de las aristas
+     */
+    @Override
+    public void forEachNeighbor(int indice, INeighborVisitor visitante) {
+        if (indice < 0 || indice >= nVertices) {
+            throw new IndexOutOfBoundsException("Posicion " + indice
+                    + " fuera de rango");
+        }
+        for (int j = 0; j < nVertices; j++) {
+            if (getBit(indice, j)) {
+                visitante.visit(j, 0.0);
+            }
+        }
+    }
+
+    /**
+     * Crea un cursor que copia las aristas de cada vertice con
+     * forEachNeighbor()
+     *
+     * @return Un cursor nuevo, sin posicionar
+     */
+    @Override
+    public INeighborCursor newNeighborCursor() {
+        return new BufferedNeighborCursor(this);
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return nVertices;
+    }
+
+    @Override
+    public LinkedList<T> getVertices() {
+        return vertices.getEtiquetas();
+    }
+
+    @Override
+    public boolean empty() {
+        return nVertices == 0;
+    }
+
+    /**
+     * Remueve todos los vertices y aristas del grafo
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(palabras, 0L);
+        vertices.clear();
+        nVertices = 0;
+    }
+
+    /**
+     * Agrega una arista entre los vertices verticeX y verticeY si no existe.
+     * El grafo no guarda pesos, asi que el peso debe ser 0.
+     *
+     * @param etqX Etiqueta del vertice origen
+     * @param etqY Etiqueta del vertice destino
+     * @param peso Peso de la arista; debe ser 0
+     * @throws GraphException Si los vertices no existen, si la arista ya
+     * existe o si el peso no es 0
+     */
+    @Override
+    public void addEdge(T etqX, T etqY, double peso) throws GraphException {
+        if (peso != 0.0) {
+            throw new GraphException("El grafo no admite aristas con peso");
+        }
+        int x = indiceExistente(etqX);
+        int y = indiceExistente(etqY);
+        if (getBit(x, y)) {
+            throw new GraphException("Arista " + etqX + " - " + etqY
+                    + " ya existe");
+        }
+        setBit(x, y, true);
+    }
+
+    @Override
+    public void addEdge(T etqX, T etqY) throws GraphException {
+        addEdge(etqX, etqY, 0.0);
+    }
+
+    @Override
+    public void removeEdge(T etqX, T etqY) throws GraphException {
+        int x = indiceExistente(etqX);
+        int y = indiceExistente(etqY);
+        if (!getBit(x, y)) {
+            throw new GraphException("Arista " + etqX + " - " + etqY
+                    + " no existe");
+        }
+        setBit(x, y, false);
+    }
+
+    @Override
+    public boolean hasEdge(T etqX, T etqY) throws GraphException {
+        return getBit(indiceExistente(etqX), indiceExistente(etqY));
+    }
+
+    /**
+     * Obtiene el peso de la arista entre los vertices verticeX y verticeY,
+     * que siempre es 0
+     *
+     * @param etqX Etiqueta del vertice origen
+     * @param etqY Etiqueta del vertice destino
+     * @return 0
+     * @throws GraphException Si los vertices o la arista no existen
+     */
+    @Override
+    public double getEdgeWeight(T etqX, T etqY) throws GraphException {
+        if (!hasEdge(etqX, etqY)) {
+            throw new GraphException("Arista " + etqX + " - " + etqY
+                    + " no existe");
+        }
+        return 0.0;
+    }
+
+    /**
+     * Establece el peso de la arista entre los vertices verticeX y verticeY.
+     * El grafo no guarda pesos, asi que el peso debe ser 0.
+     *
+     * @param etqX Etiqueta del vertice origen
+     * @param etqY Etiqueta del vertice destino
+     * @param peso Peso de la arista; debe ser 0
+     * @throws GraphException Si los vertices o la arista no existen o si el
+     * peso no es 0
+     */
+    @Override
+    public void setEdgeWeight(T etqX, T etqY, double peso)
+            throws GraphException {
+        getEdgeWeight(etqX, etqY);
+        if (peso != 0.0) {
+            throw new GraphException("El grafo no admite aristas con peso");
+        }
+    }
+
+    /**
+     * Obtiene el numero de aristas del grafo contando los bits encendidos
+     *
+     * @return El numero de aristas del grafo
+     */
+    @Override
+    public int getNumberEdges() {
+        long cuenta = 0;
+        for (long palabra : palabras) {
+            cuenta += Long.bitCount(palabra);
+        }
+        return (int) cuenta;
+    }
+
+    /**
+     * Obtiene una cadena con una representacion del grafo
+     *
+     * @return Una cadena con una representacion del grafo
+     */
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder(" ");
+        for (int j = 0; j < nVertices; j++) {
+            s.append(vertices.get(j).getEtiqueta());
+            if (j < nVertices - 1) {
+                s.append(' ');
+            }
+        }
+        s.append('\n');
+        for (int i = 0; i < nVertices; i++) {
+            s.append(vertices.get(i).getEtiqueta()).append(" | ");
+            for (int j = 0; j < nVertices; j++) {
+                s.append(getBit(i, j) ? "1" : "-");
+                if (j < nVertices - 1) {
+                    s.append(", ");
+                }
+            }
+            s.append(" |\n");
+        }
+        return s.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package implementaciones;
+
+/**
+ * BitMatrixNoDiGraph.java
+ *
+ * Esta clase implementa un grafo no dirigido sin pesos sobre una matriz de
+ * adyacencias de bits. Como la matriz es simetrica solo se guarda el triangulo
+ * superior (incluyendo la diagonal): la celda (i, j) con i <= j esta en el bit
+ * j * (j + 1) / 2 + i, lo que ocupa n * (n + 1) / 2 bits.
+ *
+ * @param <T> Tipo de la etiqueta de un vertice del grafo
+ */
+public class BitMatrixNoDiGraph<T> extends BitMatrixGraph<T> {
+
+    /**
+     * Constructor de la clase
+     *
+     * @param maxVertices Numero maximo de vertices en el grafo
+     */
+    public BitMatrixNoDiGraph(int maxVertices) {
+        super(maxVertices, ((long) maxVertices * (maxVertices + 1) / 2 + 63) >>> 6);
+    }
+
+    /**
+     * Obtiene la posicion absoluta del bit de la celda (i, j)
+     */
+    private static long posicion(int i, int j) {
+        if (i > j) {
+            int t = i;
+            i = j;
+            j = t;
+        }
+        return (long) j * (j + 1) / 2 + i;
+    }
+
+    @Override
+    protected boolean getBit(int i, int j) {
+        return getBit(posicion(i, j));
+    }
+
+    @Override
+    protected void setBit(int i, int j, boolean valor) {
+        setBit(posicion(i, j), valor);
+    }
+
+    /**
+     * Copia las aristas del vertice ultimo al vertice indice
+     *
+     * @param indice Posicion del vertice eliminado
+     * @param ultimo Posicion del ultimo vertice
+     */
+    @Override
+    protected void mueve(int indice, int ultimo) {
+        for (int k = 0; k <= ultimo; k++) {
+            int origen = k == indice ? ultimo : k;
+            setBit(indice, k, getBit(ultimo, origen));
+        }
+    }
+
+    /**
+     * Apaga los bits de las aristas del vertice dado
+     *
+     * @param v Posicion del vertice
+     */
+    @Override
+    protected void limpia(int v) {
+        for (int k = 0; k <= v; k++) {
+            setBit(k, v, false);
+        }
+    }
+}
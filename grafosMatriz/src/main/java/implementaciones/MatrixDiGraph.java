@@ -1,6 +1,7 @@
 package implementaciones;
 
 import excepciones.GraphException;
+import interfaces.EdgeBuffer;
 import java.util.LinkedList;
 
 /**
@@ -23,6 +24,14 @@ public class MatrixDiGraph<T> extends MatrixGraph<T> {
         super(maxVertices);
     }
 
+    /**
+     * Constructor de la clase. Crea un grafo cuya matriz de adyacencias crece
+     * segun se agregan vertices
+     */
+    public MatrixDiGraph() {
+        super();
+    }
+
     /**
      * Agrega una arista entre los vertices verticeX y verticeY si no existe.
      *
@@ -48,13 +57,13 @@ public class MatrixDiGraph<T> extends MatrixGraph<T> {
                     + " no existe");
         }
 // Verifica si la arista existe
-        if (adyacencias[indicex][indicey]
+        if (adyacencias[celda(indicex, indicey)]
                 != Double.POSITIVE_INFINITY) {
             throw new GraphException("Arista " + etqX + " - "
                     + etqY + " ya existe");
         }
 // Agrega la arista
-        adyacencias[indicex][indicey] = peso;
+        setCelda(indicex, indicey, peso);
     }
 
     /**
@@ -95,7 +104,7 @@ public class MatrixDiGraph<T> extends MatrixGraph<T> {
             throw new GraphException("Vertice " + etqY
                     + " no existe");
         }
-        return adyacencias[indicex][indicey]
+        return adyacencias[celda(indicex, indicey)]
                 != Double.POSITIVE_INFINITY;
     }
 
@@ -124,12 +133,12 @@ public class MatrixDiGraph<T> extends MatrixGraph<T> {
                     + " no existe");
         }
 // Verifica si la arista existe
-        if (adyacencias[indicex][indicey]
+        if (adyacencias[celda(indicex, indicey)]
                 == Double.POSITIVE_INFINITY) {
             throw new GraphException("Arista " + etqX + " - "
                     + etqY + " no existe");
         }
-        return adyacencias[indicex][indicey];
+        return adyacencias[celda(indicex, indicey)];
     }
 
     //AQUI EMPIEAZA LA IMPLEMENTACION DE los metodos.
@@ -155,12 +164,12 @@ public void removeEdge(T etqX, T etqY) throws GraphException {
     }
     
     // Verifica si la arista existe
-    if (adyacencias[indiceX][indiceY] == Double.POSITIVE_INFINITY) {
+    if (adyacencias[celda(indiceX, indiceY)] == Double.POSITIVE_INFINITY) {
         throw new GraphException("Arista " + etqX + " -> " + etqY + " no existe");
     }
     
     // Elimina la arista (establece infinito)
-    adyacencias[indiceX][indiceY] = Double.POSITIVE_INFINITY;
+    setCelda(indiceX, indiceY, Double.POSITIVE_INFINITY);
 }
     
     
@@ -186,35 +195,69 @@ public void setEdgeWeight(T etqX, T etqY, double peso) throws GraphException {
     }
     
     // Verifica si la arista existe
-    if (adyacencias[indiceX][indiceY] == Double.POSITIVE_INFINITY) {
+    if (adyacencias[celda(indiceX, indiceY)] == Double.POSITIVE_INFINITY) {
         throw new GraphException("Arista " + etqX + " -> " + etqY + " no existe");
     }
     
     // Establece el nuevo peso
-    adyacencias[indiceX][indiceY] = peso;
+    setCelda(indiceX, indiceY, peso);
 }
     
 
-/**
- *
- * @return
- */
-@Override
-public int getNumberEdges() {
-    int count = 0;
-    
-    // Recorre toda la matriz de adyacencia
-    for (int i = 0; i < nVertices; i++) {
-        for (int j = 0; j < nVertices; j++) {
-            // Si hay una arista (no es infinito)
-            if (adyacencias[i][j] != Double.POSITIVE_INFINITY) {
-                count++;
-            }
+    /**
+     * Obtiene el numero de aristas del grafo. El numero se mantiene al agregar
+     * y eliminar aristas y vertices, asi que no se recorre la matriz.
+     *
+     * @return El numero de aristas del grafo
+     */
+    @Override
+    public int getNumberEdges() {
+        return nCeldas;
+    }
+
+    /**
+     * Agrega las aristas de un buffer directamente en la matriz, descartando
+     * las repetidas y las que el grafo ya tiene. Toma O(E).
+     *
+     * @param aristas Buffer de aristas a agregar
+     * @return El numero de aristas agregadas
+     * @throws GraphException Si alguna arista une posiciones fuera de rango
+     */
+    @Override
+    public int addEdges(EdgeBuffer aristas) throws GraphException {
+        return agregaAristas(aristas, false);
+    }
+
+    /**
+     * Copia este grafo en un grafo inmutable en formato CSR, optimizado para
+     * consultas. Para regresar a un grafo modificable se usa
+     * CsrGraph.thaw(new MatrixDiGraph<>()).
+     *
+     * @return El grafo CSR con los mismos vertices y aristas que este grafo
+     */
+    public CsrGraph<T> freeze() {
+        return freeze(true);
+    }
+
+    /**
+     * Obtiene una version inmutable del grafo en su estado actual, que no
+     * cambia al modificar el grafo despues. Sirve para recorridos largos que
+     * no deben bloquear las modificaciones ni verlas a medias.
+     *
+     * La primera llamada copia las aristas a diccionarios persistentes en
+     * O(V^2 + E log V); a partir de ahi cada version toma O(1) y cada
+     * modificacion del grafo cuesta O(log V) adicional para mantener la copia.
+     * Las modificaciones y las llamadas a snapshot() deben hacerse desde un
+     * mismo hilo o bajo un candado, pero las versiones obtenidas pueden
+     * leerse desde cualquier hilo sin sincronizacion.
+     *
+     * @return La version actual del grafo
+     */
+    public GraphSnapshot<T> snapshot() {
+        if (versiones == null) {
+            versiones = VersionedAdjacency.de(this);
         }
+        return versiones.snapshot();
     }
-    
-    return count;
-}
-    
-   
+
 }
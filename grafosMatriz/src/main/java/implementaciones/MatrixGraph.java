@@ -1,8 +1,12 @@
 package implementaciones;
 
 import excepciones.GraphException;
-import interfaces.IGraph;
-import java.util.Iterator;
+import interfaces.EdgeBuffer;
+import interfaces.IIndexedGraph;
+import interfaces.INeighborCursor;
+import interfaces.INeighborVisitor;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedList;
 
 /**
@@ -15,30 +19,229 @@ import java.util.LinkedList;
  *
  * @author Manuel Domitsu Kono
  */
-public abstract class MatrixGraph<T> implements IGraph<T> {
+public abstract class MatrixGraph<T> implements IIndexedGraph<T> {
 
-    protected final LinkedList<Vertex<T>> vertices;
+    /**
+     * Numero maximo de vertices que admite la matriz. El buffer plano de
+     * adyacencias se indexa con un int, asi que capacidad * capacidad no
+     * puede rebasar Integer.MAX_VALUE.
+     */
+    public static final int MAX_CAPACIDAD = 46340;
+
+    /**
+     * Capacidad inicial de un grafo que crece segun se necesite
+     */
+    public static final int CAPACIDAD_INICIAL = 16;
+
+    protected final VertexDictionary<T, Vertex<T>> vertices;
     protected int nVertices;
-    protected final double adyacencias[][];
+    /**
+     * Matriz de adyacencias guardada por renglones en un solo arreglo. La
+     * celda (i, j) esta en adyacencias[i * capacidad + j].
+     */
+    protected double adyacencias[];
+    protected int capacidad;
     protected final int maxVertices;
+    protected ModoRemocion modoRemocion;
+    /**
+     * Numero de celdas de la matriz que tienen una arista, y cuantas de ellas
+     * estan en la diagonal. Se mantienen en setCelda
+     */
+    protected int nCeldas;
+    protected int nLazos;
+    /**
+     * Numero de celdas con arista en el renglon (grado de salida) y en la
+     * columna (grado de entrada) de cada vertice
+     */
+    protected int gradoSalida[];
+    protected int gradoEntrada[];
+    /**
+     * Copia persistente de las adyacencias de la que se obtienen las versiones
+     * inmutables del grafo. Es null hasta que se pide la primera version; a
+     * partir de ahi setCelda y los metodos de vertices la mantienen al dia.
+     */
+    VersionedAdjacency<T> versiones;
 
     /**
-     * Constructor de la clase
+     * Forma en que removeVertex reacomoda la matriz de adyacencias
+     */
+    public enum ModoRemocion {
+        /**
+         * Recorre una posicion los renglones y columnas que siguen al vertice
+         * eliminado. Conserva el orden de los vertices; toma O(n^2).
+         */
+        RECORRIDO,
+        /**
+         * Mueve el ultimo vertice al lugar del vertice eliminado. No conserva
+         * el orden de los vertices; toma O(n).
+         */
+        INTERCAMBIO
+    }
+
+    /**
+     * Constructor de la clase. Crea un grafo con capacidad fija; agregar mas
+     * vertices que maxVertices lanza una excepcion
      *
      * @param maxVertices Numero maximo de vertices en el grafo
+     * @throws GraphException Si maxVertices excede MAX_CAPACIDAD
      */
     public MatrixGraph(int maxVertices) {
+        this(maxVertices, maxVertices);
+    }
+
+    /**
+     * Constructor de la clase. Crea un grafo cuya matriz de adyacencias crece
+     * geometricamente segun se agregan vertices, hasta MAX_CAPACIDAD
+     */
+    public MatrixGraph() {
+        this(CAPACIDAD_INICIAL, MAX_CAPACIDAD);
+    }
+
+    /**
+     * Constructor de la clase
+     *
+     * @param capacidad Numero de vertices para el que se reserva la matriz
+     * @param maxVertices Numero maximo de vertices en el grafo
+     */
+    private MatrixGraph(int capacidad, int maxVertices) {
+        if (maxVertices < 0 || maxVertices > MAX_CAPACIDAD) {
+            throw new GraphException("Numero maximo de vertices invalido: "
+                    + maxVertices);
+        }
         nVertices = 0;
-        vertices = new LinkedList<>();
+        vertices = new VertexDictionary<>(capacidad);
+        this.capacidad = capacidad;
         this.maxVertices = maxVertices;
-        adyacencias = new double[maxVertices][maxVertices];
+        modoRemocion = ModoRemocion.RECORRIDO;
+        gradoSalida = new int[capacidad];
+        gradoEntrada = new int[capacidad];
+        adyacencias = new double[capacidad * capacidad];
 // Un elemento con el valor de Double.POSITIVE_INFINITY se
 // considera como que no existe una arista
-        for (int i = 0; i < maxVertices; i++) {
-            for (int j = 0; j < maxVertices; j++) {
-                adyacencias[i][j] = Double.POSITIVE_INFINITY;
+        Arrays.fill(adyacencias, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Obtiene la posicion de la celda (i, j) en el arreglo de adyacencias
+     *
+     * @param i Indice del renglon
+     * @param j Indice de la columna
+     * @return La posicion de la celda en el arreglo de adyacencias
+     */
+    protected final int celda(int i, int j) {
+        return i * capacidad + j;
+    }
+
+    /**
+     * Establece el peso de la celda (i, j) actualizando el numero de celdas
+     * con arista y los grados de los vertices. Un peso de
+     * Double.POSITIVE_INFINITY elimina la arista.
+     *
+     * @param i Indice del renglon
+     * @param j Indice de la columna
+     * @param peso Nuevo peso de la celda
+     */
+    protected final void setCelda(int i, int j, double peso) {
+        int k = celda(i, j);
+        boolean habia = adyacencias[k] != Double.POSITIVE_INFINITY;
+        boolean hay = peso != Double.POSITIVE_INFINITY;
+        adyacencias[k] = peso;
+        if (habia != hay) {
+            int delta = hay ? 1 : -1;
+            nCeldas += delta;
+            if (i == j) {
+                nLazos += delta;
             }
+            gradoSalida[i] += delta;
+            gradoEntrada[j] += delta;
+        }
+        if (versiones != null && (habia || hay)) {
+            if (hay) {
+                versiones.ponArista(getEtiqueta(i), getEtiqueta(j), peso);
+            } else {
+                versiones.quitaArista(getEtiqueta(i), getEtiqueta(j));
+            }
+        }
+    }
+
+    /**
+     * Obtiene el numero de aristas que salen del vertice dado. En un grafo no
+     * dirigido es el numero de vertices adyacentes.
+     *
+     * @param etiqueta Etiqueta del vertice
+     * @return El grado de salida del vertice
+     * @throws GraphException Si el vertice no existe
+     */
+    public int getGradoSalida(T etiqueta) throws GraphException {
+        int indice = indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
+        }
+        return gradoSalida[indice];
+    }
+
+    /**
+     * Obtiene el numero de aristas que llegan al vertice dado. En un grafo no
+     * dirigido es el numero de vertices adyacentes.
+     *
+     * @param etiqueta Etiqueta del vertice
+     * @return El grado de entrada del vertice
+     * @throws GraphException Si el vertice no existe
+     */
+    public int getGradoEntrada(T etiqueta) throws GraphException {
+        int indice = indexOf(etiqueta);
+        if (indice == -1) {
+            throw new GraphException("Vertice " + etiqueta + " no existe");
         }
+        return gradoEntrada[indice];
+    }
+
+    /**
+     * Obtiene el numero de vertices para el que hay espacio en la matriz de
+     * adyacencias sin volver a crecer
+     *
+     * @return La capacidad actual de la matriz de adyacencias
+     */
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Obtiene la forma en que removeVertex reacomoda la matriz de adyacencias
+     *
+     * @return El modo de remocion de vertices
+     */
+    public ModoRemocion getModoRemocion() {
+        return modoRemocion;
+    }
+
+    /**
+     * Establece la forma en que removeVertex reacomoda la matriz de
+     * adyacencias
+     *
+     * @param modoRemocion El modo de remocion de vertices
+     */
+    public void setModoRemocion(ModoRemocion modoRemocion) {
+        this.modoRemocion = modoRemocion;
+    }
+
+    /**
+     * Duplica la capacidad de la matriz de adyacencias, copiando los
+     * renglones de los vertices existentes en un nuevo arreglo
+     */
+    private void crece() {
+        int nuevaCapacidad = (int) Math.min((long) capacidad * 2, maxVertices);
+        nuevaCapacidad = Math.max(nuevaCapacidad, 1);
+        double[] nuevas = new double[nuevaCapacidad * nuevaCapacidad];
+        Arrays.fill(nuevas, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < nVertices; i++) {
+            System.arraycopy(adyacencias, i * capacidad, nuevas,
+                    i * nuevaCapacidad, nVertices);
+        }
+        adyacencias = nuevas;
+        capacidad = nuevaCapacidad;
+        gradoSalida = Arrays.copyOf(gradoSalida, nuevaCapacidad);
+        gradoEntrada = Arrays.copyOf(gradoEntrada, nuevaCapacidad);
     }
 
     /**
@@ -55,13 +258,65 @@ public abstract class MatrixGraph<T> implements IGraph<T> {
         if (nVertices >= maxVertices) {
             throw new GraphException("Grafo lleno");
         }
-// Verifica que el vertice no este repetido
-        if (hasVertex(etiqueta)) {
+// Agrega el vertice verificando que no este repetido
+        if (vertices.add(new Vertex<>(etiqueta)) < 0) {
             throw new GraphException("Vertice repetido");
         }
-// Agrega el vertice
-        vertices.add(new Vertex(etiqueta));
+// Si la matriz esta llena y el grafo puede crecer, duplica su capacidad
+        if (nVertices == capacidad) {
+            crece();
+        }
         nVertices++;
+        if (versiones != null) {
+            versiones.agregaVertice(etiqueta);
+        }
+    }
+
+    /**
+     * Agrega varios vertices al grafo. Verifica primero que haya espacio para
+     * todos y que ninguno este repetido, de modo que si hay un error no se
+     * agrega ningun vertice.
+     *
+     * @param etiquetas Etiquetas de los vertices a agregar
+     * @throws GraphException Si no hay espacio para los vertices nuevos o
+     * alguno esta repetido
+     */
+    @Override
+    public void addVertices(Collection<? extends T> etiquetas)
+            throws GraphException {
+        if ((long) nVertices + etiquetas.size() > maxVertices) {
+            throw new GraphException("Grafo lleno");
+        }
+        IIndexedGraph.super.addVertices(etiquetas);
+    }
+
+    /**
+     * Agrega las aristas de un buffer directamente en las celdas de la
+     * matriz, sin buscar las etiquetas. Valida el buffer una sola vez y
+     * descarta las aristas repetidas y las que el grafo ya tiene.
+     *
+     * @param aristas Buffer de aristas a agregar
+     * @param noDirigido true para agregar cada arista en ambas celdas
+     * @return El numero de aristas agregadas
+     * @throws GraphException Si alguna arista une posiciones fuera de rango
+     */
+    protected int agregaAristas(EdgeBuffer aristas, boolean noDirigido)
+            throws GraphException {
+        aristas.valida(nVertices, true);
+        int agregadas = 0;
+        for (int i = 0; i < aristas.size(); i++) {
+            int x = aristas.getOrigen(i);
+            int y = aristas.getDestino(i);
+            if (adyacencias[celda(x, y)] == Double.POSITIVE_INFINITY) {
+                double peso = aristas.getPeso(i);
+                setCelda(x, y, peso);
+                if (noDirigido) {
+                    setCelda(y, x, peso);
+                }
+                agregadas++;
+            }
+        }
+        return agregadas;
     }
 
     /**
@@ -83,171 +338,197 @@ public abstract class MatrixGraph<T> implements IGraph<T> {
      * @return La posicion del vertice en el diccionario de vertices si existe,
      * -1 en caso contrario.
      */
-    protected int indexOf(T etiqueta) {
-        for (int i = 0; i < nVertices; i++) {
-            if (etiqueta.equals(vertices.get(i).getEtiqueta())) {
-                return i;
-            }
-        }
-        return -1;
+    @Override
+    public int indexOf(T etiqueta) {
+        return vertices.indexOf(etiqueta);
     }
 
     /**
-     * Obtiene el numero de vertices del grafo
+     * Obtiene la etiqueta del vertice en la posicion dada
      *
-     * @return El numero de vertices del grafo
+     * @param indice Posicion del vertice
+     * @return La etiqueta del vertice
+     * @throws IndexOutOfBoundsException Si la posicion no es valida
      */
     @Override
-    public int getNumberVertices() {
-        return nVertices;
+    public T getEtiqueta(int indice) {
+        return vertices.get(indice).getEtiqueta();
     }
 
     /**
-     * Determina si el grafo está vacio
+     * Invoca al visitante por cada celda con arista del renglon del vertice en
+     * la posicion dada. Toma O(n) sin importar el grado del vertice.
      *
-     * @return true si el grafo esta vacio, false en caso contrario
+     * @param indice Posicion del vertice
+     * @param visitante Visitante de las aristas
      */
     @Override
-    public boolean empty() {
-        return nVertices == 0;
+    public void forEachNeighbor(int indice, INeighborVisitor visitante) {
+        if (indice < 0 || indice >= nVertices) {
+            throw new IndexOutOfBoundsException("Posicion " + indice
+                    + " fuera de rango");
+        }
+        int inicio = celda(indice, 0);
+        for (int j = 0; j < nVertices; j++) {
+            double peso = adyacencias[inicio + j];
+            if (peso != Double.POSITIVE_INFINITY) {
+                visitante.visit(j, peso);
+            }
+        }
     }
 
     /**
-     * Obtiene una cadena con una representacion del grafo
+     * Crea un cursor que recorre directamente el renglon de la matriz,
+     * saltando las celdas sin arista. Recorrer un renglon toma O(n).
      *
-     * @return Una cadena con una representacion del grafo
+     * @return Un cursor nuevo, sin posicionar
      */
     @Override
-    public String toString() {
-        String s = " ";
-        for (int j = 0; j < nVertices; j++) {
-            s += vertices.get(j).getEtiqueta();
-            if (j < nVertices - 1) {
-                s += " ";
+    public INeighborCursor newNeighborCursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Cursor sobre las celdas con arista de un renglon
+     */
+    private final class Cursor implements INeighborCursor {
+
+        private int inicio;
+        private int j;
+
+        @Override
+        public void reset(int indice) {
+            if (indice < 0 || indice >= nVertices) {
+                throw new IndexOutOfBoundsException("Posicion " + indice
+                        + " fuera de rango");
             }
+            inicio = celda(indice, 0);
+            j = -1;
         }
-        s += "\n";
-        for (int i = 0; i < nVertices; i++) {
-            s += vertices.get(i).getEtiqueta();
-            s += " | ";
-            for (int j = 0; j < nVertices; j++) {
-                if (adyacencias[i][j] == Double.POSITIVE_INFINITY) {
-                    s += "---";
-                } else {
-                    s += adyacencias[i][j];
-                }
-                if (j < nVertices - 1) {
-                    s += ", ";
+
+        @Override
+        public boolean next() {
+            while (++j < nVertices) {
+                if (adyacencias[inicio + j] != Double.POSITIVE_INFINITY) {
+                    return true;
                 }
             }
-            s += " |\n";
+            return false;
+        }
+
+        @Override
+        public int target() {
+            return j;
+        }
+
+        @Override
+        public double weight() {
+            return adyacencias[inicio + j];
         }
-        return s;
     }
 
     /**
-     * Regresa el vertice cuya etiqueta esta dada por el parametro
+     * Calcula los caminos de menor peso entre todos los pares de vertices con
+     * Floyd-Warshall por bloques. Los pesos se copian directamente de la
+     * matriz de adyacencias, que ya tiene la forma que el algoritmo necesita.
      *
-     * @param etiqueta Etiqueta del vertice a obtener
-     * @return El vertice si esta en la lista de vertices, null en caso
-     * contrario
+     * @param hilos Numero de hilos; con 1 el calculo es secuencial
+     * @return Las distancias y los siguientes saltos entre todos los pares
+     * @throws GraphException Si el numero de hilos no es positivo
      */
-    private Vertex<T> getVertex(T etiqueta) {
-        Vertex<T> vertice;
-        for (int i = 0; i < nVertices; i++) {
-            vertice = vertices.get(i);
-            if (etiqueta.equals(vertice.getEtiqueta())) {
-                return vertice;
-            }
-        }
-        return null;
+    public FloydWarshall<T> allPairsShortestPaths(int hilos)
+            throws GraphException {
+        return new FloydWarshall<>(this, adyacencias, capacidad, hilos,
+                FloydWarshall.BLOQUE, MatrixKernels.INSTANCIA);
     }
 
     /**
-     * Establece los atributos de todos los vértices del grafo a los siguientes
-     * valores: visited = false, predecessor = null, weight = 0.
+     * Calcula la cerradura transitiva del grafo con el algoritmo de
+     * Warshall sobre renglones de bits: la celda (i, j) del resultado esta
+     * encendida si hay un camino de al menos una arista de i a j, asi que
+     * (i, i) esta encendida si i esta en un ciclo. Por cada vertice
+     * intermedio k, cada renglon que alcanza a k se combina con el renglon k
+     * con un OR por palabras, vectorial si esta disponible. Toma O(V^3 / 64).
+     *
+     * @return Un grafo dirigido sin pesos con los mismos vertices, en el
+     * mismo orden, y una arista por cada par alcanzable
      */
-    private void resetVertices() {
-        for (Vertex<T> vertice : vertices) {
-            vertice.setVisitado(false);
-            vertice.setPeso(0);
-            vertice.setPredecesor(null);
+    public BitMatrixDiGraph<T> transitiveClosure() {
+        BitMatrixDiGraph<T> cierre = new BitMatrixDiGraph<>(nVertices);
+        for (int i = 0; i < nVertices; i++) {
+            cierre.addVertex(getEtiqueta(i));
+        }
+        for (int i = 0; i < nVertices; i++) {
+            for (int j = 0; j < nVertices; j++) {
+                if (adyacencias[celda(i, j)] != Double.POSITIVE_INFINITY) {
+                    cierre.setBit(i, j, true);
+                }
+            }
         }
+        int ancho = cierre.palabrasPorRenglon;
+        long[] palabras = cierre.palabras;
+        for (int k = 0; k < nVertices; k++) {
+            for (int i = 0; i < nVertices; i++) {
+                if (cierre.getBit(i, k)) {
+                    MatrixKernels.INSTANCIA.or(palabras, i * ancho, k * ancho,
+                            ancho);
+                }
+            }
+        }
+        return cierre;
     }
 
     /**
-     * Obtiene un iterador a los vertices vecinos de un vertice
+     * Obtiene el numero de vertices del grafo
      *
-     * @param vertice Vertice del que se desea el iterador a sus vecinos
-     * @return El iterador a los vertices vecinos a un vertice
+     * @return El numero de vertices del grafo
      */
-    private Iterator<Vertex<T>>
-            getNeighborIterator(Vertex<T> vertice) {
-        LinkedList<Vertex<T>> vecinos = new LinkedList<>();
-        int indice = indexOf(vertice.getEtiqueta());
-        for (int i = 0; i < nVertices; i++) {
-            if (adyacencias[indice][i] != Double.POSITIVE_INFINITY) {
-                vecinos.add(vertices.get(i));
-            }
-        }
-        return vecinos.listIterator();
+    @Override
+    public int getNumberVertices() {
+        return nVertices;
     }
 
     /**
-     * Obtiene un iterador a los pesos de los vertices vecinos a un vertice
+     * Determina si el grafo está vacio
      *
-     * @param vertice Vertice del que se desea el iterador a sus pesos
-     * @return El iterador a los pesos de los vertices vecinos a un vertice
+     * @return true si el grafo esta vacio, false en caso contrario
      */
-    private Iterator<Double> getWeightIterator(Vertex<T> vertice) {
-        LinkedList<Double> pesos = new LinkedList<>();
-        int indice = indexOf(vertice.getEtiqueta());
-        for (int i = 0; i < nVertices; i++) {
-            if (adyacencias[indice][i] != Double.POSITIVE_INFINITY) {
-                pesos.add(vertices.get(i).getPeso());
-            }
-        }
-        return pesos.listIterator();
+    @Override
+    public boolean empty() {
+        return nVertices == 0;
     }
 
     /**
-     * Determina si un vertice tiene al menos un vertice vecino
+     * Obtiene una cadena con una representacion del grafo
      *
-     * @param vertice Vertice del que se desea saber si tiene al menos un vecino
-     * @return true si este vertice tiene al menos un vertice vecino. false en
-     * caso contrario
+     * @return Una cadena con una representacion del grafo
      */
-    private boolean hasNeighbor(Vertex<T> vertice) {
-        int indice = indexOf(vertice.getEtiqueta());
-        for (int i = 0; i < nVertices; i++) {
-            if (adyacencias[indice][i] != Double.POSITIVE_INFINITY) {
-                return true;
-            }
-        }
-        return false;
+    @Override
+    public String toString() {
+        return GraphWriter.matrixString(this);
     }
 
     /**
-     * Obtiene uno de los vertices vecinos no visitados de un vertice si existe
+     * Regresa el vertice cuya etiqueta esta dada por el parametro
      *
-     * @param vertice Vertice del que se desea obtener uno de los vertices no
-     * visitado
-     * @return Uno de los vertices vecinos de no visiteds de este vertice si
-     * existe, null en caso contrario
-     */
-    private Vertex<T> getUnvisitedNeighbor(Vertex<T> vertice) {
-        int indice = indexOf(vertice.getEtiqueta());
-        Vertex<T> vecino;
-        for (int i = 0; i < nVertices; i++) {
+     * @param etiqueta Etiqueta del vertice a obtener
+     * @return El vertice si esta en la lista de vertices, null en caso
+     * contrario
+     */
+    private Vertex<T> getVertex(T etiqueta) {
+        return vertices.get(etiqueta);
+    }
 
-            if (adyacencias[indice][i] != Double.POSITIVE_INFINITY) {
-                vecino = vertices.get(i);
-                if (!vecino.isVisitado()) {
-                    return vecino;
-                }
-            }
+    /**
+     * Establece los atributos de todos los vértices del grafo a los siguientes
+     * valores: visited = false, predecessor = null, weight = 0.
+     */
+    private void resetVertices() {
+        for (Vertex<T> vertice : vertices) {
+            vertice.setVisitado(false);
+            vertice.setPeso(0);
+            vertice.setPredecesor(null);
         }
-        return null;
     }
 
     /**
@@ -267,34 +548,90 @@ public abstract class MatrixGraph<T> implements IGraph<T> {
             throw new GraphException("El vertice no existe");
         }
 
-        //Eliminar todas las aristas asociadas al vertice
+        //Descontar las aristas del vertice de los contadores
         for (int i = 0; i < nVertices; i++) {
-            adyacencias[indice][i] = Double.POSITIVE_INFINITY;
-            adyacencias[i][indice] = Double.POSITIVE_INFINITY;
+            setCelda(indice, i, Double.POSITIVE_INFINITY);
+            setCelda(i, indice, Double.POSITIVE_INFINITY);
+        }
 
+        if (modoRemocion == ModoRemocion.INTERCAMBIO) {
+            removeVertexIntercambio(indice);
+        } else {
+            removeVertexRecorrido(indice);
         }
+        if (versiones != null) {
+            versiones.eliminaVertice(etiqueta);
+        }
+    }
 
-        //Eliminar el vértice de la lista
+    /**
+     * Elimina el vertice de la posicion dada recorriendo una posicion los
+     * renglones y columnas que le siguen, de modo que la matriz conserva el
+     * orden del diccionario
+     *
+     * @param indice Posicion del vertice a eliminar
+     */
+    private void removeVertexRecorrido(int indice) {
+        //Eliminar el vértice del diccionario
         vertices.remove(indice);
         nVertices--;
 
-        //Reorganizar la matriz de adyacencias para llenar el espacio dejado por el vertice eliminado
+        //Recorrer una posicion las filas y las columnas que siguen al vertice
+        //eliminado para que la matriz conserve el orden del diccionario
+        for (int i = 0; i <= nVertices; i++) {
+            System.arraycopy(adyacencias, celda(i, indice + 1), adyacencias,
+                    celda(i, indice), nVertices - indice);
+        }
         for (int i = indice; i < nVertices; i++) {
-            for (int j = 0; j < maxVertices; j++) {
-                adyacencias[i][j] = adyacencias[i + 1][j];
-
-            }
-
+            System.arraycopy(adyacencias, celda(i + 1, 0), adyacencias,
+                    celda(i, 0), nVertices);
         }
+        System.arraycopy(gradoSalida, indice + 1, gradoSalida, indice,
+                nVertices - indice);
+        System.arraycopy(gradoEntrada, indice + 1, gradoEntrada, indice,
+                nVertices - indice);
 
-        //Llenar con infinito las posiciones que quedaron vacías
-        for (int i = nVertices; i < maxVertices; i++) {
-            for (int j = 0; j < maxVertices; j++) {
-                adyacencias[i][j] = Double.POSITIVE_INFINITY;
+        //Llenar con infinito la fila y la columna que quedaron libres
+        limpiaUltimo();
+    }
 
+    /**
+     * Elimina el vertice de la posicion dada moviendo a su lugar el renglon y
+     * la columna del ultimo vertice. Toma O(n).
+     *
+     * @param indice Posicion del vertice a eliminar
+     */
+    private void removeVertexIntercambio(int indice) {
+        vertices.swapRemove(indice);
+        int ultimo = --nVertices;
+        if (indice != ultimo) {
+            //Copiar el renglon del ultimo vertice al hueco
+            System.arraycopy(adyacencias, celda(ultimo, 0), adyacencias,
+                    celda(indice, 0), ultimo + 1);
+            //Copiar la columna del ultimo vertice al hueco; el lazo del
+            //ultimo vertice pasa de (indice, ultimo) a (indice, indice)
+            for (int i = 0; i <= ultimo; i++) {
+                adyacencias[celda(i, indice)] = adyacencias[celda(i, ultimo)];
             }
+            gradoSalida[indice] = gradoSalida[ultimo];
+            gradoEntrada[indice] = gradoEntrada[ultimo];
+        }
+
+        //Llenar con infinito la fila y la columna que quedaron libres
+        limpiaUltimo();
+    }
 
+    /**
+     * Llena con infinito el renglon y la columna que siguen al ultimo vertice,
+     * que quedaron libres despues de eliminar un vertice
+     */
+    private void limpiaUltimo() {
+        for (int i = 0; i <= nVertices; i++) {
+            adyacencias[celda(nVertices, i)] = Double.POSITIVE_INFINITY;
+            adyacencias[celda(i, nVertices)] = Double.POSITIVE_INFINITY;
         }
+        gradoSalida[nVertices] = 0;
+        gradoEntrada[nVertices] = 0;
     }
 
     /**
@@ -304,11 +641,7 @@ public abstract class MatrixGraph<T> implements IGraph<T> {
      */
     @Override
     public LinkedList<T> getVertices() {
-        LinkedList<T> etiquetas = new LinkedList<>();
-        for (Vertex<T> vertice : vertices) {
-            etiquetas.add(vertice.getEtiqueta());
-        }
-        return etiquetas;
+        return vertices.getEtiquetas();
     }
 
     /**
@@ -316,16 +649,54 @@ public abstract class MatrixGraph<T> implements IGraph<T> {
      */
     @Override
     public void clear() {
+        // Reinicializar con infinito los renglones de los vertices existentes;
+        // las demas celdas ya valen infinito
+        for (int i = 0; i < nVertices; i++) {
+            Arrays.fill(adyacencias, celda(i, 0), celda(i, nVertices),
+                    Double.POSITIVE_INFINITY);
+        }
+
+        Arrays.fill(gradoSalida, 0, nVertices, 0);
+        Arrays.fill(gradoEntrada, 0, nVertices, 0);
+        nCeldas = 0;
+        nLazos = 0;
+
         // Limpiar la lista de vértices
         vertices.clear();
         nVertices = 0;
+        if (versiones != null) {
+            versiones.limpia();
+        }
+    }
 
-        // Reinicializar la matriz de adyacencias con infinito
-        for (int i = 0; i < maxVertices; i++) {
-            for (int j = 0; j < maxVertices; j++) {
-                adyacencias[i][j] = Double.POSITIVE_INFINITY;
+    /**
+     * Copia este grafo en un grafo inmutable en formato CSR. Los indices de
+     * los vertices en el grafo CSR son sus posiciones en el diccionario de
+     * vertices.
+     *
+     * @param dirigido true si el grafo es dirigido, false en caso contrario
+     * @return El grafo CSR con los mismos vertices y aristas que este grafo
+     */
+    protected CsrGraph<T> freeze(boolean dirigido) {
+        int[] offsets = new int[nVertices + 1];
+        for (int i = 0; i < nVertices; i++) {
+            offsets[i + 1] = offsets[i] + MatrixKernels.INSTANCIA
+                    .cuentaAristas(adyacencias, celda(i, 0),
+                            celda(i, nVertices));
+        }
+        int[] targets = new int[offsets[nVertices]];
+        double[] weights = new double[offsets[nVertices]];
+        int e = 0;
+        for (int i = 0; i < nVertices; i++) {
+            for (int j = 0; j < nVertices; j++) {
+                if (adyacencias[celda(i, j)] != Double.POSITIVE_INFINITY) {
+                    targets[e] = j;
+                    weights[e++] = adyacencias[celda(i, j)];
+                }
             }
         }
+        return new CsrGraph<>(getVertices(), offsets, targets, weights,
+                dirigido);
     }
 
 }
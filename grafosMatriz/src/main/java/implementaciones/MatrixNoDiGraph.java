@@ -1,6 +1,7 @@
 package implementaciones;
 
 import excepciones.GraphException;
+import interfaces.EdgeBuffer;
 import java.util.LinkedList;
 
 /**
@@ -23,6 +24,14 @@ public class MatrixNoDiGraph<T> extends MatrixGraph<T> {
         super(maxVertices);
     }
 
+    /**
+     * Constructor de la clase. Crea un grafo cuya matriz de adyacencias crece
+     * segun se agregan vertices
+     */
+    public MatrixNoDiGraph() {
+        super();
+    }
+
     /**
      * Agrega una arista entre los vertices verticeX y verticeY si no existe.
      *
@@ -48,18 +57,18 @@ public class MatrixNoDiGraph<T> extends MatrixGraph<T> {
                     + " no existe");
         }
 // Verifica si la arista existe
-        if (adyacencias[indicex][indicey]
+        if (adyacencias[celda(indicex, indicey)]
                 != Double.POSITIVE_INFINITY) {
             throw new GraphException("Arista " + etqX + " - "
                     + etqY + " ya existe");
         }
-        if (adyacencias[indicey][indicex]
+        if (adyacencias[celda(indicey, indicex)]
                 != Double.POSITIVE_INFINITY) {
             throw new GraphException("Arista " + etqY + " - "
                     + etqX + " ya existe");
         }
-        adyacencias[indicex][indicey] = peso;
-        adyacencias[indicey][indicex] = peso;
+        setCelda(indicex, indicey, peso);
+        setCelda(indicey, indicex, peso);
     }
 
     /**
@@ -103,12 +112,12 @@ public class MatrixNoDiGraph<T> extends MatrixGraph<T> {
             throw new GraphException("Vertice " + etqY
                     + " no existe");
         }
-        return (adyacencias[indicex][indicey]
+        return (adyacencias[celda(indicex, indicey)]
                 != Double.POSITIVE_INFINITY)
-                && (adyacencias[indicey][indicex]
+                && (adyacencias[celda(indicey, indicex)]
                 != Double.POSITIVE_INFINITY)
-                && adyacencias[indicex][indicey]
-                == adyacencias[indicey][indicex];
+                && adyacencias[celda(indicex, indicey)]
+                == adyacencias[celda(indicey, indicex)];
     }
 
     /**
@@ -138,17 +147,17 @@ public class MatrixNoDiGraph<T> extends MatrixGraph<T> {
         }
 // Verifica si la arista existe
 // Verifica si la arista existe
-        if (adyacencias[indicex][indicey]
+        if (adyacencias[celda(indicex, indicey)]
                 == Double.POSITIVE_INFINITY) {
             throw new GraphException("Arista " + etqX + " - "
                     + etqY + " no existe");
         }
-        if (adyacencias[indicey][indicex]
+        if (adyacencias[celda(indicey, indicex)]
                 == Double.POSITIVE_INFINITY) {
             throw new GraphException("Arista " + etqY + " - "
                     + etqX + " no existe");
         }
-        return adyacencias[indicex][indicey];
+        return adyacencias[celda(indicex, indicey)];
     }
 
     @Override
@@ -165,14 +174,14 @@ public class MatrixNoDiGraph<T> extends MatrixGraph<T> {
         }
 
         // Verifica existencia de arista (en ambas direcciones)
-        if (adyacencias[indiceX][indiceY] == Double.POSITIVE_INFINITY
-                || adyacencias[indiceY][indiceX] == Double.POSITIVE_INFINITY) {
+        if (adyacencias[celda(indiceX, indiceY)] == Double.POSITIVE_INFINITY
+                || adyacencias[celda(indiceY, indiceX)] == Double.POSITIVE_INFINITY) {
             throw new GraphException("Arista " + etqX + " - " + etqY + " no existe");
         }
 
         // Elimina la arista en ambas direcciones
-        adyacencias[indiceX][indiceY] = Double.POSITIVE_INFINITY;
-        adyacencias[indiceY][indiceX] = Double.POSITIVE_INFINITY;
+        setCelda(indiceX, indiceY, Double.POSITIVE_INFINITY);
+        setCelda(indiceY, indiceX, Double.POSITIVE_INFINITY);
     }
 
     @Override
@@ -189,28 +198,65 @@ public class MatrixNoDiGraph<T> extends MatrixGraph<T> {
         }
 
         // Verifica existencia de arista
-        if (adyacencias[indiceX][indiceY] == Double.POSITIVE_INFINITY
-                || adyacencias[indiceY][indiceX] == Double.POSITIVE_INFINITY) {
+        if (adyacencias[celda(indiceX, indiceY)] == Double.POSITIVE_INFINITY
+                || adyacencias[celda(indiceY, indiceX)] == Double.POSITIVE_INFINITY) {
             throw new GraphException("Arista " + etqX + " - " + etqY + " no existe");
         }
 
         // Establece el nuevo peso en ambas direcciones
-        adyacencias[indiceX][indiceY] = peso;
-        adyacencias[indiceY][indiceX] = peso;
+        setCelda(indiceX, indiceY, peso);
+        setCelda(indiceY, indiceX, peso);
     }
 
+    /**
+     * Obtiene el numero de aristas del grafo. Cada arista ocupa dos celdas
+     * simetricas de la matriz, salvo los lazos que ocupan una. El numero se
+     * mantiene al agregar y eliminar aristas y vertices, asi que no se recorre
+     * la matriz.
+     *
+     * @return El numero de aristas del grafo
+     */
     @Override
     public int getNumberEdges() {
-        int count = 0;
-        for (int i = 0; i < nVertices; i++) {
-            for (int j = i; j < nVertices; j++) { // j = i para evitar contar duplicados
-                if (adyacencias[i][j] != Double.POSITIVE_INFINITY) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return (nCeldas + nLazos) / 2;
+    }
+
+    /**
+     * Agrega las aristas de un buffer directamente en la matriz, descartando
+     * las repetidas y las que el grafo ya tiene. Toma O(E).
+     *
+     * @param aristas Buffer de aristas a agregar
+     * @return El numero de aristas agregadas
+     * @throws GraphException Si alguna arista une posiciones fuera de rango
+     */
+    @Override
+    public int addEdges(EdgeBuffer aristas) throws GraphException {
+        return agregaAristas(aristas, true);
+    }
+
+    /**
+     * Copia este grafo en un grafo inmutable en formato CSR, optimizado para
+     * consultas. Para regresar a un grafo modificable se usa
+     * CsrGraph.thaw(new MatrixNoDiGraph<>()).
+     *
+     * @return El grafo CSR con los mismos vertices y aristas que este grafo
+     */
+    public CsrGraph<T> freeze() {
+        return freeze(false);
     }
-    
-    
+
+    /**
+     * Calcula el bosque generador de peso minimo del grafo con el algoritmo
+     * de Prim, que conviene en una matriz de adyacencias porque recorre cada
+     * renglon una sola vez, en O(V^2) en total, en lugar de copiar y ordenar
+     * todas las aristas. Para otro algoritmo se usa
+     * MinimumSpanningTree.kruskal(grafo, new MatrixNoDiGraph<>()).
+     *
+     * @return El bosque, como un grafo nuevo con los mismos vertices en el
+     * mismo orden, con su peso total
+     */
+    public MinimumSpanningTree<T> minimumSpanningTree() {
+        return MinimumSpanningTree.prim(this, new MatrixNoDiGraph<>());
+    }
+
 }
@@ -0,0 +1,142 @@
+package implementaciones;
+
+import excepciones.GraphException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Clase de pruebas unitarias para BitMatrixDiGraph y BitMatrixNoDiGraph.
+ */
+public class BitMatrixGraphTest {
+
+    /**
+     * Prueba agregar, consultar y eliminar aristas en el grafo dirigido.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testDiGraph_aristas() throws GraphException {
+        BitMatrixDiGraph<Integer> grafo = new BitMatrixDiGraph<>(130);
+        for (int i = 0; i < 130; i++) {
+            grafo.addVertex(i);
+        }
+        grafo.addEdge(0, 129);
+        grafo.addEdge(129, 0);
+        grafo.addEdge(64, 65);
+        grafo.addEdge(5, 5);
+        assertTrue(grafo.hasEdge(0, 129));
+        assertFalse(grafo.hasEdge(65, 64));
+        assertEquals(4, grafo.getNumberEdges());
+        assertEquals(0.0, grafo.getEdgeWeight(64, 65), 0.0);
+
+        grafo.removeEdge(129, 0);
+        assertFalse(grafo.hasEdge(129, 0));
+        assertEquals(3, grafo.getNumberEdges());
+    }
+
+    /**
+     * Prueba que el grafo dirigido conserve las aristas del ultimo vertice al
+     * eliminar otro vertice.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testDiGraph_removeVertex() throws GraphException {
+        BitMatrixDiGraph<String> grafo = new BitMatrixDiGraph<>(4);
+        grafo.addVertex("A");
+        grafo.addVertex("B");
+        grafo.addVertex("C");
+        grafo.addVertex("D");
+        grafo.addEdge("A", "D");
+        grafo.addEdge("D", "C");
+        grafo.addEdge("D", "D");
+        grafo.addEdge("B", "A");
+        grafo.addEdge("D", "B");
+        grafo.removeVertex("B");
+
+        assertEquals(3, grafo.getNumberVertices());
+        assertEquals(3, grafo.getNumberEdges());
+        assertTrue(grafo.hasEdge("A", "D"));
+        assertTrue(grafo.hasEdge("D", "C"));
+        assertTrue(grafo.hasEdge("D", "D"));
+        assertFalse(grafo.hasEdge("D", "A"));
+
+        grafo.addVertex("E");
+        assertEquals(3, grafo.getNumberEdges());
+    }
+
+    /**
+     * Prueba que el grafo no dirigido guarde cada arista una sola vez.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testNoDiGraph_aristas() throws GraphException {
+        BitMatrixNoDiGraph<String> grafo = new BitMatrixNoDiGraph<>(3);
+        grafo.addVertex("A");
+        grafo.addVertex("B");
+        grafo.addVertex("C");
+        grafo.addEdge("C", "A");
+        grafo.addEdge("B", "B");
+        assertTrue(grafo.hasEdge("A", "C"));
+        assertEquals(2, grafo.getNumberEdges());
+
+        grafo.removeVertex("A");
+        assertEquals(1, grafo.getNumberEdges());
+        assertFalse(grafo.hasEdge("B", "C"));
+        assertTrue(grafo.hasEdge("B", "B"));
+    }
+
+    /**
+     * Prueba que no se admitan aristas con peso distinto de 0.
+     *
+     * @throws GraphException se espera que lance esta excepción
+     */
+    @Test(expected = GraphException.class)
+    public void testAddEdge_conPeso() throws GraphException {
+        BitMatrixNoDiGraph<String> grafo = new BitMatrixNoDiGraph<>(2);
+        grafo.addVertex("A");
+        grafo.addVertex("B");
+        grafo.addEdge("A", "B", 2.0);
+    }
+
+    /**
+     * Prueba que una arista repetida lance excepción.
+     *
+     * @throws GraphException se espera que lance esta excepción
+     */
+    @Test(expected = GraphException.class)
+    public void testAddEdge_repetida() throws GraphException {
+        BitMatrixNoDiGraph<String> grafo = new BitMatrixNoDiGraph<>(2);
+        grafo.addVertex("A");
+        grafo.addVertex("B");
+        grafo.addEdge("A", "B");
+        grafo.addEdge("B", "A");
+    }
+
+    /**
+     * Prueba que el recorrido en amplitud encuentre los vecinos de cada
+     * renglon aunque ocupen varias palabras de 64 bits.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testDiGraph_bfsVariasPalabras() throws GraphException {
+        BitMatrixDiGraph<Integer> grafo = new BitMatrixDiGraph<>(200);
+        for (int i = 0; i < 200; i++) {
+            grafo.addVertex(i);
+        }
+        grafo.addEdge(0, 130);
+        grafo.addEdge(0, 70);
+        grafo.addEdge(130, 199);
+        grafo.addEdge(70, 1);
+
+        List<Integer> orden = new ArrayList<>();
+        GraphTraversal.bfs(grafo, 0,
+                (vertice, predecesor) -> orden.add(vertice));
+        assertEquals(Arrays.asList(0, 70, 130, 1, 199), orden);
+    }
+}
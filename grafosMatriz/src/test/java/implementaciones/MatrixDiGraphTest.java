@@ -1,6 +1,14 @@
 package implementaciones;
 
 import excepciones.GraphException;
+import interfaces.EdgeBuffer;
+import interfaces.INeighborCursor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -188,4 +196,331 @@ public class MatrixDiGraphTest {
         assertTrue("Debería contener los vértices", resultado.contains("A") && resultado.contains("B"));
         assertTrue("Debería mostrar el peso de la arista", resultado.contains("1.0"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Prueba que removeVertex conserve las aristas entre los vertices que
+     * quedan, recorriendo tanto las filas como las columnas de la matriz.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testRemoveVertex_conservaAristasRestantes() throws GraphException {
+        grafo.addEdge("A", "C", 1.0);
+        grafo.addEdge("C", "A", 2.0);
+        grafo.addEdge("B", "C", 3.0);
+        grafo.removeVertex("B");
+
+        assertFalse("El vertice B no deberia existir", grafo.hasVertex("B"));
+        assertEquals("Deberia tener 2 aristas", 2, grafo.getNumberEdges());
+        assertEquals(1.0, grafo.getEdgeWeight("A", "C"), 0.001);
+        assertEquals(2.0, grafo.getEdgeWeight("C", "A"), 0.001);
+
+        grafo.addVertex("D");
+        assertFalse("El vertice nuevo no deberia heredar aristas",
+                grafo.hasEdge("C", "D") || grafo.hasEdge("A", "D"));
+    }
+
+    /**
+     * Prueba que freeze copie el grafo en formato CSR y que thaw lo regrese a
+     * un grafo sobre matriz.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testFreezeThaw() throws GraphException {
+        grafo.addEdge("C", "A", 1.5);
+        grafo.addEdge("A", "B", 2.5);
+        CsrGraph<String> csr = grafo.freeze();
+
+        assertEquals(2, csr.getNumberEdges());
+        assertEquals(1.5, csr.getEdgeWeight("C", "A"), 0.001);
+        assertFalse(csr.hasEdge("B", "A"));
+
+        MatrixDiGraph<String> copia = csr.thaw(new MatrixDiGraph<>(5));
+        assertEquals(2.5, copia.getEdgeWeight("A", "B"), 0.001);
+        assertEquals(2, copia.getNumberEdges());
+    }
+
+    /**
+     * Prueba que un grafo sin numero maximo de vertices crezca conservando sus
+     * aristas.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testAddVertex_grafoCreciente() throws GraphException {
+        MatrixDiGraph<Integer> creciente = new MatrixDiGraph<>();
+        int n = MatrixGraph.CAPACIDAD_INICIAL * 4 + 3;
+        for (int i = 0; i < n; i++) {
+            creciente.addVertex(i);
+            if (i > 0) {
+                creciente.addEdge(i - 1, i, i);
+            }
+        }
+        assertEquals(n, creciente.getNumberVertices());
+        assertEquals(n - 1, creciente.getNumberEdges());
+        assertTrue(creciente.getCapacidad() >= n);
+        for (int i = 1; i < n; i++) {
+            assertEquals(i, creciente.getEdgeWeight(i - 1, i), 0.001);
+            assertFalse(creciente.hasEdge(i, i - 1));
+        }
+    }
+
+    /**
+     * Prueba que un grafo con numero maximo de vertices no crezca.
+     *
+     * @throws GraphException se espera que lance esta excepción
+     */
+    @Test(expected = GraphException.class)
+    public void testAddVertex_grafoLleno() throws GraphException {
+        grafo.addVertex("D");
+        grafo.addVertex("E");
+        grafo.addVertex("F");
+    }
+
+    /**
+     * Prueba que removeVertex en modo intercambio mueva el ultimo vertice al
+     * hueco sin perder sus aristas.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testRemoveVertex_modoIntercambio() throws GraphException {
+        grafo.setModoRemocion(MatrixGraph.ModoRemocion.INTERCAMBIO);
+        grafo.addVertex("D");
+        grafo.addEdge("A", "D", 1.0);
+        grafo.addEdge("D", "C", 2.0);
+        grafo.addEdge("D", "D", 3.0);
+        grafo.addEdge("B", "A", 4.0);
+        grafo.addEdge("A", "B", 5.0);
+        grafo.removeVertex("B");
+
+        assertEquals(3, grafo.getNumberVertices());
+        assertEquals(1, grafo.indexOf("D"));
+        assertEquals(3, grafo.getNumberEdges());
+        assertEquals(1.0, grafo.getEdgeWeight("A", "D"), 0.001);
+        assertEquals(2.0, grafo.getEdgeWeight("D", "C"), 0.001);
+        assertEquals(3.0, grafo.getEdgeWeight("D", "D"), 0.001);
+
+        grafo.addVertex("E");
+        assertEquals(3, grafo.getNumberEdges());
+    }
+
+    /**
+     * Prueba que el número de aristas y los grados de los vértices, que se
+     * mantienen al modificar el grafo, coincidan con un conteo directo después
+     * de cada operación de una secuencia aleatoria.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testContadores_mutacionesAleatorias() throws GraphException {
+        MatrixDiGraph<Integer> grafo = new MatrixDiGraph<>();
+        GraphAsserts.verificaMutacionesAleatorias(grafo, true, true,
+                grafo::getGradoSalida, grafo::getGradoEntrada);
+    }
+
+    /**
+     * Prueba los recorridos en amplitud y en profundidad sobre la matriz,
+     * incluyendo los predecesores del recorrido en amplitud.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testRecorridos() throws GraphException {
+        grafo.addVertex("D");
+        grafo.addVertex("E");
+        grafo.addEdge("A", "B");
+        grafo.addEdge("A", "C");
+        grafo.addEdge("B", "D");
+        grafo.addEdge("C", "D");
+        grafo.addEdge("D", "E");
+        grafo.addEdge("E", "A");
+
+        StringBuilder orden = new StringBuilder();
+        Map<String, String> predecesores = new HashMap<>();
+        GraphTraversal.bfs(grafo, "A", (vertice, predecesor) -> {
+            orden.append(vertice);
+            predecesores.put(vertice, predecesor);
+        });
+        assertEquals("ABCDE", orden.toString());
+        assertNull(predecesores.get("A"));
+        assertEquals("B", predecesores.get("D"));
+
+        StringBuilder profundidad = new StringBuilder();
+        Iterator<String> iterador = GraphTraversal.dfsIterator(grafo, "A");
+        while (iterador.hasNext()) {
+            profundidad.append(iterador.next());
+        }
+        assertEquals("ABDEC", profundidad.toString());
+    }
+
+    /**
+     * Prueba que Dijkstra, la busqueda bidireccional y A* encuentren el mismo
+     * camino de menor peso sobre la matriz.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testCaminoMenorPeso() throws GraphException {
+        grafo.addVertex("D");
+        grafo.addEdge("A", "D", 10.0);
+        grafo.addEdge("A", "B", 1.0);
+        grafo.addEdge("B", "C", 2.0);
+        grafo.addEdge("C", "D", 3.0);
+
+        List<String> esperado = Arrays.asList("A", "B",
+                "C", "D");
+        Camino<String> camino = new Dijkstra<>(grafo).shortestPath("A", "D");
+        assertEquals(esperado, camino.getVertices());
+        assertEquals(6.0, camino.getPeso(), 0.0);
+        assertEquals(esperado, new BidirectionalDijkstra<>(grafo)
+                .shortestPath("A", "D").getVertices());
+        assertEquals(esperado, new AStar<>(grafo, (x, d) -> 0.0)
+                .shortestPath("A", "D").getVertices());
+        assertFalse(new Dijkstra<>(grafo).shortestPath("D", "A").existe());
+    }
+
+    /**
+     * Prueba la carga en bloque sobre la matriz, incluyendo el limite de
+     * vertices del grafo.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testCargaEnBloque() throws GraphException {
+        EdgeBuffer aristas = new EdgeBuffer();
+        aristas.add(0, 1, 1.0);
+        aristas.add(0, 1, 2.0);
+        aristas.add(2, 2, 3.0);
+        assertEquals(2, grafo.addEdges(aristas));
+        assertEquals(2, grafo.getNumberEdges());
+        assertEquals(1.0, grafo.getEdgeWeight("A", "B"), 0.0);
+        assertTrue(grafo.hasEdge("C", "C"));
+
+        try {
+            grafo.addVertices(Arrays.asList("D", "E", "F"));
+            fail("Se esperaba GraphException por grafo lleno");
+        } catch (GraphException e) {
+            assertEquals(3, grafo.getNumberVertices());
+        }
+        grafo.addVertices(Arrays.asList("D", "E"));
+        assertEquals(5, grafo.getNumberVertices());
+    }
+
+    /**
+     * Prueba que una version inmutable conserve su estado mientras el grafo
+     * se modifica, incluyendo la eliminacion de vertices que reacomoda la
+     * matriz.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testSnapshot() throws GraphException {
+        grafo.addEdge("A", "B", 1.0);
+        grafo.addEdge("B", "C", 2.0);
+        GraphSnapshot<String> v1 = grafo.snapshot();
+
+        grafo.setEdgeWeight("A", "B", 5.0);
+        grafo.addEdge("C", "A", 3.0);
+        grafo.removeVertex("B");
+        grafo.addVertex("D");
+        grafo.addEdge("D", "C", 4.0);
+        GraphSnapshot<String> v2 = grafo.snapshot();
+
+        assertEquals(Arrays.asList("A", "B", "C"), v1.getVertices());
+        assertEquals(2, v1.getNumberEdges());
+        assertEquals(1.0, v1.getEdgeWeight("A", "B"), 0.0);
+        assertFalse(v1.hasEdge("C", "A"));
+        List<String> recorrido = new ArrayList<>();
+        GraphTraversal.bfsIterator(v1, "A").forEachRemaining(recorrido::add);
+        assertEquals(Arrays.asList("A", "B", "C"), recorrido);
+
+        assertFalse(v2.hasVertex("B"));
+        assertEquals(2, v2.getNumberEdges());
+        assertEquals(grafo.getNumberEdges(), v2.getNumberEdges());
+        assertEquals(4.0, v2.getEdgeWeight("D", "C"), 0.0);
+        assertTrue(v2.hasEdge("C", "A"));
+
+        grafo.clear();
+        assertEquals(3, v2.getNumberVertices());
+        assertTrue(grafo.snapshot().empty());
+    }
+
+    /**
+     * Prueba que el cursor de vecinos recorra las celdas con arista de cada
+     * renglon, reutilizando el cursor entre vertices.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testCursorVecinos() throws GraphException {
+        grafo.addEdge("A", "B", 1.0);
+        grafo.addEdge("A", "C", 2.0);
+        grafo.addEdge("C", "C", 3.0);
+        INeighborCursor cursor = grafo.newNeighborCursor();
+        cursor.reset(0);
+        assertTrue(cursor.next());
+        assertEquals(1, cursor.target());
+        assertEquals(1.0, cursor.weight(), 0.0);
+        assertTrue(cursor.next());
+        assertEquals(2, cursor.target());
+        assertFalse(cursor.next());
+        cursor.reset(1);
+        assertFalse(cursor.next());
+        cursor.reset(2);
+        assertTrue(cursor.next());
+        assertEquals(2, cursor.target());
+        assertEquals(3.0, cursor.weight(), 0.0);
+        assertFalse(cursor.next());
+    }
+
+    /**
+     * Prueba el formato exacto de la matriz que escribe toString.
+     *
+     * @throws GraphException si ocurre un error al añadir aristas
+     */
+    @Test
+    public void testToString_formato() throws GraphException {
+        grafo.addEdge("A", "B", 1.0);
+        grafo.addEdge("C", "A", 2.5);
+        assertEquals(" A B C\n"
+                + "A | ---, 1.0, --- |\n"
+                + "B | ---, ---, --- |\n"
+                + "C | 2.5, ---, --- |\n", grafo.toString());
+    }
+
+    /**
+     * Prueba que los caminos de todos los pares que se calculan desde la
+     * matriz de adyacencias coincidan con los que se calculan recorriendo
+     * las aristas, tambien despues de eliminar un vertice, y que los ya
+     * calculados no cambien al eliminarlo.
+     */
+    @Test
+    public void testAllPairsShortestPaths() throws GraphException {
+        grafo.addVertex("D");
+        grafo.addEdge("A", "B", 4.0);
+        grafo.addEdge("A", "C", 1.0);
+        grafo.addEdge("C", "B", 2.0);
+        grafo.addEdge("B", "D", -1.0);
+        grafo.addEdge("D", "A", 3.0);
+        FloydWarshall<String> fw = grafo.allPairsShortestPaths(2);
+        assertEquals(3.0, fw.getDistancia("A", "B"), 0.0);
+        assertEquals(Arrays.asList("A", "C", "B", "D"),
+                fw.getPath("A", "D").getVertices());
+        assertEquals(2.0, fw.getPath("A", "D").getPeso(), 0.0);
+        assertArrayEquals(new FloydWarshall<>(grafo, 1).getDistancias(),
+                fw.getDistancias(), 0.0);
+
+        grafo.removeVertex("C");
+        // Los caminos ya calculados no cambian con el grafo
+        assertEquals(3.0, fw.getDistancia("A", "B"), 0.0);
+        assertEquals(2.0, fw.getPath("A", "D").getPeso(), 0.0);
+        assertEquals(4, fw.getNumberVertices());
+        fw = grafo.allPairsShortestPaths(1);
+        assertEquals(3, fw.getNumberVertices());
+        assertEquals(4.0, fw.getDistancia("A", "B"), 0.0);
+        assertArrayEquals(new FloydWarshall<>(grafo, 1).getDistancias(),
+                fw.getDistancias(), 0.0);
+    }
+}
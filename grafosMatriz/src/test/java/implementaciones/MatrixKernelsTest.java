@@ -0,0 +1,103 @@
+package implementaciones;
+
+import interfaces.INeighborCursor;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+
+/**
+ * Clase de pruebas unitarias para MatrixKernels. Los ciclos vectoriales se
+ * comparan contra los escalares en renglones cuya longitud no es multiplo del
+ * ancho de vector, y la cerradura transitiva contra recorridos en amplitud.
+ */
+public class MatrixKernelsTest {
+
+    private static final int[] LONGITUDES = {0, 1, 3, 7, 8, 13, 64, 100};
+
+    private static double[] renglonAlAzar(Random azar, int n) {
+        double[] renglon = new double[n];
+        for (int j = 0; j < n; j++) {
+            renglon[j] = azar.nextInt(3) == 0 ? Double.POSITIVE_INFINITY
+                    : azar.nextInt(200) - 50;
+        }
+        return renglon;
+    }
+
+    @Test
+    public void testVectorialIgualAEscalar() {
+        MatrixKernels vectorial = MatrixKernels.vectorial();
+        assumeNotNull(vectorial);
+        Random azar = new Random(253313);
+        for (int n : LONGITUDES) {
+            for (int repeticion = 0; repeticion < 20; repeticion++) {
+                // Dos renglones con un desplazamiento, como en la matriz
+                double[] d = new double[2 * n + 5];
+                System.arraycopy(renglonAlAzar(azar, n), 0, d, 5, n);
+                System.arraycopy(renglonAlAzar(azar, n), 0, d, n + 5, n);
+                int[] siguientes = new int[d.length];
+                Arrays.fill(siguientes, -1);
+                double[] dEscalar = d.clone();
+                int[] siguientesEscalar = siguientes.clone();
+                double dik = azar.nextInt(20) - 5;
+                MatrixKernels.ESCALAR.minPlus(dEscalar, siguientesEscalar, 5,
+                        n + 5, 0, n, dik, 7);
+                vectorial.minPlus(d, siguientes, 5, n + 5, 0, n, dik, 7);
+                assertArrayEquals(dEscalar, d, 0.0);
+                assertArrayEquals(siguientesEscalar, siguientes);
+
+                assertEquals(MatrixKernels.ESCALAR.cuentaAristas(d, 3,
+                        d.length), vectorial.cuentaAristas(d, 3, d.length));
+
+                long[] palabras = azar.longs(2 * n + 1).toArray();
+                long[] palabrasEscalar = palabras.clone();
+                MatrixKernels.ESCALAR.or(palabrasEscalar, 1, n + 1, n);
+                vectorial.or(palabras, 1, n + 1, n);
+                assertArrayEquals(palabrasEscalar, palabras);
+            }
+        }
+    }
+
+    @Test
+    public void testCerraduraTransitiva() {
+        Random azar = new Random(97);
+        int n = 150;
+        MatrixDiGraph<Integer> grafo = new MatrixDiGraph<>(n);
+        for (int v = 0; v < n; v++) {
+            grafo.addVertex(v);
+        }
+        for (int i = 0; i < 2 * n; i++) {
+            int x = azar.nextInt(n);
+            int y = azar.nextInt(n);
+            if (!grafo.hasEdge(x, y)) {
+                grafo.addEdge(x, y, 1.0);
+            }
+        }
+        BitMatrixDiGraph<Integer> cierre = grafo.transitiveClosure();
+        assertEquals(n, cierre.getNumberVertices());
+        INeighborCursor cursor = grafo.newNeighborCursor();
+        for (int x = 0; x < n; x++) {
+            // Vertices alcanzables desde x por al menos una arista
+            boolean[] alcanzables = new boolean[n];
+            int[] cola = new int[n + 1];
+            int inicio = 0;
+            int fin = 0;
+            cola[fin++] = x;
+            while (inicio < fin) {
+                cursor.reset(cola[inicio++]);
+                while (cursor.next()) {
+                    int w = cursor.target();
+                    if (!alcanzables[w]) {
+                        alcanzables[w] = true;
+                        cola[fin++] = w;
+                    }
+                }
+            }
+            for (int y = 0; y < n; y++) {
+                assertEquals(x + " -> " + y, alcanzables[y],
+                        cierre.hasEdge(x, y));
+            }
+        }
+    }
+}
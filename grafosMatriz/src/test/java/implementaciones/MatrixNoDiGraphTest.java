@@ -4,7 +4,14 @@
  */
 package implementaciones;
 
+import excepciones.GraphException;
+import interfaces.ILabelCodec;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import static org.junit.Assert.*;
 
 /**
@@ -12,6 +19,9 @@ import static org.junit.Assert.*;
  * @author marco
  */
 public class MatrixNoDiGraphTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
     
     public MatrixNoDiGraphTest() {
     }
@@ -119,5 +129,96 @@ public class MatrixNoDiGraphTest {
         // TODO review the generated test code and remove the default call to fail.
         fail("The test case is a prototype.");
     }
-    
+
+    /**
+     * Prueba que el número de aristas y los grados de los vértices, que se
+     * mantienen al modificar el grafo, coincidan con un conteo directo después
+     * de cada operación de una secuencia aleatoria.
+     *
+     * @throws GraphException si ocurre un error al modificar el grafo
+     */
+    @Test
+    public void testContadores_mutacionesAleatorias() throws GraphException {
+        for (MatrixGraph.ModoRemocion modo : MatrixGraph.ModoRemocion.values()) {
+            MatrixNoDiGraph<Integer> grafo = new MatrixNoDiGraph<>();
+            grafo.setModoRemocion(modo);
+            GraphAsserts.verificaMutacionesAleatorias(grafo, false, true,
+                    grafo::getGradoSalida, grafo::getGradoEntrada);
+        }
+    }
+
+    /**
+     * Prueba que un grafo guardado con MappedCsrGraph.write() y abierto con
+     * MappedCsrGraph.open() conserve vertices, aristas, pesos y lazos, y que
+     * thaw() reconstruya un grafo igual.
+     *
+     * @throws IOException si no se puede crear el archivo temporal
+     */
+    @Test
+    public void testSnapshot_idaYVuelta() throws IOException {
+        Random azar = new Random(253313);
+        MatrixNoDiGraph<String> grafo = new MatrixNoDiGraph<>(40);
+        for (int i = 0; i < 40; i++) {
+            grafo.addVertex("v" + i);
+        }
+        for (int i = 0; i < 200; i++) {
+            String x = "v" + azar.nextInt(40);
+            String y = "v" + azar.nextInt(40);
+            if (!grafo.hasEdge(x, y)) {
+                grafo.addEdge(x, y, azar.nextInt(1000) / 8.0);
+            }
+        }
+        Path archivo = carpeta.newFile().toPath();
+        MappedCsrGraph.write(grafo, archivo, ILabelCodec.strings(), false);
+        MappedCsrGraph<String> copia = MappedCsrGraph.open(archivo,
+                ILabelCodec.strings());
+
+        assertFalse(copia.isDirigido());
+        GraphAsserts.assertMismoGrafo(grafo, copia);
+        assertFalse(copia.hasVertex("v40"));
+
+        MatrixNoDiGraph<String> descongelado = copia.thaw(
+                new MatrixNoDiGraph<>(40));
+        assertEquals(grafo.getNumberEdges(), descongelado.getNumberEdges());
+        assertEquals(grafo.toString(), descongelado.toString());
+    }
+
+    /**
+     * Prim sobre la matriz debe dar el mismo peso que Kruskal, con una arista
+     * menos que vertices por componente.
+     */
+    @Test
+    public void testMinimumSpanningTree() {
+        Random azar = new Random(97);
+        MatrixNoDiGraph<Integer> grafo = new MatrixNoDiGraph<>(60);
+        for (int i = 0; i < 60; i++) {
+            grafo.addVertex(i);
+        }
+        for (int i = 0; i < 150; i++) {
+            int x = azar.nextInt(50);
+            int y = azar.nextInt(50);
+            if (x != y && !grafo.hasEdge(x, y)) {
+                grafo.addEdge(x, y, azar.nextInt(100) - 20);
+            }
+        }
+        MinimumSpanningTree<Integer> prim = grafo.minimumSpanningTree();
+        MinimumSpanningTree<Integer> kruskal = MinimumSpanningTree.kruskal(
+                grafo, new MatrixNoDiGraph<>());
+        assertEquals(kruskal.getPeso(), prim.getPeso(), 1e-9);
+        // Los vertices 50 .. 59 quedan aislados
+        assertTrue(prim.getComponentes() >= 11);
+        assertEquals(kruskal.getComponentes(), prim.getComponentes());
+        assertEquals(60 - prim.getComponentes(), prim.getNumberEdges());
+        assertEquals(prim.getNumberEdges(),
+                prim.getTree().getNumberEdges());
+        assertEquals(grafo.getVertices(), prim.getTree().getVertices());
+        for (int x = 0; x < 60; x++) {
+            for (int y = 0; y < 60; y++) {
+                if (prim.getTree().hasEdge(x, y)) {
+                    assertEquals(grafo.getEdgeWeight(x, y),
+                            prim.getTree().getEdgeWeight(x, y), 0.0);
+                }
+            }
+        }
+    }
 }